@@ -0,0 +1,68 @@
+package com.moveit.app;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+/**
+ * 토스 appScheme(moveitapp://) 복귀 URL을 server.url 기준 https URL로 변환 (Android 의존성 없음).
+ * moveitapp://{임의 host}/payment/success?orderId=… → https://{server.url host}/payment/success?orderId=…
+ * 경로·쿼리는 인코딩된 그대로 옮겨 %26 등 예약 문자가 풀려 쿼리가 깨지지 않게 함.
+ */
+public final class AppLinkRewriter {
+
+    public static final String SCHEME = "moveitapp";
+
+    /** scheme://host[:port] (80/443 포트는 생략). server.url이 잘못됐으면 null. */
+    private final String base;
+
+    public AppLinkRewriter(String appUrl) {
+        this.base = originOf(appUrl);
+    }
+
+    /** moveitapp:// URL이 아니거나 server.url을 알 수 없으면 null. */
+    public String rewrite(String appLink) {
+        if (base == null || appLink == null) return null;
+        int prefix = SCHEME.length() + 1;
+        if (!appLink.regionMatches(true, 0, SCHEME + ":", 0, prefix)) return null;
+
+        int len = appLink.length();
+        int i = prefix;
+        if (appLink.startsWith("//", i)) {
+            i += 2;
+            while (i < len) {
+                char c = appLink.charAt(i);
+                if (c == '/' || c == '?' || c == '#') break;
+                i++;
+            }
+        }
+        int fragment = appLink.indexOf('#', i);
+        int end = fragment >= 0 ? fragment : len;
+        int q = appLink.indexOf('?', i);
+        if (q >= end) q = -1;
+
+        int pathEnd = q >= 0 ? q : end;
+        StringBuilder sb = new StringBuilder(base.length() + (end - i) + 1).append(base);
+        if (pathEnd > i && appLink.charAt(i) == '/') {
+            sb.append(appLink, i, pathEnd);
+        } else {
+            sb.append('/');
+        }
+        if (q >= 0 && end > q + 1) {
+            sb.append(appLink, q, end);
+        }
+        return sb.toString();
+    }
+
+    static String originOf(String appUrl) {
+        if (appUrl == null || appUrl.isEmpty()) return null;
+        try {
+            URI uri = new URI(appUrl);
+            if (uri.getScheme() == null || uri.getHost() == null) return null;
+            int port = uri.getPort();
+            return uri.getScheme() + "://" + uri.getHost()
+                + (port > 0 && port != 443 && port != 80 ? ":" + port : "");
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.moveit.app;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 로컬 웹 번들({@link WebBundle}) 버전 전환·롤백 상태. Android 의존성 없음 (저장은 WebBundle이 JSON으로).
+ * - seed: APK에 들어 있는 번들 버전. APK가 바뀌면(업데이트·재설치) 내려받은 번들은 버리고 seed부터 다시
+ * - stage: 내려받기·검증이 끝난 새 번들을 pending으로 (실행 중에는 바꾸지 않음)
+ * - onLaunch: pending이 있으면 active로 전환하고 부팅 확인을 기다림.
+ *   확인 없이 MAX_UNCONFIRMED_BOOTS번 시작되면 이전 번들로 롤백하고 해당 버전은 다시 받지 않음
+ * - onBootConfirmed: 웹 앱이 하이드레이션까지 끝남
+ */
+final class BundleBootState {
+
+    static final int MAX_UNCONFIRMED_BOOTS = 2;
+
+    enum LaunchResult { UNCHANGED, RESEEDED, ACTIVATED, ROLLED_BACK }
+
+    String seed;
+    /** 현재 쓰는 버전 (seed 또는 내려받은 버전) */
+    String active;
+    /** 롤백 대상 (마지막으로 부팅이 확인된 버전) */
+    String previous;
+    String pending;
+    /** active로 전환된 뒤 부팅 확인 없이 시작된 횟수 (0이면 확인됨) */
+    int unconfirmedBoots;
+    final Set<String> failed = new LinkedHashSet<>();
+
+    /** 프로세스 시작 시 한 번. seedVersion은 APK 번들 버전 (없으면 null). */
+    LaunchResult onLaunch(String seedVersion) {
+        if (!Objects.equals(seedVersion, seed)) {
+            seed = seedVersion;
+            active = seedVersion;
+            previous = null;
+            pending = null;
+            unconfirmedBoots = 0;
+            failed.clear();
+            return LaunchResult.RESEEDED;
+        }
+        if (unconfirmedBoots >= MAX_UNCONFIRMED_BOOTS && previous != null) {
+            if (active != null) failed.add(active);
+            active = previous;
+            previous = null;
+            unconfirmedBoots = 0;
+            return LaunchResult.ROLLED_BACK;
+        }
+        if (pending != null) {
+            previous = active;
+            active = pending;
+            pending = null;
+            unconfirmedBoots = 1;
+            return LaunchResult.ACTIVATED;
+        }
+        if (unconfirmedBoots > 0 && unconfirmedBoots < MAX_UNCONFIRMED_BOOTS) unconfirmedBoots++;
+        return LaunchResult.UNCHANGED;
+    }
+
+    /** @return 상태가 바뀌었으면 true (저장 필요) */
+    boolean onBootConfirmed() {
+        if (unconfirmedBoots == 0) return false;
+        unconfirmedBoots = 0;
+        return true;
+    }
+
+    boolean awaitingConfirmation() {
+        return unconfirmedBoots > 0;
+    }
+
+    /** 이 버전을 내려받을 필요가 있는지 (이미 쓰는 중·대기 중·실패한 버전이면 false). */
+    boolean wants(String version) {
+        return version != null && !version.equals(active) && !version.equals(pending) && !failed.contains(version);
+    }
+
+    /** 다음 실행 때 전환할 버전으로 등록. */
+    boolean stage(String version) {
+        if (!wants(version)) return false;
+        pending = version;
+        return true;
+    }
+
+    /** 디스크에 남겨야 하는 버전 (나머지 매니페스트·파일은 정리 대상). */
+    Set<String> retained() {
+        Set<String> keep = new LinkedHashSet<>();
+        if (active != null) keep.add(active);
+        if (previous != null) keep.add(previous);
+        if (pending != null) keep.add(pending);
+        return keep;
+    }
+}
@@ -0,0 +1,62 @@
+package com.moveit.app;
+
+import java.util.Locale;
+
+/**
+ * 오류 이벤트 중복 판정용 지문. 같은 버그가 배포·기기마다 조금씩 다른 문자열로 찍혀도 한 건으로 묶이도록
+ * 메시지와 스택 상위 프레임을 정규화한 뒤 64bit FNV-1a 해시.
+ * - 숫자 → #, 긴 16진 해시(Next.js 청크 파일명 등) → #, 쿼리스트링 제거
+ * - 스택은 첫 줄(메시지 반복) 다음부터 STACK_FRAMES개, 줄·열 번호 제거
+ * Android 의존성 없음.
+ */
+final class ErrorFingerprint {
+
+    static final int STACK_FRAMES = 5;
+    private static final int MESSAGE_CHARS = 200;
+
+    private ErrorFingerprint() {}
+
+    static String of(String source, String message, String stack) {
+        String key = (source != null ? source : "") + '\n' + normalizeMessage(message) + '\n' + normalizeStack(stack);
+        return fnv1a64(key);
+    }
+
+    static String normalizeMessage(String message) {
+        if (message == null) return "";
+        String m = message.trim();
+        if (m.length() > MESSAGE_CHARS) m = m.substring(0, MESSAGE_CHARS);
+        return scrub(m);
+    }
+
+    static String normalizeStack(String stack) {
+        if (stack == null || stack.isEmpty()) return "";
+        String[] lines = stack.split("\n");
+        StringBuilder sb = new StringBuilder();
+        int frames = 0;
+        for (int i = lines.length > 1 ? 1 : 0; i < lines.length && frames < STACK_FRAMES; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty()) continue;
+            // (file.js:12:34) / file.java:56 → 위치 번호 제거, ?v=... 제거
+            line = line.replaceAll("\\?[^\\s):]*", "").replaceAll(":\\d+(:\\d+)?", "");
+            sb.append(scrub(line)).append('\n');
+            frames++;
+        }
+        return sb.toString();
+    }
+
+    private static String scrub(String s) {
+        return s.toLowerCase(Locale.ROOT)
+            .replaceAll("\\b[0-9a-f]{8,}\\b", "#")
+            .replaceAll("0x[0-9a-f]+", "#")
+            .replaceAll("\\d+", "#");
+    }
+
+    private static String fnv1a64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return String.format(Locale.ROOT, "%016x", h);
+    }
+}
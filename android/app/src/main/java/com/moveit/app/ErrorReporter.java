@@ -0,0 +1,374 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.os.Build;
+import android.util.Log;
+import android.webkit.CookieManager;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import com.getcapacitor.CapConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 네이티브(Java 결제 핸들러·크래시)와 웹(lib/error-reporting/report.ts → MoveitErrorReporter 플러그인) 오류를
+ * 디스크 로그에 모았다가 gzip 배치로 /api/errors/batch에 업로드. 오류 폭주가 백엔드 요청 폭주로 번지지 않게 함.
+ * - 기록: noBackupFilesDir/error-reports/events.log에 JSONL 추가만 함 (단일 IO 스레드)
+ * - 중복: 같은 {@link ErrorFingerprint}는 로그에 한 번만 전문 기록, 이후는 메모리에서 횟수만 세고 업로드 직전(또는 크래시 시) 한 줄로 기록
+ * - 업로드: WorkManager 단일 작업(KEEP)으로 BATCH_DELAY 뒤 실행, 5xx·429·네트워크 오류는 지수 백오프 재시도
+ *   events.log → events.sending으로 돌린 뒤 전송하므로 전송 중 들어온 오류는 다음 배치로
+ * 크래시(uncaught)는 프로세스가 죽기 전에 동기 기록하고, 다음 실행 때 예약된 작업이 업로드.
+ */
+final class ErrorReporter {
+
+    static final String TAG = "MoveitError";
+    private static final String WORK_NAME = "moveit-error-upload";
+    private static final long BATCH_DELAY_SEC = 60;
+    private static final long BACKOFF_SEC = 30;
+    /** 로그 파일 상한. 넘으면 새 오류는 버리고 개수만 집계 (중복 횟수는 계속 셈) */
+    private static final long MAX_LOG_BYTES = 512 * 1024;
+    private static final int MAX_BATCH_EVENTS = 200;
+    private static final int MAX_STACK_CHARS = 8_000;
+    private static final int TIMEOUT_MS = 15_000;
+
+    enum UploadResult { SENT, EMPTY, RETRY, DROPPED }
+
+    private static ErrorReporter instance;
+
+    private final Context context;
+    private final File log;
+    private final File sending;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, "moveit-error-log"));
+
+    // 아래 상태는 모두 synchronized(this)
+    /** 현재 events.log에 전문이 기록된 지문 */
+    private final Set<String> logged = new HashSet<>();
+    /** 로그에 아직 반영하지 않은 중복 횟수 */
+    private final Map<String, Integer> pendingDups = new HashMap<>();
+    private int dropped;
+    private boolean loaded;
+    private boolean uploadScheduled;
+
+    static synchronized ErrorReporter get(Context context) {
+        if (instance == null) instance = new ErrorReporter(context.getApplicationContext());
+        return instance;
+    }
+
+    private ErrorReporter(Context context) {
+        this.context = context;
+        File dir = new File(context.getNoBackupFilesDir(), "error-reports");
+        this.log = new File(dir, "events.log");
+        this.sending = new File(dir, "events.sending");
+    }
+
+    /** 앱 시작 시 1회: Java 크래시를 기록한 뒤 기존 핸들러(시스템 크래시 처리)로 넘김. */
+    void installCrashHandler() {
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> {
+            try {
+                JSONObject ctx = new JSONObject();
+                ctx.put("thread", thread.getName());
+                append(event("fatal", "android.crash", String.valueOf(e), stackOf(e), null, null, ctx));
+                writePendingDups();
+            } catch (Throwable ignored) {
+                // 크래시 처리 중 예외는 무시 (원래 크래시를 가리지 않도록)
+            }
+            if (previous != null) previous.uncaughtException(thread, e);
+        });
+        io.execute(() -> {
+            synchronized (this) {
+                ensureLoaded();
+            }
+            if (log.exists() || sending.exists()) schedule(BATCH_DELAY_SEC);
+        });
+    }
+
+    void report(String level, String source, String message, Throwable error, JSONObject ctx) {
+        report(level, source, message, error != null ? stackOf(error) : null, null, null, ctx);
+    }
+
+    /** 비동기 기록 (호출 스레드에서 디스크 IO 없음). */
+    void report(String level, String source, String message, String stack, String url, Integer statusCode, JSONObject ctx) {
+        if (message == null || message.trim().isEmpty() || source == null) return;
+        io.execute(() -> {
+            try {
+                append(event(level, source, message, stack, url, statusCode, ctx));
+            } catch (JSONException e) {
+                Log.w(TAG, "bad event: " + e.getMessage());
+            }
+            boolean first;
+            synchronized (this) {
+                first = !uploadScheduled;
+                uploadScheduled = true;
+            }
+            if (first) schedule(BATCH_DELAY_SEC);
+        });
+    }
+
+    /** 웹 flush() 등에서 즉시 업로드 요청 (네트워크 연결 시). */
+    void flush() {
+        schedule(0);
+    }
+
+    private void schedule(long delaySec) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ErrorUploadWorker.class)
+            .setConstraints(new Constraints.Builder().setRequiredNetworkType(NetworkType.CONNECTED).build())
+            .setInitialDelay(delaySec, TimeUnit.SECONDS)
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SEC, TimeUnit.SECONDS)
+            .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME,
+            delaySec == 0 ? ExistingWorkPolicy.REPLACE : ExistingWorkPolicy.KEEP, request);
+    }
+
+    private static JSONObject event(String level, String source, String message, String stack,
+                                    String url, Integer statusCode, JSONObject ctx) throws JSONException {
+        String trimmedStack = stack != null && stack.length() > MAX_STACK_CHARS ? stack.substring(0, MAX_STACK_CHARS) : stack;
+        JSONObject o = new JSONObject();
+        o.put("fp", ErrorFingerprint.of(source, message, trimmedStack));
+        o.put("t", System.currentTimeMillis());
+        o.put("level", "warning".equals(level) || "fatal".equals(level) ? level : "error");
+        o.put("source", source);
+        o.put("message", message);
+        if (trimmedStack != null) o.put("stack", trimmedStack);
+        if (url != null) o.put("url", url);
+        if (statusCode != null) o.put("statusCode", statusCode);
+        if (ctx != null) o.put("context", ctx);
+        return o;
+    }
+
+    private synchronized void append(JSONObject event) throws JSONException {
+        ensureLoaded();
+        String fp = event.getString("fp");
+        if (logged.contains(fp)) {
+            Integer n = pendingDups.get(fp);
+            pendingDups.put(fp, n != null ? n + 1 : 1);
+            return;
+        }
+        if (log.length() > MAX_LOG_BYTES) {
+            dropped++;
+            return;
+        }
+        if (writeLine(event)) logged.add(fp);
+    }
+
+    private boolean writeLine(JSONObject line) {
+        File dir = log.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) return false;
+        try (OutputStream out = new FileOutputStream(log, true)) {
+            out.write((line.toString() + "\n").getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (IOException e) {
+            Log.w(TAG, "append failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** 프로세스 재시작 후 기존 로그의 지문 복원 (중복 판정 유지). synchronized(this) 안에서 호출. */
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        if (!log.exists()) return;
+        try {
+            for (String line : Files.readAllLines(log.toPath(), StandardCharsets.UTF_8)) {
+                JSONObject o = parse(line);
+                if (o != null && o.has("fp") && !o.has("dup")) logged.add(o.optString("fp"));
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "log restore failed: " + e.getMessage());
+        }
+    }
+
+    /** 메모리에 모인 중복 횟수를 지문당 한 줄로 기록. 업로드 직전·크래시 시점에 호출. */
+    private synchronized void writePendingDups() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Integer> e : pendingDups.entrySet()) {
+            try {
+                writeLine(new JSONObject().put("dup", true).put("fp", e.getKey()).put("n", e.getValue()).put("t", now));
+            } catch (JSONException ignored) {
+                // 키·값이 모두 유효해 발생하지 않음
+            }
+        }
+        pendingDups.clear();
+    }
+
+    /** 메모리의 중복 횟수를 로그에 반영하고 events.log → events.sending (이전 전송분이 남아 있으면 그대로 재전송). */
+    private synchronized boolean rotate() {
+        ensureLoaded();
+        writePendingDups();
+        uploadScheduled = false;
+        if (sending.exists()) return true;
+        if (!log.exists()) return false;
+        if (!log.renameTo(sending)) return false;
+        logged.clear();
+        return true;
+    }
+
+    /** {@link ErrorUploadWorker}에서 호출 (백그라운드 스레드). */
+    UploadResult upload() {
+        if (!rotate()) return UploadResult.EMPTY;
+        String origin = AppLinkRewriter.originOf(readServerUrl());
+        if (origin == null) return UploadResult.RETRY;
+
+        byte[] body;
+        int count;
+        try {
+            JSONObject batch = buildBatch(Files.readAllLines(sending.toPath(), StandardCharsets.UTF_8));
+            count = batch.getJSONArray("events").length();
+            if (count == 0) {
+                sending.delete();
+                return UploadResult.EMPTY;
+            }
+            body = gzip(batch.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "batch build failed, discarding: " + e.getMessage());
+            sending.delete();
+            return UploadResult.DROPPED;
+        }
+
+        HttpURLConnection conn = null;
+        try {
+            String url = origin + "/api/errors/batch";
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(TIMEOUT_MS);
+            conn.setReadTimeout(TIMEOUT_MS);
+            conn.setDoOutput(true);
+            conn.setRequestMethod("POST");
+            conn.setRequestProperty("Content-Type", "application/json");
+            conn.setRequestProperty("Content-Encoding", "gzip");
+            // 로그인 세션 쿠키를 실어 서버가 사용자를 식별하게 함 (없으면 익명 기록)
+            String cookie = CookieManager.getInstance().getCookie(url);
+            if (cookie != null) conn.setRequestProperty("Cookie", cookie);
+            conn.setFixedLengthStreamingMode(body.length);
+            try (OutputStream out = conn.getOutputStream()) {
+                out.write(body);
+            }
+            int status = conn.getResponseCode();
+            if (status >= 200 && status < 300) {
+                sending.delete();
+                Log.d(TAG, "uploaded " + count + " events (" + body.length + "B gzip)");
+                return UploadResult.SENT;
+            }
+            if (status == 429 || status >= 500) return UploadResult.RETRY;
+            // 그 외 4xx는 재시도해도 같은 결과 → 배치를 버려 무한 재시도 방지
+            Log.w(TAG, "batch rejected HTTP " + status + ", discarding");
+            sending.delete();
+            return UploadResult.DROPPED;
+        } catch (IOException e) {
+            return UploadResult.RETRY;
+        } finally {
+            if (conn != null) conn.disconnect();
+        }
+    }
+
+    /** 로그 줄을 지문별로 접어 { app, dropped, events: [{..., count, firstAt, lastAt}] } */
+    private JSONObject buildBatch(List<String> lines) throws JSONException {
+        Map<String, JSONObject> byFp = new LinkedHashMap<>();
+        for (String line : lines) {
+            JSONObject o = parse(line);
+            if (o == null || !o.has("fp")) continue;
+            String fp = o.getString("fp");
+            JSONObject e = byFp.get(fp);
+            if (o.has("dup")) {
+                if (e == null) continue;
+                e.put("count", e.getInt("count") + o.optInt("n", 1));
+                e.put("lastAt", Math.max(e.getLong("lastAt"), o.optLong("t")));
+                continue;
+            }
+            if (e == null) {
+                if (byFp.size() >= MAX_BATCH_EVENTS) continue;
+                long t = o.optLong("t");
+                o.remove("t");
+                o.remove("fp");
+                o.put("fingerprint", fp);
+                o.put("count", 1);
+                o.put("firstAt", t);
+                o.put("lastAt", t);
+                byFp.put(fp, o);
+            } else {
+                e.put("count", e.getInt("count") + 1);
+                e.put("lastAt", Math.max(e.getLong("lastAt"), o.optLong("t")));
+            }
+        }
+        int droppedNow;
+        synchronized (this) {
+            droppedNow = dropped;
+            dropped = 0;
+        }
+        JSONObject app = new JSONObject()
+            .put("platform", "android")
+            .put("sdk", Build.VERSION.SDK_INT)
+            .put("model", Build.MANUFACTURER + " " + Build.MODEL)
+            .put("version", appVersion());
+        return new JSONObject()
+            .put("app", app)
+            .put("dropped", droppedNow)
+            .put("events", new JSONArray(byFp.values()));
+    }
+
+    private String appVersion() {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).versionName;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String readServerUrl() {
+        try {
+            CapConfig config = CapConfig.loadDefault(context);
+            return config != null ? config.getServerUrl() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static JSONObject parse(String line) {
+        if (line == null || line.isEmpty()) return null;
+        try {
+            return new JSONObject(line);
+        } catch (JSONException e) {
+            // 크래시 중 잘린 마지막 줄
+            return null;
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(buf)) {
+            gz.write(raw);
+        }
+        return buf.toByteArray();
+    }
+
+    static String stackOf(Throwable e) {
+        StringWriter sw = new StringWriter();
+        e.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+}
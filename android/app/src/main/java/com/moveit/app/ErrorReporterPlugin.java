@@ -0,0 +1,36 @@
+package com.moveit.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * 웹 오류 리포터(lib/error-reporting/report.ts) → 네이티브 배치 업로드({@link ErrorReporter}).
+ * - report({ level, source, message, stack?, url?, statusCode?, context? }): 디스크 로그에 기록만 하고 즉시 resolve
+ * - flush(): 네트워크 연결되는 대로 바로 업로드
+ */
+@CapacitorPlugin(name = "MoveitErrorReporter")
+public class ErrorReporterPlugin extends Plugin {
+
+    @PluginMethod
+    public void report(PluginCall call) {
+        JSObject context = call.getObject("context");
+        ErrorReporter.get(getContext()).report(
+            call.getString("level", "error"),
+            call.getString("source"),
+            call.getString("message"),
+            call.getString("stack"),
+            call.getString("url"),
+            call.getInt("statusCode"),
+            context);
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void flush(PluginCall call) {
+        ErrorReporter.get(getContext()).flush();
+        call.resolve();
+    }
+}
@@ -0,0 +1,26 @@
+package com.moveit.app;
+
+import android.content.Context;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+/** {@link ErrorReporter} 배치 업로드 작업. 재시도 간격은 예약 시 지정한 지수 백오프. */
+public class ErrorUploadWorker extends Worker {
+
+    /** 이 횟수 넘게 실패하면 이번 작업은 포기 (배치는 디스크에 남아 다음 오류 보고 때 다시 예약됨) */
+    private static final int MAX_ATTEMPTS = 8;
+
+    public ErrorUploadWorker(Context context, WorkerParameters params) {
+        super(context, params);
+    }
+
+    @Override
+    public Result doWork() {
+        switch (ErrorReporter.get(getApplicationContext()).upload()) {
+            case RETRY:
+                return getRunAttemptCount() < MAX_ATTEMPTS ? Result.retry() : Result.failure();
+            default:
+                return Result.success();
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.Uri;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.LruCache;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import com.getcapacitor.JSObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 저속·종량제 연결에서 메인 WebView 이미지(학원 배너·강사 사진)를 화면 폭에 맞춘 작은 WebP로 응답.
+ * MoveitBridgeWebViewClient.shouldInterceptRequest에서 {@link WebAssetCache}보다 먼저 호출 (WebView IO 스레드).
+ * 1) 연결 등급은 기본 네트워크 콜백으로 갱신 ({@link ImageVariantPolicy#classify}). FAST면 아무것도 하지 않음
+ * 2) Supabase public 이미지는 render/image 엔드포인트(서버 변환)로 바꿔 요청 → 전송량 자체를 줄임.
+ *    프로젝트에 이미지 변환이 꺼져 있으면(4xx) 해당 호스트는 이후 재작성하지 않음
+ * 3) 그 외에는 원본(WebAssetCache 디스크 캐시/네트워크)을 축소 디코딩 후 WebP로 재인코딩
+ * 결과 바이트는 메모리 LRU에 보관 (크기 상한). 절감 바이트·지연 카운터는 {@link #toJSObject()}/logcat(MoveitImage).
+ */
+final class ImagePipeline {
+
+    private static final String TAG = "MoveitImage";
+    private static final long MAX_MEMORY_CACHE_BYTES = 16L * 1024 * 1024;
+    private static final int MAX_SOURCE_BYTES = 8 * 1024 * 1024;
+    private static final int TIMEOUT_MS = 10_000;
+    /** 변환 비활성 판별에 읽는 오류 본문 상한 */
+    private static final int ERROR_BODY_BYTES = 2 * 1024;
+    /** 동시 디코딩 수 상한 (큰 배너 여러 장이 한꺼번에 디코딩되며 힙이 튀는 것 방지) */
+    private static final int MAX_CONCURRENT_DECODES = 2;
+
+    private static ImagePipeline instance;
+
+    private final int viewportPx;
+    private final LruCache<String, byte[]> memory;
+    private final Semaphore decodeSlots = new Semaphore(MAX_CONCURRENT_DECODES);
+    /** render/image 미지원으로 확인된 호스트 */
+    private final Set<String> renderUnsupported = ConcurrentHashMap.newKeySet();
+    private volatile ImageVariantPolicy.LinkClass link = ImageVariantPolicy.LinkClass.FAST;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong recoded = new AtomicLong();
+    private final AtomicLong passthrough = new AtomicLong();
+    private final AtomicLong bytesOriginal = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong latencyTotalMs = new AtomicLong();
+    private final AtomicLong latencyMaxMs = new AtomicLong();
+
+    static synchronized ImagePipeline get(Context context) {
+        if (instance == null) instance = new ImagePipeline(context.getApplicationContext());
+        return instance;
+    }
+
+    private ImagePipeline(Context context) {
+        this.viewportPx = context.getResources().getDisplayMetrics().widthPixels;
+        long budget = Math.min(MAX_MEMORY_CACHE_BYTES, Runtime.getRuntime().maxMemory() / 16);
+        this.memory = new LruCache<String, byte[]>((int) budget) {
+            @Override
+            protected int sizeOf(String key, byte[] value) {
+                return value.length;
+            }
+        };
+        ConnectivityManager cm = context.getSystemService(ConnectivityManager.class);
+        if (cm != null) {
+            cm.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onCapabilitiesChanged(Network network, NetworkCapabilities caps) {
+                    updateLink(cm, caps);
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    link = ImageVariantPolicy.LinkClass.FAST;
+                }
+            });
+        }
+    }
+
+    private void updateLink(ConnectivityManager cm, NetworkCapabilities caps) {
+        boolean metered = !caps.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+        boolean dataSaver = metered
+            && cm.getRestrictBackgroundStatus() == ConnectivityManager.RESTRICT_BACKGROUND_STATUS_ENABLED;
+        ImageVariantPolicy.LinkClass next =
+            ImageVariantPolicy.classify(metered, caps.getLinkDownstreamBandwidthKbps(), dataSaver);
+        if (next != link) Log.d(TAG, "link " + link + " -> " + next + " (" + caps.getLinkDownstreamBandwidthKbps() + "kbps)");
+        link = next;
+    }
+
+    /** 축소 대상 이미지면 응답, 아니면 null (호출부가 WebAssetCache·기본 로드로 진행). */
+    WebResourceResponse intercept(WebResourceRequest request, WebAssetCache assetCache) {
+        ImageVariantPolicy.LinkClass current = link;
+        if (current == ImageVariantPolicy.LinkClass.FAST) return null;
+        if (request == null || request.isForMainFrame() || !"GET".equalsIgnoreCase(request.getMethod())) return null;
+        Uri uri = request.getUrl();
+        if (!"https".equals(uri.getScheme()) || !ImageVariantPolicy.isRecodable(uri.getPath())) return null;
+
+        int width = ImageVariantPolicy.targetWidth(current, viewportPx);
+        int quality = ImageVariantPolicy.quality(current);
+        String url = uri.toString();
+        String key = url + "#w" + width + "q" + quality;
+        long start = SystemClock.elapsedRealtime();
+        requests.incrementAndGet();
+
+        byte[] cached = memory.get(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return finish(start, cached, "image/webp", false);
+        }
+
+        String render = renderUnsupported.contains(uri.getHost()) ? null : ImageVariantPolicy.renderUrl(url, width, quality);
+        if (render != null) {
+            byte[] variant = fetchRendered(render, uri.getHost());
+            if (variant != null) {
+                rendered.incrementAndGet();
+                long original = assetCache.cachedSize(url);
+                if (original > 0) bytesOriginal.addAndGet(original);
+                else bytesOriginal.addAndGet(variant.length);
+                memory.put(key, variant);
+                return finish(start, variant, "image/webp", true);
+            }
+        }
+
+        WebResourceResponse source = assetCache.intercept(request);
+        if (source == null || source.getData() == null) return null;
+        byte[] original;
+        try {
+            original = readLimited(source.getData());
+        } catch (IOException e) {
+            return null;
+        }
+        if (original == null) return null;
+        bytesOriginal.addAndGet(original.length);
+
+        byte[] smaller = recode(original, width, quality);
+        if (smaller == null) {
+            passthrough.incrementAndGet();
+            return finish(start, original, source.getMimeType(), true);
+        }
+        recoded.incrementAndGet();
+        memory.put(key, smaller);
+        return finish(start, smaller, "image/webp", true);
+    }
+
+    /**
+     * render/image 요청. 실패하면 null (호출부가 원본을 받아 기기에서 변환).
+     * 호스트 전체를 미지원으로 기록하는 건 "이미지 변환이 꺼져 있음" 응답일 때만 — 404 등은 그 URL만 대체.
+     */
+    private byte[] fetchRendered(String url, String host) {
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(TIMEOUT_MS);
+            conn.setReadTimeout(TIMEOUT_MS);
+            conn.setRequestProperty("Accept", "image/webp,image/*");
+            int code = conn.getResponseCode();
+            if (code != HttpURLConnection.HTTP_OK) {
+                if (ImageVariantPolicy.isRenderDisabled(code, readErrorBody(conn))) {
+                    renderUnsupported.add(host);
+                    Log.d(TAG, "render/image disabled on " + host + " (HTTP " + code + "), recoding on device");
+                }
+                return null;
+            }
+            try (InputStream in = conn.getInputStream()) {
+                return readLimited(in);
+            }
+        } catch (IOException e) {
+            return null;
+        } finally {
+            if (conn != null) conn.disconnect();
+        }
+    }
+
+    /** 오류 응답 본문 앞부분 (판별용, 없으면 null). */
+    private static String readErrorBody(HttpURLConnection conn) {
+        try (InputStream in = conn.getErrorStream()) {
+            if (in == null) return null;
+            byte[] buf = new byte[ERROR_BODY_BYTES];
+            int off = 0;
+            int n;
+            while (off < buf.length && (n = in.read(buf, off, buf.length - off)) != -1) off += n;
+            return new String(buf, 0, off, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** 목표 폭으로 줄인 WebP. 줄일 필요가 없거나 결과가 원본보다 크면 null. */
+    private byte[] recode(byte[] original, int width, int quality) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(original, 0, original.length, bounds);
+        if (bounds.outWidth <= 0 || bounds.outWidth <= width) return null;
+
+        decodeSlots.acquireUninterruptibly();
+        Bitmap decoded = null;
+        Bitmap scaled = null;
+        try {
+            BitmapFactory.Options opts = new BitmapFactory.Options();
+            opts.inSampleSize = ImageVariantPolicy.sampleSize(bounds.outWidth, width);
+            decoded = BitmapFactory.decodeByteArray(original, 0, original.length, opts);
+            if (decoded == null) return null;
+            scaled = decoded;
+            if (decoded.getWidth() > width) {
+                int height = Math.max(1, Math.round(decoded.getHeight() * (width / (float) decoded.getWidth())));
+                scaled = Bitmap.createScaledBitmap(decoded, width, height, true);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(original.length / 2);
+            @SuppressWarnings("deprecation")
+            Bitmap.CompressFormat format = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY : Bitmap.CompressFormat.WEBP;
+            if (!scaled.compress(format, quality, out)) return null;
+            return out.size() < original.length ? out.toByteArray() : null;
+        } catch (OutOfMemoryError e) {
+            Log.w(TAG, "recode skipped (OOM) " + bounds.outWidth + "x" + bounds.outHeight);
+            return null;
+        } finally {
+            if (scaled != null && scaled != decoded) scaled.recycle();
+            if (decoded != null) decoded.recycle();
+            decodeSlots.release();
+        }
+    }
+
+    private WebResourceResponse finish(long start, byte[] body, String mimeType, boolean countBytes) {
+        long elapsed = SystemClock.elapsedRealtime() - start;
+        latencyTotalMs.addAndGet(elapsed);
+        latencyMaxMs.accumulateAndGet(elapsed, Math::max);
+        if (countBytes) bytesServed.addAndGet(body.length);
+        WebResourceResponse res = new WebResourceResponse(mimeType, null, new ByteArrayInputStream(body));
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Cache-Control", "no-cache");
+        headers.put("Access-Control-Allow-Origin", "*");
+        res.setResponseHeaders(headers);
+        return res;
+    }
+
+    private static byte[] readLimited(InputStream in) throws IOException {
+        try (InputStream is = in) {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream(64 * 1024);
+            byte[] chunk = new byte[16 * 1024];
+            int n;
+            while ((n = is.read(chunk)) != -1) {
+                if (buf.size() + n > MAX_SOURCE_BYTES) return null;
+                buf.write(chunk, 0, n);
+            }
+            return buf.toByteArray();
+        }
+    }
+
+    /** 메모리 압박 시 메모리 캐시 정리 ({@link WebViewResilience}). half면 절반까지만. 해제한 바이트 반환. */
+    long trimMemory(boolean half) {
+        int before = memory.size();
+        if (half) memory.trimToSize(memory.maxSize() / 2);
+        else memory.evictAll();
+        return Math.max(0, before - memory.size());
+    }
+
+    JSObject toJSObject() {
+        long count = requests.get();
+        JSObject o = new JSObject();
+        o.put("link", link.name());
+        o.put("requests", count);
+        o.put("memoryHits", memoryHits.get());
+        o.put("rendered", rendered.get());
+        o.put("recoded", recoded.get());
+        o.put("passthrough", passthrough.get());
+        o.put("bytesOriginal", bytesOriginal.get());
+        o.put("bytesServed", bytesServed.get());
+        o.put("bytesSaved", bytesSaved());
+        o.put("avgLatencyMs", count > 0 ? latencyTotalMs.get() / count : 0);
+        o.put("maxLatencyMs", latencyMaxMs.get());
+        o.put("memoryBytes", memory.size());
+        return o;
+    }
+
+    /** 원본 대비 줄어든 바이트. 메모리 캐시 적중분은 원본·응답 모두에서 제외 (보수적 집계) */
+    long bytesSaved() {
+        return Math.max(0, bytesOriginal.get() - bytesServed.get());
+    }
+
+    void resetStats() {
+        requests.set(0);
+        memoryHits.set(0);
+        rendered.set(0);
+        recoded.set(0);
+        passthrough.set(0);
+        bytesOriginal.set(0);
+        bytesServed.set(0);
+        latencyTotalMs.set(0);
+        latencyMaxMs.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "ImagePipeline{link=" + link
+            + ", requests=" + requests.get()
+            + ", memoryHits=" + memoryHits.get()
+            + ", rendered=" + rendered.get()
+            + ", recoded=" + recoded.get()
+            + ", saved=" + bytesSaved() + "B"
+            + ", avgMs=" + (requests.get() > 0 ? latencyTotalMs.get() / requests.get() : 0)
+            + "}";
+    }
+}
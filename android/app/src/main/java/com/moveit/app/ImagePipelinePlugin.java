@@ -0,0 +1,26 @@
+package com.moveit.app;
+
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * 저속 연결 이미지 축소({@link ImagePipeline}) 효과 확인용.
+ * - getStats(): { link, requests, memoryHits, rendered, recoded, passthrough, bytesOriginal, bytesServed, bytesSaved, avgLatencyMs, maxLatencyMs, memoryBytes }
+ * - resetStats()
+ */
+@CapacitorPlugin(name = "MoveitImagePipeline")
+public class ImagePipelinePlugin extends Plugin {
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        call.resolve(ImagePipeline.get(getContext()).toJSObject());
+    }
+
+    @PluginMethod
+    public void resetStats(PluginCall call) {
+        ImagePipeline.get(getContext()).resetStats();
+        call.resolve();
+    }
+}
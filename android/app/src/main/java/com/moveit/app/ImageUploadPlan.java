@@ -0,0 +1,115 @@
+package com.moveit.app;
+
+import java.util.Locale;
+
+/**
+ * 업로드 이미지 축소 크기·조각 계산. Android 의존성 없음 ({@link ImageUploader}가 사용).
+ * - 프리셋: PROFILE(긴 변 1080px, 원형 썸네일로만 보임), ACADEMY(긴 변 2048px, 배너·소개 본문)
+ * - 이미 목표 크기 이하인 작은 JPEG/WebP는 재인코딩하지 않고 원본 그대로 (화질 손실만 생김)
+ * - 조각: CHUNK_BYTES 단위, 서버가 알려 준 received부터 이어서 보냄 (app/api/upload/chunked)
+ */
+final class ImageUploadPlan {
+
+    enum Preset {
+        PROFILE(1080, 85),
+        ACADEMY(2048, 82);
+
+        final int maxEdge;
+        final int quality;
+
+        Preset(int maxEdge, int quality) {
+            this.maxEdge = maxEdge;
+            this.quality = quality;
+        }
+
+        /** 웹 값('profile' | 'academy'), 모르면 ACADEMY */
+        static Preset of(String name) {
+            return "profile".equalsIgnoreCase(name) ? PROFILE : ACADEMY;
+        }
+
+        String id() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    static final int CHUNK_BYTES = 256 * 1024;
+    /** 서버(lib/upload/image-store.ts) 업로드 상한 */
+    static final long MAX_UPLOAD_BYTES = 5L * 1024 * 1024;
+    /** 이보다 작은 원본은 크기만 맞으면 그대로 올림 */
+    static final long KEEP_ORIGINAL_BYTES = 512 * 1024;
+
+    private ImageUploadPlan() {}
+
+    /** 긴 변을 maxEdge 이하로 줄인 {폭, 높이}. 키우지 않음. */
+    static int[] targetSize(int width, int height, int maxEdge) {
+        if (width <= 0 || height <= 0) return new int[] {0, 0};
+        int longEdge = Math.max(width, height);
+        if (longEdge <= maxEdge) return new int[] {width, height};
+        double scale = maxEdge / (double) longEdge;
+        return new int[] {
+            Math.max(1, (int) Math.round(width * scale)),
+            Math.max(1, (int) Math.round(height * scale)),
+        };
+    }
+
+    /** 디코딩 inSampleSize: 긴 변이 maxEdge 이상으로 남는 가장 큰 2의 거듭제곱. */
+    static int sampleSize(int width, int height, int maxEdge) {
+        return ImageVariantPolicy.sampleSize(Math.max(width, height), maxEdge);
+    }
+
+    /**
+     * 재인코딩 없이 원본을 올려도 되는지.
+     * @param rotated EXIF 회전이 필요한 사진 (서버·웹이 EXIF를 보지 않으므로 픽셀을 돌려 다시 써야 함)
+     */
+    static boolean keepOriginal(String mimeType, int width, int height, long bytes, boolean rotated, Preset preset) {
+        if (rotated || bytes <= 0 || bytes > KEEP_ORIGINAL_BYTES) return false;
+        if (Math.max(width, height) > preset.maxEdge) return false;
+        return "image/jpeg".equals(mimeType) || "image/webp".equals(mimeType);
+    }
+
+    /** offset부터 보낼 조각 길이 (끝이면 0). */
+    static int chunkLength(long offset, long total, int chunkBytes) {
+        if (offset < 0 || offset >= total) return 0;
+        return (int) Math.min(chunkBytes, total - offset);
+    }
+
+    /** 서버가 알려 준 received를 이어 보낼 위치로 (범위 밖이면 처음부터). */
+    static long resumeOffset(long serverReceived, long total) {
+        return serverReceived < 0 || serverReceived > total ? 0 : serverReceived;
+    }
+
+    static int percent(long received, long total) {
+        if (total <= 0) return 0;
+        return (int) Math.min(100, received * 100 / total);
+    }
+
+    /** 누적 지표 (절감 바이트·완료율). */
+    static final class Stats {
+        long prepared;
+        long originalBytes;
+        long encodedBytes;
+        long started;
+        long completed;
+        long failed;
+        /** 중간에 끊겨 이어 올린 작업 수 */
+        long resumed;
+        long chunksSent;
+        long chunkRetries;
+
+        void onPrepared(long original, long encoded) {
+            prepared++;
+            originalBytes += original;
+            encodedBytes += encoded;
+        }
+
+        long savedBytes() {
+            return Math.max(0, originalBytes - encodedBytes);
+        }
+
+        /** 끝난 작업(완료+실패) 중 완료 비율 0–1, 끝난 게 없으면 1 */
+        double completionRate() {
+            long finished = completed + failed;
+            return finished == 0 ? 1.0 : completed / (double) finished;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.moveit.app;
+
+import android.Manifest;
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Build;
+import android.provider.MediaStore;
+import androidx.activity.result.ActivityResult;
+import androidx.core.content.FileProvider;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PermissionState;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.ActivityCallback;
+import com.getcapacitor.annotation.CapacitorPlugin;
+import com.getcapacitor.annotation.Permission;
+import com.getcapacitor.annotation.PermissionCallback;
+import java.io.File;
+
+/**
+ * 앱 이미지 촬영·선택·업로드({@link ImageUploader}). 웹: lib/capacitor/image-upload.ts
+ * - pick({ source: 'camera' | 'gallery', preset: 'profile' | 'academy' }): 촬영(FileProvider 캐시 파일)·사진 선택 후 축소
+ *   → { jobId, path, width, height, originalBytes, bytes, contentType } (취소 시 { cancelled: true })
+ * - upload({ jobId, target, targetUserId?, academyId?, accessToken? }): 백그라운드 조각 업로드 예약
+ * - cancel({ jobId }), getJobs(), getStats(), updateAuth({ accessToken })
+ * - 이벤트: progress(작업 상태·진행률, 완료 시 url), authRequired(401로 정지)
+ */
+@CapacitorPlugin(
+    name = "MoveitImageUpload",
+    permissions = @Permission(alias = "camera", strings = { Manifest.permission.CAMERA })
+)
+public class ImageUploadPlugin extends Plugin implements ImageUploader.Listener {
+
+    private static final String CAPTURE_DIR = "image-capture";
+
+    private ImageUploader uploader;
+    /** 카메라 앱이 쓰는 중인 파일 (captureResult에서 정리) */
+    private File pendingCapture;
+
+    @Override
+    public void load() {
+        uploader = ImageUploader.get(getContext());
+        uploader.addListener(this);
+    }
+
+    @PluginMethod
+    public void pick(PluginCall call) {
+        if ("camera".equals(call.getString("source"))) {
+            if (getPermissionState("camera") != PermissionState.GRANTED) {
+                requestPermissionForAlias("camera", call, "cameraPermissionResult");
+                return;
+            }
+            launchCamera(call);
+            return;
+        }
+        Intent intent = Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+            ? new Intent(MediaStore.ACTION_PICK_IMAGES)
+            : new Intent(Intent.ACTION_GET_CONTENT).setType("image/*").addCategory(Intent.CATEGORY_OPENABLE);
+        startActivityForResult(call, intent, "galleryResult");
+    }
+
+    @PermissionCallback
+    private void cameraPermissionResult(PluginCall call) {
+        if (getPermissionState("camera") != PermissionState.GRANTED) {
+            call.reject("카메라 권한이 필요합니다.", "PERMISSION_DENIED");
+            return;
+        }
+        launchCamera(call);
+    }
+
+    private void launchCamera(PluginCall call) {
+        Context context = getContext();
+        File dir = new File(context.getCacheDir(), CAPTURE_DIR);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            call.reject("촬영 파일을 만들 수 없습니다.");
+            return;
+        }
+        File file = new File(dir, "capture_" + System.currentTimeMillis() + ".jpg");
+        Uri uri = FileProvider.getUriForFile(context, context.getPackageName() + ".fileprovider", file);
+        Intent intent = new Intent(MediaStore.ACTION_IMAGE_CAPTURE)
+            .putExtra(MediaStore.EXTRA_OUTPUT, uri)
+            .addFlags(Intent.FLAG_GRANT_WRITE_URI_PERMISSION | Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        if (intent.resolveActivity(context.getPackageManager()) == null) {
+            call.reject("카메라 앱을 찾을 수 없습니다.", "UNAVAILABLE");
+            return;
+        }
+        pendingCapture = file;
+        startActivityForResult(call, intent, "captureResult");
+    }
+
+    @ActivityCallback
+    private void captureResult(PluginCall call, ActivityResult result) {
+        File file = pendingCapture;
+        pendingCapture = null;
+        if (file == null || result.getResultCode() != Activity.RESULT_OK || file.length() == 0) {
+            if (file != null) file.delete();
+            resolveCancelled(call);
+            return;
+        }
+        prepare(call, Uri.fromFile(file), file);
+    }
+
+    @ActivityCallback
+    private void galleryResult(PluginCall call, ActivityResult result) {
+        Intent data = result.getData();
+        if (result.getResultCode() != Activity.RESULT_OK || data == null || data.getData() == null) {
+            resolveCancelled(call);
+            return;
+        }
+        prepare(call, data.getData(), null);
+    }
+
+    private void prepare(PluginCall call, Uri source, File deleteSource) {
+        ImageUploadPlan.Preset preset = ImageUploadPlan.Preset.of(call.getString("preset"));
+        uploader.prepare(source, preset, deleteSource, (job, error) -> {
+            if (job == null) {
+                call.reject(error != null ? error : "이미지를 처리하지 못했습니다.");
+                return;
+            }
+            JSObject ret = new JSObject();
+            ret.put("jobId", job.id);
+            ret.put("path", job.file.getAbsolutePath());
+            ret.put("width", job.width);
+            ret.put("height", job.height);
+            ret.put("originalBytes", job.originalBytes);
+            ret.put("bytes", job.bytes);
+            ret.put("contentType", job.contentType);
+            call.resolve(ret);
+        });
+    }
+
+    private static void resolveCancelled(PluginCall call) {
+        JSObject ret = new JSObject();
+        ret.put("cancelled", true);
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void upload(PluginCall call) {
+        String jobId = call.getString("jobId");
+        String target = call.getString("target");
+        if (jobId == null || !("profile".equals(target) || "academy".equals(target))) {
+            call.reject("jobId and target (profile | academy) are required");
+            return;
+        }
+        String academyId = call.getString("academyId");
+        if ("academy".equals(target) && (academyId == null || academyId.isEmpty())) {
+            call.reject("academyId is required");
+            return;
+        }
+        uploader.configure(getBridge().getServerUrl(), call.getString("accessToken"));
+        if (!uploader.start(jobId, target, call.getString("targetUserId"), academyId)) {
+            call.reject("unknown or finished job", "NOT_FOUND");
+            return;
+        }
+        JSObject ret = new JSObject();
+        ret.put("jobId", jobId);
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void cancel(PluginCall call) {
+        String jobId = call.getString("jobId");
+        if (jobId != null) uploader.cancel(jobId);
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getJobs(PluginCall call) {
+        JSObject ret = new JSObject();
+        ret.put("jobs", uploader.jobs());
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        call.resolve(uploader.stats());
+    }
+
+    @PluginMethod
+    public void updateAuth(PluginCall call) {
+        uploader.updateAuth(call.getString("accessToken"));
+        call.resolve();
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        if (uploader != null) uploader.removeListener(this);
+        super.handleOnDestroy();
+    }
+
+    @Override
+    public void onUploadProgress(JSObject job) {
+        notifyListeners("progress", job);
+    }
+
+    @Override
+    public void onAuthRequired() {
+        notifyListeners("authRequired", new JSObject());
+    }
+}
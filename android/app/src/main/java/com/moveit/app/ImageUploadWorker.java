@@ -0,0 +1,35 @@
+package com.moveit.app;
+
+import android.content.Context;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+/** {@link ImageUploader} 작업 하나의 조각 업로드. 끊기면 지수 백오프로 다시 실행돼 서버가 받은 곳부터 이어 보냄. */
+public class ImageUploadWorker extends Worker {
+
+    static final String KEY_JOB_ID = "jobId";
+    /** 이 횟수 넘게 끊기면 실패 처리 (웹에서 다시 시도하면 새 작업) */
+    private static final int MAX_ATTEMPTS = 10;
+
+    public ImageUploadWorker(Context context, WorkerParameters params) {
+        super(context, params);
+    }
+
+    @Override
+    public Result doWork() {
+        String jobId = getInputData().getString(KEY_JOB_ID);
+        if (jobId == null) return Result.failure();
+        ImageUploader uploader = ImageUploader.get(getApplicationContext());
+        switch (uploader.runUpload(jobId)) {
+            case RETRY:
+                if (getRunAttemptCount() < MAX_ATTEMPTS) return Result.retry();
+                uploader.markFailed(jobId, "네트워크 연결이 불안정해 업로드하지 못했습니다.");
+                return Result.failure();
+            case DONE:
+                return Result.success();
+            default:
+                // FAILED·AUTH: 재시도해도 같은 결과 (AUTH는 updateAuth에서 다시 예약)
+                return Result.failure();
+        }
+    }
+}
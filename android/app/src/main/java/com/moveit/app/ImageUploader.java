@@ -0,0 +1,772 @@
+package com.moveit.app;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+import android.webkit.CookieManager;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 프로필·학원 이미지 업로드 (웹 &lt;input type=file&gt; 대신 앱에서 촬영·선택한 사진).
+ * 1) prepare: io 스레드에서 축소 디코딩(inSampleSize + inDensity 스케일) → EXIF 회전 반영 → WebP 재인코딩
+ *    ({@link ImageUploadPlan} 프리셋). 결과는 noBackupFilesDir/image-uploads/{id}.webp (캐시 정리에 지워지지 않음)
+ * 2) start: WorkManager 작업({@link ImageUploadWorker}, 네트워크 연결 시)이 /api/upload/chunked로 CHUNK_BYTES씩 PUT.
+ *    앱이 백그라운드로 가거나 죽어도 작업은 이어지고, 끊기면 서버가 알려 준 received부터 다시 보냄
+ * 3) 모두 보내면 POST로 합쳐 저장 → URL. 401이면 작업을 멈추고 authRequired 알림, 웹이 새 토큰을 넘기면(updateAuth) 재개
+ * 작업·누적 지표(절감 바이트, 완료율)는 image-uploads/jobs.json (tmp → rename). 진행은 {@link Listener}로 전달.
+ * 웹: lib/capacitor/image-upload.ts (MoveitImageUpload 플러그인)
+ */
+final class ImageUploader {
+
+    interface Listener {
+        /** 작업 상태·진행률 변경 (io·작업 스레드에서 호출) */
+        void onUploadProgress(JSObject job);
+
+        void onAuthRequired();
+    }
+
+    interface PrepareCallback {
+        /** job 또는 error 중 하나 */
+        void onResult(Job job, String error);
+    }
+
+    enum Result { DONE, RETRY, FAILED, AUTH }
+
+    static final String TAG = "MoveitUpload";
+    static final String STATE_PREPARED = "prepared";
+    static final String STATE_QUEUED = "queued";
+    static final String STATE_UPLOADING = "uploading";
+    static final String STATE_DONE = "done";
+    static final String STATE_FAILED = "failed";
+    static final String STATE_AUTH = "auth";
+
+    private static final String PATH = "/api/upload/chunked";
+    private static final String WORK_PREFIX = "moveit-image-upload-";
+    private static final long BACKOFF_SEC = 15;
+    private static final int TIMEOUT_MS = 20_000;
+    private static final int MAX_CONFLICTS = 3;
+    /** 원본이 이보다 크면 디코딩하지 않음 (RAW·파노라마 등) */
+    private static final long MAX_SOURCE_BYTES = 50L * 1024 * 1024;
+    /** 결과가 상한을 넘으면 이만큼 품질을 낮춰 한 번 더 */
+    private static final int QUALITY_STEP = 20;
+    /** 끝난(done·failed) 작업과 올리지 않은 prepared 파일 보관 기간 */
+    private static final long KEEP_FINISHED_MS = TimeUnit.DAYS.toMillis(7);
+    private static final long KEEP_PREPARED_MS = TimeUnit.DAYS.toMillis(1);
+
+    static final class Job {
+        final String id;
+        final ImageUploadPlan.Preset preset;
+        final File file;
+        final String contentType;
+        final long originalBytes;
+        final long bytes;
+        final int width;
+        final int height;
+        final long createdAt;
+        String state = STATE_PREPARED;
+        String target;
+        String targetUserId;
+        String academyId;
+        long received;
+        String url;
+        String error;
+        /** 이전 시도가 중간에 끊겼는지 (이어 올리기 지표) */
+        boolean interrupted;
+        long startedAt;
+
+        Job(String id, ImageUploadPlan.Preset preset, File file, String contentType,
+            long originalBytes, long bytes, int width, int height, long createdAt) {
+            this.id = id;
+            this.preset = preset;
+            this.file = file;
+            this.contentType = contentType;
+            this.originalBytes = originalBytes;
+            this.bytes = bytes;
+            this.width = width;
+            this.height = height;
+            this.createdAt = createdAt;
+        }
+
+        boolean finished() {
+            return STATE_DONE.equals(state) || STATE_FAILED.equals(state);
+        }
+    }
+
+    private static ImageUploader instance;
+
+    private final Context context;
+    private final File dir;
+    private final File jobsFile;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, "moveit-image-upload"));
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // 아래 상태는 synchronized(this)
+    private Map<String, Job> jobs;
+    private final ImageUploadPlan.Stats stats = new ImageUploadPlan.Stats();
+    private String serverUrl;
+    private volatile String accessToken;
+
+    static synchronized ImageUploader get(Context context) {
+        if (instance == null) instance = new ImageUploader(context.getApplicationContext());
+        return instance;
+    }
+
+    private ImageUploader(Context context) {
+        this.context = context;
+        this.dir = new File(context.getNoBackupFilesDir(), "image-uploads");
+        this.jobsFile = new File(dir, "jobs.json");
+    }
+
+    void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** 플러그인에서 서버 주소·토큰 전달. 토큰은 디스크에 남기지 않음 (프로세스 재시작 후에는 WebView 쿠키로 시도). */
+    synchronized void configure(String serverUrl, String accessToken) {
+        if (serverUrl != null) this.serverUrl = serverUrl;
+        if (accessToken != null && !accessToken.isEmpty()) this.accessToken = accessToken;
+    }
+
+    /** 새 토큰으로 401에서 멈춘 작업 재개. */
+    void updateAuth(String token) {
+        if (token == null || token.isEmpty()) return;
+        accessToken = token;
+        List<String> resume = new ArrayList<>();
+        synchronized (this) {
+            load();
+            for (Job job : jobs.values()) {
+                if (STATE_AUTH.equals(job.state)) {
+                    job.state = STATE_QUEUED;
+                    resume.add(job.id);
+                }
+            }
+            if (!resume.isEmpty()) save();
+        }
+        for (String id : resume) enqueue(id, ExistingWorkPolicy.REPLACE);
+    }
+
+    /** 촬영·선택한 이미지를 줄여 업로드 파일로 (io 스레드). 원본 임시 파일(deleteSource)은 끝나면 지움. */
+    void prepare(Uri source, ImageUploadPlan.Preset preset, File deleteSource, PrepareCallback callback) {
+        io.execute(() -> {
+            long start = SystemClock.elapsedRealtime();
+            Job job = null;
+            String error = null;
+            try {
+                job = encode(source, preset);
+            } catch (IOException e) {
+                Log.w(TAG, "prepare failed: " + e.getMessage());
+                error = e.getMessage();
+            } catch (OutOfMemoryError e) {
+                Log.w(TAG, "prepare failed (OOM)");
+                error = "이미지가 너무 큽니다.";
+            } finally {
+                if (deleteSource != null && !deleteSource.delete()) deleteSource.deleteOnExit();
+            }
+            if (job != null) {
+                synchronized (this) {
+                    load();
+                    jobs.put(job.id, job);
+                    stats.onPrepared(job.originalBytes, job.bytes);
+                    save();
+                }
+                Log.d(TAG, "prepared " + job.id + " " + job.width + "x" + job.height + " "
+                    + job.originalBytes + " -> " + job.bytes + "B in " + (SystemClock.elapsedRealtime() - start) + "ms");
+            }
+            callback.onResult(job, error);
+        });
+    }
+
+    /** 준비된 작업 업로드 예약. target: profile | academy */
+    boolean start(String jobId, String target, String targetUserId, String academyId) {
+        synchronized (this) {
+            load();
+            Job job = jobs.get(jobId);
+            if (job == null || job.finished()) return false;
+            job.target = target;
+            job.targetUserId = targetUserId;
+            job.academyId = academyId;
+            job.state = STATE_QUEUED;
+            job.error = null;
+            if (job.startedAt == 0) {
+                job.startedAt = System.currentTimeMillis();
+                stats.started++;
+            }
+            save();
+        }
+        enqueue(jobId, ExistingWorkPolicy.KEEP);
+        return true;
+    }
+
+    void cancel(String jobId) {
+        WorkManager.getInstance(context).cancelUniqueWork(WORK_PREFIX + jobId);
+        synchronized (this) {
+            load();
+            Job job = jobs.remove(jobId);
+            if (job == null) return;
+            job.file.delete();
+            save();
+        }
+    }
+
+    synchronized JSArray jobs() {
+        load();
+        JSArray list = new JSArray();
+        for (Job job : jobs.values()) list.put(toJSObject(job));
+        return list;
+    }
+
+    /** { prepared, originalBytes, encodedBytes, savedBytes, started, completed, failed, resumed, chunksSent, chunkRetries, completionRate } */
+    synchronized JSObject stats() {
+        load();
+        JSObject o = new JSObject();
+        o.put("prepared", stats.prepared);
+        o.put("originalBytes", stats.originalBytes);
+        o.put("encodedBytes", stats.encodedBytes);
+        o.put("savedBytes", stats.savedBytes());
+        o.put("started", stats.started);
+        o.put("completed", stats.completed);
+        o.put("failed", stats.failed);
+        o.put("resumed", stats.resumed);
+        o.put("chunksSent", stats.chunksSent);
+        o.put("chunkRetries", stats.chunkRetries);
+        o.put("completionRate", stats.completionRate());
+        return o;
+    }
+
+    /** 재시도 횟수를 넘긴 작업 ({@link ImageUploadWorker}). */
+    void markFailed(String jobId, String error) {
+        JSObject update;
+        synchronized (this) {
+            load();
+            Job job = jobs.get(jobId);
+            if (job == null || job.finished()) return;
+            job.state = STATE_FAILED;
+            job.error = error;
+            stats.failed++;
+            save();
+            update = toJSObject(job);
+        }
+        emit(update);
+    }
+
+    private void enqueue(String jobId, ExistingWorkPolicy policy) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ImageUploadWorker.class)
+            .setConstraints(new Constraints.Builder().setRequiredNetworkType(NetworkType.CONNECTED).build())
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SEC, TimeUnit.SECONDS)
+            .setInputData(new Data.Builder().putString(ImageUploadWorker.KEY_JOB_ID, jobId).build())
+            .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_PREFIX + jobId, policy, request);
+    }
+
+    // ---- 인코딩 (io 스레드) ----
+
+    private Job encode(Uri source, ImageUploadPlan.Preset preset) throws IOException {
+        ContentResolver resolver = context.getContentResolver();
+        long originalBytes = sizeOf(resolver, source);
+        if (originalBytes > MAX_SOURCE_BYTES) throw new IOException("원본 파일이 너무 큽니다.");
+
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(resolver, source)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) throw new IOException("이미지를 읽을 수 없습니다.");
+        int rotation = rotationOf(resolver, source);
+        String mime = bounds.outMimeType != null ? bounds.outMimeType : resolver.getType(source);
+
+        String id = UUID.randomUUID().toString();
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("업로드 폴더를 만들 수 없습니다.");
+
+        if (ImageUploadPlan.keepOriginal(mime, bounds.outWidth, bounds.outHeight, originalBytes, rotation != 0, preset)) {
+            File out = new File(dir, id + ("image/webp".equals(mime) ? ".webp" : ".jpg"));
+            try (InputStream in = open(resolver, source); OutputStream os = new FileOutputStream(out)) {
+                byte[] buf = new byte[16 * 1024];
+                int n;
+                while ((n = in.read(buf)) != -1) os.write(buf, 0, n);
+            }
+            return new Job(id, preset, out, mime, originalBytes, out.length(),
+                bounds.outWidth, bounds.outHeight, System.currentTimeMillis());
+        }
+
+        int[] target = ImageUploadPlan.targetSize(bounds.outWidth, bounds.outHeight, preset.maxEdge);
+        BitmapFactory.Options opts = new BitmapFactory.Options();
+        opts.inSampleSize = ImageUploadPlan.sampleSize(bounds.outWidth, bounds.outHeight, preset.maxEdge);
+        // 샘플링 후 남은 배율은 디코더가 직접 줄이게 (전체 크기 비트맵을 한 번 더 만들지 않음)
+        int sampledLong = Math.max(bounds.outWidth, bounds.outHeight) / opts.inSampleSize;
+        int targetLong = Math.max(target[0], target[1]);
+        if (sampledLong > targetLong) {
+            opts.inScaled = true;
+            opts.inDensity = sampledLong;
+            opts.inTargetDensity = targetLong;
+        }
+        Bitmap decoded;
+        try (InputStream in = open(resolver, source)) {
+            decoded = BitmapFactory.decodeStream(in, null, opts);
+        }
+        if (decoded == null) throw new IOException("이미지를 읽을 수 없습니다.");
+        Bitmap oriented = decoded;
+        try {
+            if (rotation != 0) {
+                Matrix m = new Matrix();
+                m.postRotate(rotation);
+                oriented = Bitmap.createBitmap(decoded, 0, 0, decoded.getWidth(), decoded.getHeight(), m, true);
+            }
+            File out = new File(dir, id + ".webp");
+            byte[] encoded = compress(oriented, preset.quality);
+            if (encoded.length > ImageUploadPlan.MAX_UPLOAD_BYTES) encoded = compress(oriented, preset.quality - QUALITY_STEP);
+            if (encoded.length > ImageUploadPlan.MAX_UPLOAD_BYTES) throw new IOException("파일 크기는 5MB 이하여야 합니다.");
+            try (OutputStream os = new FileOutputStream(out)) {
+                os.write(encoded);
+            }
+            return new Job(id, preset, out, "image/webp", originalBytes, encoded.length,
+                oriented.getWidth(), oriented.getHeight(), System.currentTimeMillis());
+        } finally {
+            if (oriented != decoded) oriented.recycle();
+            decoded.recycle();
+        }
+    }
+
+    private static byte[] compress(Bitmap bitmap, int quality) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+        @SuppressWarnings("deprecation")
+        Bitmap.CompressFormat format = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? Bitmap.CompressFormat.WEBP_LOSSY : Bitmap.CompressFormat.WEBP;
+        if (!bitmap.compress(format, quality, out)) throw new IOException("이미지 변환에 실패했습니다.");
+        return out.toByteArray();
+    }
+
+    private static InputStream open(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) throw new IOException("이미지를 열 수 없습니다.");
+        return in;
+    }
+
+    private static long sizeOf(ContentResolver resolver, Uri uri) {
+        try (AssetFileDescriptor fd = resolver.openAssetFileDescriptor(uri, "r")) {
+            return fd != null ? fd.getLength() : -1;
+        } catch (IOException | SecurityException e) {
+            return -1;
+        }
+    }
+
+    /** EXIF 방향 → 시계 방향 회전 각도. 좌우 반전은 드물어 회전만 반영. */
+    private static int rotationOf(ContentResolver resolver, Uri uri) {
+        try (InputStream in = open(resolver, uri)) {
+            switch (new ExifInterface(in).getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL)) {
+                case ExifInterface.ORIENTATION_ROTATE_90:
+                case ExifInterface.ORIENTATION_TRANSPOSE:
+                    return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180:
+                    return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270:
+                case ExifInterface.ORIENTATION_TRANSVERSE:
+                    return 270;
+                default:
+                    return 0;
+            }
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // ---- 업로드 ({@link ImageUploadWorker} 스레드) ----
+
+    Result runUpload(String jobId) {
+        Job job;
+        String origin;
+        synchronized (this) {
+            load();
+            job = jobs.get(jobId);
+            if (job == null || job.finished()) return Result.DONE;
+            if (!job.file.exists()) {
+                job.state = STATE_FAILED;
+                job.error = "업로드할 파일이 없습니다.";
+                stats.failed++;
+                save();
+                emit(toJSObject(job));
+                return Result.FAILED;
+            }
+            job.state = STATE_UPLOADING;
+            save();
+            origin = AppLinkRewriter.originOf(serverUrl != null ? serverUrl : readServerUrl());
+        }
+        emit(snapshot(job));
+        if (origin == null) return Result.RETRY;
+        String base = origin + PATH + "?uploadId=" + encode(job.id);
+
+        try {
+            Response status = request("GET", base, null, 0);
+            if (status.code == 401) return authRequired(job);
+            if (status.code != 200) return retryOrFail(job, status);
+            if (status.body.optLong("received") == -1 && status.body.has("url")) {
+                return complete(job, status.body.optString("url"));
+            }
+            long received = ImageUploadPlan.resumeOffset(status.body.optLong("received"), job.bytes);
+            synchronized (this) {
+                if (job.interrupted && received > 0) stats.resumed++;
+                job.interrupted = false;
+            }
+
+            try (RandomAccessFile raf = new RandomAccessFile(job.file, "r")) {
+                int len;
+                int conflicts = 0;
+                byte[] chunk = new byte[ImageUploadPlan.CHUNK_BYTES];
+                while ((len = ImageUploadPlan.chunkLength(received, job.bytes, ImageUploadPlan.CHUNK_BYTES)) > 0) {
+                    raf.seek(received);
+                    raf.readFully(chunk, 0, len);
+                    Response put = request("PUT", base + "&offset=" + received, chunk, len);
+                    if (put.code == 401) return authRequired(job);
+                    if (put.code == 409) {
+                        // 서버와 위치가 어긋남 (응답 유실 등) → 서버 기준으로 맞춰 계속. 계속 어긋나면 다음 시도로
+                        if (++conflicts > MAX_CONFLICTS) return interrupted(job, "offset conflict");
+                        received = ImageUploadPlan.resumeOffset(put.body.optLong("received"), job.bytes);
+                        synchronized (this) {
+                            stats.chunkRetries++;
+                        }
+                        continue;
+                    }
+                    if (put.code != 200) return retryOrFail(job, put);
+                    conflicts = 0;
+                    received = ImageUploadPlan.resumeOffset(put.body.optLong("received", received + len), job.bytes);
+                    synchronized (this) {
+                        stats.chunksSent++;
+                        job.received = received;
+                        save();
+                    }
+                    emit(snapshot(job));
+                }
+            }
+
+            JSONObject finish = new JSONObject()
+                .put("uploadId", job.id)
+                .put("target", job.target)
+                .put("contentType", job.contentType)
+                .put("size", job.bytes);
+            if (job.targetUserId != null) finish.put("targetUserId", job.targetUserId);
+            if (job.academyId != null) finish.put("academyId", job.academyId);
+            byte[] body = finish.toString().getBytes(StandardCharsets.UTF_8);
+            Response done = request("POST", origin + PATH, body, body.length);
+            if (done.code == 401) return authRequired(job);
+            if (done.code == 200 && done.body.has("url")) return complete(job, done.body.optString("url"));
+            return retryOrFail(job, done);
+        } catch (IOException | JSONException e) {
+            Log.d(TAG, "upload " + job.id + " interrupted: " + e.getMessage());
+            return interrupted(job, e.getMessage());
+        }
+    }
+
+    private Result complete(Job job, String url) {
+        JSObject update;
+        synchronized (this) {
+            job.state = STATE_DONE;
+            job.url = url;
+            job.received = job.bytes;
+            job.error = null;
+            stats.completed++;
+            job.file.delete();
+            save();
+            update = toJSObject(job);
+        }
+        Log.d(TAG, "uploaded " + job.id + " (" + job.bytes + "B, " + (System.currentTimeMillis() - job.startedAt) + "ms)");
+        emit(update);
+        return Result.DONE;
+    }
+
+    private Result authRequired(Job job) {
+        JSObject update;
+        synchronized (this) {
+            job.state = STATE_AUTH;
+            job.interrupted = true;
+            save();
+            update = toJSObject(job);
+        }
+        emit(update);
+        for (Listener l : listeners) l.onAuthRequired();
+        return Result.AUTH;
+    }
+
+    /** 429·5xx는 재시도, 그 외 4xx는 같은 요청을 다시 보내도 실패하므로 포기. */
+    private Result retryOrFail(Job job, Response res) {
+        if (res.code == 409 || res.code == 429 || res.code >= 500) {
+            return interrupted(job, "HTTP " + res.code);
+        }
+        String error = res.body.optString("error", "업로드에 실패했습니다. (HTTP " + res.code + ")");
+        JSObject update;
+        synchronized (this) {
+            job.state = STATE_FAILED;
+            job.error = error;
+            stats.failed++;
+            save();
+            update = toJSObject(job);
+        }
+        Log.w(TAG, "upload " + job.id + " rejected: " + error);
+        emit(update);
+        return Result.FAILED;
+    }
+
+    private Result interrupted(Job job, String reason) {
+        JSObject update;
+        synchronized (this) {
+            job.state = STATE_QUEUED;
+            job.interrupted = true;
+            job.error = reason;
+            stats.chunkRetries++;
+            save();
+            update = toJSObject(job);
+        }
+        emit(update);
+        return Result.RETRY;
+    }
+
+    private static final class Response {
+        final int code;
+        final JSONObject body;
+
+        Response(int code, JSONObject body) {
+            this.code = code;
+            this.body = body;
+        }
+    }
+
+    private Response request(String method, String url, byte[] body, int length) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            conn.setRequestMethod(method);
+            conn.setConnectTimeout(TIMEOUT_MS);
+            conn.setReadTimeout(TIMEOUT_MS);
+            String token = accessToken;
+            if (token != null && !token.isEmpty()) {
+                conn.setRequestProperty("Authorization", "Bearer " + token);
+            } else {
+                String cookie = CookieManager.getInstance().getCookie(url);
+                if (cookie != null) conn.setRequestProperty("Cookie", cookie);
+            }
+            if (body != null) {
+                conn.setDoOutput(true);
+                conn.setRequestProperty("Content-Type", "PUT".equals(method) ? "application/octet-stream" : "application/json");
+                conn.setFixedLengthStreamingMode(length);
+                try (OutputStream out = conn.getOutputStream()) {
+                    out.write(body, 0, length);
+                }
+            }
+            int code = conn.getResponseCode();
+            InputStream in = code < 400 ? conn.getInputStream() : conn.getErrorStream();
+            if (in == null) return new Response(code, new JSONObject());
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            try (InputStream is = in) {
+                byte[] b = new byte[4096];
+                int n;
+                while ((n = is.read(b)) != -1) buf.write(b, 0, n);
+            }
+            try {
+                return new Response(code, new JSONObject(buf.toString("UTF-8")));
+            } catch (JSONException e) {
+                return new Response(code, new JSONObject());
+            }
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (IOException e) {
+            return value;
+        }
+    }
+
+    private String readServerUrl() {
+        try {
+            CapConfig config = CapConfig.loadDefault(context);
+            return config != null ? config.getServerUrl() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void emit(JSObject update) {
+        for (Listener l : listeners) l.onUploadProgress(update);
+    }
+
+    private synchronized JSObject snapshot(Job job) {
+        return toJSObject(job);
+    }
+
+    private static JSObject toJSObject(Job job) {
+        JSObject o = new JSObject();
+        o.put("jobId", job.id);
+        o.put("state", job.state);
+        o.put("preset", job.preset.id());
+        o.put("path", job.file.getAbsolutePath());
+        o.put("contentType", job.contentType);
+        o.put("width", job.width);
+        o.put("height", job.height);
+        o.put("originalBytes", job.originalBytes);
+        o.put("bytes", job.bytes);
+        o.put("received", job.received);
+        o.put("progress", ImageUploadPlan.percent(job.received, job.bytes));
+        if (job.target != null) o.put("target", job.target);
+        if (job.url != null) o.put("url", job.url);
+        if (job.error != null) o.put("error", job.error);
+        return o;
+    }
+
+    // ---- 저장 (synchronized(this)) ----
+
+    private void load() {
+        if (jobs != null) return;
+        jobs = new LinkedHashMap<>();
+        if (!jobsFile.exists()) return;
+        try {
+            JSONObject root = new JSONObject(new String(Files.readAllBytes(jobsFile.toPath()), StandardCharsets.UTF_8));
+            JSONObject s = root.optJSONObject("stats");
+            if (s != null) {
+                stats.prepared = s.optLong("prepared");
+                stats.originalBytes = s.optLong("originalBytes");
+                stats.encodedBytes = s.optLong("encodedBytes");
+                stats.started = s.optLong("started");
+                stats.completed = s.optLong("completed");
+                stats.failed = s.optLong("failed");
+                stats.resumed = s.optLong("resumed");
+                stats.chunksSent = s.optLong("chunksSent");
+                stats.chunkRetries = s.optLong("chunkRetries");
+            }
+            JSONArray list = root.optJSONArray("jobs");
+            for (int i = 0; list != null && i < list.length(); i++) {
+                JSONObject o = list.optJSONObject(i);
+                if (o == null || !o.has("id")) continue;
+                Job job = new Job(o.getString("id"), ImageUploadPlan.Preset.of(o.optString("preset")),
+                    new File(o.optString("path")), o.optString("contentType"), o.optLong("originalBytes"),
+                    o.optLong("bytes"), o.optInt("width"), o.optInt("height"), o.optLong("createdAt"));
+                job.state = o.optString("state", STATE_PREPARED);
+                job.target = o.optString("target", null);
+                job.targetUserId = o.optString("targetUserId", null);
+                job.academyId = o.optString("academyId", null);
+                job.received = o.optLong("received");
+                job.url = o.optString("url", null);
+                job.error = o.optString("error", null);
+                job.interrupted = o.optBoolean("interrupted");
+                job.startedAt = o.optLong("startedAt");
+                // 업로드 중 프로세스가 죽은 작업은 이어 올리기 대상
+                if (STATE_UPLOADING.equals(job.state)) {
+                    job.state = STATE_QUEUED;
+                    job.interrupted = true;
+                }
+                jobs.put(job.id, job);
+            }
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "jobs unreadable: " + e.getMessage());
+        }
+        prune();
+    }
+
+    /** 오래된 끝난 작업·올리지 않은 파일 정리. */
+    private void prune() {
+        long now = System.currentTimeMillis();
+        boolean changed = false;
+        for (Iterator<Job> it = jobs.values().iterator(); it.hasNext(); ) {
+            Job job = it.next();
+            long age = now - job.createdAt;
+            boolean stale = job.finished() ? age > KEEP_FINISHED_MS
+                : STATE_PREPARED.equals(job.state) && age > KEEP_PREPARED_MS;
+            if (!stale) continue;
+            job.file.delete();
+            it.remove();
+            changed = true;
+        }
+        if (changed) save();
+    }
+
+    /** tmp 파일에 쓴 뒤 rename. */
+    private void save() {
+        try {
+            JSONArray list = new JSONArray();
+            for (Job job : jobs.values()) {
+                list.put(new JSONObject()
+                    .put("id", job.id)
+                    .put("preset", job.preset.id())
+                    .put("path", job.file.getAbsolutePath())
+                    .put("contentType", job.contentType)
+                    .put("originalBytes", job.originalBytes)
+                    .put("bytes", job.bytes)
+                    .put("width", job.width)
+                    .put("height", job.height)
+                    .put("createdAt", job.createdAt)
+                    .put("state", job.state)
+                    .put("target", job.target)
+                    .put("targetUserId", job.targetUserId)
+                    .put("academyId", job.academyId)
+                    .put("received", job.received)
+                    .put("url", job.url)
+                    .put("error", job.error)
+                    .put("interrupted", job.interrupted)
+                    .put("startedAt", job.startedAt));
+            }
+            JSONObject s = new JSONObject()
+                .put("prepared", stats.prepared)
+                .put("originalBytes", stats.originalBytes)
+                .put("encodedBytes", stats.encodedBytes)
+                .put("started", stats.started)
+                .put("completed", stats.completed)
+                .put("failed", stats.failed)
+                .put("resumed", stats.resumed)
+                .put("chunksSent", stats.chunksSent)
+                .put("chunkRetries", stats.chunkRetries);
+            if (!dir.isDirectory() && !dir.mkdirs()) return;
+            File tmp = new File(jobsFile.getPath() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                out.write(new JSONObject().put("stats", s).put("jobs", list).toString().getBytes(StandardCharsets.UTF_8));
+            }
+            if (!tmp.renameTo(jobsFile)) tmp.delete();
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "jobs save failed: " + e.getMessage());
+        }
+    }
+}
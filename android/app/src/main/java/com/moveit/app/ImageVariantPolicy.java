@@ -0,0 +1,94 @@
+package com.moveit.app;
+
+import java.util.Locale;
+
+/**
+ * 연결 상태에 따른 이미지 축소 정책 ({@link ImagePipeline}에서 사용). Android 의존성 없음.
+ * - 연결 등급: 데이터 절약 모드·저속(추정 대역폭) → SLOW, 종량제(모바일 데이터)·중간 대역폭 → MODERATE, 그 외 FAST
+ * - FAST면 원본 그대로 (기존 WebAssetCache 경로), 그 외에는 화면 폭 이하로 줄인 WebP로 응답
+ * - Supabase Storage public 이미지는 render/image 엔드포인트(서버 변환) URL로 바꿔 요청 가능
+ */
+final class ImageVariantPolicy {
+
+    enum LinkClass { FAST, MODERATE, SLOW }
+
+    /** 이 값 미만(kbps)이면 SLOW. NetworkCapabilities 추정치 기준 (3G·약전계 LTE) */
+    static final int SLOW_KBPS = 2_000;
+    /** 이 값 미만이면 비종량제여도 MODERATE */
+    static final int MODERATE_KBPS = 10_000;
+
+    static final int MODERATE_MAX_WIDTH = 1080;
+    static final int SLOW_MAX_WIDTH = 720;
+    static final int MODERATE_QUALITY = 80;
+    static final int SLOW_QUALITY = 60;
+
+    private static final String SUPABASE_OBJECT = "/storage/v1/object/public/";
+    private static final String SUPABASE_RENDER = "/storage/v1/render/image/public/";
+
+    private ImageVariantPolicy() {}
+
+    /** @param downstreamKbps 추정 하향 대역폭, 모르면 0 이하 */
+    static LinkClass classify(boolean metered, int downstreamKbps, boolean dataSaver) {
+        if (dataSaver) return LinkClass.SLOW;
+        if (downstreamKbps > 0 && downstreamKbps < SLOW_KBPS) return LinkClass.SLOW;
+        if (metered || (downstreamKbps > 0 && downstreamKbps < MODERATE_KBPS)) return LinkClass.MODERATE;
+        return LinkClass.FAST;
+    }
+
+    /** 목표 폭(px). 0이면 축소하지 않음. */
+    static int targetWidth(LinkClass link, int viewportPx) {
+        int viewport = viewportPx > 0 ? viewportPx : Integer.MAX_VALUE;
+        switch (link) {
+            case SLOW:
+                return Math.min(viewport, SLOW_MAX_WIDTH);
+            case MODERATE:
+                return Math.min(viewport, MODERATE_MAX_WIDTH);
+            default:
+                return 0;
+        }
+    }
+
+    static int quality(LinkClass link) {
+        return link == LinkClass.SLOW ? SLOW_QUALITY : MODERATE_QUALITY;
+    }
+
+    /** 디코딩 시 inSampleSize: 결과 폭이 목표 폭 이상으로 남는 가장 큰 2의 거듭제곱. */
+    static int sampleSize(int sourceWidth, int targetWidth) {
+        int sample = 1;
+        if (sourceWidth <= 0 || targetWidth <= 0) return sample;
+        while (sourceWidth / (sample * 2) >= targetWidth) sample *= 2;
+        return sample;
+    }
+
+    /** 재인코딩 대상 (애니메이션 GIF·SVG·아이콘 제외). */
+    static boolean isRecodable(String path) {
+        if (path == null) return false;
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".jpg") || lower.endsWith(".jpeg") || lower.endsWith(".png") || lower.endsWith(".webp");
+    }
+
+    /**
+     * Supabase public 객체 URL → 같은 객체의 축소 변환 URL. 대상이 아니면 null.
+     * https://x.supabase.co/storage/v1/object/public/b/a.jpg → .../render/image/public/b/a.jpg?width=720&quality=60
+     */
+    static String renderUrl(String url, int width, int quality) {
+        if (url == null || width <= 0) return null;
+        int at = url.indexOf(SUPABASE_OBJECT);
+        if (at < 0 || url.indexOf('?') >= 0) return null;
+        int hostEnd = url.indexOf('/', "https://".length());
+        if (hostEnd < 0 || hostEnd != at || !url.substring(0, hostEnd).endsWith(".supabase.co")) return null;
+        return url.substring(0, at) + SUPABASE_RENDER + url.substring(at + SUPABASE_OBJECT.length())
+            + "?width=" + width + "&quality=" + quality;
+    }
+
+    /**
+     * render/image 오류 응답이 "프로젝트에 이미지 변환이 꺼져 있음"인지 (호스트 전체를 기기 변환으로 돌릴 근거).
+     * 404(없는·지운 객체) 등 URL 하나의 문제는 false — 그 URL만 원본으로 대체.
+     */
+    static boolean isRenderDisabled(int status, String body) {
+        if (status != 400 && status != 403) return false;
+        if (body == null) return false;
+        String b = body.toLowerCase(Locale.ROOT);
+        return b.contains("not enabled") || b.contains("featurenotenabled") || b.contains("transformations are disabled");
+    }
+}
@@ -0,0 +1,94 @@
+package com.moveit.app;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 토스/카드사 페이지가 내려주는 intent:// URL에서 라우팅에 필요한 값만 뽑는 파서 (Android 의존성 없음).
+ * 형식: intent://HOST/PATH?QUERY#Intent;scheme=X;package=Y;S.browser_fallback_url=ENC;end
+ * 실제 앱 실행용 Intent는 여전히 Intent.parseUri로 만들고, fallback·마켓 이동·결제앱 식별은 이 값으로 판단.
+ */
+public final class IntentUrl {
+
+    private static final String FRAGMENT_START = "#Intent;";
+
+    /** scheme=… (없으면 null) */
+    public final String scheme;
+    /** package=… (없으면 null) */
+    public final String packageName;
+    /** S.browser_fallback_url=… 디코딩 값 (없으면 null) */
+    public final String fallbackUrl;
+
+    private IntentUrl(String scheme, String packageName, String fallbackUrl) {
+        this.scheme = scheme;
+        this.packageName = packageName;
+        this.fallbackUrl = fallbackUrl;
+    }
+
+    /** intent: URL이 아니면 null. #Intent; 구간이 없으면 모든 값이 null인 객체. */
+    public static IntentUrl parse(String url) {
+        if (url == null || !url.regionMatches(true, 0, "intent:", 0, 7)) return null;
+        int start = url.indexOf(FRAGMENT_START);
+        if (start < 0) return new IntentUrl(null, null, null);
+
+        String scheme = null;
+        String packageName = null;
+        String fallbackUrl = null;
+        int i = start + FRAGMENT_START.length();
+        int len = url.length();
+        while (i < len) {
+            int semi = url.indexOf(';', i);
+            int end = semi >= 0 ? semi : len;
+            if (url.startsWith("end", i) && end == i + 3) break;
+            int eq = url.indexOf('=', i);
+            if (eq > i && eq < end) {
+                if (keyEquals(url, i, eq, "scheme")) {
+                    scheme = decode(url.substring(eq + 1, end));
+                } else if (keyEquals(url, i, eq, "package")) {
+                    packageName = decode(url.substring(eq + 1, end));
+                } else if (keyEquals(url, i, eq, "S.browser_fallback_url")) {
+                    fallbackUrl = decode(url.substring(eq + 1, end));
+                }
+            }
+            i = end + 1;
+        }
+        return new IntentUrl(scheme, packageName, fallbackUrl);
+    }
+
+    /** package 우선, 없으면 scheme으로 결제앱 식별. */
+    public PaymentApp paymentApp() {
+        PaymentApp app = PaymentApp.forPackage(packageName);
+        return app != PaymentApp.UNKNOWN ? app : PaymentApp.forScheme(scheme);
+    }
+
+    private static boolean keyEquals(String url, int from, int to, String key) {
+        return to - from == key.length() && url.startsWith(key, from);
+    }
+
+    /** android.net.Uri.decode와 같은 규칙 (%XX → UTF-8, '+'는 그대로). '%'가 없으면 할당 없이 그대로 반환. */
+    static String decode(String s) {
+        int pct = s.indexOf('%');
+        if (pct < 0) return s;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(s.length());
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c == '%' && i + 2 < len) {
+                int hi = Character.digit(s.charAt(i + 1), 16);
+                int lo = Character.digit(s.charAt(i + 2), 16);
+                if (hi >= 0 && lo >= 0) {
+                    out.write((hi << 4) | lo);
+                    i += 2;
+                    continue;
+                }
+            }
+            if (c < 0x80) {
+                out.write(c);
+            } else {
+                byte[] bytes = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,297 @@
+package com.moveit.app;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.TypedValue;
+import android.view.Display;
+import android.view.FrameMetrics;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.Window;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+
+/**
+ * 프레임 지연·메인 스레드 정지 모니터 (MainActivity가 onResume~onPause 동안 연결).
+ * - 프레임: Window.OnFrameMetricsAvailableListener (minSdk 24). Choreographer 콜백을 매 프레임 거는 방식과 달리
+ *   실제로 그린 프레임만 보고받아, 화면이 멈춰 있을 때 vsync를 계속 깨우지 않음
+ * - 정지: 워치독 스레드가 stallMs마다 메인 Looper에 ping을 넣고, 제때 실행되지 않으면 메인 스레드 스택을 떠 둠 →
+ *   ping이 실행될 때 실제 막힌 시간과 함께 기록. REPORT_STALL_MS 이상은 {@link ErrorReporter}로도 보냄
+ * - 화면 태그: 메인 WebView URL 경로({@link JankStats#screenKey}), 결제 오버레이가 떠 있으면 OVERLAY_SCREEN
+ * - 디버그 오버레이: setOverlayVisible(true)면 현재 화면의 p50/p95/p99·느린 프레임 비율·정지 횟수를 우상단에 표시
+ * 집계는 {@link JankStats}, 웹: lib/capacitor/jank-monitor.ts (MoveitJank 플러그인)
+ */
+final class JankMonitor {
+
+    static final String TAG = "MoveitJank";
+    static final String OVERLAY_SCREEN = "payment-overlay";
+    static final long DEFAULT_STALL_MS = 200;
+    static final long MIN_STALL_MS = 50;
+    /** 이 이상 막히면 오류 리포트 (ANR 5초 전 단계 신호) */
+    private static final long REPORT_STALL_MS = 1_000;
+    private static final int MAX_STACK_FRAMES = 30;
+    private static final long OVERLAY_REFRESH_MS = 1_000;
+
+    private static final JankMonitor INSTANCE = new JankMonitor();
+
+    private final JankStats stats = new JankStats();
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private Handler worker;
+
+    private volatile String pageScreen;
+    private volatile String overlayScreen;
+    private volatile long stallMs = DEFAULT_STALL_MS;
+    private volatile long frameIntervalNs = 16_666_667L;
+    private volatile float refreshRate = 60f;
+
+    // 메인 스레드 전용
+    private WeakReference<Activity> attached;
+    private Window.OnFrameMetricsAvailableListener frameListener;
+    private boolean overlayVisible;
+    private TextView overlayView;
+
+    // 워치독
+    private volatile boolean watching;
+    private volatile boolean pingPending;
+    private volatile long pingPostedAt;
+    private volatile String stalledStack;
+    private volatile long stalledAt;
+
+    static JankMonitor get() {
+        return INSTANCE;
+    }
+
+    private JankMonitor() {}
+
+    /** onResume (메인 스레드). */
+    void attach(Activity activity) {
+        detach();
+        attached = new WeakReference<>(activity);
+        readRefreshRate(activity);
+        Handler handler = worker();
+        frameListener = (window, metrics, dropCount) -> {
+            // 시작·복귀 후 첫 프레임은 레이아웃 전체를 다시 하므로 제외
+            if (metrics.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 1) return;
+            stats.onFrame(currentScreen(), metrics.getMetric(FrameMetrics.TOTAL_DURATION), frameIntervalNs);
+        };
+        activity.getWindow().addOnFrameMetricsAvailableListener(frameListener, handler);
+        watching = true;
+        pingPending = false;
+        stalledStack = null;
+        handler.postDelayed(watchdog, stallMs);
+        if (overlayVisible) showOverlay(activity);
+    }
+
+    /** onPause (메인 스레드). 백그라운드에서는 측정하지 않음. */
+    void detach() {
+        watching = false;
+        if (worker != null) worker.removeCallbacks(watchdog);
+        main.removeCallbacks(ping);
+        main.removeCallbacks(refreshOverlay);
+        Activity activity = attached != null ? attached.get() : null;
+        if (activity != null && frameListener != null) {
+            try {
+                activity.getWindow().removeOnFrameMetricsAvailableListener(frameListener);
+            } catch (IllegalArgumentException ignored) {
+                // 이미 제거됨
+            }
+        }
+        removeOverlayView();
+        frameListener = null;
+        attached = null;
+    }
+
+    /** 메인 WebView URL 변경 (MoveitBridgeWebViewClient.doUpdateVisitedHistory). */
+    void onMainUrl(String url) {
+        String key = JankStats.screenKey(url);
+        if (key != null) pageScreen = key;
+    }
+
+    /** 결제 오버레이 표시·제거 (MoveitWebChromeClient). */
+    void setOverlayShown(boolean shown) {
+        overlayScreen = shown ? OVERLAY_SCREEN : null;
+    }
+
+    void setStallThresholdMs(long ms) {
+        stallMs = Math.max(MIN_STALL_MS, ms);
+    }
+
+    /** 디버그 오버레이 표시 여부 (메인 스레드). */
+    void setOverlayVisible(boolean visible) {
+        overlayVisible = visible;
+        Activity activity = attached != null ? attached.get() : null;
+        if (activity == null) return;
+        if (visible) showOverlay(activity);
+        else removeOverlayView();
+    }
+
+    void reset() {
+        stats.reset();
+    }
+
+    JSObject toJSObject() {
+        JSObject o = new JSObject();
+        o.put("refreshRate", refreshRate);
+        o.put("stallThresholdMs", stallMs);
+        o.put("slowFrameMs", JankStats.SLOW_FRAME_MS);
+        o.put("frozenFrameMs", JankStats.FROZEN_FRAME_MS);
+        o.put("currentScreen", currentScreen());
+        o.put("totalStalls", stats.totalStalls());
+        JSArray screens = new JSArray();
+        for (JankStats.Screen s : stats.screens()) {
+            JSObject so = new JSObject();
+            so.put("screen", s.name);
+            so.put("frames", s.frames);
+            so.put("slowFrames", s.slowFrames);
+            so.put("frozenFrames", s.frozenFrames);
+            so.put("droppedFrames", s.droppedFrames);
+            so.put("p50", s.percentileMs(50));
+            so.put("p90", s.percentileMs(90));
+            so.put("p95", s.percentileMs(95));
+            so.put("p99", s.percentileMs(99));
+            so.put("maxMs", s.maxMs);
+            screens.put(so);
+        }
+        o.put("screens", screens);
+        JSArray stalls = new JSArray();
+        for (JankStats.Stall st : stats.stalls()) {
+            JSObject so = new JSObject();
+            so.put("screen", st.screen);
+            so.put("durationMs", st.durationMs);
+            so.put("at", st.at);
+            so.put("stack", st.stack);
+            stalls.put(so);
+        }
+        o.put("stalls", stalls);
+        return o;
+    }
+
+    private String currentScreen() {
+        String overlay = overlayScreen;
+        return overlay != null ? overlay : pageScreen;
+    }
+
+    private synchronized Handler worker() {
+        if (worker == null) {
+            HandlerThread thread = new HandlerThread("moveit-jank");
+            thread.start();
+            worker = new Handler(thread.getLooper());
+        }
+        return worker;
+    }
+
+    private void readRefreshRate(Activity activity) {
+        Display display = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? activity.getDisplay()
+            : activity.getWindowManager().getDefaultDisplay();
+        float rate = display != null ? display.getRefreshRate() : 60f;
+        if (rate < 30f) rate = 60f;
+        refreshRate = rate;
+        frameIntervalNs = (long) (1_000_000_000L / rate);
+    }
+
+    /** 워치독 스레드: ping이 stallMs 안에 실행되지 않았으면 메인 스레드 스택을 한 번 떠 둠. */
+    private final Runnable watchdog = new Runnable() {
+        @Override
+        public void run() {
+            if (!watching) return;
+            if (pingPending) {
+                if (stalledStack == null) {
+                    stalledStack = stackOf(Looper.getMainLooper().getThread());
+                    stalledAt = System.currentTimeMillis();
+                }
+            } else {
+                pingPending = true;
+                pingPostedAt = SystemClock.uptimeMillis();
+                main.post(ping);
+            }
+            worker.postDelayed(this, stallMs);
+        }
+    };
+
+    /** 메인 스레드: ping이 늦게 실행됐으면 정지로 기록. */
+    private final Runnable ping = new Runnable() {
+        @Override
+        public void run() {
+            long blocked = SystemClock.uptimeMillis() - pingPostedAt;
+            String stack = stalledStack;
+            stalledStack = null;
+            pingPending = false;
+            if (stack == null || blocked < stallMs) return;
+            String screen = currentScreen();
+            stats.onStall(screen, blocked, stalledAt, stack);
+            Log.w(TAG, "main thread blocked " + blocked + "ms on " + screen);
+            Activity activity = attached != null ? attached.get() : null;
+            if (blocked >= REPORT_STALL_MS && activity != null) {
+                ErrorReporter.get(activity).report("warning", "android.jank",
+                    "main thread blocked on " + screen, stack, null, null, null);
+            }
+        }
+    };
+
+    private static String stackOf(Thread thread) {
+        StackTraceElement[] frames = thread.getStackTrace();
+        StringBuilder sb = new StringBuilder();
+        int n = Math.min(frames.length, MAX_STACK_FRAMES);
+        for (int i = 0; i < n; i++) sb.append("at ").append(frames[i]).append('\n');
+        if (frames.length > n) sb.append("... ").append(frames.length - n).append(" more");
+        return sb.toString();
+    }
+
+    private void showOverlay(Activity activity) {
+        if (overlayView == null) {
+            ViewGroup root = activity.findViewById(android.R.id.content);
+            if (root == null) return;
+            TextView view = new TextView(activity);
+            view.setTextSize(TypedValue.COMPLEX_UNIT_SP, 10);
+            view.setTextColor(Color.WHITE);
+            view.setBackgroundColor(0xAA000000);
+            int pad = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 4, activity.getResources().getDisplayMetrics());
+            view.setPadding(pad, pad, pad, pad);
+            view.setClickable(false);
+            view.setFocusable(false);
+            view.setImportantForAccessibility(View.IMPORTANT_FOR_ACCESSIBILITY_NO);
+            FrameLayout.LayoutParams lp = new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.TOP | Gravity.END);
+            root.addView(view, lp);
+            overlayView = view;
+        }
+        overlayView.bringToFront();
+        main.removeCallbacks(refreshOverlay);
+        main.post(refreshOverlay);
+    }
+
+    private void removeOverlayView() {
+        main.removeCallbacks(refreshOverlay);
+        if (overlayView != null && overlayView.getParent() != null) {
+            ((ViewGroup) overlayView.getParent()).removeView(overlayView);
+        }
+        overlayView = null;
+    }
+
+    private final Runnable refreshOverlay = new Runnable() {
+        @Override
+        public void run() {
+            if (overlayView == null) return;
+            String screen = currentScreen();
+            JankStats.Screen s = stats.screenSnapshot(screen);
+            long slowPct = s.frames > 0 ? s.slowFrames * 100 / s.frames : 0;
+            overlayView.setText(String.format(Locale.ROOT,
+                "%s\np50 %d · p95 %d · p99 %d ms\nslow %d%% · dropped %d · stalls %d",
+                s.name, s.percentileMs(50), s.percentileMs(95), s.percentileMs(99),
+                slowPct, s.droppedFrames, stats.totalStalls()));
+            main.postDelayed(this, OVERLAY_REFRESH_MS);
+        }
+    };
+}
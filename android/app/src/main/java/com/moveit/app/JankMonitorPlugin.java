@@ -0,0 +1,50 @@
+package com.moveit.app;
+
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * 프레임 지연·메인 스레드 정지 집계({@link JankMonitor}).
+ * - getStats(): { refreshRate, stallThresholdMs, currentScreen, totalStalls,
+ *   screens: [{ screen, frames, slowFrames, frozenFrames, droppedFrames, p50, p90, p95, p99, maxMs }],
+ *   stalls: [{ screen, durationMs, at, stack }] }
+ * - resetStats()
+ * - setOverlayVisible({ visible }): 화면 우상단 디버그 오버레이
+ * - setStallThreshold({ ms }): 정지로 볼 메인 스레드 지연 (기본 200ms, 최소 50ms)
+ */
+@CapacitorPlugin(name = "MoveitJank")
+public class JankMonitorPlugin extends Plugin {
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        call.resolve(JankMonitor.get().toJSObject());
+    }
+
+    @PluginMethod
+    public void resetStats(PluginCall call) {
+        JankMonitor.get().reset();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void setOverlayVisible(PluginCall call) {
+        boolean visible = Boolean.TRUE.equals(call.getBoolean("visible", false));
+        getBridge().executeOnMainThread(() -> {
+            JankMonitor.get().setOverlayVisible(visible);
+            call.resolve();
+        });
+    }
+
+    @PluginMethod
+    public void setStallThreshold(PluginCall call) {
+        Integer ms = call.getInt("ms");
+        if (ms == null) {
+            call.reject("ms is required");
+            return;
+        }
+        JankMonitor.get().setStallThresholdMs(ms);
+        call.resolve();
+    }
+}
@@ -0,0 +1,209 @@
+package com.moveit.app;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 화면(URL 경로)별 프레임 시간·메인 스레드 정지 집계. Android 의존성 없음 ({@link JankMonitor}가 기록).
+ * - 프레임: 고정 버킷 히스토그램 (0–99ms 1ms 단위, 100–990ms 10ms 단위, 그 이상 1칸) → 할당 없이 기록, 백분위는 버킷 상한
+ * - slow: SLOW_FRAME_MS 초과 (Android vitals 느린 렌더링 기준), frozen: FROZEN_FRAME_MS 초과
+ * - dropped: 프레임 간격(vsync) 기준으로 놓친 프레임 수
+ * - 정지(stall): 최근 MAX_STALLS건만 스택과 함께 보관
+ * 화면은 MAX_SCREENS개까지, 넘으면 OTHER_SCREEN으로 합침.
+ */
+final class JankStats {
+
+    static final long SLOW_FRAME_MS = 16;
+    static final long FROZEN_FRAME_MS = 700;
+    static final int MAX_SCREENS = 24;
+    static final int MAX_STALLS = 20;
+    static final String OTHER_SCREEN = "(other)";
+    static final String UNKNOWN_SCREEN = "(startup)";
+
+    private static final int FINE_BUCKETS = 100;
+    private static final int COARSE_BUCKETS = 90;
+    private static final int BUCKETS = FINE_BUCKETS + COARSE_BUCKETS + 1;
+    private static final long NS_PER_MS = 1_000_000L;
+
+    static final class Screen {
+        final String name;
+        long frames;
+        long slowFrames;
+        long frozenFrames;
+        long droppedFrames;
+        long maxMs;
+        final long[] histogram;
+
+        Screen(String name) {
+            this(name, new long[BUCKETS]);
+        }
+
+        private Screen(String name, long[] histogram) {
+            this.name = name;
+            this.histogram = histogram;
+        }
+
+        /** p(0–100) 백분위 프레임 시간 (버킷 상한, ms). 프레임이 없으면 0 */
+        long percentileMs(double p) {
+            if (frames == 0) return 0;
+            long rank = (long) Math.ceil(frames * p / 100.0);
+            if (rank < 1) rank = 1;
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram[i];
+                if (seen >= rank) return Math.min(upperMs(i), maxMs);
+            }
+            return maxMs;
+        }
+
+        Screen copy() {
+            Screen c = new Screen(name, histogram.clone());
+            c.frames = frames;
+            c.slowFrames = slowFrames;
+            c.frozenFrames = frozenFrames;
+            c.droppedFrames = droppedFrames;
+            c.maxMs = maxMs;
+            return c;
+        }
+    }
+
+    static final class Stall {
+        final String screen;
+        final long durationMs;
+        /** System.currentTimeMillis */
+        final long at;
+        final String stack;
+
+        Stall(String screen, long durationMs, long at, String stack) {
+            this.screen = screen;
+            this.durationMs = durationMs;
+            this.at = at;
+            this.stack = stack;
+        }
+    }
+
+    private final Map<String, Screen> screens = new LinkedHashMap<>();
+    private final ArrayDeque<Stall> stalls = new ArrayDeque<>();
+    private long totalStalls;
+
+    /**
+     * @param durationNs 프레임 처리 시간 (FrameMetrics TOTAL_DURATION)
+     * @param intervalNs 화면 갱신 간격 (60Hz면 약 16.6ms)
+     */
+    synchronized void onFrame(String screen, long durationNs, long intervalNs) {
+        Screen s = screen(screen);
+        long ms = durationNs / NS_PER_MS;
+        s.frames++;
+        s.histogram[bucket(ms)]++;
+        if (ms > s.maxMs) s.maxMs = ms;
+        if (ms > SLOW_FRAME_MS) s.slowFrames++;
+        if (ms > FROZEN_FRAME_MS) s.frozenFrames++;
+        if (intervalNs > 0 && durationNs > intervalNs) s.droppedFrames += (durationNs - 1) / intervalNs;
+    }
+
+    synchronized void onStall(String screen, long durationMs, long at, String stack) {
+        totalStalls++;
+        if (stalls.size() >= MAX_STALLS) stalls.removeFirst();
+        stalls.addLast(new Stall(screenName(screen), durationMs, at, stack));
+    }
+
+    synchronized List<Screen> screens() {
+        List<Screen> out = new ArrayList<>(screens.size());
+        for (Screen s : screens.values()) out.add(s.copy());
+        return out;
+    }
+
+    synchronized Screen screenSnapshot(String screen) {
+        Screen s = screens.get(screenName(screen));
+        return s != null ? s.copy() : new Screen(screenName(screen));
+    }
+
+    /** 최근 정지 (오래된 순) */
+    synchronized List<Stall> stalls() {
+        return new ArrayList<>(stalls);
+    }
+
+    synchronized long totalStalls() {
+        return totalStalls;
+    }
+
+    synchronized void reset() {
+        screens.clear();
+        stalls.clear();
+        totalStalls = 0;
+    }
+
+    private Screen screen(String screen) {
+        String name = screenName(screen);
+        Screen s = screens.get(name);
+        if (s != null) return s;
+        // 한 칸은 OTHER_SCREEN 몫으로 남김
+        if (screens.size() >= MAX_SCREENS - 1) name = OTHER_SCREEN;
+        s = screens.get(name);
+        if (s == null) {
+            s = new Screen(name);
+            screens.put(name, s);
+        }
+        return s;
+    }
+
+    private static String screenName(String screen) {
+        return screen == null || screen.isEmpty() ? UNKNOWN_SCREEN : screen;
+    }
+
+    static int bucket(long ms) {
+        if (ms < 0) return 0;
+        if (ms < FINE_BUCKETS) return (int) ms;
+        if (ms < 1000) return FINE_BUCKETS + (int) ((ms - 100) / 10);
+        return BUCKETS - 1;
+    }
+
+    /** 버킷에 들어가는 가장 큰 ms (마지막 버킷은 상한 없음 → maxMs로 잘림) */
+    static long upperMs(int bucket) {
+        if (bucket < FINE_BUCKETS) return bucket;
+        if (bucket < BUCKETS - 1) return 100 + (bucket - FINE_BUCKETS) * 10L + 9;
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * URL → 화면 키: 경로만 남기고 숫자·UUID·긴 토큰 세그먼트는 ":id"로 (/academy/3f2a…/classes → /academy/:id/classes).
+     * 쿼리·해시는 버림. 결제 오버레이 등 URL이 아닌 태그는 그대로.
+     */
+    static String screenKey(String url) {
+        if (url == null || url.isEmpty()) return null;
+        int scheme = url.indexOf("://");
+        if (scheme < 0) return url;
+        int pathStart = url.indexOf('/', scheme + 3);
+        if (pathStart < 0) return "/";
+        int end = url.length();
+        int q = url.indexOf('?', pathStart);
+        if (q >= 0) end = q;
+        int h = url.indexOf('#', pathStart);
+        if (h >= 0 && h < end) end = h;
+        StringBuilder sb = new StringBuilder(end - pathStart);
+        for (String seg : url.substring(pathStart + 1, end).split("/")) {
+            if (seg.isEmpty()) continue;
+            sb.append('/').append(isIdSegment(seg) ? ":id" : seg.toLowerCase(Locale.ROOT));
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    static boolean isIdSegment(String seg) {
+        boolean digits = true;
+        int hex = 0;
+        for (int i = 0; i < seg.length(); i++) {
+            char c = seg.charAt(i);
+            if (c < '0' || c > '9') digits = false;
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F') || c == '-') hex++;
+        }
+        if (digits) return true;
+        // UUID·해시 등 (8자 이상이고 16진수·하이픈으로만)
+        if (seg.length() >= 8 && hex == seg.length()) return true;
+        // 결제 주문번호 등 영숫자 토큰 (20자 이상)
+        return seg.length() >= 20;
+    }
+}
@@ -0,0 +1,324 @@
+package com.moveit.app;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑 추가 전용(append-log) 키-값 파일. Android 의존성 없음 ({@link KvStore}가 앱용으로 감쌈).
+ * - 파일: [헤더 16B: "MVKV", 버전][레코드...][0으로 채운 여유 공간]
+ *   레코드: type(1=PUT, 2=DEL) u8, keyLen u32, valueLen u32, key, value (UTF-8), crc32 u32
+ * - 쓰기는 매핑된 메모리에 복사만 함 → 프로세스가 죽어도 커널 페이지 캐시에 남음. 전원 차단 대비는 {@link #force()}
+ * - 열 때 처음부터 읽어 메모리 색인을 만들고, 잘린·깨진 마지막 레코드(쓰는 중 종료) 이후는 버림
+ * - 같은 키를 덮어쓴 만큼 죽은 바이트가 쌓이면 {@link #compact()}로 살아 있는 값만 새 파일에 써서 교체
+ * 모든 메서드는 synchronized (읽기는 메모리 색인만 봄).
+ */
+public final class KvLog implements Closeable {
+
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_OVERHEAD = 13;
+    static final int MAX_KEY_BYTES = 1024;
+    static final int MAX_VALUE_BYTES = 1024 * 1024;
+    static final long MAX_FILE_BYTES = 64L * 1024 * 1024;
+    /** 파일이 이보다 작으면 압축하지 않음 */
+    static final long COMPACT_MIN_BYTES = 256 * 1024;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int VERSION = 1;
+    private static final byte[] MAGIC = {'M', 'V', 'K', 'V'};
+    private static final byte PUT = 1;
+    private static final byte DEL = 2;
+
+    private static final class Entry {
+        final String value;
+        /** 이 값을 담은 PUT 레코드 크기 */
+        final int recordBytes;
+
+        Entry(String value, int recordBytes) {
+            this.value = value;
+            this.recordBytes = recordBytes;
+        }
+    }
+
+    private final File file;
+    private final Map<String, Entry> index = new HashMap<>();
+    private RandomAccessFile raf;
+    private FileChannel channel;
+    private MappedByteBuffer buf;
+    private int capacity;
+    /** 다음 레코드를 쓸 위치 */
+    private int end;
+    private long liveBytes;
+    private int compactions;
+    /** 열 때 버린 깨진 꼬리 여부 */
+    private boolean recoveredTail;
+
+    private KvLog(File file) {
+        this.file = file;
+    }
+
+    /** 헤더가 다르면 IOException (호출부에서 파일을 옮겨 두고 새로 시작). */
+    public static KvLog open(File file) throws IOException {
+        KvLog log = new KvLog(file);
+        try {
+            log.map();
+            log.load();
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+        return log;
+    }
+
+    public synchronized String get(String key) {
+        Entry e = index.get(key);
+        return e != null ? e.value : null;
+    }
+
+    /** prefix가 null 또는 빈 문자열이면 전체. */
+    synchronized Map<String, String> getAll(String prefix) {
+        Map<String, String> out = new LinkedHashMap<>();
+        for (Map.Entry<String, Entry> e : index.entrySet()) {
+            if (prefix == null || e.getKey().startsWith(prefix)) out.put(e.getKey(), e.getValue().value);
+        }
+        return out;
+    }
+
+    synchronized void put(String key, String value) throws IOException {
+        if (value == null) remove(key);
+        else append(key, value);
+    }
+
+    synchronized void remove(String key) throws IOException {
+        if (index.containsKey(key)) append(key, null);
+    }
+
+    /** 값이 null이면 삭제. 같은 값이면 기록하지 않음. */
+    public synchronized void putAll(Map<String, String> entries) throws IOException {
+        for (Map.Entry<String, String> e : entries.entrySet()) put(e.getKey(), e.getValue());
+    }
+
+    /** prefix로 시작하는 키 모두 삭제. @return 삭제한 개수 */
+    synchronized int removePrefix(String prefix) throws IOException {
+        int removed = 0;
+        for (String key : getAll(prefix).keySet()) {
+            append(key, null);
+            removed++;
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    synchronized long fileBytes() {
+        return end;
+    }
+
+    synchronized long liveBytes() {
+        return HEADER_BYTES + liveBytes;
+    }
+
+    synchronized int compactions() {
+        return compactions;
+    }
+
+    synchronized boolean recoveredTail() {
+        return recoveredTail;
+    }
+
+    /** 죽은 바이트가 살아 있는 바이트보다 많아졌는지 */
+    synchronized boolean needsCompaction() {
+        long used = end - HEADER_BYTES;
+        return used > COMPACT_MIN_BYTES && used > liveBytes * 2;
+    }
+
+    /** 살아 있는 값만 tmp 파일에 쓰고 fsync 후 rename으로 교체 (도중 종료돼도 기존 파일 유지). */
+    synchronized void compact() throws IOException {
+        File tmp = new File(file.getPath() + ".compact");
+        int written = HEADER_BYTES;
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+             OutputStream out = new BufferedOutputStream(fos, 64 * 1024)) {
+            out.write(header());
+            for (Map.Entry<String, Entry> e : index.entrySet()) {
+                byte[] record = encode(PUT, e.getKey(), e.getValue().value);
+                out.write(record);
+                written += record.length;
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+        unmap();
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            map();
+            load();
+            throw new IOException("compact rename failed");
+        }
+        map();
+        // 새 파일은 살아 있는 PUT만 있으므로 색인은 그대로, 위치만 갱신
+        end = written;
+        liveBytes = written - HEADER_BYTES;
+        compactions++;
+    }
+
+    /** 매핑된 변경을 디스크에 기록 (전원 차단 대비). */
+    public synchronized void force() {
+        if (buf != null) buf.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+        unmap();
+    }
+
+    private void append(String key, String value) throws IOException {
+        Entry old = index.get(key);
+        if (value != null && old != null && value.equals(old.value)) return;
+        byte[] record = encode(value != null ? PUT : DEL, key, value);
+        ensureCapacity(end + record.length);
+        buf.position(end);
+        buf.put(record);
+        end += record.length;
+        if (old != null) liveBytes -= old.recordBytes;
+        if (value != null) {
+            index.put(key, new Entry(value, record.length));
+            liveBytes += record.length;
+        } else {
+            index.remove(key);
+        }
+    }
+
+    private void ensureCapacity(long needed) throws IOException {
+        if (needed <= capacity) return;
+        if (needed > MAX_FILE_BYTES) throw new IOException("kv file limit exceeded");
+        long next = capacity;
+        while (next < needed) next *= 2;
+        next = Math.min(next, MAX_FILE_BYTES);
+        buf.force();
+        raf.setLength(next);
+        capacity = (int) next;
+        buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void map() throws IOException {
+        raf = new RandomAccessFile(file, "rw");
+        channel = raf.getChannel();
+        long length = raf.length();
+        if (length < HEADER_BYTES) {
+            raf.setLength(INITIAL_CAPACITY);
+            length = INITIAL_CAPACITY;
+            buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buf.position(0);
+            buf.put(header());
+        } else if (length > MAX_FILE_BYTES) {
+            throw new IOException("kv file too large: " + length);
+        } else {
+            if (length < INITIAL_CAPACITY) {
+                raf.setLength(INITIAL_CAPACITY);
+                length = INITIAL_CAPACITY;
+            }
+            buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+        capacity = (int) length;
+    }
+
+    private void unmap() {
+        buf = null;
+        try {
+            if (channel != null) channel.close();
+            if (raf != null) raf.close();
+        } catch (IOException ignored) {
+            // 닫기 실패는 무시 (다음 open에서 다시 확인)
+        }
+        channel = null;
+        raf = null;
+    }
+
+    private void load() throws IOException {
+        index.clear();
+        liveBytes = 0;
+        recoveredTail = false;
+        byte[] magic = new byte[MAGIC.length];
+        buf.position(0);
+        buf.get(magic);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) throw new IOException("bad kv header");
+        }
+        if (buf.getInt(4) != VERSION) throw new IOException("unsupported kv version " + buf.getInt(4));
+
+        int pos = HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        while (pos + RECORD_OVERHEAD <= capacity) {
+            byte type = buf.get(pos);
+            if (type == 0) break;
+            int keyLen = buf.getInt(pos + 1);
+            int valueLen = buf.getInt(pos + 5);
+            if ((type != PUT && type != DEL) || keyLen <= 0 || keyLen > MAX_KEY_BYTES
+                || valueLen < 0 || valueLen > MAX_VALUE_BYTES
+                || (long) pos + RECORD_OVERHEAD + keyLen + valueLen > capacity) {
+                recoveredTail = true;
+                break;
+            }
+            int size = RECORD_OVERHEAD + keyLen + valueLen;
+            byte[] record = new byte[size];
+            buf.position(pos);
+            buf.get(record);
+            crc.reset();
+            crc.update(record, 0, size - 4);
+            if ((int) crc.getValue() != ByteBuffer.wrap(record, size - 4, 4).getInt()) {
+                recoveredTail = true;
+                break;
+            }
+            String key = new String(record, 9, keyLen, StandardCharsets.UTF_8);
+            Entry old = index.remove(key);
+            if (old != null) liveBytes -= old.recordBytes;
+            if (type == PUT) {
+                index.put(key, new Entry(new String(record, 9 + keyLen, valueLen, StandardCharsets.UTF_8), size));
+                liveBytes += size;
+            }
+            pos += size;
+        }
+        end = pos;
+        // 깨진 꼬리 이후를 0으로 → 다음 쓰기 뒤에 옛 바이트가 레코드처럼 읽히지 않게
+        if (recoveredTail) {
+            byte[] zeros = new byte[Math.min(64 * 1024, capacity - end)];
+            for (int p = end; p < capacity; p += zeros.length) {
+                buf.position(p);
+                buf.put(zeros, 0, Math.min(zeros.length, capacity - p));
+            }
+        }
+    }
+
+    private static byte[] header() {
+        ByteBuffer h = ByteBuffer.allocate(HEADER_BYTES);
+        h.put(MAGIC).putInt(VERSION);
+        return h.array();
+    }
+
+    private static byte[] encode(byte type, String key, String value) throws IOException {
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        byte[] v = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (k.length == 0 || k.length > MAX_KEY_BYTES) throw new IOException("invalid key length " + k.length);
+        if (v.length > MAX_VALUE_BYTES) throw new IOException("value too large for " + key);
+        ByteBuffer r = ByteBuffer.allocate(RECORD_OVERHEAD + k.length + v.length);
+        r.put(type).putInt(k.length).putInt(v.length).put(k).put(v);
+        CRC32 crc = new CRC32();
+        crc.update(r.array(), 0, r.position());
+        r.putInt((int) crc.getValue());
+        return r.array();
+    }
+}
@@ -0,0 +1,159 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import com.getcapacitor.JSObject;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 웹·네이티브 공용 키-값 저장소 (noBackupFilesDir/kv/moveit.kv, {@link KvLog}).
+ * WebView localStorage와 달리 WebView 저장소 정리에 지워지지 않고, 네이티브(푸시·알림 등)에서 바로 읽을 수 있음.
+ * - 읽기: 메모리 색인 조회라 어느 스레드에서나 즉시. 첫 호출 전에 MoveitApplication이 백그라운드에서 열어 둠
+ * - 쓰기: 매핑된 메모리에 바로 반영, 디스크 fsync와 압축은 FLUSH_DELAY_MS 뒤 io 스레드에서 한 번에
+ * - 파일이 깨졌으면 moveit.kv.corrupt로 옮기고 빈 저장소로 시작 (값은 캐시·설정이라 서버·웹에서 다시 채워짐)
+ * 웹: lib/capacitor/kv-storage.ts (MoveitKv 플러그인)
+ */
+final class KvStore {
+
+    static final String TAG = "MoveitKv";
+    private static final long FLUSH_DELAY_MS = 1_000;
+
+    private static KvStore instance;
+
+    private final Context context;
+    private final File file;
+    private final ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "moveit-kv"));
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private KvLog log;
+    private long openMs;
+    private boolean openFailed;
+
+    static synchronized KvStore get(Context context) {
+        if (instance == null) instance = new KvStore(context.getApplicationContext());
+        return instance;
+    }
+
+    private KvStore(Context context) {
+        this.context = context;
+        this.file = new File(new File(context.getNoBackupFilesDir(), "kv"), "moveit.kv");
+    }
+
+    /** 앱 시작 시 백그라운드에서 파일을 매핑하고 색인을 만들어 둠. */
+    void warmUp() {
+        log();
+    }
+
+    String getString(String key) {
+        KvLog l = log();
+        return l != null ? l.get(key) : null;
+    }
+
+    Map<String, String> getAll(String prefix) {
+        KvLog l = log();
+        return l != null ? l.getAll(prefix) : Collections.emptyMap();
+    }
+
+    void putString(String key, String value) {
+        putAll(Collections.singletonMap(key, value));
+    }
+
+    void remove(String key) {
+        putAll(Collections.singletonMap(key, null));
+    }
+
+    /** 값이 null이면 삭제. @return 기록했으면 true */
+    boolean putAll(Map<String, String> entries) {
+        KvLog l = log();
+        if (l == null) return false;
+        try {
+            l.putAll(entries);
+            scheduleFlush();
+            return true;
+        } catch (IOException e) {
+            Log.w(TAG, "put failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    int removePrefix(String prefix) {
+        KvLog l = log();
+        if (l == null) return 0;
+        try {
+            int removed = l.removePrefix(prefix);
+            if (removed > 0) scheduleFlush();
+            return removed;
+        } catch (IOException e) {
+            Log.w(TAG, "remove failed: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /** { entries, fileBytes, liveBytes, compactions, openMs, recoveredTail } */
+    JSObject stats() {
+        KvLog l = log();
+        JSObject o = new JSObject();
+        o.put("entries", l != null ? l.size() : 0);
+        o.put("fileBytes", l != null ? l.fileBytes() : 0);
+        o.put("liveBytes", l != null ? l.liveBytes() : 0);
+        o.put("compactions", l != null ? l.compactions() : 0);
+        o.put("openMs", openMs);
+        o.put("recoveredTail", l != null && l.recoveredTail());
+        return o;
+    }
+
+    private synchronized KvLog log() {
+        if (log != null || openFailed) return log;
+        long start = SystemClock.elapsedRealtime();
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) Log.w(TAG, "mkdirs failed");
+        try {
+            log = KvLog.open(file);
+        } catch (IOException e) {
+            Log.w(TAG, "kv unreadable, starting fresh: " + e.getMessage());
+            ErrorReporter.get(context).report("warning", "android.kv", "kv store reset", e, null);
+            File corrupt = new File(file.getPath() + ".corrupt");
+            corrupt.delete();
+            if (!file.renameTo(corrupt)) file.delete();
+            try {
+                log = KvLog.open(file);
+            } catch (IOException again) {
+                Log.e(TAG, "kv open failed: " + again.getMessage());
+                openFailed = true;
+                return null;
+            }
+        }
+        openMs = SystemClock.elapsedRealtime() - start;
+        Log.d(TAG, "opened " + log.size() + " entries in " + openMs + "ms"
+            + (log.recoveredTail() ? " (torn tail dropped)" : ""));
+        return log;
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) return;
+        io.schedule(() -> {
+            flushScheduled.set(false);
+            KvLog l = log();
+            if (l == null) return;
+            try {
+                if (l.needsCompaction()) {
+                    long before = l.fileBytes();
+                    l.compact();
+                    Log.d(TAG, "compacted " + before + " -> " + l.fileBytes() + " bytes");
+                } else {
+                    l.force();
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "flush failed: " + e.getMessage());
+            }
+        }, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.moveit.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.json.JSONObject;
+
+/**
+ * 네이티브 키-값 저장소({@link KvStore}). 웹: lib/capacitor/kv-storage.ts가 시작 시 getAll로 메모리에 올려 두고
+ * 읽기는 동기, 쓰기는 모아서 setMany 한 번으로 보냄.
+ * - getAll({ prefix? }) / getMany({ keys }): { values: { key: value } } (없는 키는 getMany에서 null)
+ * - setMany({ entries: { key: value | null } }): null이면 삭제
+ * - removePrefix({ prefix }): { removed }
+ * - stats(): { entries, fileBytes, liveBytes, compactions, openMs, recoveredTail }
+ */
+@CapacitorPlugin(name = "MoveitKv")
+public class KvStorePlugin extends Plugin {
+
+    @PluginMethod
+    public void getAll(PluginCall call) {
+        Map<String, String> values = KvStore.get(getContext()).getAll(call.getString("prefix"));
+        JSObject map = new JSObject();
+        for (Map.Entry<String, String> e : values.entrySet()) map.put(e.getKey(), e.getValue());
+        JSObject ret = new JSObject();
+        ret.put("values", map);
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void getMany(PluginCall call) {
+        JSArray keys = call.getArray("keys");
+        if (keys == null) {
+            call.reject("keys is required");
+            return;
+        }
+        KvStore store = KvStore.get(getContext());
+        JSObject map = new JSObject();
+        for (int i = 0; i < keys.length(); i++) {
+            String key = keys.optString(i, null);
+            if (key == null) continue;
+            String value = store.getString(key);
+            map.put(key, value != null ? value : JSONObject.NULL);
+        }
+        JSObject ret = new JSObject();
+        ret.put("values", map);
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void setMany(PluginCall call) {
+        JSObject entries = call.getObject("entries");
+        if (entries == null) {
+            call.reject("entries is required");
+            return;
+        }
+        Map<String, String> batch = new LinkedHashMap<>();
+        for (Iterator<String> it = entries.keys(); it.hasNext(); ) {
+            String key = it.next();
+            Object value = entries.opt(key);
+            batch.put(key, value == null || value == JSONObject.NULL ? null : String.valueOf(value));
+        }
+        if (KvStore.get(getContext()).putAll(batch)) call.resolve();
+        else call.reject("kv write failed");
+    }
+
+    @PluginMethod
+    public void removePrefix(PluginCall call) {
+        String prefix = call.getString("prefix");
+        if (prefix == null || prefix.isEmpty()) {
+            call.reject("prefix is required");
+            return;
+        }
+        JSObject ret = new JSObject();
+        ret.put("removed", KvStore.get(getContext()).removePrefix(prefix));
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void stats(PluginCall call) {
+        call.resolve(KvStore.get(getContext()).stats());
+    }
+}
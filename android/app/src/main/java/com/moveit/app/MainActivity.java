@@ -1,10 +1,7 @@
 package com.moveit.app;
 
-import android.app.NotificationChannel;
-import android.app.NotificationManager;
 import android.content.Intent;
 import android.net.Uri;
-import android.os.Build;
 import android.os.Bundle;
 import android.view.View;
 import android.view.ViewGroup;
@@ -18,17 +15,104 @@ import com.getcapacitor.BridgeActivity;
 
 public class MainActivity extends BridgeActivity {
 
+    /** 첫 페인트가 오지 않아도(네트워크 지연 등) 스플래시를 내리는 상한 */
+    private static final long SPLASH_MAX_MS = 5_000;
+
+    /**
+     * 시스템 저장 상태(outState)에 넣는 WebView 방문 기록 상한. Binder 트랜잭션(1MB, 프로세스 공용)을 넘기면
+     * TransactionTooLargeException이므로 크면 생략 — 결제 중 복원은 {@link PaymentSessionStore}가 따로 보관.
+     */
+    private static final int MAX_SAVED_WEB_STATE_BYTES = 100 * 1024;
+    private static final String STATE_WEBVIEW = "moveit.webview";
+
+    /** 이 프로세스에서 MainActivity가 이미 만들어졌는지 (재시작 복원 판별) */
+    private static boolean createdInProcess;
+
     private MoveitWebChromeClient moveitWebChromeClient;
+    private PaymentHandoff paymentHandoff;
+    private WebViewResilience resilience;
+    private Bundle savedWebState;
+    /** 결제 기록을 읽는 중 (끝나면 {@link #onRestoreRecord}) */
+    private boolean restorePending;
+    private PaymentSessionStore.Record restoreRecord;
+    /** 새 프로세스 첫 Activity: 결제 복귀(moveitapp://)가 오면 PROCESS_RESTORED로 기록 */
+    private boolean restoreAwaitingReturn;
+    /** 결제 기록을 읽기 전에 도착한 결제 복귀 인텐트 (읽은 뒤 이어서 처리) */
+    private Intent pendingReturn;
+    private long createdAtNanos;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        StartupTracer.onActivityCreate();
+        registerPlugin(QrScannerPlugin.class);
+        registerPlugin(PayTracePlugin.class);
+        registerPlugin(ImagePipelinePlugin.class);
+        registerPlugin(ErrorReporterPlugin.class);
+        registerPlugin(WebViewHealthPlugin.class);
+        registerPlugin(ReminderSchedulerPlugin.class);
+        registerPlugin(KvStorePlugin.class);
+        registerPlugin(JankMonitorPlugin.class);
+        registerPlugin(ImageUploadPlugin.class);
+        registerPlugin(PrefetchPlugin.class);
+        registerPlugin(SearchPlugin.class);
+        registerPlugin(OfflineShellPlugin.class);
+        armPushPrefetch(getIntent());
+        prepareRestore(savedInstanceState);
+        // 알림 채널 생성 등 비필수 작업은 MoveitApplication에서 백그라운드로 처리
         super.onCreate(savedInstanceState);
-        createNotificationChannel();
         applyNavigationBarInsets();
+        StartupTracer.mark("activity.created");
+    }
+
+    @Override
+    public void onRestart() {
+        super.onRestart();
+        StartupTracer.onActivityRestart();
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        // 재시작 직후 결제 복귀 인텐트는 onCreate(load) 또는 onNewIntent에서 이미 처리됨
+        restoreAwaitingReturn = false;
+        getWindow().getDecorView().post(StartupTracer::onResumedFrame);
+        JankMonitor.get().attach(this);
+    }
+
+    @Override
+    public void onPause() {
+        JankMonitor.get().detach();
+        super.onPause();
+    }
+
+    /**
+     * 메인 WebView 방문 기록 저장. 카드사 앱으로 넘어갈 때도 호출되므로, 결제 중이면
+     * {@link PaymentSessionStore}에도 남겨 시스템 저장 상태 없이 새 태스크로 재시작돼도 복원 가능.
+     */
+    @Override
+    public void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        // 렌더러 종료로 재생성 중이면 죽은 WebView를 건드리지 않음 (마지막 URL은 WebViewResilience가 보관)
+        if (resilience != null && resilience.isRendererGone()) return;
+        WebView webView = getBridge() != null ? getBridge().getWebView() : null;
+        if (webView == null) return;
+        Bundle webState = new Bundle();
+        if (webView.saveState(webState) == null) return;
+        byte[] bytes = PaymentSessionStore.marshall(webState);
+        if (bytes.length <= MAX_SAVED_WEB_STATE_BYTES) outState.putBundle(STATE_WEBVIEW, webState);
+        else StartupTracer.mark("restore.stateTooLarge");
+        PaymentSessionStore.get(this).saveWebState(bytes);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (resilience != null) resilience.onTrimMemory(level);
     }
 
     @Override
     protected void onNewIntent(Intent intent) {
+        armPushPrefetch(intent);
         super.onNewIntent(intent);
         setIntent(intent);
         handleMoveitAppScheme(intent);
@@ -36,24 +120,112 @@ public class MainActivity extends BridgeActivity {
 
     @Override
     protected void load() {
+        // 렌더러 종료로 재생성된 경우 마지막 화면을 다시 로드, 아니면 저장된 방문 기록 복원.
+        // 복원할 기록이 있으면 Capacitor 시작 페이지 로드를 보류했다가 복원 결과에 따라 버리거나 로드.
+        String recoveryUrl = WebViewResilience.takeRecoveryUrl();
+        View mainWebView = findViewById(R.id.webview);
+        if (recoveryUrl == null && mainWebView instanceof MoveitWebView && (savedWebState != null || restorePending)) {
+            ((MoveitWebView) mainWebView).holdStartLoad();
+        }
         super.load();
         if (getBridge() == null || getBridge().getWebView() == null) return;
         // 결제 등 window.open() 시 앱 내 WebView에서만 열리도록 처리 (외부 브라우저 미오픈)
         getBridge().getWebView().getSettings().setSupportMultipleWindows(true);
-        moveitWebChromeClient = new MoveitWebChromeClient(getBridge());
+        paymentHandoff = new PaymentHandoff(getBridge().getWebView(), getBridge().getAppUrl());
+        moveitWebChromeClient = new MoveitWebChromeClient(getBridge(), paymentHandoff);
         getBridge().getWebView().setWebChromeClient(moveitWebChromeClient);
+        resilience = new WebViewResilience(this, getBridge(), moveitWebChromeClient);
+        resilience.applyRendererPolicy(getBridge().getWebView());
         // 토스/결제 URL이 메인 WebView에서 로드될 때도 외부 브라우저로 나가지 않도록
-        getBridge().setWebViewClient(new MoveitBridgeWebViewClient(getBridge()));
+        MoveitBridgeWebViewClient webViewClient = new MoveitBridgeWebViewClient(getBridge(), paymentHandoff, resilience);
+        getBridge().setWebViewClient(webViewClient);
+        if (recoveryUrl != null) getBridge().getWebView().loadUrl(recoveryUrl);
+        else if (savedWebState != null || !restorePending) restoreWebView(savedWebState);
+        // 결제 기록만 남은 경우(새 태스크로 재시작)는 기록을 읽은 뒤 onRestoreRecord에서 복원
+        savedWebState = null;
         handleMoveitAppScheme(getIntent());
+        // 스플래시는 첫 페인트(onPageCommitVisible)에 내림. 상한 시간이 지나면 강제로 내리고, 실패하면 재시도.
+        webViewClient.hideSplashAfter(getBridge().getWebView(), SPLASH_MAX_MS);
+        StartupTracer.mark("bridge.loaded");
     }
 
     /**
-     * 토스 appScheme(moveitapp://)으로 복귀 시 동일 경로의 https URL을 WebView에 로드해 결제 결과 페이지로 이동.
+     * 새 프로세스에서 저장 상태가 있거나 moveitapp://로 시작됐으면 결제 기록을 백그라운드에서 읽기 시작
+     * (Capacitor 브리지·WebView 생성과 병렬, 메인 스레드는 기다리지 않음). 회전 등으로 재생성된 경우에도 WebView 방문 기록은 복원.
      */
-    private void handleMoveitAppScheme(Intent intent) {
+    private void prepareRestore(Bundle savedInstanceState) {
+        boolean newProcess = !createdInProcess;
+        createdInProcess = true;
+        createdAtNanos = System.nanoTime();
+        savedWebState = savedInstanceState != null ? savedInstanceState.getBundle(STATE_WEBVIEW) : null;
+        if (newProcess && (savedInstanceState != null || isMoveitScheme(getIntent()))) {
+            restorePending = true;
+            restoreAwaitingReturn = true;
+            PaymentSessionStore.get(this).loadAsync(getClassLoader(), this::onRestoreRecord);
+            StartupTracer.mark("restore.begin");
+        }
+    }
+
+    /** 결제 기록 읽기 완료 (메인 스레드). 시작 페이지를 보류 중이면 기록의 WebView 상태로 복원하고, 미뤄 둔 결제 복귀를 이어서 처리. */
+    private void onRestoreRecord(PaymentSessionStore.Record record) {
+        if (isDestroyed()) return;
+        restorePending = false;
+        restoreRecord = record;
+        restoreWebView(record != null ? record.webState : null);
+        Intent intent = pendingReturn;
+        pendingReturn = null;
+        if (intent != null) {
+            recordProcessRestored();
+            routePaymentReturn(intent.getData());
+        }
+    }
+
+    /** 보류해 둔 시작 페이지 로드를 방문 기록 복원으로 대체 (복원할 상태가 없거나 실패하면 시작 페이지 로드). */
+    private void restoreWebView(Bundle webState) {
+        WebView webView = getBridge() != null ? getBridge().getWebView() : null;
+        if (webView instanceof MoveitWebView) {
+            if (((MoveitWebView) webView).releaseStartLoad(webState)) StartupTracer.mark("restore.webview");
+        }
+    }
+
+    private static boolean isMoveitScheme(Intent intent) {
+        Uri data = intent != null ? intent.getData() : null;
+        return data != null && AppLinkRewriter.SCHEME.equals(data.getScheme());
+    }
+
+    /** 푸시 알림 탭으로 열렸으면 미리 받아 둔 API 응답을 대상 화면 첫 요청에 쓰도록 준비 (웹 라우팅보다 먼저). */
+    private void armPushPrefetch(Intent intent) {
         if (intent == null) return;
-        Uri data = intent.getData();
-        if (data == null || !"moveitapp".equals(data.getScheme())) return;
+        PushPrefetchCache.get(this).arm(intent.getStringExtra("google.message_id"));
+    }
+
+    /**
+     * 토스 appScheme(moveitapp://)으로 복귀 시 동일 경로의 https URL로 결제 결과 페이지 이동.
+     * 앱 문서가 이미 떠 있으면 {@link PaymentHandoff}로 재로드 없이 라우팅, 아니면 loadUrl.
+     */
+    private void handleMoveitAppScheme(Intent intent) {
+        if (!isMoveitScheme(intent)) return;
+        if (restoreAwaitingReturn) {
+            restoreAwaitingReturn = false;
+            // 결제 기록(카드사 앱 종류·방문 기록)을 읽는 중이면 끝난 뒤 onRestoreRecord에서 이어서 처리
+            if (restorePending) {
+                pendingReturn = intent;
+                return;
+            }
+            recordProcessRestored();
+        }
+        routePaymentReturn(intent.getData());
+    }
+
+    /** 카드사 앱에 있는 동안 프로세스가 종료된 경우: onCreate 시각부터 결과 페이지까지를 복원 시간으로 측정 */
+    private void recordProcessRestored() {
+        PayTrace.global().recordAt(PayTrace.Stage.PROCESS_RESTORED,
+            restoreRecord != null ? restoreRecord.app : PaymentApp.UNKNOWN, createdAtNanos);
+        StartupTracer.mark("restore.paymentReturn");
+    }
+
+    private void routePaymentReturn(Uri data) {
+        PayTrace.global().record(PayTrace.Stage.APP_SCHEME_RETURNED);
 
         Bridge bridge = getBridge();
         if (bridge == null) return;
@@ -65,35 +237,10 @@ public class MainActivity extends BridgeActivity {
             moveitWebChromeClient.removeOverlayFromMainThread();
         }
 
-        String appUrl = bridge.getAppUrl();
-        if (appUrl == null || appUrl.isEmpty()) return;
-
-        Uri appUri = Uri.parse(appUrl);
-        String base = appUri.getScheme() + "://" + appUri.getHost()
-            + (appUri.getPort() > 0 && appUri.getPort() != 443 && appUri.getPort() != 80 ? ":" + appUri.getPort() : "");
-        String path = data.getPath();
-        String query = data.getQuery();
-        if (path == null || path.isEmpty()) path = "/";
-        String fullUrl = base + path + (query != null && !query.isEmpty() ? "?" + query : "");
-        webView.loadUrl(fullUrl);
-    }
-
-    private void createNotificationChannel() {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            NotificationChannel channel = new NotificationChannel(
-                "moveit_default",
-                "MOVEIT 알림",
-                NotificationManager.IMPORTANCE_HIGH
-            );
-            channel.setDescription("MOVEIT 앱 푸시 알림");
-            channel.enableVibration(true);
-            channel.setShowBadge(true);
-
-            NotificationManager manager = getSystemService(NotificationManager.class);
-            if (manager != null) {
-                manager.createNotificationChannel(channel);
-            }
-        }
+        String fullUrl = new AppLinkRewriter(bridge.getAppUrl()).rewrite(data.toString());
+        if (fullUrl == null) return;
+        if (paymentHandoff != null) paymentHandoff.navigate(fullUrl);
+        else webView.loadUrl(fullUrl);
     }
 
     private void applyNavigationBarInsets() {
@@ -0,0 +1,56 @@
+package com.moveit.app;
+
+import static android.content.ComponentCallbacks2.TRIM_MEMORY_BACKGROUND;
+import static android.content.ComponentCallbacks2.TRIM_MEMORY_MODERATE;
+import static android.content.ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL;
+import static android.content.ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW;
+import static android.content.ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE;
+import static android.content.ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN;
+
+/**
+ * 메모리 압박·렌더러 종료 대응 정책 ({@link WebViewResilience}에서 사용). Android 의존성은 ComponentCallbacks2 상수뿐.
+ * - onTrimMemory 레벨 → 정리 단계 (레벨 값이 심각도 순이 아니므로 구간별로 명시, 포그라운드 단계는 API 34 미만만)
+ * - 렌더러 종료 후 다시 로드할 URL (같은 페이지가 원인인 크래시 반복 방지)
+ */
+final class MemoryPressure {
+
+    /**
+     * LIGHT: 미리 만든 오버레이 WebView 파기, 이미지 메모리 캐시 절반
+     * MODERATE: + 이미지 메모리 캐시 전체, 오버레이 미리 만들기 중단
+     * CRITICAL: + WebView 메모리 캐시
+     */
+    enum Step { NONE, LIGHT, MODERATE, CRITICAL }
+
+    /** 복구 후 이 시간 안에 렌더러가 다시 종료되면 마지막 URL 대신 시작 페이지로 */
+    static final long CRASH_LOOP_WINDOW_MS = 30_000;
+
+    private MemoryPressure() {}
+
+    /**
+     * onTrimMemory 레벨 → 정리 단계.
+     * API 34(Android 14)부터 시스템은 UI_HIDDEN·BACKGROUND만 전달하므로 포그라운드(RUNNING_*) 단계 정리는
+     * API 34 미만에서만 일어난다. 상수는 deprecated지만 그 기기들에서는 여전히 오는 값이라 비교에 그대로 쓴다.
+     */
+    @SuppressWarnings("deprecation")
+    static Step stepFor(int level) {
+        // 백그라운드: 목록 중간(MODERATE) 이후는 다음 종료 후보
+        if (level >= TRIM_MEMORY_MODERATE) return Step.CRITICAL;
+        if (level >= TRIM_MEMORY_BACKGROUND) return Step.MODERATE;
+        if (level >= TRIM_MEMORY_UI_HIDDEN) return Step.LIGHT;
+        // 포그라운드 실행 중 (2~3GB 기기에서 결제·예약 도중 오는 경우)
+        if (level >= TRIM_MEMORY_RUNNING_CRITICAL) return Step.CRITICAL;
+        if (level >= TRIM_MEMORY_RUNNING_LOW) return Step.MODERATE;
+        if (level >= TRIM_MEMORY_RUNNING_MODERATE) return Step.LIGHT;
+        return Step.NONE;
+    }
+
+    /**
+     * 메인 WebView 재생성 후 로드할 URL.
+     * @param lastRecoveryAt 직전 복구 시각 (elapsedRealtime, 없으면 0)
+     */
+    static String recoveryUrl(String lastUrl, String appUrl, long lastRecoveryAt, long now) {
+        if (lastRecoveryAt > 0 && now - lastRecoveryAt < CRASH_LOOP_WINDOW_MS) return appUrl;
+        if (lastUrl == null || !(lastUrl.startsWith("https://") || lastUrl.startsWith("http://"))) return appUrl;
+        return lastUrl;
+    }
+}
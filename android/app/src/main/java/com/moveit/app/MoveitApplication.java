@@ -0,0 +1,115 @@
+package com.moveit.app;
+
+import android.app.Application;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+import android.webkit.WebSettings;
+import com.getcapacitor.CapConfig;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * 앱 프로세스 진입점. 콜드 스타트 크리티컬 패스(BridgeActivity → WebView 생성 → 첫 페인트)와 무관한 작업은
+ * 백그라운드로 빼고, WebView 프로바이더 로딩과 서버(server.url) DNS/TLS 연결은 최대한 일찍 병렬로 시작.
+ */
+public class MoveitApplication extends Application {
+
+    public static final String NOTIFICATION_CHANNEL_ID = "moveit_default";
+
+    private static final int PRECONNECT_TIMEOUT_MS = 5_000;
+
+    private final ExecutorService startupExecutor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "moveit-startup");
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        StartupTracer.onProcessStart();
+        ErrorReporter.get(this).installCrashHandler();
+
+        // 1) WebView 프로바이더(Chromium) 클래스·네이티브 라이브러리 로딩을 메인 스레드의 WebView 생성보다 먼저 시작
+        startupExecutor.execute(() -> {
+            try {
+                WebSettings.getDefaultUserAgent(this);
+                StartupTracer.mark("webview.providerReady");
+            } catch (Throwable t) {
+                Log.w(StartupTracer.TAG, "WebView warm-up failed: " + t.getMessage());
+            }
+        });
+
+        // 2) 로컬 웹 번들 전환·롤백 판정을 WebView 첫 정적 파일 요청 전에 끝내고, 새 번들 확인 예약
+        startupExecutor.execute(() -> WebBundle.get(this).prepare());
+
+        // 2-1) 네이티브 키-값 저장소 매핑·색인 (웹이 하이드레이션 때 바로 읽도록)
+        startupExecutor.execute(() -> KvStore.get(this).warmUp());
+
+        // 2-2) 기기 내 검색 카탈로그가 오래됐으면 동기화 예약
+        startupExecutor.execute(() -> OfflineSearch.get(this).prepare());
+
+        // 3) server.url 호스트 DNS 조회 + TLS 핸드셰이크 (OS DNS 캐시·TLS 세션 캐시 예열), 이어서 알림 채널 생성
+        String appUrl = readServerUrl();
+        startupExecutor.execute(() -> {
+            preconnect(appUrl);
+            createNotificationChannel();
+            StartupTracer.mark("background.done");
+        });
+        startupExecutor.shutdown();
+    }
+
+    private String readServerUrl() {
+        try {
+            CapConfig config = CapConfig.loadDefault(this);
+            return config != null ? config.getServerUrl() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void preconnect(String appUrl) {
+        if (appUrl == null || appUrl.isEmpty()) return;
+        Uri uri = Uri.parse(appUrl);
+        String host = uri.getHost();
+        if (host == null) return;
+        try {
+            InetAddress.getAllByName(host);
+            StartupTracer.mark("preconnect.dns");
+            if (!"https".equals(uri.getScheme())) return;
+            int port = uri.getPort() > 0 ? uri.getPort() : 443;
+            try (Socket socket = SSLSocketFactory.getDefault().createSocket(host, port)) {
+                socket.setSoTimeout(PRECONNECT_TIMEOUT_MS);
+                ((SSLSocket) socket).startHandshake();
+            }
+            StartupTracer.mark("preconnect.tls");
+        } catch (Exception e) {
+            Log.w(StartupTracer.TAG, "preconnect failed: " + e.getMessage());
+        }
+    }
+
+    private void createNotificationChannel() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(
+                NOTIFICATION_CHANNEL_ID,
+                "MOVEIT 알림",
+                NotificationManager.IMPORTANCE_HIGH
+            );
+            channel.setDescription("MOVEIT 앱 푸시 알림");
+            channel.enableVibration(true);
+            channel.setShowBadge(true);
+
+            NotificationManager manager = getSystemService(NotificationManager.class);
+            if (manager != null) {
+                manager.createNotificationChannel(channel);
+            }
+        }
+    }
+}
@@ -1,27 +1,161 @@
 package com.moveit.app;
 
-import android.content.ActivityNotFoundException;
-import android.content.Intent;
 import android.graphics.Bitmap;
 import android.net.Uri;
 import android.os.Build;
 import android.util.Log;
-import android.webkit.URLUtil;
+import android.webkit.RenderProcessGoneDetail;
+import android.webkit.WebResourceError;
 import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 import com.getcapacitor.Bridge;
 import com.getcapacitor.BridgeWebViewClient;
-import java.net.URISyntaxException;
+import java.io.File;
 
 /**
  * 메인 WebView에서 결제·카드사 등 어떤 웹 URL도 외부 브라우저로 열지 않고 앱 내에서만 로드.
  * (카드사 도메인 나열 없이, http/https는 전부 웹뷰에서 로드.)
  * intent:// 는 토스 웹뷰 연동 가이드대로 카드사 앱 실행 또는 fallback 처리.
+ * 웹 앱 셸(/_next/static)은 기기에 둔 {@link WebBundle}에서 먼저 응답하고,
+ * 그 외 정적 자산(폰트, 배너 이미지)과 번들에 없는 파일은 {@link WebAssetCache}에서 응답해 콜드 스타트 재다운로드를 줄임.
+ * 저속·종량제 연결에서는 이미지를 {@link ImagePipeline}이 화면 폭에 맞춘 WebP로 줄여 응답.
+ * 렌더러가 종료되면 {@link WebViewResilience}가 WebView를 다시 만들고 마지막 URL을 로드.
+ * 화면 이동을 {@link NavigationPrefetcher}에 알려, 다음 화면이 확실하면 그 화면의 데이터 GET을 미리 받아 응답.
  */
 public class MoveitBridgeWebViewClient extends BridgeWebViewClient {
 
-    public MoveitBridgeWebViewClient(Bridge bridge) {
+    /** 브리지가 있는 문서에서만 hide()가 실행됨 (오류 페이지·about:blank에서는 false) */
+    private static final String HIDE_SPLASH_JS = "(function(){"
+        + "var p=window.Capacitor&&Capacitor.Plugins&&Capacitor.Plugins.SplashScreen;"
+        + "if(!p)return false;p.hide();return true;})()";
+    /** 상한 시간 이후 hide가 확인될 때까지 다시 시도하는 간격 */
+    private static final long SPLASH_RETRY_MS = 1_000;
+
+    private final UrlRouter router = new UrlRouter("[Bridge]");
+    private final WebAssetCache assetCache;
+    private final OfflineShell offlineShell;
+    private final PushPrefetchCache pushPrefetch;
+    private final NavigationPrefetcher navPrefetch;
+    private final WebBundle webBundle;
+    private final ImagePipeline imagePipeline;
+    private final PaymentHandoff paymentHandoff;
+    private final PaymentSessionStore paymentSession;
+    private final WebViewResilience resilience;
+    private boolean splashHidden;
+
+    public MoveitBridgeWebViewClient(Bridge bridge, PaymentHandoff paymentHandoff, WebViewResilience resilience) {
         super(bridge);
+        this.paymentHandoff = paymentHandoff;
+        this.resilience = resilience;
+        this.assetCache = new WebAssetCache(
+            new File(bridge.getContext().getCacheDir(), "web-assets"),
+            WebAssetCache.DEFAULT_MAX_BYTES,
+            bridge.getAppUrl()
+        );
+        this.offlineShell = new OfflineShell(bridge.getContext(), bridge.getAppUrl());
+        this.pushPrefetch = PushPrefetchCache.get(bridge.getContext());
+        this.navPrefetch = NavigationPrefetcher.get(bridge.getContext());
+        this.webBundle = WebBundle.get(bridge.getContext());
+        this.imagePipeline = ImagePipeline.get(bridge.getContext());
+        this.paymentSession = PaymentSessionStore.get(bridge.getContext());
+    }
+
+    public WebAssetCache getAssetCache() {
+        return assetCache;
+    }
+
+    @Override
+    public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+        WebResourceResponse prefetched = pushPrefetch.take(request);
+        if (prefetched != null) return prefetched;
+        WebResourceResponse speculative = navPrefetch.intercept(request);
+        if (speculative != null) return speculative;
+        WebResourceResponse bundled = webBundle.intercept(request);
+        if (bundled != null) return bundled;
+        WebResourceResponse image = imagePipeline.intercept(request, assetCache);
+        if (image != null) return image;
+        WebResourceResponse cached = assetCache.intercept(request);
+        if (cached != null) return cached;
+        return super.shouldInterceptRequest(view, request);
+    }
+
+    @Override
+    public void onPageCommitVisible(WebView view, String url) {
+        super.onPageCommitVisible(view, url);
+        StartupTracer.onFirstPaint();
+        hideSplash(view);
+        paymentHandoff.onDocumentVisible();
+        webBundle.onDocumentVisible(view, url);
+        recordResult(url);
+    }
+
+    /** 결제 결과 페이지면 타임라인 기록 후 진행 중 결제 기록 삭제. */
+    private void recordResult(String url) {
+        PayTrace.Stage result = url != null ? PayTrace.resultStageFor(Uri.parse(url).getPath()) : null;
+        if (result == null) return;
+        PayTrace.global().record(result);
+        paymentSession.clear();
+    }
+
+    @Override
+    public void onReceivedError(WebView view, WebResourceRequest request, WebResourceError error) {
+        super.onReceivedError(view, request, error);
+        // 메인 프레임 로드 실패 시 스플래시 뒤에 에러가 가려지지 않도록 즉시 내림
+        if (request != null && request.isForMainFrame()) {
+            if (error != null) {
+                offlineShell.onMainFrameError(view, request.getUrl().toString(), error.getErrorCode());
+            }
+            hideSplash(view);
+        }
+    }
+
+    @Override
+    public void doUpdateVisitedHistory(WebView view, String url, boolean isReload) {
+        super.doUpdateVisitedHistory(view, url, isReload);
+        resilience.onMainUrl(url);
+        JankMonitor.get().onMainUrl(url);
+        navPrefetch.onMainUrl(url);
+        // 결제 결과 페이지로 클라이언트 라우팅된 경우 (문서 재로드 없음 → onPageCommitVisible 미발생)
+        if (paymentHandoff.onHistoryUpdated(url)) recordResult(url);
+        // SPA 라우트 변경(pushState)도 스냅샷 대상이므로 여기서도 캡처 예약
+        offlineShell.onPageShown(view, url);
+    }
+
+    @Override
+    public boolean onRenderProcessGone(WebView view, RenderProcessGoneDetail detail) {
+        // 플러그인 WebViewListener에도 알린 뒤, 앱 프로세스가 함께 종료되지 않도록 항상 직접 처리
+        super.onRenderProcessGone(view, detail);
+        return resilience.onMainRendererGone(view, detail);
+    }
+
+    /**
+     * 스플래시 숨김 (launchAutoHide=false). 첫 페인트·MainActivity의 상한 타이머에서 호출.
+     * 문서에 Capacitor 브리지가 있어 hide()가 실제로 실행된 경우에만 완료로 보고, 아니면 다음 페인트·타이머에서 다시 시도.
+     */
+    public void hideSplash(WebView view) {
+        if (splashHidden || view == null) return;
+        view.evaluateJavascript(HIDE_SPLASH_JS, value -> {
+            if (splashHidden || !"true".equals(value)) return;
+            splashHidden = true;
+            StartupTracer.mark("splash.hidden");
+        });
+    }
+
+    /** delayMs 뒤 스플래시를 내리고, 브리지 없는 문서(오프라인 오류 페이지 등)라 실패하면 숨겨질 때까지 주기적으로 재시도. */
+    public void hideSplashAfter(WebView view, long delayMs) {
+        if (view == null) return;
+        view.postDelayed(() -> {
+            if (splashHidden) return;
+            hideSplash(view);
+            hideSplashAfter(view, SPLASH_RETRY_MS);
+        }, delayMs);
+    }
+
+    @Override
+    public void onPageFinished(WebView view, String url) {
+        super.onPageFinished(view, url);
+        offlineShell.onPageShown(view, url);
     }
 
     @Override
@@ -46,86 +180,18 @@ public class MoveitBridgeWebViewClient extends BridgeWebViewClient {
      */
     @Override
     public void onPageStarted(WebView view, String url, Bitmap favicon) {
-        if (url != null
-                && !url.startsWith("http://")
-                && !url.startsWith("https://")
-                && !url.startsWith("about:")
-                && !URLUtil.isJavaScriptUrl(url)) {
-            Log.d("MoveitPay", "[Bridge] onPageStarted scheme: " + url);
+        if (UrlClassifier.isAppLaunch(url)) {
+            if (BuildConfig.PAY_TRACE_LOG) Log.d("MoveitPay", "[Bridge] onPageStarted scheme: " + url);
             view.stopLoading();
             handleUrl(view, url);
             return;
         }
+        paymentHandoff.onDocumentStarted();
         super.onPageStarted(view, url, favicon);
     }
 
     /** 공통 URL 처리 (토스 웹뷰 가이드: intent/커스텀 스킴 → 카드사·ISP 앱 실행). 리다이렉트 등 모든 로드 경로에서 호출되도록 deprecated 오버로드 사용. */
     private boolean handleUrl(WebView view, String url) {
-        if (url == null) return false;
-
-        if (url.startsWith("http://") || url.startsWith("https://")) {
-            return false;
-        }
-        Log.d("MoveitPay", "[Bridge] handleUrl: " + url);
-        if (url.startsWith("intent:")) {
-            return handleIntentUrl(view, url);
-        }
-        if (!URLUtil.isNetworkUrl(url) && !URLUtil.isJavaScriptUrl(url)) {
-            try {
-                Uri schemeUri = Uri.parse(url);
-                Intent schemeIntent = new Intent(Intent.ACTION_VIEW, schemeUri);
-                schemeIntent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-                view.getContext().startActivity(schemeIntent);
-                Log.d("MoveitPay", "[Bridge] startActivity OK: " + url);
-            } catch (ActivityNotFoundException e) {
-                Log.e("MoveitPay", "[Bridge] ActivityNotFound: " + url + " | " + e.getMessage());
-            } catch (Exception e) {
-                Log.e("MoveitPay", "[Bridge] startActivity ERR: " + url + " | " + e.getMessage());
-            }
-            return true; // WebView에 ERR_UNKNOWN_URL_SCHEME 뜨지 않도록
-        }
-        return false;
-    }
-
-    /**
-     * 토스페이먼츠 웹뷰 연동 가이드: intent 파싱 후 카드사 앱 실행, 없으면 fallback URL 로드, 없으면 마켓 이동.
-     */
-    private boolean handleIntentUrl(WebView view, String url) {
-        Log.d("MoveitPay", "[Bridge] handleIntentUrl: " + url);
-        try {
-            Intent intent = Intent.parseUri(url, Intent.URI_INTENT_SCHEME);
-            intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-            Log.d("MoveitPay", "[Bridge] intent pkg=" + intent.getPackage() + " scheme=" + (intent.getData() != null ? intent.getData().getScheme() : "null"));
-            try {
-                view.getContext().startActivity(intent);
-                Log.d("MoveitPay", "[Bridge] intent startActivity OK");
-                return true;
-            } catch (ActivityNotFoundException e1) {
-                Log.e("MoveitPay", "[Bridge] intent ActivityNotFound: " + e1.getMessage());
-                // 앱 미설치 또는 Android 11+ 가시성 문제 → fallback 시도
-            }
-            String fallbackUrl = intent.getStringExtra("browser_fallback_url");
-            if (fallbackUrl == null) fallbackUrl = intent.getStringExtra("S.browser_fallback_url");
-            if (fallbackUrl != null) {
-                Log.d("MoveitPay", "[Bridge] intent fallback: " + fallbackUrl);
-                view.loadUrl(fallbackUrl);
-                return true;
-            }
-            if (intent.getPackage() != null) {
-                Log.d("MoveitPay", "[Bridge] intent market: " + intent.getPackage());
-                try {
-                    view.getContext().startActivity(new Intent(Intent.ACTION_VIEW,
-                        Uri.parse("market://details?id=" + intent.getPackage())));
-                } catch (ActivityNotFoundException e2) {
-                    // 마켓도 없음
-                }
-                return true;
-            }
-        } catch (URISyntaxException e) {
-            Log.e("MoveitPay", "[Bridge] intent URISyntax: " + e.getMessage());
-        } catch (Exception e) {
-            Log.e("MoveitPay", "[Bridge] intent ERR: " + e.getMessage());
-        }
-        return false;
+        return router.route(view, url);
     }
 }
@@ -0,0 +1,226 @@
+package com.moveit.app;
+
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Bundle;
+import android.service.notification.StatusBarNotification;
+import android.util.Log;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import com.capacitorjs.plugins.pushnotifications.MessagingService;
+import com.getcapacitor.CapConfig;
+import com.google.firebase.messaging.RemoteMessage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FCM 수신 서비스. Capacitor PushNotifications 플러그인의 MessagingService를 대체(매니페스트에서 원본 제거)하고
+ * super 호출로 JS 이벤트(pushNotificationReceived, 토큰 갱신)는 그대로 유지.
+ * 데이터 전용 메시지(notification 블록 없음)는 여기서 직접 처리 — onMessageReceived는 FCM 백그라운드 스레드에서 호출됨:
+ * 1) 알림을 네이티브로 구성 (display_style=big_text, image_url → 큰 이미지). 같은 type이 몰리면 요약으로 묶음
+ * 2) 대상 화면의 API 응답을 {@link PushPrefetchCache}에 미리 받아 둠 → 탭 시 화면이 네트워크 없이 바로 렌더링
+ * 3) 휴강·예약 취소(data.booking_id)면 {@link ReminderScheduler}에 예약된 해당 수업 알림 해제
+ * 탭 인텐트는 FCM 시스템 알림과 같은 형태(data extras + google.message_id)라
+ * 플러그인의 pushNotificationActionPerformed → 웹 라우팅(data.path/url)이 그대로 동작.
+ * notification 블록이 있는 메시지는 기존처럼 시스템/플러그인이 표시.
+ */
+public class MoveitMessagingService extends MessagingService {
+
+    private static final String TAG = "MoveitPush";
+    private static final String EXTRA_MESSAGE_ID = "google.message_id";
+    private static final String EXTRA_GROUP_COUNT = "moveit.groupCount";
+    private static final int IMAGE_MAX_BYTES = 2 * 1024 * 1024;
+    private static final int IMAGE_TIMEOUT_MS = 5_000;
+    /** 요약 알림 탭 시 이동할 화면 */
+    private static final String SUMMARY_PATH = "/notifications";
+
+    @Override
+    public void onMessageReceived(RemoteMessage remoteMessage) {
+        super.onMessageReceived(remoteMessage);
+        Map<String, String> data = remoteMessage.getData();
+        if (remoteMessage.getNotification() != null || data == null || data.isEmpty()) return;
+
+        String messageId = remoteMessage.getMessageId();
+        if (messageId == null) messageId = "local-" + System.currentTimeMillis();
+        try {
+            show(messageId, data);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "notification failed: " + e.getMessage());
+        }
+
+        // 휴강·예약 취소: 기기에 예약해 둔 수업 알림 해제
+        String cancelledBooking = ReminderPlan.cancelledBooking(data);
+        if (cancelledBooking != null) ReminderScheduler.get(this).cancelGroup(cancelledBooking);
+
+        String prefetchPath = PushPrefetchCache.prefetchPath(data);
+        if (prefetchPath != null) {
+            PushPrefetchCache.get(this).prefetch(messageId, AppLinkRewriter.originOf(readServerUrl()), prefetchPath);
+        }
+    }
+
+    private void show(String messageId, Map<String, String> data) {
+        NotificationManagerCompat manager = NotificationManagerCompat.from(this);
+        if (!manager.areNotificationsEnabled()) return;
+
+        String title = data.containsKey("title") ? data.get("title") : getString(R.string.app_name);
+        String body = data.containsKey("body") ? data.get("body") : "";
+        String group = data.containsKey("type") ? data.get("type") : "general";
+        int summaryId = ("summary:" + group).hashCode();
+        long now = System.currentTimeMillis();
+
+        // 시스템에 떠 있는 같은 그룹 알림을 읽어 묶을지 결정
+        List<NotificationCoalescer.Posted> children = new ArrayList<>();
+        NotificationCoalescer.Summary summary = null;
+        NotificationManager nm = getSystemService(NotificationManager.class);
+        if (nm != null) {
+            for (StatusBarNotification sbn : nm.getActiveNotifications()) {
+                Notification n = sbn.getNotification();
+                if (!group.equals(n.getGroup())) continue;
+                Bundle extras = NotificationCompat.getExtras(n);
+                if (sbn.getId() == summaryId) {
+                    CharSequence[] lines = extras != null ? extras.getCharSequenceArray(NotificationCompat.EXTRA_TEXT_LINES) : null;
+                    List<String> lineList = new ArrayList<>();
+                    if (lines != null) for (CharSequence l : lines) lineList.add(String.valueOf(l));
+                    int count = extras != null ? extras.getInt(EXTRA_GROUP_COUNT, lineList.size()) : lineList.size();
+                    summary = new NotificationCoalescer.Summary(sbn.getPostTime(), count, lineList);
+                } else {
+                    CharSequence text = extras != null ? extras.getCharSequence(NotificationCompat.EXTRA_TEXT) : null;
+                    children.add(new NotificationCoalescer.Posted(sbn.getId(), sbn.getPostTime(), text != null ? oneLine(text.toString()) : ""));
+                }
+            }
+        }
+
+        NotificationCoalescer.Decision decision = NotificationCoalescer.decide(children, summary, oneLine(body), now);
+        if (decision.dropStaleSummary) manager.cancel(summaryId);
+
+        if (!decision.summarize) {
+            NotificationCompat.Builder builder = new NotificationCompat.Builder(this, MoveitApplication.NOTIFICATION_CHANNEL_ID)
+                .setSmallIcon(getApplicationInfo().icon)
+                .setContentTitle(title)
+                .setContentText(body)
+                .setAutoCancel(true)
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setGroup(group)
+                .setContentIntent(tapIntent(this, messageId, data, messageId.hashCode()));
+            Bitmap image = loadImage(data.get("image_url"));
+            if (image != null) {
+                builder.setLargeIcon(image).setStyle(new NotificationCompat.BigPictureStyle().bigPicture(image).setSummaryText(body));
+            } else if ("big_text".equals(data.get("display_style")) || body.length() > 40) {
+                builder.setStyle(new NotificationCompat.BigTextStyle().bigText(body));
+            }
+            manager.notify(messageId.hashCode(), builder.build());
+            return;
+        }
+
+        for (int id : decision.cancelIds) manager.cancel(id);
+        NotificationCompat.InboxStyle inbox = new NotificationCompat.InboxStyle()
+            .setBigContentTitle(title)
+            .setSummaryText("알림 " + decision.count + "건");
+        for (String line : decision.lines) inbox.addLine(line);
+        Bundle extras = new Bundle();
+        extras.putInt(EXTRA_GROUP_COUNT, decision.count);
+        Map<String, String> summaryData = new HashMap<>();
+        summaryData.put("path", SUMMARY_PATH);
+        summaryData.put("type", group);
+        Notification notification = new NotificationCompat.Builder(this, MoveitApplication.NOTIFICATION_CHANNEL_ID)
+            .setSmallIcon(getApplicationInfo().icon)
+            .setContentTitle(title)
+            .setContentText(decision.lines.get(0) + " 외 " + (decision.count - 1) + "건")
+            .setStyle(inbox)
+            .setNumber(decision.count)
+            .setGroup(group)
+            .setGroupSummary(true)
+            // 요약 갱신마다 울리지 않도록 (첫 요약 게시 때만 알림음)
+            .setOnlyAlertOnce(true)
+            .setAutoCancel(true)
+            .addExtras(extras)
+            .setContentIntent(tapIntent(this, "summary-" + group + "-" + now, summaryData, summaryId))
+            .build();
+        manager.notify(summaryId, notification);
+        Log.d(TAG, "coalesced " + group + " x" + decision.count);
+    }
+
+    /**
+     * FCM 시스템 알림 탭과 같은 extras로 MainActivity를 열어 플러그인이 actionPerformed를 발생시키게 함.
+     * 로컬 알림({@link ReminderScheduler})도 같은 인텐트를 써서 웹 라우팅(data.path)이 동일하게 동작.
+     */
+    static PendingIntent tapIntent(Context context, String messageId, Map<String, String> data, int requestCode) {
+        Intent intent = new Intent(context, MainActivity.class)
+            .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_SINGLE_TOP);
+        for (Map.Entry<String, String> e : data.entrySet()) intent.putExtra(e.getKey(), e.getValue());
+        intent.putExtra(EXTRA_MESSAGE_ID, messageId);
+        return PendingIntent.getActivity(context, requestCode, intent,
+            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    private static Bitmap loadImage(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith("https://")) return null;
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(imageUrl).openConnection();
+            conn.setConnectTimeout(IMAGE_TIMEOUT_MS);
+            conn.setReadTimeout(IMAGE_TIMEOUT_MS);
+            if (conn.getResponseCode() != 200 || conn.getContentLength() > IMAGE_MAX_BYTES) return null;
+            try (InputStream in = conn.getInputStream()) {
+                byte[] bytes = readAll(in);
+                if (bytes == null) return null;
+                // 알림 큰 이미지는 약 450dp 폭이면 충분 → 큰 원본은 축소 디코딩
+                BitmapFactory.Options bounds = new BitmapFactory.Options();
+                bounds.inJustDecodeBounds = true;
+                BitmapFactory.decodeByteArray(bytes, 0, bytes.length, bounds);
+                BitmapFactory.Options opts = new BitmapFactory.Options();
+                opts.inSampleSize = 1;
+                while (bounds.outWidth / (opts.inSampleSize * 2) >= 1024) opts.inSampleSize *= 2;
+                return BitmapFactory.decodeByteArray(bytes, 0, bytes.length, opts);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "image load failed: " + e.getMessage());
+            return null;
+        } finally {
+            if (conn != null) conn.disconnect();
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            if (buf.size() + n > IMAGE_MAX_BYTES) return null;
+            buf.write(chunk, 0, n);
+        }
+        return buf.toByteArray();
+    }
+
+    /** "학원명\n\n제목\n내용" 형태 본문을 요약 줄 하나로 ("학원명 · 제목 · 내용"). */
+    private static String oneLine(String body) {
+        StringBuilder sb = new StringBuilder(body.length());
+        for (String part : body.split("\n")) {
+            if (part.trim().isEmpty()) continue;
+            if (sb.length() > 0) sb.append(" · ");
+            sb.append(part.trim());
+        }
+        return sb.toString();
+    }
+
+    private String readServerUrl() {
+        try {
+            CapConfig config = CapConfig.loadDefault(this);
+            return config != null ? config.getServerUrl() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -1,16 +1,14 @@
 package com.moveit.app;
 
-import android.annotation.SuppressLint;
-import android.content.ActivityNotFoundException;
-import android.content.Intent;
 import android.graphics.Bitmap;
 import android.graphics.Color;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Message;
+import android.os.SystemClock;
 import android.util.Log;
 import android.view.ViewGroup;
-import android.webkit.URLUtil;
+import android.webkit.RenderProcessGoneDetail;
 import android.webkit.WebChromeClient;
 import android.webkit.WebResourceRequest;
 import android.webkit.WebView;
@@ -18,28 +16,44 @@ import android.widget.FrameLayout;
 import androidx.appcompat.app.AppCompatActivity;
 import com.getcapacitor.Bridge;
 import com.getcapacitor.BridgeWebChromeClient;
-import java.net.URISyntaxException;
 
 /**
  * 결제 등 window.open() 시 외부 브라우저로 나가지 않고 앱 내 WebView에서만 열기 위해
  * 새 창 요청을 오버레이 WebView로 처리하고, 우리 도메인(success/fail)으로 돌아오면
- * 메인 WebView로 전환해 세션이 유지된 상태로 보여줌.
+ * 메인 WebView로 전환해 세션이 유지된 상태로 보여줌 (재로드 없이 {@link PaymentHandoff}로 클라이언트 라우팅).
+ * 오버레이 WebView는 {@link OverlayWebViewPool}에서 미리 만들어 둔 것을 사용해 결제 창 첫 표시를 앞당김.
+ * 오버레이 렌더러가 종료되면 오버레이만 걷어내고 메인 WebView(예약 화면)는 유지.
  */
 public class MoveitWebChromeClient extends BridgeWebChromeClient {
 
     private final Bridge bridge;
+    private final PaymentHandoff paymentHandoff;
     private FrameLayout overlayContainer;
     private WebView overlayWebView;
+    private final OverlayWebViewPool overlayPool;
+    private final UrlRouter overlayRouter = new UrlRouter("[Overlay]");
+    /** onCreateWindow 시각 (결제 페이지 첫 페인트까지 걸린 시간 측정용) */
+    private long overlayOpenedAt;
 
-    public MoveitWebChromeClient(Bridge bridge) {
+    public MoveitWebChromeClient(Bridge bridge, PaymentHandoff paymentHandoff) {
         super(bridge);
         this.bridge = bridge;
+        this.paymentHandoff = paymentHandoff;
+        this.overlayPool = new OverlayWebViewPool(bridge.getContext());
+    }
+
+    @Override
+    public void onProgressChanged(WebView view, int newProgress) {
+        super.onProgressChanged(view, newProgress);
+        // 첫 페이지 로드가 끝난 뒤 유휴 시간에 결제용 오버레이 WebView를 미리 생성
+        if (newProgress == 100) {
+            overlayPool.prewarm();
+        }
     }
 
     @Override
-    @SuppressLint("SetJavaScriptEnabled")
     public boolean onCreateWindow(WebView view, boolean isDialog, boolean isUserGesture, Message resultMsg) {
-        Log.d("MoveitPay", "[Chrome] onCreateWindow isUserGesture=" + isUserGesture);
+        if (BuildConfig.PAY_TRACE_LOG) Log.d("MoveitPay", "[Chrome] onCreateWindow isUserGesture=" + isUserGesture);
         if (resultMsg == null || resultMsg.obj == null) {
             return false;
         }
@@ -54,17 +68,12 @@ public class MoveitWebChromeClient extends BridgeWebChromeClient {
             return false;
         }
 
-        // 오버레이용 WebView 생성 (결제 창을 앱 내에서 표시)
-        overlayWebView = new WebView(activity);
-        overlayWebView.setLayoutParams(new ViewGroup.LayoutParams(
-            ViewGroup.LayoutParams.MATCH_PARENT,
-            ViewGroup.LayoutParams.MATCH_PARENT
-        ));
-        overlayWebView.getSettings().setJavaScriptEnabled(true);
-        overlayWebView.getSettings().setSupportMultipleWindows(true);
-        overlayWebView.getSettings().setDomStorageEnabled(true);
-        overlayWebView.getSettings().setJavaScriptCanOpenWindowsAutomatically(true);
-        overlayWebView.setBackgroundColor(Color.WHITE);
+        // 오버레이용 WebView (결제 창을 앱 내에서 표시). 이전 오버레이가 남아 있으면 먼저 정리.
+        removeOverlay();
+        overlayOpenedAt = SystemClock.elapsedRealtime();
+        PayTrace.global().record(PayTrace.Stage.OVERLAY_OPENED);
+        PaymentSessionStore.get(activity).begin();
+        overlayWebView = overlayPool.acquire();
 
         // 우리 앱 도메인으로 로드되면 메인 WebView로 옮기고 오버레이 제거
         String appUrl = bridge.getAppUrl();
@@ -92,19 +101,14 @@ public class MoveitWebChromeClient extends BridgeWebChromeClient {
 
             private boolean handleOverlayUrl(WebView w, String url, String host) {
                 if (url == null) return false;
-                if (!url.startsWith("http://") && !url.startsWith("https://")) {
-                    Log.d("MoveitPay", "[Overlay] handleUrl: " + url);
-                }
-                if (url.startsWith("intent:")) {
-                    return handleIntentUrlInOverlay(activity, w, url);
-                }
-                if (!URLUtil.isNetworkUrl(url) && !URLUtil.isJavaScriptUrl(url)) {
-                    return handleCustomSchemeInOverlay(activity, url);
+                if (UrlClassifier.classify(url) != UrlClassifier.Kind.WEB) {
+                    return overlayRouter.route(w, url);
                 }
                 if (appHost != null && host != null && appHost.equalsIgnoreCase(host)) {
-                    Log.d("MoveitPay", "[Overlay] return to app: " + url);
+                    PayTrace.global().record(PayTrace.Stage.OVERLAY_RETURNED);
+                    if (BuildConfig.PAY_TRACE_LOG) Log.d("MoveitPay", "[Overlay] return to app: " + url);
                     activity.runOnUiThread(() -> {
-                        mainWebView.loadUrl(url);
+                        paymentHandoff.navigate(url);
                         removeOverlay();
                     });
                     return true;
@@ -118,17 +122,34 @@ public class MoveitWebChromeClient extends BridgeWebChromeClient {
              */
             @Override
             public void onPageStarted(WebView w, String url, Bitmap favicon) {
-                if (url != null
-                        && !url.startsWith("http://")
-                        && !url.startsWith("https://")
-                        && !url.startsWith("about:")
-                        && !URLUtil.isJavaScriptUrl(url)) {
-                    Log.d("MoveitPay", "[Overlay] onPageStarted scheme: " + url);
+                if (UrlClassifier.isAppLaunch(url)) {
+                    if (BuildConfig.PAY_TRACE_LOG) Log.d("MoveitPay", "[Overlay] onPageStarted scheme: " + url);
                     w.stopLoading();
                     Uri u = Uri.parse(url);
                     handleOverlayUrl(w, url, u.getHost());
                 }
             }
+
+            @Override
+            public boolean onRenderProcessGone(WebView w, RenderProcessGoneDetail detail) {
+                PayTrace.global().record(PayTrace.Stage.OVERLAY_CLOSED);
+                if (w == overlayWebView) discardOverlay();
+                else overlayPool.discard(w);
+                WebViewResilience.onOverlayRendererGone(activity, detail);
+                return true;
+            }
+
+            @Override
+            public void onPageCommitVisible(WebView w, String url) {
+                if (overlayOpenedAt > 0 && url != null && !url.startsWith("about:")) {
+                    PayTrace.global().record(PayTrace.Stage.PAYMENT_PAGE_LOADED);
+                    if (BuildConfig.PAY_TRACE_LOG) {
+                        Log.d("MoveitPay", "[Overlay] first paint " + (SystemClock.elapsedRealtime() - overlayOpenedAt)
+                            + "ms (pooled=" + overlayPool.pooledAcquires() + ", cold=" + overlayPool.coldAcquires() + ")");
+                    }
+                    overlayOpenedAt = 0;
+                }
+            }
         });
 
         // 결제 페이지 내부에서 "다음" 등으로 또 window.open() 하면 여기서 처리.
@@ -147,6 +168,7 @@ public class MoveitWebChromeClient extends BridgeWebChromeClient {
 
             @Override
             public void onCloseWindow(WebView w) {
+                PayTrace.global().record(PayTrace.Stage.OVERLAY_CLOSED);
                 activity.runOnUiThread(() -> removeOverlay());
             }
         });
@@ -163,6 +185,7 @@ public class MoveitWebChromeClient extends BridgeWebChromeClient {
             ViewGroup root = activity.findViewById(android.R.id.content);
             if (root != null) {
                 root.addView(overlayContainer);
+                JankMonitor.get().setOverlayShown(true);
             }
         });
 
@@ -172,73 +195,35 @@ public class MoveitWebChromeClient extends BridgeWebChromeClient {
         return true;
     }
 
-    /**
-     * hdcardappcardansimclick://, ispmobile:// 등 커스텀 스킴 → 카드사 앱 실행 (토스 웹뷰 가이드).
-     */
-    private static boolean handleCustomSchemeInOverlay(AppCompatActivity activity, String url) {
-        Log.d("MoveitPay", "[Overlay] customScheme: " + url);
-        try {
-            Uri schemeUri = Uri.parse(url);
-            Intent intent = new Intent(Intent.ACTION_VIEW, schemeUri);
-            intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-            activity.startActivity(intent);
-            Log.d("MoveitPay", "[Overlay] customScheme startActivity OK");
-        } catch (ActivityNotFoundException e) {
-            Log.e("MoveitPay", "[Overlay] customScheme ActivityNotFound: " + url + " | " + e.getMessage());
-        } catch (Exception e) {
-            Log.e("MoveitPay", "[Overlay] customScheme ERR: " + url + " | " + e.getMessage());
-        }
-        return true; // WebView에 ERR_UNKNOWN_URL_SCHEME 뜨지 않도록
-    }
-
-    /**
-     * 토스페이먼츠 웹뷰 연동 가이드: intent 파싱 후 카드사 앱 실행, 없으면 fallback URL을 오버레이에서 로드, 없으면 마켓 이동.
-     */
-    private static boolean handleIntentUrlInOverlay(AppCompatActivity activity, WebView overlay, String url) {
-        Log.d("MoveitPay", "[Overlay] intentUrl: " + url);
-        try {
-            Intent intent = Intent.parseUri(url, Intent.URI_INTENT_SCHEME);
-            intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-            Log.d("MoveitPay", "[Overlay] intent pkg=" + intent.getPackage() + " scheme=" + (intent.getData() != null ? intent.getData().getScheme() : "null"));
-            try {
-                activity.startActivity(intent);
-                Log.d("MoveitPay", "[Overlay] intent startActivity OK");
-                return true;
-            } catch (ActivityNotFoundException e1) {
-                Log.e("MoveitPay", "[Overlay] intent ActivityNotFound: " + e1.getMessage());
-                // 앱 미설치 또는 Android 11+ 가시성 문제 → fallback 시도
-            }
-            String fallbackUrl = intent.getStringExtra("browser_fallback_url");
-            if (fallbackUrl == null) fallbackUrl = intent.getStringExtra("S.browser_fallback_url");
-            if (fallbackUrl != null) {
-                Log.d("MoveitPay", "[Overlay] intent fallback: " + fallbackUrl);
-                overlay.loadUrl(fallbackUrl);
-                return true;
-            }
-            if (intent.getPackage() != null) {
-                Log.d("MoveitPay", "[Overlay] intent market: " + intent.getPackage());
-                try {
-                    activity.startActivity(new Intent(Intent.ACTION_VIEW,
-                        Uri.parse("market://details?id=" + intent.getPackage())));
-                } catch (ActivityNotFoundException e2) {
-                    // 마켓도 없음
-                }
-                return true;
-            }
-        } catch (URISyntaxException e) {
-            Log.e("MoveitPay", "[Overlay] intent URISyntax: " + e.getMessage());
-        } catch (Exception e) {
-            Log.e("MoveitPay", "[Overlay] intent ERR: " + e.getMessage());
+    private void removeOverlay() {
+        if (overlayContainer != null && overlayContainer.getParent() != null) {
+            ((ViewGroup) overlayContainer.getParent()).removeView(overlayContainer);
         }
-        return false;
+        overlayContainer = null;
+        JankMonitor.get().setOverlayShown(false);
+        overlayPool.release(overlayWebView);
+        overlayWebView = null;
+        overlayOpenedAt = 0;
     }
 
-    private void removeOverlay() {
+    /** 렌더러가 종료된 오버레이 제거 (죽은 WebView는 풀에 반납하지 않고 파기만). */
+    private void discardOverlay() {
         if (overlayContainer != null && overlayContainer.getParent() != null) {
             ((ViewGroup) overlayContainer.getParent()).removeView(overlayContainer);
-            overlayContainer = null;
         }
+        overlayContainer = null;
+        JankMonitor.get().setOverlayShown(false);
+        overlayPool.discard(overlayWebView);
         overlayWebView = null;
+        overlayOpenedAt = 0;
+    }
+
+    /**
+     * 메모리 압박 시 미리 만든 오버레이 WebView 파기 ({@link WebViewResilience}).
+     * 결제 중인 오버레이는 건드리지 않음. pause면 다음 결제 전까지 다시 만들지 않음.
+     */
+    boolean trimOverlayPool(boolean pause) {
+        return overlayPool.trim(pause);
     }
 
     /** MainActivity에서 moveitapp:// 복귀 시 결제 오버레이를 정리하기 위해 외부에서 호출. */
@@ -0,0 +1,51 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.util.AttributeSet;
+import com.getcapacitor.CapacitorWebView;
+
+/**
+ * Capacitor 메인 WebView (res/layout/capacitor_bridge_layout_main.xml에서 교체).
+ * 저장된 방문 기록을 복원할 예정이면 Bridge가 부르는 시작 페이지 loadUrl(appUrl)을 잡아 두었다가,
+ * 복원에 성공하면 버리고 실패하면 그대로 로드 — restoreState는 다른 페이지를 로드하기 전에 불러야 기록이 섞이지 않음.
+ */
+public class MoveitWebView extends CapacitorWebView {
+
+    private boolean holding;
+    private String heldUrl;
+
+    public MoveitWebView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    /** 다음 loadUrl 한 번을 보류 (MainActivity.load에서 super.load() 전에 호출). */
+    void holdStartLoad() {
+        holding = true;
+        heldUrl = null;
+    }
+
+    boolean isHoldingStartLoad() {
+        return holding;
+    }
+
+    @Override
+    public void loadUrl(String url) {
+        if (holding && heldUrl == null) {
+            heldUrl = url;
+            return;
+        }
+        super.loadUrl(url);
+    }
+
+    /** 보류를 끝냄. webState를 복원했으면 true(잡아 둔 시작 URL은 버림), 아니면 시작 URL을 로드하고 false. */
+    boolean releaseStartLoad(Bundle webState) {
+        if (!holding) return false;
+        holding = false;
+        String url = heldUrl;
+        heldUrl = null;
+        if (webState != null && restoreState(webState) != null) return true;
+        if (url != null) super.loadUrl(url);
+        return false;
+    }
+}
@@ -0,0 +1,458 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.Uri;
+import android.os.BatteryManager;
+import android.os.PowerManager;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Base64;
+import android.util.Log;
+import android.webkit.CookieManager;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 예약 퍼널(/schedule → /book → /payment) 예측 프리페치.
+ * 화면 이동은 Next 클라이언트 라우팅이라 문서를 다시 받지 않고, 기다리는 것은 새 화면이 보내는 Supabase REST·/api GET.
+ * - 학습: 메인 WebView 이동(doUpdateVisitedHistory)으로 화면 전환을, 진입 직후 LEARN_WINDOW_MS 동안의 GET으로 화면별 데이터 요청을
+ *   {@link PrefetchModel}에 기록. 모델은 사용자(토큰의 sub)별로 KvStore(prefetch:model:…)에 저장
+ * - 프리페치: 다음 화면이 확실하면 그 화면의 GET을 페이지가 쓰던 헤더(Authorization·apikey 등, 메모리에만 보관)로 미리 보내고,
+ *   shouldInterceptRequest에서 같은 URL·같은 인증이면 한 번만 응답 (ENTRY_TTL_MS 지나면 버림).
+ *   출발 화면의 ID를 이어 쓰는 전환(예약 → 완료)은 {@link PrefetchModel.Trigger}에 따라 쓰기 완료(웹 fetchWithAuth가
+ *   알려 줌, {@link #onWriteSettled}) 뒤에 보냄
+ * - 예산: 데이터 절약·절전·저전력이면 쉬고, 하루 전송량 상한(종량제는 더 작게), 한 번에 한 묶음씩 백그라운드 우선순위 스레드에서만
+ * - 쓰기 요청(POST·PATCH·DELETE, 조회용 rpc 제외)이 보이면 받아 둔 응답은 모두 버림 (예약 직후 남은 횟수 등이 옛 값으로 보이지 않게)
+ * 적중률·절약 시간은 {@link #toJSObject()} (MoveitPrefetch 플러그인)·logcat(MoveitPrefetch).
+ */
+final class NavigationPrefetcher {
+
+    private static final String TAG = "MoveitPrefetch";
+    private static final String KEY_MODEL = "prefetch:model:";
+    private static final String KEY_STATS = "prefetch:stats";
+    private static final String KEY_DAY = "prefetch:day";
+    private static final String KEY_ENABLED = "prefetch:enabled";
+    /** 화면 진입 후 이 시간 안의 GET을 그 화면의 데이터로 학습 */
+    private static final long LEARN_WINDOW_MS = 4_000;
+    private static final long ENTRY_TTL_MS = 30_000;
+    /** 페이지 요청이 아직 받는 중인 프리페치를 기다리는 상한 */
+    private static final long MAX_WAIT_MS = 1_500;
+    private static final int TIMEOUT_MS = 5_000;
+    private static final int MAX_BODY_BYTES = 256 * 1024;
+    /** 다시 보낼 요청 헤더 (응답 내용에 영향을 주는 것만) */
+    private static final String[] REPLAY_HEADERS = {
+        "Authorization", "apikey", "Accept", "Accept-Profile", "Prefer", "Range", "Range-Unit", "x-client-info",
+    };
+    private static final String[] RESPONSE_HEADERS = {
+        "Content-Range", "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials", "Access-Control-Expose-Headers",
+    };
+
+    private static NavigationPrefetcher instance;
+
+    private static final class Entry {
+        final String signature;
+        final long generation;
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile long fetchedAt;
+        volatile long fetchMs;
+        volatile int status;
+        volatile String contentType;
+        volatile Map<String, String> headers;
+        volatile byte[] body;
+
+        Entry(String signature, long generation) {
+            this.signature = signature;
+            this.generation = generation;
+        }
+    }
+
+    private final Context context;
+    private final KvStore kv;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(() -> {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        r.run();
+    }, "moveit-prefetch"));
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    /** 호스트 → 페이지가 마지막으로 보낸 재전송 헤더 */
+    private final Map<String, Map<String, String>> replayHeaders = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final String appOrigin;
+
+    private volatile boolean enabled;
+    private volatile PrefetchModel.Route current;
+    private volatile long enteredAt;
+    private volatile String lastSkip;
+    /** io 스레드에서만 */
+    private PrefetchModel.Prediction lastPrediction;
+    private final PrefetchModel.Trigger trigger = new PrefetchModel.Trigger();
+    private PrefetchModel model;
+    private String userKey;
+    private long day;
+    private long bytesToday;
+    /** synchronized (this) */
+    private final PrefetchModel.Stats stats;
+
+    static synchronized NavigationPrefetcher get(Context context) {
+        if (instance == null) instance = new NavigationPrefetcher(context.getApplicationContext());
+        return instance;
+    }
+
+    private NavigationPrefetcher(Context context) {
+        this.context = context;
+        this.kv = KvStore.get(context);
+        this.appOrigin = AppLinkRewriter.originOf(readServerUrl());
+        this.enabled = !"false".equals(kv.getString(KEY_ENABLED));
+        this.stats = PrefetchModel.Stats.parse(kv.getString(KEY_STATS));
+        String[] saved = String.valueOf(kv.getString(KEY_DAY)).split(",");
+        if (saved.length == 2) {
+            try {
+                day = Long.parseLong(saved[0]);
+                bytesToday = Long.parseLong(saved[1]);
+            } catch (NumberFormatException ignored) {
+                // 오늘 0부터
+            }
+        }
+    }
+
+    void setEnabled(boolean value) {
+        enabled = value;
+        kv.putString(KEY_ENABLED, String.valueOf(value));
+        if (!value) entries.clear();
+    }
+
+    /** 메인 WebView URL 변경 (doUpdateVisitedHistory, 메인 스레드). */
+    void onMainUrl(String url) {
+        if (url == null || appOrigin == null || !url.startsWith(appOrigin)) return;
+        PrefetchModel.Route route = PrefetchModel.Route.of(url);
+        if (route == null || route.sameAs(current)) return;
+        PrefetchModel.Route previous = current;
+        current = route;
+        enteredAt = SystemClock.elapsedRealtime();
+        io.execute(() -> onNavigated(previous, route));
+    }
+
+    /**
+     * shouldInterceptRequest (WebView IO 스레드). 요청을 학습하고, 미리 받아 둔 응답이 있으면 반환 (없으면 null).
+     */
+    WebResourceResponse intercept(WebResourceRequest request) {
+        if (request == null || request.isForMainFrame()) return null;
+        String method = request.getMethod();
+        Uri uri = request.getUrl();
+        if (!"GET".equalsIgnoreCase(method)) {
+            if (PrefetchModel.invalidates(method, uri.getPath())) invalidate();
+            return null;
+        }
+        if (!isDataRequest(uri)) return null;
+        Map<String, String> headers = replayable(request.getRequestHeaders());
+        String url = uri.toString();
+        if (headers.containsKey("Authorization") || headers.containsKey("apikey")) replayHeaders.put(uri.getHost(), headers);
+        PrefetchModel.Route route = current;
+        if (route != null && SystemClock.elapsedRealtime() - enteredAt <= LEARN_WINDOW_MS) {
+            String auth = headers.get("Authorization");
+            io.execute(() -> {
+                useModelFor(auth);
+                model.learn(route, url);
+            });
+        }
+        return take(url, signature(headers));
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private WebResourceResponse take(String url, String signature) {
+        Entry entry = entries.remove(url);
+        if (entry == null) return null;
+        long start = SystemClock.elapsedRealtime();
+        try {
+            if (!entry.done.await(MAX_WAIT_MS, TimeUnit.MILLISECONDS)) return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long waited = SystemClock.elapsedRealtime() - start;
+        if (entry.body == null || entry.generation != generation.get() || !entry.signature.equals(signature)
+            || SystemClock.elapsedRealtime() - entry.fetchedAt > ENTRY_TTL_MS) {
+            return null;
+        }
+        synchronized (this) {
+            stats.onHit(entry.fetchMs, waited);
+        }
+        io.execute(this::saveStats);
+        Log.d(TAG, "hit " + Uri.parse(url).getPath() + " saved " + Math.max(0, entry.fetchMs - waited) + "ms");
+        String[] type = splitContentType(entry.contentType);
+        return new WebResourceResponse(type[0], type[1], entry.status, entry.status == 206 ? "Partial Content" : "OK",
+            entry.headers, new ByteArrayInputStream(entry.body));
+    }
+
+    // ---- io 스레드 ----
+
+    private void onNavigated(PrefetchModel.Route previous, PrefetchModel.Route route) {
+        useModelFor(null);
+        synchronized (this) {
+            stats.onNavigated(lastPrediction, route);
+        }
+        if (model.record(previous, route)) kv.putString(KEY_MODEL + userKey, model.serialize());
+        PrefetchModel.Prediction prediction = model.predict(route);
+        lastPrediction = prediction;
+        saveStats();
+        List<PrefetchModel.Prediction> now = trigger.onArrive(route, prediction);
+        if (prediction != null && prediction.isConcrete()) {
+            Log.d(TAG, route.key + " -> " + prediction.key + String.format(Locale.ROOT, " (p=%.2f)", prediction.probability)
+                + (now.contains(prediction) ? "" : ", after write"));
+        }
+        if (!enabled) return;
+        for (PrefetchModel.Prediction p : now) prefetch(p);
+    }
+
+    /** 웹 fetchWithAuth의 쓰기 요청이 끝남 (MoveitPrefetch.writeSettled). 미뤄 둔 예측을 이제 받음. */
+    void onWriteSettled(boolean ok) {
+        PrefetchModel.Route route = current;
+        io.execute(() -> {
+            PrefetchModel.Prediction ready = trigger.onWriteSettled(route, ok);
+            if (ready != null && enabled) prefetch(ready);
+        });
+    }
+
+    private void prefetch(PrefetchModel.Prediction prediction) {
+        ConnectivityManager cm = context.getSystemService(ConnectivityManager.class);
+        boolean metered = cm != null && cm.isActiveNetworkMetered();
+        boolean dataSaver = metered && cm.getRestrictBackgroundStatus() == ConnectivityManager.RESTRICT_BACKGROUND_STATUS_ENABLED;
+        PowerManager pm = context.getSystemService(PowerManager.class);
+        boolean powerSave = pm != null && pm.isPowerSaveMode();
+        Intent battery = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        int level = battery != null ? battery.getIntExtra(BatteryManager.EXTRA_LEVEL, -1) : -1;
+        int scale = battery != null ? battery.getIntExtra(BatteryManager.EXTRA_SCALE, 100) : 100;
+        boolean charging = battery != null && battery.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0) != 0;
+        int pct = level >= 0 && scale > 0 ? level * 100 / scale : -1;
+
+        for (String url : model.dataUrls(prediction, PrefetchModel.maxUrls(metered))) {
+            rollDay();
+            String block = PrefetchModel.budgetBlock(metered, dataSaver, pct, charging, powerSave, bytesToday);
+            if (block != null) {
+                lastSkip = block;
+                synchronized (this) {
+                    stats.skipped++;
+                }
+                Log.d(TAG, "skip " + prediction.key + ": " + block);
+                return;
+            }
+            if (entries.containsKey(url)) continue;
+            Map<String, String> headers = replayHeaders.get(Uri.parse(url).getHost());
+            if (headers == null && !url.startsWith(appOrigin)) continue;
+            fetch(url, headers != null ? headers : new HashMap<>());
+        }
+    }
+
+    private void fetch(String url, Map<String, String> headers) {
+        Entry entry = new Entry(signature(headers), generation.get());
+        entries.put(url, entry);
+        long start = SystemClock.elapsedRealtime();
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(TIMEOUT_MS);
+            conn.setReadTimeout(TIMEOUT_MS);
+            for (Map.Entry<String, String> h : headers.entrySet()) conn.setRequestProperty(h.getKey(), h.getValue());
+            conn.setRequestProperty("Origin", appOrigin);
+            if (url.startsWith(appOrigin)) {
+                String cookie = CookieManager.getInstance().getCookie(url);
+                if (cookie != null) conn.setRequestProperty("Cookie", cookie);
+            }
+            int status = conn.getResponseCode();
+            if (status != 200 && status != 206) {
+                Log.d(TAG, "prefetch skipped HTTP " + status + " " + Uri.parse(url).getPath());
+                return;
+            }
+            byte[] body = readLimited(conn.getInputStream());
+            if (body == null) return;
+            Map<String, String> out = new HashMap<>();
+            for (String name : RESPONSE_HEADERS) {
+                String value = conn.getHeaderField(name);
+                if (value != null) out.put(name, value);
+            }
+            out.put("Cache-Control", "no-store");
+            entry.status = status;
+            entry.contentType = conn.getContentType();
+            entry.headers = out;
+            entry.fetchMs = SystemClock.elapsedRealtime() - start;
+            entry.fetchedAt = SystemClock.elapsedRealtime();
+            entry.body = body;
+            bytesToday += body.length;
+            synchronized (this) {
+                stats.prefetched++;
+                stats.bytes += body.length;
+            }
+            kv.putString(KEY_DAY, day + "," + bytesToday);
+            saveStats();
+        } catch (IOException e) {
+            Log.w(TAG, "prefetch failed " + Uri.parse(url).getPath() + ": " + e.getMessage());
+        } finally {
+            if (conn != null) conn.disconnect();
+            entry.done.countDown();
+            if (entry.body == null) entries.remove(url, entry);
+        }
+    }
+
+    /** 토큰의 사용자가 바뀌었으면 그 사용자의 모델로 교체 (auth가 null이면 현재 유지, 처음이면 익명). */
+    private void useModelFor(String authorization) {
+        String key = authorization != null ? userOf(authorization) : userKey;
+        if (key == null) key = "anon";
+        if (model != null && key.equals(userKey)) return;
+        userKey = key;
+        model = PrefetchModel.parse(kv.getString(KEY_MODEL + key));
+        lastPrediction = null;
+    }
+
+    private void rollDay() {
+        long today = System.currentTimeMillis() / TimeUnit.DAYS.toMillis(1);
+        if (today != day) {
+            day = today;
+            bytesToday = 0;
+        }
+    }
+
+    private void saveStats() {
+        String value;
+        synchronized (this) {
+            value = stats.serialize();
+        }
+        kv.putString(KEY_STATS, value);
+    }
+
+    void reset() {
+        entries.clear();
+        io.execute(() -> {
+            synchronized (this) {
+                stats.predictions = 0;
+                stats.correct = 0;
+                stats.prefetched = 0;
+                stats.hits = 0;
+                stats.bytes = 0;
+                stats.savedMs = 0;
+                stats.skipped = 0;
+            }
+            kv.removePrefix(KEY_MODEL);
+            kv.remove(KEY_STATS);
+            model = null;
+            lastPrediction = null;
+        });
+    }
+
+    /** { enabled, predictions, accuracy, prefetched, hits, hitRate, savedMs, bytes, bytesToday, skipped, lastSkip } */
+    synchronized JSObject toJSObject() {
+        JSObject o = new JSObject();
+        o.put("enabled", enabled);
+        o.put("predictions", stats.predictions);
+        o.put("accuracy", stats.accuracy());
+        o.put("prefetched", stats.prefetched);
+        o.put("hits", stats.hits);
+        o.put("hitRate", stats.hitRate());
+        o.put("savedMs", stats.savedMs);
+        o.put("bytes", stats.bytes);
+        o.put("bytesToday", bytesToday);
+        o.put("skipped", stats.skipped);
+        o.put("lastSkip", lastSkip);
+        return o;
+    }
+
+    // ---- 유틸 ----
+
+    private boolean isDataRequest(Uri uri) {
+        String host = uri.getHost();
+        String path = uri.getPath();
+        if (host == null || path == null || !"https".equals(uri.getScheme())) return false;
+        if (host.endsWith(".supabase.co")) return path.startsWith("/rest/v1/");
+        return appOrigin != null && uri.toString().startsWith(appOrigin + "/api/");
+    }
+
+    private static Map<String, String> replayable(Map<String, String> requestHeaders) {
+        Map<String, String> out = new HashMap<>();
+        if (requestHeaders == null) return out;
+        for (Map.Entry<String, String> h : requestHeaders.entrySet()) {
+            for (String name : REPLAY_HEADERS) {
+                if (name.equalsIgnoreCase(h.getKey())) out.put(name, h.getValue());
+            }
+        }
+        return out;
+    }
+
+    /** 응답을 바꾸는 헤더가 같은 요청에만 재사용 */
+    private static String signature(Map<String, String> headers) {
+        return headers.get("Authorization") + "|" + headers.get("Accept") + "|" + headers.get("Accept-Profile")
+            + "|" + headers.get("Prefer") + "|" + headers.get("Range");
+    }
+
+    /** Bearer JWT의 sub (못 읽으면 null) */
+    private static String userOf(String authorization) {
+        String token = authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization;
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) return null;
+        try {
+            byte[] payload = Base64.decode(parts[1], Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+            String sub = new JSONObject(new String(payload, StandardCharsets.UTF_8)).optString("sub", null);
+            return sub == null || sub.isEmpty() ? null : sub;
+        } catch (IllegalArgumentException | JSONException e) {
+            return null;
+        }
+    }
+
+    private static String[] splitContentType(String contentType) {
+        if (contentType == null) return new String[] {"application/json", "utf-8"};
+        String[] parts = contentType.split(";");
+        String charset = "utf-8";
+        for (int i = 1; i < parts.length; i++) {
+            String p = parts[i].trim();
+            if (p.toLowerCase(Locale.ROOT).startsWith("charset=")) charset = p.substring(8);
+        }
+        return new String[] {parts[0].trim(), charset};
+    }
+
+    private static byte[] readLimited(InputStream in) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (InputStream is = in) {
+            byte[] chunk = new byte[8192];
+            int n;
+            while ((n = is.read(chunk)) != -1) {
+                if (buf.size() + n > MAX_BODY_BYTES) return null;
+                buf.write(chunk, 0, n);
+            }
+        }
+        return buf.toByteArray();
+    }
+
+    private String readServerUrl() {
+        try {
+            CapConfig config = CapConfig.loadDefault(context);
+            return config != null ? config.getServerUrl() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.moveit.app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 알림 폭주(휴강 일괄 발송 등) 묶기 규칙. 같은 그룹(알림 type)에 짧은 시간 안에 여러 건이 오면
+ * 개별 알림을 계속 쌓지 않고 요약 알림 하나(InboxStyle)로 합침.
+ * 상태는 시스템에 떠 있는 알림(getActiveNotifications)에서 읽어 넘기므로 프로세스가 죽었다 살아나도 유지됨.
+ * Android 의존성 없음.
+ */
+final class NotificationCoalescer {
+
+    /** 이 시간 안에 온 알림끼리만 묶음 */
+    static final long BURST_WINDOW_MS = 60_000;
+    /** 창 안에서 개별로 보여줄 최대 건수. 초과분부터 요약으로 합침 */
+    static final int MAX_INDIVIDUAL = 3;
+    /** 요약 알림에 보이는 줄 수 (Android InboxStyle 권장 5줄) */
+    static final int MAX_LINES = 5;
+
+    /** 그룹에 떠 있는 개별 알림 */
+    static final class Posted {
+        final int id;
+        final long postedAt;
+        final String line;
+
+        Posted(int id, long postedAt, String line) {
+            this.id = id;
+            this.postedAt = postedAt;
+            this.line = line;
+        }
+    }
+
+    /** 그룹에 떠 있는 요약 알림 */
+    static final class Summary {
+        final long updatedAt;
+        final int count;
+        final List<String> lines;
+
+        Summary(long updatedAt, int count, List<String> lines) {
+            this.updatedAt = updatedAt;
+            this.count = count;
+            this.lines = lines;
+        }
+    }
+
+    static final class Decision {
+        /** true면 요약 알림으로 합침, false면 개별 알림으로 게시 */
+        final boolean summarize;
+        /** 요약에 포함된 전체 건수 */
+        final int count;
+        /** 최신순 요약 줄 */
+        final List<String> lines;
+        /** 요약으로 흡수되어 지울 개별 알림 id */
+        final List<Integer> cancelIds;
+        /** 오래된 요약을 지우고 새로 시작해야 하는지 */
+        final boolean dropStaleSummary;
+
+        private Decision(boolean summarize, int count, List<String> lines, List<Integer> cancelIds, boolean dropStaleSummary) {
+            this.summarize = summarize;
+            this.count = count;
+            this.lines = lines;
+            this.cancelIds = cancelIds;
+            this.dropStaleSummary = dropStaleSummary;
+        }
+    }
+
+    private NotificationCoalescer() {}
+
+    /**
+     * @param children 그룹에 떠 있는 개별 알림 (순서 무관)
+     * @param summary  그룹의 요약 알림, 없으면 null
+     * @param line     새 알림의 한 줄 요약
+     */
+    static Decision decide(List<Posted> children, Summary summary, String line, long nowMs) {
+        boolean staleSummary = summary != null && nowMs - summary.updatedAt > BURST_WINDOW_MS;
+        if (summary != null && !staleSummary) {
+            List<String> lines = new ArrayList<>(MAX_LINES);
+            lines.add(line);
+            for (String l : summary.lines) {
+                if (lines.size() >= MAX_LINES) break;
+                lines.add(l);
+            }
+            return new Decision(true, summary.count + 1, lines, Collections.emptyList(), false);
+        }
+
+        List<Posted> recent = new ArrayList<>();
+        for (Posted p : children) {
+            if (nowMs - p.postedAt <= BURST_WINDOW_MS) recent.add(p);
+        }
+        if (recent.size() + 1 <= MAX_INDIVIDUAL) {
+            return new Decision(false, 1, Collections.singletonList(line), Collections.emptyList(), staleSummary);
+        }
+
+        Collections.sort(recent, (a, b) -> Long.compare(b.postedAt, a.postedAt));
+        List<String> lines = new ArrayList<>(MAX_LINES);
+        List<Integer> cancelIds = new ArrayList<>(recent.size());
+        lines.add(line);
+        for (Posted p : recent) {
+            if (lines.size() < MAX_LINES) lines.add(p.line);
+            cancelIds.add(p.id);
+        }
+        return new Decision(true, recent.size() + 1, lines, cancelIds, staleSummary);
+    }
+}
@@ -0,0 +1,474 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.Log;
+import android.webkit.CookieManager;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+
+/**
+ * 학원·클래스·강사 기기 내 검색 (/search 입력마다 서버를 부르지 않고, 오프라인에서도 동작).
+ * - 카탈로그: noBackupFilesDir/search/shards/{샤드}.tsv (첫 줄 내용 해시, 이후 {@link SearchIndex.Doc#toLine()})
+ * - 동기화: WorkManager({@link SearchSyncWorker}, 네트워크 연결·배터리 여유 시)가 가진 샤드 해시를 /api/search/catalog에 보내
+ *   바뀐 샤드만 받아 교체. 앱 시작 때 마지막 동기화가 SYNC_INTERVAL_MS보다 오래됐으면 예약
+ * - 계정: 단일학원 모드(HIDE_PUBLIC)에서는 카탈로그가 가입한 학원으로 제한(scope = 사용자 id·anon)되므로
+ *   로그인 계정이 바뀌면(setUser) 카탈로그를 지우고 새 계정으로 바로 다시 동기화. scope = public이면 그대로 둠
+ * - 색인: 첫 검색(또는 warmUp) 때 io 스레드에서 샤드를 읽어 {@link SearchIndex}를 만들고, 동기화로 바뀌면 다시 만들어 교체.
+ *   검색은 만들어 둔 스냅샷에서 바로 (준비 전·첫 동기화 전·빈 카탈로그는 ready: false → 웹이 서버 검색으로)
+ * 웹: lib/capacitor/offline-search.ts (MoveitSearch 플러그인)
+ */
+final class OfflineSearch {
+
+    static final String TAG = "MoveitSearch";
+    private static final String WORK_NAME = "moveit-search-sync";
+    private static final String KEY_SYNCED_AT = "search:syncedAt";
+    private static final String KEY_SCOPE = "search:scope";
+    /** 카탈로그를 받은 계정 (비로그인은 "") */
+    private static final String KEY_USER = "search:user";
+    private static final String SCOPE_PUBLIC = "public";
+    private static final String CATALOG_PATH = "/api/search/catalog";
+    private static final long SYNC_INTERVAL_MS = TimeUnit.HOURS.toMillis(6);
+    private static final long SYNC_DELAY_SEC = 20;
+    private static final long BACKOFF_SEC = 60;
+    private static final int TIMEOUT_MS = 30_000;
+    private static final String SHARD_SUFFIX = ".tsv";
+
+    enum SyncResult { UNCHANGED, UPDATED, RETRY }
+
+    private static OfflineSearch instance;
+
+    private final Context context;
+    private final KvStore kv;
+    private final File shards;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, "moveit-search"));
+    /** 동기화(워커 스레드)와 카탈로그 삭제(io 스레드)가 겹치지 않게 */
+    private final Object catalogLock = new Object();
+
+    private volatile SearchIndex index;
+    private volatile boolean loading;
+    private volatile boolean syncing;
+    private volatile long buildMs;
+    private volatile String lastError;
+    /** 웹이 넘겨 준 토큰 (메모리만). 없으면 WebView 쿠키 */
+    private volatile String accessToken;
+
+    static synchronized OfflineSearch get(Context context) {
+        if (instance == null) instance = new OfflineSearch(context.getApplicationContext());
+        return instance;
+    }
+
+    private OfflineSearch(Context context) {
+        this.context = context;
+        this.kv = KvStore.get(context);
+        this.shards = new File(new File(context.getNoBackupFilesDir(), "search"), "shards");
+    }
+
+    /** MoveitApplication 백그라운드 스레드: 마지막 동기화가 오래됐으면 동기화 예약. */
+    void prepare() {
+        if (System.currentTimeMillis() - syncedAt() < SYNC_INTERVAL_MS) return;
+        schedule(ExistingWorkPolicy.KEEP, SYNC_DELAY_SEC);
+    }
+
+    /** 웹에서 바로 동기화 요청 (검색 화면 진입 등). */
+    void requestSync(String token) {
+        if (token != null) accessToken = token;
+        schedule(ExistingWorkPolicy.REPLACE, 0);
+    }
+
+    private void schedule(ExistingWorkPolicy policy, long delaySec) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SearchSyncWorker.class)
+            .setConstraints(new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build())
+            .setInitialDelay(delaySec, TimeUnit.SECONDS)
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SEC, TimeUnit.SECONDS)
+            .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, policy, request);
+    }
+
+    /**
+     * 로그인 계정 변경 (웹 NativeSessionSync, 로그아웃은 null).
+     * 계정별 카탈로그였으면 이전 계정의 샤드·색인을 지우고(그동안 ready: false → 서버 검색) 바로 다시 동기화.
+     */
+    void setUser(String userId, String token) {
+        String user = userId != null ? userId : "";
+        io.execute(() -> {
+            if (user.equals(kv.getString(KEY_USER))) {
+                if (token != null) accessToken = token;
+                return;
+            }
+            synchronized (catalogLock) {
+                kv.putString(KEY_USER, user);
+                accessToken = token;
+                if (SCOPE_PUBLIC.equals(kv.getString(KEY_SCOPE))) return;
+                dropCatalog();
+            }
+            Log.d(TAG, "account changed, catalogue dropped");
+            schedule(ExistingWorkPolicy.REPLACE, 0);
+        });
+    }
+
+    /** catalogLock 안에서 호출. */
+    private void dropCatalog() {
+        File[] files = shards.listFiles();
+        if (files != null) {
+            for (File f : files) f.delete();
+        }
+        kv.remove(KEY_SYNCED_AT);
+        kv.remove(KEY_SCOPE);
+        index = null;
+    }
+
+    /** 색인을 미리 만들어 둠 (검색 화면 진입 시). */
+    void warmUp() {
+        if (index != null || loading) return;
+        loading = true;
+        io.execute(this::rebuild);
+    }
+
+    /**
+     * 검색 (호출 스레드에서 바로). 색인이 아직 없으면 만들기를 시작하고 ready: false.
+     * 첫 동기화 전이거나 카탈로그가 비어 있어도 ready: false (빈 결과 대신 웹이 서버 검색으로)
+     * @return { ready, tookMs, hits: [{ type, id, title, alt, keywords, ref, img, score }] }
+     */
+    JSObject query(String text, String types, int limit) {
+        JSObject ret = new JSObject();
+        SearchIndex current = index;
+        if (current == null) warmUp();
+        if (!isReady(current)) {
+            ret.put("ready", false);
+            ret.put("hits", new JSArray());
+            return ret;
+        }
+        long start = System.nanoTime();
+        List<SearchIndex.Hit> hits = current.query(text, types, limit);
+        double tookMs = (System.nanoTime() - start) / 1e6;
+        JSArray list = new JSArray();
+        for (SearchIndex.Hit hit : hits) {
+            JSObject o = new JSObject();
+            o.put("type", typeName(hit.doc.type));
+            o.put("id", hit.doc.id);
+            o.put("title", hit.doc.title);
+            o.put("alt", hit.doc.alt);
+            o.put("keywords", hit.doc.keywords);
+            o.put("ref", hit.doc.ref);
+            o.put("img", hit.doc.img);
+            o.put("score", hit.score);
+            list.put(o);
+        }
+        ret.put("ready", true);
+        ret.put("tookMs", Math.round(tookMs * 100) / 100.0);
+        ret.put("hits", list);
+        return ret;
+    }
+
+    /** { ready, docs, terms, buildMs, syncedAt, syncing, lastError } */
+    JSObject status() {
+        SearchIndex current = index;
+        JSObject o = new JSObject();
+        o.put("ready", isReady(current));
+        o.put("docs", current != null ? current.size() : 0);
+        o.put("terms", current != null ? current.termCount() : 0);
+        o.put("buildMs", buildMs);
+        long at = syncedAt();
+        o.put("syncedAt", at > 0 ? at : null);
+        o.put("syncing", syncing);
+        o.put("lastError", lastError);
+        return o;
+    }
+
+    // ---- 동기화 (SearchSyncWorker 스레드) ----
+
+    SyncResult sync() {
+        synchronized (catalogLock) {
+            return syncLocked();
+        }
+    }
+
+    private SyncResult syncLocked() {
+        String origin = AppLinkRewriter.originOf(readServerUrl());
+        if (origin == null) return SyncResult.RETRY;
+        syncing = true;
+        long start = SystemClock.elapsedRealtime();
+        HttpURLConnection conn = null;
+        try {
+            Map<String, String> local = localHashes();
+            JSONObject hashes = new JSONObject();
+            for (Map.Entry<String, String> e : local.entrySet()) hashes.put(e.getKey(), e.getValue());
+            byte[] body = new JSONObject().put("hashes", hashes).toString().getBytes(StandardCharsets.UTF_8);
+
+            String url = origin + CATALOG_PATH;
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(TIMEOUT_MS);
+            conn.setReadTimeout(TIMEOUT_MS);
+            conn.setDoOutput(true);
+            conn.setRequestMethod("POST");
+            conn.setRequestProperty("Content-Type", "application/json");
+            String token = accessToken;
+            if (token != null) {
+                conn.setRequestProperty("Authorization", "Bearer " + token);
+            } else {
+                String cookie = CookieManager.getInstance().getCookie(url);
+                if (cookie != null) conn.setRequestProperty("Cookie", cookie);
+            }
+            try (OutputStream out = conn.getOutputStream()) {
+                out.write(body);
+            }
+            int status = conn.getResponseCode();
+            if (status != 200) {
+                lastError = "HTTP " + status;
+                return SyncResult.RETRY;
+            }
+            int changed;
+            try (JsonReader reader = new JsonReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+                changed = apply(reader, local.keySet());
+            }
+            kv.putString(KEY_SYNCED_AT, String.valueOf(System.currentTimeMillis()));
+            lastError = null;
+            Log.d(TAG, "synced " + changed + " shard changes in " + (SystemClock.elapsedRealtime() - start) + "ms");
+            if (changed > 0 || index != null) io.execute(this::rebuild);
+            return changed > 0 ? SyncResult.UPDATED : SyncResult.UNCHANGED;
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            Log.w(TAG, "sync failed: " + e.getMessage());
+            return SyncResult.RETRY;
+        } finally {
+            syncing = false;
+            if (conn != null) conn.disconnect();
+        }
+    }
+
+    /** 응답을 읽으며 바뀐 샤드를 바로 파일로 씀. @return 교체·삭제한 샤드 수 */
+    private int apply(JsonReader reader, Set<String> localKeys) throws IOException {
+        if (!shards.isDirectory() && !shards.mkdirs()) throw new IOException("mkdirs failed");
+        Map<String, String> hashes = null;
+        Set<String> written = new HashSet<>();
+        int changed = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("scope".equals(name)) {
+                // scope가 바뀌어도(공개 ↔ 계정별 전환) 응답이 보낸 해시 기준으로 샤드를 모두 맞추므로 그대로 진행
+                String scope = reader.nextString();
+                String previous = kv.getString(KEY_SCOPE);
+                if (!scope.equals(previous)) {
+                    if (previous != null) Log.d(TAG, "catalogue scope changed");
+                    kv.putString(KEY_SCOPE, scope);
+                }
+            } else if ("hashes".equals(name)) {
+                hashes = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) hashes.put(reader.nextName(), reader.nextString());
+                reader.endObject();
+            } else if ("changed".equals(name)) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String key = reader.nextName();
+                    String hash = hashes != null ? hashes.get(key) : null;
+                    if (!writeShard(key, reader, hash)) continue;
+                    if (hash == null) written.add(key);
+                    changed++;
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (hashes == null) throw new IOException("missing hashes");
+        // 서버는 hashes를 changed보다 먼저 보내지만, 순서가 바뀌어 해시 없이 쓴 샤드는 첫 줄을 맞춤
+        for (String key : written) setShardHash(key, hashes.get(key));
+        for (String key : localKeys) {
+            if (!hashes.containsKey(key) && shardFile(key).delete()) changed++;
+        }
+        return changed;
+    }
+
+    /** @return 썼으면 true (샤드 이름이 이상하면 건너뜀) */
+    private boolean writeShard(String key, JsonReader reader, String hash) throws IOException {
+        if (!isShardKey(key)) {
+            reader.skipValue();
+            return false;
+        }
+        char type = key.charAt(0);
+        File file = shardFile(key);
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+            out.write(hash != null ? hash : "");
+            out.write("\n");
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String[] f = new String[6];
+                int i = 0;
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    String value = null;
+                    if (reader.peek() == JsonToken.NULL) reader.nextNull();
+                    else value = reader.nextString();
+                    if (i < f.length) f[i] = value;
+                    i++;
+                }
+                reader.endArray();
+                if (f[0] == null || f[0].isEmpty()) continue;
+                out.write(new SearchIndex.Doc(type, f[0], f[1], blank(f[2]), blank(f[3]), blank(f[4]), blank(f[5])).toLine());
+                out.write("\n");
+            }
+            reader.endArray();
+        }
+        if (!tmp.renameTo(file)) throw new IOException("rename failed " + key);
+        return true;
+    }
+
+    /** 첫 줄(해시)만 바꿔 다시 씀 */
+    private void setShardHash(String key, String hash) throws IOException {
+        File file = shardFile(key);
+        File tmp = new File(file.getPath() + ".tmp");
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+            in.readLine();
+            out.write(hash != null ? hash : "");
+            out.write("\n");
+            char[] buf = new char[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) out.write(buf, 0, n);
+        }
+        if (!tmp.renameTo(file)) throw new IOException("rename failed " + key);
+    }
+
+    private Map<String, String> localHashes() {
+        Map<String, String> out = new HashMap<>();
+        File[] files = shards.listFiles();
+        if (files == null) return out;
+        for (File f : files) {
+            String name = f.getName();
+            if (!name.endsWith(SHARD_SUFFIX)) {
+                f.delete();
+                continue;
+            }
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8))) {
+                String hash = in.readLine();
+                if (hash != null && !hash.isEmpty()) out.put(name.substring(0, name.length() - SHARD_SUFFIX.length()), hash);
+            } catch (IOException e) {
+                f.delete();
+            }
+        }
+        return out;
+    }
+
+    // ---- 색인 (io 스레드) ----
+
+    private void rebuild() {
+        long start = SystemClock.elapsedRealtime();
+        List<SearchIndex.Doc> docs = new ArrayList<>();
+        File[] files = shards.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                if (!f.getName().endsWith(SHARD_SUFFIX)) continue;
+                try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8))) {
+                    in.readLine();
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        SearchIndex.Doc doc = SearchIndex.Doc.fromLine(line);
+                        if (doc != null) docs.add(doc);
+                    }
+                } catch (IOException e) {
+                    Log.w(TAG, "shard unreadable " + f.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+        try {
+            index = SearchIndex.build(docs);
+            buildMs = SystemClock.elapsedRealtime() - start;
+            Log.d(TAG, "index " + docs.size() + " docs, " + index.termCount() + " terms in " + buildMs + "ms");
+        } catch (OutOfMemoryError e) {
+            lastError = "index too large";
+            ErrorReporter.get(context).report("warning", "android.search", "search index build failed", e, null);
+        } finally {
+            loading = false;
+        }
+        if (docs.isEmpty() && syncedAt() == 0) schedule(ExistingWorkPolicy.KEEP, 0);
+    }
+
+    private boolean isReady(SearchIndex current) {
+        return current != null && current.size() > 0 && syncedAt() > 0;
+    }
+
+    private long syncedAt() {
+        try {
+            String v = kv.getString(KEY_SYNCED_AT);
+            return v != null ? Long.parseLong(v) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private File shardFile(String key) {
+        return new File(shards, key + SHARD_SUFFIX);
+    }
+
+    /** 유형 한 글자 + id 앞 두 글자 (경로 조작 방지) */
+    private static boolean isShardKey(String key) {
+        if (key.length() != 3) return false;
+        char type = key.charAt(0);
+        if (type != SearchIndex.TYPE_ACADEMY && type != SearchIndex.TYPE_CLASS && type != SearchIndex.TYPE_INSTRUCTOR) return false;
+        return Character.isLetterOrDigit(key.charAt(1)) && Character.isLetterOrDigit(key.charAt(2));
+    }
+
+    private static String blank(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    static String typeName(char type) {
+        switch (type) {
+            case SearchIndex.TYPE_ACADEMY:
+                return "academy";
+            case SearchIndex.TYPE_CLASS:
+                return "class";
+            default:
+                return "instructor";
+        }
+    }
+
+    private String readServerUrl() {
+        try {
+            CapConfig config = CapConfig.loadDefault(context);
+            return config != null ? config.getServerUrl() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
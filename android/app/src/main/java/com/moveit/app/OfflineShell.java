@@ -0,0 +1,159 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.format.DateFormat;
+import android.util.Log;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+/**
+ * 오프라인 셸: 네트워크 없이 앱을 열었을 때 Chromium 에러 페이지 대신 마지막 스냅샷을 보여줌.
+ * - 온라인에서 /schedule, /tickets, /my 렌더링이 끝나면 스크립트를 뺀 DOM을 {@link OfflineSnapshotStore}에 저장
+ * - 메인 프레임 로드가 네트워크 오류로 실패하면 해당(없으면 최근) 스냅샷을 같은 origin으로 표시
+ *   (CSS·폰트는 WebAssetCache의 디스크 사본으로 응답되어 레이아웃 유지).
+ *   스냅샷은 io 스레드에서 읽고, 그 사이 다른 페이지가 떴으면 표시하지 않음
+ * - 연결이 돌아오면 원래 URL을 다시 로드 → 성공 시 스냅샷도 새로 저장됨
+ * 모든 메서드는 메인 스레드에서 호출 (디스크 접근은 io 스레드).
+ */
+class OfflineShell {
+
+    private static final String TAG = "MoveitOffline";
+    /** 렌더링 직후 데이터 로딩이 끝날 시간을 둔 뒤 캡처 */
+    private static final long CAPTURE_DELAY_MS = 1_500;
+
+    private static final String CAPTURE_JS = "(function(){"
+        + "var d=document.documentElement.cloneNode(true);"
+        + "d.querySelectorAll('script,noscript,iframe,link[rel=preload],link[rel=modulepreload]').forEach(function(n){n.remove();});"
+        + "return '<!DOCTYPE html>'+d.outerHTML;})()";
+
+    private final Context context;
+    private final String appHost;
+    private final OfflineSnapshotStore store;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, "moveit-offline"));
+    private final Handler main = new Handler(Looper.getMainLooper());
+
+    private boolean showingSnapshot;
+    private String pendingCaptureUrl;
+    /** 스냅샷을 읽는 중인 실패 URL (읽는 사이 다른 페이지가 뜨면 null) */
+    private String pendingErrorUrl;
+    private ConnectivityManager.NetworkCallback reconnectCallback;
+
+    OfflineShell(Context context, String appUrl) {
+        this.context = context.getApplicationContext();
+        Uri appUri = appUrl != null ? Uri.parse(appUrl) : null;
+        this.appHost = appUri != null ? appUri.getHost() : null;
+        this.store = OfflineSnapshotStore.get(this.context);
+    }
+
+    boolean isShowingSnapshot() {
+        return showingSnapshot;
+    }
+
+    /** 페이지 로드 완료·SPA 라우트 변경 시 호출. 대상 페이지면 잠시 뒤 스냅샷 캡처. */
+    void onPageShown(WebView view, String url) {
+        // 오류 페이지 자체의 onPageFinished(같은 URL)는 스냅샷 표시를 막지 않음
+        if (pendingErrorUrl != null && !pendingErrorUrl.equals(url)) pendingErrorUrl = null;
+        if (showingSnapshot || url == null) return;
+        Uri uri = Uri.parse(url);
+        if (appHost == null || !appHost.equalsIgnoreCase(uri.getHost())) return;
+        String key = OfflineSnapshotStore.pageKey(uri.getPath());
+        if (key == null) return;
+
+        pendingCaptureUrl = url;
+        int generation = store.generation();
+        main.postDelayed(() -> {
+            // 그 사이 다른 페이지로 이동했으면 캡처하지 않음
+            if (!url.equals(pendingCaptureUrl) || showingSnapshot) return;
+            view.evaluateJavascript(CAPTURE_JS, value -> {
+                String html = decodeJsString(value);
+                if (html == null || html.length() < 64) return;
+                io.execute(() -> store.save(key, url, html, generation));
+            });
+        }, CAPTURE_DELAY_MS);
+    }
+
+    /** 메인 프레임 네트워크 오류 시 호출. 스냅샷이 있으면 io 스레드에서 읽은 뒤 표시. */
+    void onMainFrameError(WebView view, String failedUrl, int errorCode) {
+        if (!isNetworkError(errorCode) || failedUrl == null) return;
+        Uri uri = Uri.parse(failedUrl);
+        if (appHost == null || !appHost.equalsIgnoreCase(uri.getHost())) return;
+
+        String key = OfflineSnapshotStore.pageKey(uri.getPath());
+        pendingErrorUrl = failedUrl;
+        io.execute(() -> {
+            OfflineSnapshotStore.Snapshot snapshot = store.loadBest(key);
+            if (snapshot != null) main.post(() -> showSnapshot(view, failedUrl, snapshot));
+        });
+    }
+
+    private void showSnapshot(WebView view, String failedUrl, OfflineSnapshotStore.Snapshot snapshot) {
+        if (!failedUrl.equals(pendingErrorUrl) || showingSnapshot) return;
+        pendingErrorUrl = null;
+        Log.d(TAG, "serving snapshot " + snapshot.url + " for " + failedUrl);
+        showingSnapshot = true;
+        pendingCaptureUrl = null;
+        view.loadDataWithBaseURL(snapshot.url, withBanner(snapshot), "text/html", "utf-8", failedUrl);
+        reloadWhenOnline(view, failedUrl);
+    }
+
+    private void reloadWhenOnline(WebView view, String url) {
+        ConnectivityManager cm = context.getSystemService(ConnectivityManager.class);
+        if (cm == null || reconnectCallback != null) return;
+        reconnectCallback = new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(Network network) {
+                main.post(() -> {
+                    if (reconnectCallback == null) return;
+                    try {
+                        cm.unregisterNetworkCallback(reconnectCallback);
+                    } catch (IllegalArgumentException ignored) {
+                        // 이미 해제됨
+                    }
+                    reconnectCallback = null;
+                    if (!showingSnapshot) return;
+                    Log.d(TAG, "network back, reloading " + url);
+                    showingSnapshot = false;
+                    view.loadUrl(url);
+                });
+            }
+        };
+        cm.registerDefaultNetworkCallback(reconnectCallback);
+    }
+
+    private String withBanner(OfflineSnapshotStore.Snapshot snapshot) {
+        String time = DateFormat.format("M/d HH:mm", snapshot.savedAt).toString();
+        String banner = "<div style=\"position:fixed;left:0;right:0;bottom:0;z-index:2147483647;"
+            + "padding:8px 12px;background:#111;color:#fff;font:13px sans-serif;text-align:center\">"
+            + "오프라인 상태입니다 · " + time + " 기준 화면</div>";
+        String html = snapshot.html;
+        int body = html.indexOf("<body");
+        int bodyEnd = body >= 0 ? html.indexOf('>', body) : -1;
+        return bodyEnd >= 0 ? html.substring(0, bodyEnd + 1) + banner + html.substring(bodyEnd + 1) : banner + html;
+    }
+
+    private static boolean isNetworkError(int errorCode) {
+        return errorCode == WebViewClient.ERROR_HOST_LOOKUP
+            || errorCode == WebViewClient.ERROR_CONNECT
+            || errorCode == WebViewClient.ERROR_TIMEOUT
+            || errorCode == WebViewClient.ERROR_IO;
+    }
+
+    /** evaluateJavascript 결과(JSON 문자열 리터럴) → 원문. */
+    private static String decodeJsString(String value) {
+        if (value == null || value.equals("null") || !value.startsWith("\"")) return null;
+        try {
+            return new JSONArray("[" + value + "]").getString(0);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.moveit.app;
+
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * 오프라인 셸({@link OfflineShell}) 스냅샷의 계정 관리.
+ * - setUser({ userId? }): 로그인 계정 변경(없으면 로그아웃) 시. 이전 계정의 /tickets·/my 스냅샷 삭제
+ */
+@CapacitorPlugin(name = "MoveitOfflineShell")
+public class OfflineShellPlugin extends Plugin {
+
+    @PluginMethod
+    public void setUser(PluginCall call) {
+        OfflineSnapshotStore.get(getContext()).setUser(call.getString("userId"));
+        call.resolve();
+    }
+}
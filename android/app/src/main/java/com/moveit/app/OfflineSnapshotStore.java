@@ -0,0 +1,201 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.util.Log;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * 자주 보는 페이지(/schedule, /tickets, /my)의 마지막 렌더링 결과(HTML 스냅샷) 저장소.
+ * - 페이지당 1개, 크기 상한 MAX_HTML_BYTES, 형식 버전이 다르면 무시 (앱 업데이트로 형식이 바뀐 경우)
+ * - 개인 정보(내 수강권 등)가 포함되므로 백업 제외 디렉터리(noBackupFilesDir)에 저장
+ * - 개인 페이지(/tickets, /my)는 저장한 계정을 함께 기록하고 그 계정으로 로그인해 있을 때만 보여줌.
+ *   로그아웃·계정 전환({@link #setUser}, 웹 NativeSessionSync에서 호출) 시 삭제
+ * 디스크를 읽고 쓰므로 메인 스레드가 아닌 곳에서 호출 ({@link OfflineShell}의 io 스레드, 플러그인 스레드).
+ */
+public class OfflineSnapshotStore {
+
+    private static final String TAG = "MoveitOffline";
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_HTML_BYTES = 768 * 1024;
+
+    /** 스냅샷 대상 최상위 경로 */
+    static final String[] PAGES = { "schedule", "tickets", "my" };
+    /** 계정별 스냅샷 (다른 계정·비로그인 상태에서는 보여주지 않음) */
+    static final String[] PERSONAL_PAGES = { "tickets", "my" };
+    private static final String OWNER_FILE = "owner";
+
+    private static OfflineSnapshotStore instance;
+
+    public static final class Snapshot {
+        public final String url;
+        public final String html;
+        public final long savedAt;
+
+        Snapshot(String url, String html, long savedAt) {
+            this.url = url;
+            this.html = html;
+            this.savedAt = savedAt;
+        }
+    }
+
+    private final File dir;
+    /** 현재 로그인 계정 (owner 파일에서 처음 쓸 때 읽음) */
+    private String owner;
+    private boolean ownerLoaded;
+    /** 계정이 바뀔 때마다 증가 — 바뀌기 전에 예약된 캡처를 새 계정 것으로 저장하지 않도록 */
+    private volatile int generation;
+
+    static synchronized OfflineSnapshotStore get(Context context) {
+        if (instance == null) {
+            instance = new OfflineSnapshotStore(new File(context.getApplicationContext().getNoBackupFilesDir(), "offline-snapshots"));
+        }
+        return instance;
+    }
+
+    private OfflineSnapshotStore(File dir) {
+        this.dir = dir;
+    }
+
+    static boolean isPersonal(String key) {
+        for (String page : PERSONAL_PAGES) if (page.equals(key)) return true;
+        return false;
+    }
+
+    /** 캡처 예약 시점의 세대 ({@link #save}에 그대로 넘김). 메인 스레드에서 호출 가능 (디스크 접근 없음). */
+    int generation() {
+        return generation;
+    }
+
+    /** 로그인 계정 변경(null = 로그아웃). 바뀌었으면 이전 계정의 개인 스냅샷 삭제. */
+    public synchronized void setUser(String userId) {
+        if (userId != null && userId.isEmpty()) userId = null;
+        if (Objects.equals(owner(), userId)) return;
+        generation++;
+        for (String page : PERSONAL_PAGES) clear(page);
+        owner = userId;
+        File file = new File(dir, OWNER_FILE);
+        if (userId == null) {
+            file.delete();
+        } else if (dir.exists() || dir.mkdirs()) {
+            try {
+                Files.write(file.toPath(), userId.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                Log.w(TAG, "snapshot owner save failed: " + e.getMessage());
+            }
+        }
+        Log.d(TAG, "snapshot owner changed, personal snapshots cleared");
+    }
+
+    private String owner() {
+        if (!ownerLoaded) {
+            ownerLoaded = true;
+            File file = new File(dir, OWNER_FILE);
+            try {
+                owner = file.exists() ? new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim() : null;
+                if (owner != null && owner.isEmpty()) owner = null;
+            } catch (IOException e) {
+                owner = null;
+            }
+        }
+        return owner;
+    }
+
+    /** /schedule/..., /tickets, /my/... → 스냅샷 키. 대상이 아니면 null. */
+    static String pageKey(String path) {
+        if (path == null) return null;
+        for (String page : PAGES) {
+            if (path.equals("/" + page) || path.startsWith("/" + page + "/")) return page;
+        }
+        return null;
+    }
+
+    /** @param generation 캡처를 예약할 때의 {@link #generation()} — 그 사이 계정이 바뀌었으면 버림 */
+    public synchronized void save(String key, String url, String html, int generation) {
+        if (generation != this.generation) return;
+        String owner = owner();
+        // 로그인하지 않은 상태의 개인 페이지는 저장할 필요 없음 (로그인 화면으로 이동됨)
+        if (isPersonal(key) && owner == null) return;
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_HTML_BYTES) {
+            Log.w(TAG, "snapshot too large, skipped: " + key + " (" + bytes.length + "B)");
+            return;
+        }
+        if (!dir.exists() && !dir.mkdirs()) return;
+        File tmp = new File(dir, key + ".tmp");
+        try {
+            try (OutputStream out = new FileOutputStream(tmp)) {
+                out.write(bytes);
+            }
+            Properties meta = new Properties();
+            meta.setProperty("version", String.valueOf(FORMAT_VERSION));
+            meta.setProperty("url", url);
+            meta.setProperty("savedAt", String.valueOf(System.currentTimeMillis()));
+            if (isPersonal(key)) meta.setProperty("owner", owner);
+            try (OutputStream out = new FileOutputStream(new File(dir, key + ".meta"))) {
+                meta.store(out, null);
+            }
+            if (!tmp.renameTo(new File(dir, key + ".html"))) tmp.delete();
+        } catch (IOException e) {
+            tmp.delete();
+            Log.w(TAG, "snapshot save failed: " + e.getMessage());
+        }
+    }
+
+    /** 저장된 스냅샷. 없거나 형식 버전이 다르거나 다른 계정의 개인 스냅샷이면 null. */
+    public synchronized Snapshot load(String key) {
+        if (key == null) return null;
+        File html = new File(dir, key + ".html");
+        File metaFile = new File(dir, key + ".meta");
+        if (!html.exists() || !metaFile.exists()) return null;
+        try {
+            Properties meta = new Properties();
+            try (InputStream in = new FileInputStream(metaFile)) {
+                meta.load(in);
+            }
+            if (!String.valueOf(FORMAT_VERSION).equals(meta.getProperty("version"))) {
+                clear(key);
+                return null;
+            }
+            if (isPersonal(key)) {
+                String owner = owner();
+                if (owner == null || !owner.equals(meta.getProperty("owner"))) return null;
+            }
+            byte[] bytes = new byte[(int) html.length()];
+            try (InputStream in = new FileInputStream(html)) {
+                int off = 0;
+                int n;
+                while (off < bytes.length && (n = in.read(bytes, off, bytes.length - off)) != -1) off += n;
+            }
+            long savedAt = Long.parseLong(meta.getProperty("savedAt", "0"));
+            return new Snapshot(meta.getProperty("url"), new String(bytes, StandardCharsets.UTF_8), savedAt);
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** 요청 경로 스냅샷이 없으면 다른 페이지 중 가장 최근 것. */
+    public Snapshot loadBest(String key) {
+        Snapshot exact = load(key);
+        if (exact != null) return exact;
+        Snapshot best = null;
+        for (String page : PAGES) {
+            Snapshot s = load(page);
+            if (s != null && (best == null || s.savedAt > best.savedAt)) best = s;
+        }
+        return best;
+    }
+
+    public synchronized void clear(String key) {
+        new File(dir, key + ".html").delete();
+        new File(dir, key + ".meta").delete();
+    }
+}
@@ -0,0 +1,153 @@
+package com.moveit.app;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Color;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.webkit.CookieManager;
+import android.webkit.RenderProcessGoneDetail;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+import java.util.ArrayDeque;
+
+/**
+ * 결제 팝업(window.open)용 오버레이 WebView 풀.
+ * WebViewTransport에 넘기는 WebView는 한 번도 로드하지 않은 새 인스턴스여야 하므로
+ * (Chromium: "New WebView for popup window must not have been previously navigated")
+ * 쓴 WebView는 release 시 정리 후 파기하고, 설정까지 끝낸 새 WebView를 메인 스레드 유휴 시간에 미리 채워 둔다.
+ * 미리 만든 WebView는 렌더러 우선순위를 WAIVED로 두고, 결제에 쓰이는 동안은 카드사 앱에 가 있어도 IMPORTANT로 유지.
+ * 모든 메서드는 메인 스레드에서 호출.
+ */
+public class OverlayWebViewPool {
+
+    private static final String TAG = "MoveitPay";
+    private static final int POOL_SIZE = 1;
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ArrayDeque<WebView> idle = new ArrayDeque<>(POOL_SIZE);
+    private boolean refillScheduled;
+    /** 메모리 압박으로 미리 만들기를 멈춘 상태 (다음 acquire까지) */
+    private boolean paused;
+
+    private int pooledAcquires;
+    private int coldAcquires;
+
+    public OverlayWebViewPool(Context context) {
+        this.context = context;
+    }
+
+    /** 유휴 시간에 풀을 채움. 첫 페이지 로드 이후 호출해 콜드 스타트 경로와 겹치지 않게 함. */
+    public void prewarm() {
+        if (paused || refillScheduled || idle.size() >= POOL_SIZE) return;
+        refillScheduled = true;
+        Looper.myQueue().addIdleHandler(() -> {
+            if (!paused && idle.size() < POOL_SIZE) {
+                long start = System.nanoTime();
+                idle.add(create());
+                Log.d(TAG, "[Pool] prewarmed overlay WebView in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+            }
+            boolean more = !paused && idle.size() < POOL_SIZE;
+            refillScheduled = more;
+            return more;
+        });
+    }
+
+    /** 미리 만든 WebView가 있으면 반환, 없으면 즉시 생성. 반환된 WebView는 아직 아무 URL도 로드하지 않은 상태. */
+    public WebView acquire() {
+        WebView webView = idle.poll();
+        if (webView != null) {
+            pooledAcquires++;
+        } else {
+            coldAcquires++;
+            webView = create();
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            webView.setRendererPriorityPolicy(WebView.RENDERER_PRIORITY_IMPORTANT, false);
+        }
+        paused = false;
+        prewarm();
+        return webView;
+    }
+
+    /**
+     * 오버레이 사용 종료. 히스토리·JS 상태는 WebView와 함께 파기.
+     * 쿠키는 메인 WebView와 같은 CookieManager를 공유(로그인 세션 유지)하므로 지우지 않고 디스크에 flush만 함.
+     */
+    public void release(WebView webView) {
+        if (webView == null) return;
+        if (webView.getParent() instanceof ViewGroup) {
+            ((ViewGroup) webView.getParent()).removeView(webView);
+        }
+        webView.stopLoading();
+        webView.setWebChromeClient(null);
+        webView.clearHistory();
+        webView.removeAllViews();
+        // onCloseWindow 등 해당 WebView 콜백 안에서 호출될 수 있으므로 destroy는 다음 루프로 미룸
+        mainHandler.post(webView::destroy);
+        CookieManager.getInstance().flush();
+        prewarm();
+    }
+
+    /**
+     * 메모리 압박 시 유휴 WebView 파기. pause면 다음 acquire까지 다시 만들지 않음.
+     * @return 파기한 WebView가 있었는지
+     */
+    public boolean trim(boolean pause) {
+        if (pause) paused = true;
+        boolean dropped = !idle.isEmpty();
+        WebView webView;
+        while ((webView = idle.poll()) != null) {
+            webView.destroy();
+        }
+        return dropped;
+    }
+
+    /** 렌더러가 종료된 WebView 정리 (release와 달리 WebView 메서드를 호출하지 않음). */
+    public void discard(WebView webView) {
+        if (webView == null) return;
+        idle.remove(webView);
+        if (webView.getParent() instanceof ViewGroup) {
+            ((ViewGroup) webView.getParent()).removeView(webView);
+        }
+        mainHandler.post(webView::destroy);
+    }
+
+    @SuppressLint("SetJavaScriptEnabled")
+    private WebView create() {
+        WebView webView = new WebView(context);
+        webView.setLayoutParams(new ViewGroup.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.MATCH_PARENT
+        ));
+        webView.getSettings().setJavaScriptEnabled(true);
+        webView.getSettings().setSupportMultipleWindows(true);
+        webView.getSettings().setDomStorageEnabled(true);
+        webView.getSettings().setJavaScriptCanOpenWindowsAutomatically(true);
+        webView.setBackgroundColor(Color.WHITE);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            webView.setRendererPriorityPolicy(WebView.RENDERER_PRIORITY_WAIVED, true);
+        }
+        // 앱의 WebView는 렌더러를 공유하므로, 대기 중인 WebView도 렌더러 종료를 처리하지 않으면 앱 프로세스가 종료됨
+        webView.setWebViewClient(new WebViewClient() {
+            @Override
+            public boolean onRenderProcessGone(WebView view, RenderProcessGoneDetail detail) {
+                discard(view);
+                return true;
+            }
+        });
+        return webView;
+    }
+
+    public int pooledAcquires() {
+        return pooledAcquires;
+    }
+
+    public int coldAcquires() {
+        return coldAcquires;
+    }
+}
@@ -0,0 +1,300 @@
+package com.moveit.app;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 결제 흐름 타임라인 트레이서.
+ * onCreateWindow → 토스 결제창 첫 페인트 → 카드사 앱 실행 → moveitapp:// (또는 오버레이) 복귀 → 성공/실패 페이지 렌더링
+ * 각 단계를 단조 시계(System.nanoTime) 기준으로 고정 크기 링 버퍼에 기록.
+ * - record는 락·할당 없음 (getAndIncrement로 슬롯 확보 후 시퀀스 번호로 발행) → 결제 핫패스에서 호출해도 부담 없음
+ * - 읽기(events/sessions/toJson)는 드물게 호출: 시퀀스를 앞뒤로 확인해 쓰는 중이거나 덮어쓴 슬롯은 건너뜀
+ * Android 의존성이 없어 JVM 단위 테스트·벤치마크에서 그대로 사용. 로그 출력은 호출부에서 BuildConfig.PAY_TRACE_LOG로 분기.
+ */
+public final class PayTrace {
+
+    public enum Stage {
+        /** 결제창 window.open → 오버레이 WebView 생성. 새 결제 세션 시작 */
+        OVERLAY_OPENED,
+        /** 오버레이(토스 결제창) 첫 페인트 */
+        PAYMENT_PAGE_LOADED,
+        /** 카드사/간편결제 앱 startActivity 성공 */
+        APP_LAUNCHED,
+        /** 앱 미설치 등으로 실행 실패 */
+        APP_LAUNCH_FAILED,
+        /** 실행 실패 후 browser_fallback_url 로드 */
+        FALLBACK_LOADED,
+        /** 오버레이가 우리 도메인으로 이동 → 메인 WebView로 전환 */
+        OVERLAY_RETURNED,
+        /** moveitapp:// 스킴으로 앱 복귀 */
+        APP_SCHEME_RETURNED,
+        /** 결제 창 닫힘 (window.close) */
+        OVERLAY_CLOSED,
+        /** 메인 WebView에 결제 성공 페이지 첫 페인트 */
+        RESULT_SUCCESS,
+        /** 메인 WebView에 결제 실패 페이지 첫 페인트 */
+        RESULT_FAIL,
+        /** 카드사 앱에 있는 동안 프로세스가 종료돼 moveitapp://로 재시작. 새 세션 시작 (app은 저장된 결제 정보) */
+        PROCESS_RESTORED
+    }
+
+    public enum Outcome { SUCCESS, FAIL, LAUNCH_FAILED, ABANDONED }
+
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private static final PayTrace GLOBAL = new PayTrace(DEFAULT_CAPACITY, System::nanoTime);
+    private static final Stage[] STAGES = Stage.values();
+    private static final PaymentApp[] APPS = PaymentApp.values();
+
+    private final int mask;
+    private final LongSupplier clock;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger session = new AtomicInteger();
+    /** 슬롯별 발행된 시퀀스. 쓰는 중이면 -1 */
+    private final AtomicLongArray published;
+    private final long[] times;
+    private final int[] sessions;
+    private final byte[] stages;
+    private final byte[] apps;
+
+    /** @param capacity 2의 거듭제곱 */
+    public PayTrace(int capacity, LongSupplier clock) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two");
+        this.mask = capacity - 1;
+        this.clock = clock;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) published.set(i, -1);
+        this.times = new long[capacity];
+        this.sessions = new int[capacity];
+        this.stages = new byte[capacity];
+        this.apps = new byte[capacity];
+    }
+
+    /** 앱 전역 트레이서 (WebViewClient·ChromeClient·MainActivity·플러그인이 공유). */
+    public static PayTrace global() {
+        return GLOBAL;
+    }
+
+    public void record(Stage stage) {
+        record(stage, PaymentApp.UNKNOWN);
+    }
+
+    public void record(Stage stage, PaymentApp app) {
+        recordAt(stage, app, clock.getAsLong());
+    }
+
+    /** 이미 지난 시점을 기록 (프로세스 재시작은 onCreate 시각을 복귀 확인 후에 기록). nowNanos는 생성자 clock 기준. */
+    public void recordAt(Stage stage, PaymentApp app, long now) {
+        int s = stage == Stage.OVERLAY_OPENED || stage == Stage.PROCESS_RESTORED ? session.incrementAndGet() : session.get();
+        long seq = cursor.getAndIncrement();
+        int i = (int) (seq & mask);
+        published.set(i, -1);
+        times[i] = now;
+        sessions[i] = s;
+        stages[i] = (byte) stage.ordinal();
+        apps[i] = (byte) app.ordinal();
+        published.set(i, seq);
+    }
+
+    /** 결제 결과 페이지 경로면 RESULT_SUCCESS/RESULT_FAIL, 아니면 null. (/payment/success, /payment/ticket/fail 등) */
+    public static Stage resultStageFor(String path) {
+        if (path == null || !path.startsWith("/payment/")) return null;
+        if (path.endsWith("/success")) return Stage.RESULT_SUCCESS;
+        if (path.endsWith("/fail")) return Stage.RESULT_FAIL;
+        return null;
+    }
+
+    public static final class Event {
+        public final long seq;
+        public final long timeNanos;
+        public final int session;
+        public final Stage stage;
+        public final PaymentApp app;
+
+        Event(long seq, long timeNanos, int session, Stage stage, PaymentApp app) {
+            this.seq = seq;
+            this.timeNanos = timeNanos;
+            this.session = session;
+            this.stage = stage;
+            this.app = app;
+        }
+    }
+
+    /** 링 버퍼에 남아 있는 이벤트 (오래된 순). */
+    public List<Event> events() {
+        long end = cursor.get();
+        long start = Math.max(0, end - (mask + 1));
+        List<Event> out = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            int i = (int) (seq & mask);
+            if (published.get(i) != seq) continue;
+            long t = times[i];
+            int s = sessions[i];
+            int stage = stages[i];
+            int app = apps[i];
+            // 읽는 사이 다른 스레드가 덮어썼으면 버림
+            if (published.get(i) != seq) continue;
+            out.add(new Event(seq, t, s, STAGES[stage], APPS[app]));
+        }
+        return out;
+    }
+
+    public static final class Session {
+        public final int id;
+        public PaymentApp app = PaymentApp.UNKNOWN;
+        public Outcome outcome = Outcome.ABANDONED;
+        /** 단계별 첫 발생 시각 (ns) */
+        public final EnumMap<Stage, Long> firstAt = new EnumMap<>(Stage.class);
+
+        Session(int id) {
+            this.id = id;
+        }
+
+        /** from → to 경과 ms. 둘 중 하나라도 없으면 -1 */
+        public long millis(Stage from, Stage to) {
+            Long a = firstAt.get(from);
+            Long b = firstAt.get(to);
+            return a != null && b != null && b >= a ? (b - a) / 1_000_000 : -1;
+        }
+
+        /** 카드사 앱 실행 → 복귀 (moveitapp:// 또는 오버레이 복귀 중 먼저 온 것) */
+        public long inAppMillis() {
+            long scheme = millis(Stage.APP_LAUNCHED, Stage.APP_SCHEME_RETURNED);
+            long overlay = millis(Stage.APP_LAUNCHED, Stage.OVERLAY_RETURNED);
+            if (scheme < 0) return overlay;
+            if (overlay < 0) return scheme;
+            return Math.min(scheme, overlay);
+        }
+
+        public long totalMillis() {
+            return millis(Stage.OVERLAY_OPENED, resultStage());
+        }
+
+        /** 프로세스 재시작 세션: onCreate → 결과 페이지 첫 페인트 (재시작 세션이 아니면 -1) */
+        public long restoreMillis() {
+            return millis(Stage.PROCESS_RESTORED, resultStage());
+        }
+
+        private Stage resultStage() {
+            return outcome == Outcome.SUCCESS ? Stage.RESULT_SUCCESS : Stage.RESULT_FAIL;
+        }
+    }
+
+    /** 세션(OVERLAY_OPENED·PROCESS_RESTORED 단위)별로 묶은 타임라인. 세션 시작 전 이벤트(session 0)는 제외. */
+    public List<Session> sessions() {
+        Map<Integer, Session> byId = new LinkedHashMap<>();
+        for (Event e : events()) {
+            if (e.session == 0) continue;
+            Session s = byId.get(e.session);
+            if (s == null) {
+                s = new Session(e.session);
+                byId.put(e.session, s);
+            }
+            if (!s.firstAt.containsKey(e.stage)) s.firstAt.put(e.stage, e.timeNanos);
+            if (e.stage == Stage.APP_LAUNCHED || e.stage == Stage.PROCESS_RESTORED
+                || (e.stage == Stage.APP_LAUNCH_FAILED && s.app == PaymentApp.UNKNOWN)) {
+                s.app = e.app;
+            }
+        }
+        for (Session s : byId.values()) {
+            if (s.firstAt.containsKey(Stage.RESULT_SUCCESS)) s.outcome = Outcome.SUCCESS;
+            else if (s.firstAt.containsKey(Stage.RESULT_FAIL)) s.outcome = Outcome.FAIL;
+            else if (s.firstAt.containsKey(Stage.APP_LAUNCH_FAILED) && !s.firstAt.containsKey(Stage.APP_LAUNCHED)) s.outcome = Outcome.LAUNCH_FAILED;
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * 웹·파일 내보내기용 JSON. { sessions: [...], byApp: { KB: {...}, ... }, events: [...] }
+     * 시각은 첫 이벤트 기준 ms (nanoTime 절댓값은 의미 없음).
+     */
+    public String toJson() {
+        List<Event> events = events();
+        List<Session> sessions = sessions();
+        long base = events.isEmpty() ? 0 : events.get(0).timeNanos;
+
+        StringBuilder sb = new StringBuilder(256 + events.size() * 64);
+        sb.append("{\"sessions\":[");
+        for (int i = 0; i < sessions.size(); i++) {
+            Session s = sessions.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(s.id)
+                .append(",\"app\":\"").append(s.app.name())
+                .append("\",\"outcome\":\"").append(s.outcome.name())
+                .append("\",\"pageMs\":").append(s.millis(Stage.OVERLAY_OPENED, Stage.PAYMENT_PAGE_LOADED))
+                .append(",\"toLaunchMs\":").append(s.millis(Stage.PAYMENT_PAGE_LOADED, Stage.APP_LAUNCHED))
+                .append(",\"inAppMs\":").append(s.inAppMillis())
+                .append(",\"totalMs\":").append(s.totalMillis())
+                .append(",\"restored\":").append(s.firstAt.containsKey(Stage.PROCESS_RESTORED))
+                .append(",\"restoreMs\":").append(s.restoreMillis())
+                .append('}');
+        }
+        sb.append("],\"byApp\":{");
+        boolean first = true;
+        for (Map.Entry<PaymentApp, long[]> e : breakdown(sessions).entrySet()) {
+            long[] v = e.getValue();
+            if (!first) sb.append(',');
+            first = false;
+            sb.append('"').append(e.getKey().name()).append("\":{")
+                .append("\"sessions\":").append(v[0])
+                .append(",\"success\":").append(v[1])
+                .append(",\"fail\":").append(v[2])
+                .append(",\"abandoned\":").append(v[3])
+                .append(",\"avgInAppMs\":").append(v[5] > 0 ? v[4] / v[5] : -1)
+                .append(",\"avgTotalMs\":").append(v[7] > 0 ? v[6] / v[7] : -1)
+                .append('}');
+        }
+        sb.append("},\"events\":[");
+        for (int i = 0; i < events.size(); i++) {
+            Event e = events.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"t\":").append((e.timeNanos - base) / 1_000_000)
+                .append(",\"session\":").append(e.session)
+                .append(",\"stage\":\"").append(e.stage.name())
+                .append("\",\"app\":\"").append(e.app.name())
+                .append("\"}");
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /** PaymentApp별 [세션, 성공, 실패, 이탈, 앱체류 합, 앱체류 수, 전체 합, 전체 수] */
+    static Map<PaymentApp, long[]> breakdown(List<Session> sessions) {
+        Map<PaymentApp, long[]> out = new EnumMap<>(PaymentApp.class);
+        for (Session s : sessions) {
+            long[] v = out.get(s.app);
+            if (v == null) {
+                v = new long[8];
+                out.put(s.app, v);
+            }
+            v[0]++;
+            if (s.outcome == Outcome.SUCCESS) v[1]++;
+            else if (s.outcome == Outcome.FAIL || s.outcome == Outcome.LAUNCH_FAILED) v[2]++;
+            else v[3]++;
+            long inApp = s.inAppMillis();
+            if (inApp >= 0) {
+                v[4] += inApp;
+                v[5]++;
+            }
+            long total = s.totalMillis();
+            if (total >= 0) {
+                v[6] += total;
+                v[7]++;
+            }
+        }
+        return out;
+    }
+
+    /** 테스트·플러그인 clear용 */
+    public void clear() {
+        for (int i = 0; i <= mask; i++) published.set(i, -1);
+        cursor.set(0);
+    }
+}
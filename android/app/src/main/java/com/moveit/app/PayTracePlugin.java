@@ -0,0 +1,74 @@
+package com.moveit.app;
+
+import android.text.format.DateFormat;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.json.JSONException;
+
+/**
+ * 결제 타임라인({@link PayTrace}) 조회·내보내기.
+ * - getTimeline(): { sessions, byApp, events } (웹 관리 화면·디버그 콘솔에서 사용)
+ * - exportToFile(): filesDir/pay-trace/에 JSON 저장 후 경로 반환 (adb pull / 문의 첨부용)
+ * - clear()
+ * 릴리스 빌드에서도 기록은 유지(로그 출력만 제거)하므로 실사용 전환 분석에 쓸 수 있음.
+ */
+@CapacitorPlugin(name = "MoveitPayTrace")
+public class PayTracePlugin extends Plugin {
+
+    private static final int MAX_EXPORTS = 5;
+
+    @PluginMethod
+    public void getTimeline(PluginCall call) {
+        try {
+            call.resolve(new JSObject(PayTrace.global().toJson()));
+        } catch (JSONException e) {
+            call.reject("timeline serialization failed", e);
+        }
+    }
+
+    @PluginMethod
+    public void exportToFile(PluginCall call) {
+        String json = PayTrace.global().toJson();
+        getBridge().execute(() -> {
+            File dir = new File(getContext().getFilesDir(), "pay-trace");
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                call.reject("cannot create export directory");
+                return;
+            }
+            pruneOldExports(dir);
+            String name = "pay-trace-" + DateFormat.format("yyyyMMdd-HHmmss", System.currentTimeMillis()) + ".json";
+            File file = new File(dir, name);
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                out.write(json.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                call.reject("export failed", e);
+                return;
+            }
+            JSObject result = new JSObject();
+            result.put("path", file.getAbsolutePath());
+            result.put("bytes", file.length());
+            call.resolve(result);
+        });
+    }
+
+    @PluginMethod
+    public void clear(PluginCall call) {
+        PayTrace.global().clear();
+        call.resolve();
+    }
+
+    private static void pruneOldExports(File dir) {
+        File[] files = dir.listFiles();
+        if (files == null || files.length < MAX_EXPORTS) return;
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (int i = 0; i <= files.length - MAX_EXPORTS; i++) files[i].delete();
+    }
+}
@@ -0,0 +1,62 @@
+package com.moveit.app;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 결제 시 WebView에서 실행하는 간편결제·카드사 앱 목록.
+ * AndroidManifest.xml {@code <queries>}에 선언한 패키지/스킴과 1:1로 맞춰야 함 (UrlClassifierTest에서 검증).
+ */
+public enum PaymentApp {
+    KAKAOPAY("카카오페이", new String[] { "com.kakao.talk" }, "kakaotalk"),
+    TOSSPAY("토스페이", new String[] { "viva.republica.toss" }, "supertoss"),
+    NAVERPAY("네이버페이", new String[] { "com.nhn.android.search" }, "naversearchthirdlogin", "naversearchapp"),
+    SAMSUNGPAY("삼성페이", new String[] { "com.samsung.android.spay" }, "samsungpay"),
+    BANKPAY("뱅크페이", new String[] { "com.kftc.bankpay" }, "bankpay"),
+    PAYCO("PAYCO", new String[0], "payco"),
+    HYUNDAI("현대카드", new String[] { "com.hyundaicard.appcard" }, "hdcardappcardansimclick", "smhyundaiansimclick"),
+    SAMSUNG("삼성카드", new String[] { "kr.co.samsungcard.mpocket" }, "mpocket.online.ansimclick"),
+    SHINHAN("신한카드", new String[] { "com.shinhan.smartcaremgr" }, "shinhan-sr-ansimclick", "smshinhanansimclick"),
+    KB("KB Pay", new String[] { "com.kbcard.cxh.appcard" }, "kb-acp"),
+    LOTTE("롯데카드", new String[] { "com.lcacApp" }, "lottesmartpay", "lotteappcard"),
+    HANA("하나카드", new String[] { "com.hanaskcard.paycla" }, "cloudpay", "hanawalletmembers", "hanamopmoasign"),
+    WOORI("우리카드", new String[] { "com.wooricard.wcard" }, "com.wooricard.wcard", "newsmartpib"),
+    NH("NH농협카드", new String[] { "com.nh.android.nhappcardm" }, "nhappcardansimclick"),
+    CITI("씨티카드", new String[0], "citimobileapp"),
+    ISP("ISP/페이북", new String[] { "kvp.jjy.MispAndroid320" }, "ispmobile"),
+    UNKNOWN("기타", new String[0]);
+
+    public final String label;
+    final String[] packages;
+    final String[] schemes;
+
+    private static final Map<String, PaymentApp> BY_SCHEME = new HashMap<>();
+    private static final Map<String, PaymentApp> BY_PACKAGE = new HashMap<>();
+
+    static {
+        for (PaymentApp app : values()) {
+            for (String scheme : app.schemes) BY_SCHEME.put(scheme, app);
+            for (String pkg : app.packages) BY_PACKAGE.put(pkg, app);
+        }
+    }
+
+    PaymentApp(String label, String[] packages, String... schemes) {
+        this.label = label;
+        this.packages = packages;
+        this.schemes = schemes;
+    }
+
+    /** 소문자 스킴으로 조회. 목록에 없으면 UNKNOWN. */
+    public static PaymentApp forScheme(String scheme) {
+        if (scheme == null) return UNKNOWN;
+        PaymentApp app = BY_SCHEME.get(scheme);
+        return app != null ? app : UNKNOWN;
+    }
+
+    /** intent:// 의 package 값으로 조회. 목록에 없으면 UNKNOWN. */
+    public static PaymentApp forPackage(String pkg) {
+        if (pkg == null) return UNKNOWN;
+        PaymentApp app = BY_PACKAGE.get(pkg);
+        return app != null ? app : UNKNOWN;
+    }
+}
@@ -0,0 +1,111 @@
+package com.moveit.app;
+
+import android.net.Uri;
+import android.util.Log;
+import android.webkit.WebView;
+import org.json.JSONObject;
+
+/**
+ * 결제 복귀(오버레이가 우리 도메인 도달, moveitapp:// 스킴) 시 메인 WebView를 다시 로드하지 않고
+ * 이미 떠 있는 Next.js 앱에 클라이언트 라우팅을 요청 (window.__moveitNativeNavigate → router.push).
+ * - 웹이 ACK_TIMEOUT_MS 안에 true로 응답하지 않으면(브리지 미등록, 오프라인 화면, JS 스레드 정체) loadUrl로 폴백
+ * - 문서가 아직 첫 페인트 전(콜드 스타트·프로세스 재시작 복원 중)이면 물어보지 않고 바로 loadUrl
+ * - 응답이 늦게 와도 폴백과 중복 이동하지 않도록 시도마다 토큰으로 구분
+ * 메인 스레드 전용. 웹 쪽은 components/common/native-navigation-bridge.tsx.
+ */
+final class PaymentHandoff {
+
+    private static final String TAG = "MoveitPay";
+    /** 중저가 기기에서 결제창 닫힘 직후 JS 스레드가 바쁜 시간을 감안한 상한 */
+    static final long ACK_TIMEOUT_MS = 1_500;
+
+    private final WebView webView;
+    private final String appHost;
+    /** 라우팅 요청 후 doUpdateVisitedHistory로 커밋되기를 기다리는 URL */
+    private String pendingUrl;
+    private Object attempt;
+    /** 메인 문서가 첫 페인트까지 왔는지 (로드 시작 시 false) */
+    private boolean documentReady;
+
+    PaymentHandoff(WebView webView, String appUrl) {
+        this.webView = webView;
+        Uri appUri = appUrl != null ? Uri.parse(appUrl) : null;
+        this.appHost = appUri != null ? appUri.getHost() : null;
+    }
+
+    /** 결과 페이지로 이동. 같은 앱 문서가 떠 있으면 클라이언트 라우팅, 아니면 바로 loadUrl. */
+    void navigate(String url) {
+        Uri target = Uri.parse(url);
+        String current = webView.getUrl();
+        if (!documentReady || appHost == null || !appHost.equalsIgnoreCase(target.getHost())
+            || current == null || !appHost.equalsIgnoreCase(Uri.parse(current).getHost())) {
+            load(url);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder(target.getEncodedPath() != null ? target.getEncodedPath() : "/");
+        if (target.getEncodedQuery() != null) sb.append('?').append(target.getEncodedQuery());
+        if (target.getEncodedFragment() != null) sb.append('#').append(target.getEncodedFragment());
+        String path = sb.toString();
+
+        Object token = new Object();
+        attempt = token;
+        pendingUrl = url;
+        long start = System.nanoTime();
+        Runnable fallback = () -> {
+            if (attempt != token) return;
+            if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, "[Handoff] no ack in " + ACK_TIMEOUT_MS + "ms, reloading");
+            load(url);
+        };
+        webView.postDelayed(fallback, ACK_TIMEOUT_MS);
+        webView.evaluateJavascript(
+            "(function(){try{return !!(window.__moveitNativeNavigate&&window.__moveitNativeNavigate("
+                + JSONObject.quote(path) + "))}catch(e){return false}})()",
+            value -> {
+                if (attempt != token) return;
+                webView.removeCallbacks(fallback);
+                if ("true".equals(value)) {
+                    if (BuildConfig.PAY_TRACE_LOG) {
+                        Log.d(TAG, "[Handoff] routed in-place " + path + " ack=" + (System.nanoTime() - start) / 1_000_000 + "ms");
+                    }
+                    return;
+                }
+                if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, "[Handoff] rejected (" + value + "), reloading");
+                load(url);
+            });
+    }
+
+    /** 메인 WebView onPageStarted (문서 재로드 시작). */
+    void onDocumentStarted() {
+        documentReady = false;
+    }
+
+    /** 메인 WebView onPageCommitVisible. */
+    void onDocumentVisible() {
+        documentReady = true;
+    }
+
+    /**
+     * doUpdateVisitedHistory에서 호출. 클라이언트 라우팅으로 요청한 URL이 커밋됐으면 true
+     * (문서 재로드가 없어 onPageCommitVisible이 오지 않으므로 결과 단계 기록은 여기서).
+     */
+    boolean onHistoryUpdated(String url) {
+        if (pendingUrl == null || url == null) return false;
+        if (!samePath(pendingUrl, url)) return false;
+        pendingUrl = null;
+        attempt = null;
+        return true;
+    }
+
+    private void load(String url) {
+        attempt = null;
+        pendingUrl = null;
+        webView.loadUrl(url);
+    }
+
+    private static boolean samePath(String a, String b) {
+        Uri ua = Uri.parse(a);
+        Uri ub = Uri.parse(b);
+        return ua.getPath() != null && ua.getPath().equals(ub.getPath());
+    }
+}
@@ -0,0 +1,198 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcel;
+import android.util.Base64;
+import android.util.Log;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 진행 중인 결제 정보를 디스크에 남겨, 카드사 앱에 있는 동안 프로세스가 종료돼도 moveitapp:// 재시작 시
+ * 메인 WebView 방문 기록을 되살리고 결과 페이지로 바로 가게 함.
+ * 기록(noBackupFilesDir/payment-session.json): { startedAt, app, versionCode, webState(WebView.saveState Parcel, base64) }
+ * - begin: 결제 창 열림 (ChromeClient.onCreateWindow)
+ * - appLaunched: 카드사 앱 실행 직전 (UrlRouter)
+ * - saveWebState: MainActivity.onSaveInstanceState (카드사 앱으로 전환될 때 호출됨)
+ * - clear: 결과 페이지 표시
+ * 쓰기는 단일 백그라운드 스레드, 읽기는 MainActivity.onCreate에서 WebView 생성과 병렬로 (결과는 메인 스레드 콜백).
+ */
+final class PaymentSessionStore {
+
+    private static final String TAG = "MoveitPay";
+    /** 이보다 오래된 기록은 결제 복귀로 보지 않음 (토스 결제창 세션 만료와 비슷하게) */
+    static final long TTL_MS = 30 * 60_000;
+    /** WebView 상태가 이보다 크면 저장하지 않음 (방문 기록만 복원되면 충분) */
+    private static final int MAX_WEB_STATE_BYTES = 256 * 1024;
+
+    private static PaymentSessionStore instance;
+
+    private final File file;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, "moveit-pay-session"));
+    private final Handler main = new Handler(Looper.getMainLooper());
+
+    // io 스레드 전용
+    private JSONObject current;
+    /** begin ~ clear 사이 (메인 스레드에서 saveWebState 직렬화를 건너뛰는 용도) */
+    private volatile boolean active;
+
+    static final class Record {
+        final long startedAt;
+        final PaymentApp app;
+        /** 저장된 WebView 방문 기록, 없거나 앱 버전이 바뀌었으면 null */
+        final Bundle webState;
+
+        Record(long startedAt, PaymentApp app, Bundle webState) {
+            this.startedAt = startedAt;
+            this.app = app;
+            this.webState = webState;
+        }
+    }
+
+    static synchronized PaymentSessionStore get(Context context) {
+        if (instance == null) instance = new PaymentSessionStore(context.getApplicationContext());
+        return instance;
+    }
+
+    private PaymentSessionStore(Context context) {
+        this.file = new File(context.getNoBackupFilesDir(), "payment-session.json");
+    }
+
+    void begin() {
+        long now = System.currentTimeMillis();
+        active = true;
+        io.execute(() -> {
+            try {
+                current = new JSONObject()
+                    .put("startedAt", now)
+                    .put("app", PaymentApp.UNKNOWN.name())
+                    .put("versionCode", BuildConfig.VERSION_CODE);
+                write();
+            } catch (JSONException ignored) {
+                // 문자열·숫자 값만 넣으므로 발생하지 않음
+            }
+        });
+    }
+
+    void appLaunched(PaymentApp app) {
+        io.execute(() -> {
+            if (current == null) return;
+            try {
+                current.put("app", app.name());
+                write();
+            } catch (JSONException ignored) {
+                // 위와 동일
+            }
+        });
+    }
+
+    /** 결제 진행 중일 때만 WebView 상태를 함께 저장 (직렬화는 호출부 {@link #marshall}, 쓰기는 io 스레드). */
+    void saveWebState(byte[] bytes) {
+        if (bytes == null || !active) return;
+        if (bytes.length > MAX_WEB_STATE_BYTES) return;
+        String encoded = Base64.encodeToString(bytes, Base64.NO_WRAP);
+        io.execute(() -> {
+            if (current == null) return;
+            try {
+                current.put("webState", encoded);
+                write();
+            } catch (JSONException ignored) {
+                // 위와 동일
+            }
+        });
+    }
+
+    void clear() {
+        active = false;
+        io.execute(() -> {
+            if (current == null && !file.exists()) return;
+            current = null;
+            file.delete();
+        });
+    }
+
+    /** 유효한 기록 (없거나 만료면 null). 어느 스레드에서나 호출 가능 (blocking 디스크 읽기). */
+    Record load(ClassLoader loader) {
+        if (!file.exists()) return null;
+        try {
+            JSONObject o = new JSONObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            long startedAt = o.optLong("startedAt");
+            if (System.currentTimeMillis() - startedAt > TTL_MS) {
+                clear();
+                return null;
+            }
+            PaymentApp app;
+            try {
+                app = PaymentApp.valueOf(o.optString("app", PaymentApp.UNKNOWN.name()));
+            } catch (IllegalArgumentException e) {
+                app = PaymentApp.UNKNOWN;
+            }
+            Bundle webState = null;
+            String encoded = o.optString("webState", null);
+            // Parcel 형식은 같은 빌드 안에서만 신뢰
+            if (encoded != null && o.optInt("versionCode") == BuildConfig.VERSION_CODE) {
+                webState = unparcel(Base64.decode(encoded, Base64.NO_WRAP), loader);
+            }
+            return new Record(startedAt, app, webState);
+        } catch (IOException | JSONException | IllegalArgumentException e) {
+            Log.w(TAG, "payment session unreadable: " + e.getMessage());
+            clear();
+            return null;
+        }
+    }
+
+    /** MainActivity.onCreate에서 WebView 생성과 병렬로 읽고, 결과(없으면 null)는 메인 스레드로 전달. */
+    void loadAsync(ClassLoader loader, Consumer<Record> onMain) {
+        io.execute(() -> {
+            Record record = load(loader);
+            main.post(() -> onMain.accept(record));
+        });
+    }
+
+    /** WebView.saveState 결과를 Parcel 바이트로 (저장 상태 크기 확인·디스크 기록 공용). */
+    static byte[] marshall(Bundle webState) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            webState.writeToParcel(parcel, 0);
+            return parcel.marshall();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static Bundle unparcel(byte[] bytes, ClassLoader loader) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.unmarshall(bytes, 0, bytes.length);
+            parcel.setDataPosition(0);
+            return parcel.readBundle(loader);
+        } catch (RuntimeException e) {
+            return null;
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /** tmp 파일에 쓴 뒤 rename (쓰는 도중 종료돼도 이전 기록 유지). io 스레드 전용. */
+    private void write() {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(current.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Log.w(TAG, "payment session save failed: " + e.getMessage());
+            return;
+        }
+        if (!tmp.renameTo(file)) tmp.delete();
+    }
+}
@@ -0,0 +1,444 @@
+package com.moveit.app;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 화면 전환 예측 모델과 예측 프리페치 예산. Android 의존성 없음 ({@link NavigationPrefetcher}가 사용자별로 보관).
+ * - 전환: 화면 키({@link JankStats#screenKey}) 사이 1차 전환 가중치. 새 전환마다 출발 화면의 기존 가중치를 DECAY배로 줄여 최근 습관을 따름
+ * - ID: 경로 세그먼트와 쿼리 값(/payment?classId=…) 모두. 쿼리 ID는 화면 키에 이름=:id로 들어감
+ * - 다음 화면 ID: 예) /book/session/:id → /book/session/:id/success 처럼 출발 URL의 ID를 그대로 쓰는 전환만 구체 URL로 예측.
+ *   이런 전환은 보통 쓰기(예약 POST) 뒤에 일어나므로 {@link Trigger}가 쓰기가 끝날 때까지 프리페치를 미룸
+ * - 데이터: 화면 진입 직후 페이지가 보낸 GET(Supabase REST·/api)을 ID 자리표시자({0}, {1}…) 템플릿으로 기억.
+ *   두 번 이상 본 템플릿만 프리페치 (현재 시각 등이 들어간 일회성 URL 제외)
+ */
+final class PrefetchModel {
+
+    /** 새 전환을 기록할 때 같은 출발 화면의 기존 가중치에 곱함 */
+    static final double DECAY = 0.9;
+    /** 출발 화면 전환 가중치 합이 이 이상일 때만 예측 (최근 3회 이상) */
+    static final double MIN_WEIGHT = 2.5;
+    static final double MIN_PROBABILITY = 0.5;
+    /** 이 비율 이상 출발 URL의 ID를 이어 쓴 전환만 ID를 채워 예측 */
+    static final double MIN_CARRY_RATE = 0.8;
+    static final int MAX_ROUTES = 32;
+    static final int MAX_TARGETS = 6;
+    static final int MAX_TEMPLATES = 8;
+    /** 템플릿 재사용으로 볼 최소 관찰 횟수 */
+    static final int MIN_TEMPLATE_SEEN = 2;
+    /** 이보다 짧은 ID는 URL의 다른 숫자와 섞일 수 있어 자리표시자로 바꾸지 않음 */
+    static final int MIN_ID_LENGTH = 4;
+
+    static final int LOW_BATTERY_PCT = 20;
+    static final long DAILY_BYTES = 4L * 1024 * 1024;
+    static final long METERED_DAILY_BYTES = 512 * 1024;
+
+    /** URL 하나의 화면 키와 ID(경로 순서대로, 이어서 쿼리 이름순). */
+    static final class Route {
+        final String key;
+        final List<String> ids;
+
+        Route(String key, List<String> ids) {
+            this.key = key;
+            this.ids = ids;
+        }
+
+        /** http(s) URL이 아니면 null */
+        static Route of(String url) {
+            if (url == null || !(url.startsWith("https://") || url.startsWith("http://"))) return null;
+            String path;
+            try {
+                path = new URI(url).getRawPath();
+            } catch (URISyntaxException e) {
+                return null;
+            }
+            List<String> ids = new ArrayList<>();
+            if (path != null) {
+                for (String seg : path.split("/")) {
+                    if (!seg.isEmpty() && JankStats.isIdSegment(seg)) ids.add(seg);
+                }
+            }
+            StringBuilder key = new StringBuilder(JankStats.screenKey(url));
+            String query = rawQuery(url);
+            if (query != null) {
+                TreeMap<String, String> params = new TreeMap<>();
+                for (String pair : query.split("&")) {
+                    int eq = pair.indexOf('=');
+                    if (eq <= 0 || eq == pair.length() - 1) continue;
+                    String value = pair.substring(eq + 1);
+                    if (JankStats.isIdSegment(value)) params.put(pair.substring(0, eq), value);
+                }
+                char sep = '?';
+                for (Map.Entry<String, String> p : params.entrySet()) {
+                    key.append(sep).append(p.getKey()).append("=:id");
+                    ids.add(p.getValue());
+                    sep = '&';
+                }
+            }
+            return new Route(key.toString(), ids);
+        }
+
+        private static String rawQuery(String url) {
+            try {
+                return new URI(url).getRawQuery();
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+
+        boolean sameAs(Route other) {
+            return other != null && key.equals(other.key) && ids.equals(other.ids);
+        }
+    }
+
+    /** 다음 화면 예측. ids가 null이면 화면만 예측됐고 구체 URL은 모름 (정확도 집계만) */
+    static final class Prediction {
+        final String key;
+        final double probability;
+        final List<String> ids;
+
+        Prediction(String key, double probability, List<String> ids) {
+            this.key = key;
+            this.probability = probability;
+            this.ids = ids;
+        }
+
+        boolean isConcrete() {
+            return ids != null;
+        }
+    }
+
+    private static final class Edge {
+        double weight;
+        double carried;
+    }
+
+    /** 출발 화면 → (도착 화면 → 가중치). 접근 순서라 오래 안 쓴 출발 화면부터 제거 */
+    private final LinkedHashMap<String, LinkedHashMap<String, Edge>> edges = new LinkedHashMap<>(16, 0.75f, true);
+    /** 화면 → (GET URL 템플릿 → 관찰 횟수). 삽입 순서를 최근 순으로 유지 */
+    private final LinkedHashMap<String, LinkedHashMap<String, Integer>> templates = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** from → to 전환 기록. 같은 화면(같은 ID) 재방문은 무시. @return 기록했으면 true */
+    synchronized boolean record(Route from, Route to) {
+        if (from == null || to == null || from.sameAs(to)) return false;
+        LinkedHashMap<String, Edge> targets = edges.get(from.key);
+        if (targets == null) {
+            targets = new LinkedHashMap<>();
+            edges.put(from.key, targets);
+        }
+        for (Edge e : targets.values()) {
+            e.weight *= DECAY;
+            e.carried *= DECAY;
+        }
+        Edge edge = targets.get(to.key);
+        if (edge == null) {
+            edge = new Edge();
+            targets.put(to.key, edge);
+        }
+        edge.weight += 1;
+        if (carriesIds(from.ids, to.ids)) edge.carried += 1;
+        trimTargets(targets, to.key);
+        trimEldest(edges, MAX_ROUTES);
+        return true;
+    }
+
+    /** 가장 가능성 높은 다음 화면. 관찰이 부족하거나 확률이 낮으면 null */
+    synchronized Prediction predict(Route from) {
+        if (from == null) return null;
+        LinkedHashMap<String, Edge> targets = edges.get(from.key);
+        if (targets == null) return null;
+        double total = 0;
+        String bestKey = null;
+        Edge best = null;
+        for (Map.Entry<String, Edge> e : targets.entrySet()) {
+            total += e.getValue().weight;
+            if (best == null || e.getValue().weight > best.weight) {
+                best = e.getValue();
+                bestKey = e.getKey();
+            }
+        }
+        if (best == null || total < MIN_WEIGHT) return null;
+        double probability = best.weight / total;
+        if (probability < MIN_PROBABILITY) return null;
+        int slots = idSlots(bestKey);
+        List<String> ids = null;
+        if (slots == 0) {
+            ids = Collections.emptyList();
+        } else if (slots <= from.ids.size() && best.carried / best.weight >= MIN_CARRY_RATE) {
+            ids = new ArrayList<>(from.ids.subList(0, slots));
+        }
+        return new Prediction(bestKey, probability, ids);
+    }
+
+    /** 화면 진입 직후 페이지가 보낸 GET URL을 템플릿으로 기억. */
+    synchronized void learn(Route route, String url) {
+        if (route == null || url == null) return;
+        String template = toTemplate(url, route.ids);
+        LinkedHashMap<String, Integer> seen = templates.get(route.key);
+        if (seen == null) {
+            seen = new LinkedHashMap<>();
+            templates.put(route.key, seen);
+        }
+        Integer count = seen.remove(template);
+        seen.put(template, count == null ? 1 : count + 1);
+        trimEldest(seen, MAX_TEMPLATES);
+        trimEldest(templates, MAX_ROUTES);
+    }
+
+    /** 예측한 화면에서 페이지가 보낼 GET URL (최근 순, 최대 limit개). */
+    synchronized List<String> dataUrls(Prediction prediction, int limit) {
+        List<String> out = new ArrayList<>();
+        if (prediction == null || !prediction.isConcrete()) return out;
+        LinkedHashMap<String, Integer> seen = templates.get(prediction.key);
+        if (seen == null) return out;
+        List<String> recent = new ArrayList<>(seen.keySet());
+        Collections.reverse(recent);
+        for (String template : recent) {
+            if (out.size() >= limit) break;
+            if (seen.get(template) < MIN_TEMPLATE_SEEN) continue;
+            String url = fromTemplate(template, prediction.ids);
+            if (url != null) out.add(url);
+        }
+        return out;
+    }
+
+    static String toTemplate(String url, List<String> ids) {
+        String template = url;
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id.length() >= MIN_ID_LENGTH) template = template.replace(id, "{" + i + "}");
+        }
+        return template;
+    }
+
+    /** 자리표시자를 ids로 채움. 채울 ID가 없으면 null */
+    static String fromTemplate(String template, List<String> ids) {
+        String url = template;
+        for (int i = 0; i < ids.size(); i++) url = url.replace("{" + i + "}", ids.get(i));
+        return url.matches(".*\\{\\d+}.*") ? null : url;
+    }
+
+    /** 도착 URL의 ID가 모두 출발 URL의 같은 자리 ID이면 true (ID 없는 도착도 true) */
+    static boolean carriesIds(List<String> from, List<String> to) {
+        if (to.size() > from.size()) return false;
+        for (int i = 0; i < to.size(); i++) {
+            if (!to.get(i).equals(from.get(i))) return false;
+        }
+        return true;
+    }
+
+    private static int idSlots(String key) {
+        int slots = 0;
+        for (int i = key.indexOf(":id"); i >= 0; i = key.indexOf(":id", i + 3)) slots++;
+        return slots;
+    }
+
+    /**
+     * 받아 둔 응답을 버려야 하는 요청. Supabase rpc(POST /rest/v1/rpc/…)는 조회에도 쓰이므로 제외.
+     * @param path 요청 URL 경로
+     */
+    static boolean invalidates(String method, String path) {
+        if (method == null) return false;
+        String m = method.toUpperCase(Locale.ROOT);
+        if ("GET".equals(m) || "HEAD".equals(m) || "OPTIONS".equals(m)) return false;
+        return path == null || !path.startsWith("/rest/v1/rpc/");
+    }
+
+    /**
+     * 예측을 언제 프리페치할지. 화면 진입·쓰기 완료를 받는 한 스레드에서만 사용.
+     * - ID 없는 화면(/my 등) 예측: 진입 즉시
+     * - 출발 URL의 ID를 이어 쓰는 예측(/book/session/:id → …/success): 진입 때 받으면 뒤이은 예약 POST가 무효화하므로
+     *   그 화면에서 쓰기가 성공적으로 끝났을 때. 완료 알림보다 이동이 먼저 오면 도착 즉시 (페이지 요청보다는 앞섬)
+     */
+    static final class Trigger {
+        private Route deferredFrom;
+        private Prediction deferred;
+
+        /** 화면 진입. @return 지금 프리페치할 예측 (0–2개) */
+        List<Prediction> onArrive(Route route, Prediction prediction) {
+            List<Prediction> now = new ArrayList<>();
+            if (deferred != null && route != null && deferred.key.equals(route.key) && deferred.ids.equals(route.ids)) {
+                now.add(deferred);
+            }
+            deferred = null;
+            deferredFrom = null;
+            if (prediction == null || !prediction.isConcrete()) return now;
+            if (prediction.ids.isEmpty()) {
+                now.add(prediction);
+            } else {
+                deferred = prediction;
+                deferredFrom = route;
+            }
+            return now;
+        }
+
+        /** 페이지의 쓰기 요청이 끝남. @return 지금 프리페치할 예측 (없으면 null) */
+        Prediction onWriteSettled(Route current, boolean ok) {
+            if (!ok || deferred == null || deferredFrom == null || !deferredFrom.sameAs(current)) return null;
+            Prediction ready = deferred;
+            deferred = null;
+            deferredFrom = null;
+            return ready;
+        }
+    }
+
+    private static void trimTargets(LinkedHashMap<String, Edge> targets, String keep) {
+        while (targets.size() > MAX_TARGETS) {
+            String weakest = null;
+            double min = Double.MAX_VALUE;
+            for (Map.Entry<String, Edge> e : targets.entrySet()) {
+                if (!e.getKey().equals(keep) && e.getValue().weight < min) {
+                    min = e.getValue().weight;
+                    weakest = e.getKey();
+                }
+            }
+            targets.remove(weakest);
+        }
+    }
+
+    private static void trimEldest(LinkedHashMap<String, ?> map, int max) {
+        Iterator<String> it = map.keySet().iterator();
+        while (map.size() > max && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /** KvStore 저장용 (줄마다 e\t출발\t도착\t가중치\tID승계 또는 t\t화면\t횟수\t템플릿). */
+    synchronized String serialize() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, LinkedHashMap<String, Edge>> from : edges.entrySet()) {
+            for (Map.Entry<String, Edge> to : from.getValue().entrySet()) {
+                sb.append("e\t").append(from.getKey()).append('\t').append(to.getKey()).append('\t')
+                    .append(String.format(Locale.ROOT, "%.4f\t%.4f", to.getValue().weight, to.getValue().carried))
+                    .append('\n');
+            }
+        }
+        for (Map.Entry<String, LinkedHashMap<String, Integer>> route : templates.entrySet()) {
+            for (Map.Entry<String, Integer> t : route.getValue().entrySet()) {
+                sb.append("t\t").append(route.getKey()).append('\t').append(t.getValue()).append('\t')
+                    .append(t.getKey()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /** 깨진 줄은 건너뜀. null이면 빈 모델 */
+    static PrefetchModel parse(String text) {
+        PrefetchModel model = new PrefetchModel();
+        if (text == null) return model;
+        for (String line : text.split("\n")) {
+            String[] f = line.split("\t", -1);
+            try {
+                if (f.length == 5 && "e".equals(f[0])) {
+                    LinkedHashMap<String, Edge> targets = model.edges.get(f[1]);
+                    if (targets == null) {
+                        targets = new LinkedHashMap<>();
+                        model.edges.put(f[1], targets);
+                    }
+                    Edge edge = new Edge();
+                    edge.weight = Double.parseDouble(f[3]);
+                    edge.carried = Double.parseDouble(f[4]);
+                    targets.put(f[2], edge);
+                } else if (f.length == 4 && "t".equals(f[0])) {
+                    LinkedHashMap<String, Integer> seen = model.templates.get(f[1]);
+                    if (seen == null) {
+                        seen = new LinkedHashMap<>();
+                        model.templates.put(f[1], seen);
+                    }
+                    seen.put(f[3], Integer.parseInt(f[2]));
+                }
+            } catch (NumberFormatException ignored) {
+                // 다음 줄
+            }
+        }
+        return model;
+    }
+
+    /**
+     * 프리페치를 미룰 이유 (없으면 null). 데이터 절약·절전 모드, 충전 중이 아닌 저전력,
+     * 하루 전송량 초과(종량제는 METERED_DAILY_BYTES로 더 작게).
+     * @param batteryPct 모르면 -1
+     */
+    static String budgetBlock(boolean metered, boolean dataSaver, int batteryPct, boolean charging,
+                              boolean powerSave, long bytesToday) {
+        if (dataSaver) return "data-saver";
+        if (powerSave) return "power-save";
+        if (!charging && batteryPct >= 0 && batteryPct < LOW_BATTERY_PCT) return "low-battery";
+        if (bytesToday >= (metered ? METERED_DAILY_BYTES : DAILY_BYTES)) return "byte-budget";
+        return null;
+    }
+
+    /** 예측 한 번에 미리 받을 GET 수 (종량제면 줄임) */
+    static int maxUrls(boolean metered) {
+        return metered ? 2 : 6;
+    }
+
+    /** 누적 지표 (전 사용자 합산). */
+    static final class Stats {
+        long predictions;
+        long correct;
+        long prefetched;
+        long hits;
+        long bytes;
+        long savedMs;
+        long skipped;
+
+        void onNavigated(Prediction previous, Route now) {
+            if (previous == null || now == null) return;
+            predictions++;
+            if (previous.key.equals(now.key)) correct++;
+        }
+
+        /**
+         * 페이지가 미리 받은 응답을 썼을 때.
+         * @param fetchMs 프리페치 요청에 걸린 시간 (페이지가 직접 보냈다면 기다렸을 시간)
+         * @param waitedMs 프리페치가 끝나기를 기다린 시간
+         */
+        void onHit(long fetchMs, long waitedMs) {
+            hits++;
+            savedMs += Math.max(0, fetchMs - waitedMs);
+        }
+
+        /** 받아 둔 응답 중 페이지가 쓴 비율 (0–1) */
+        double hitRate() {
+            return prefetched == 0 ? 0 : Math.min(1.0, hits / (double) prefetched);
+        }
+
+        /** 예측한 화면으로 실제 이동한 비율 (0–1) */
+        double accuracy() {
+            return predictions == 0 ? 0 : correct / (double) predictions;
+        }
+
+        String serialize() {
+            return predictions + "," + correct + "," + prefetched + "," + hits + "," + bytes + "," + savedMs + "," + skipped;
+        }
+
+        static Stats parse(String text) {
+            Stats s = new Stats();
+            if (text == null) return s;
+            String[] f = text.split(",");
+            if (f.length != 7) return s;
+            try {
+                s.predictions = Long.parseLong(f[0]);
+                s.correct = Long.parseLong(f[1]);
+                s.prefetched = Long.parseLong(f[2]);
+                s.hits = Long.parseLong(f[3]);
+                s.bytes = Long.parseLong(f[4]);
+                s.savedMs = Long.parseLong(f[5]);
+                s.skipped = Long.parseLong(f[6]);
+            } catch (NumberFormatException e) {
+                return new Stats();
+            }
+            return s;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.moveit.app;
+
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * 화면 전환 예측 프리페치({@link NavigationPrefetcher}). 웹: lib/capacitor/prefetch.ts
+ * - getStats(): { enabled, predictions, accuracy, prefetched, hits, hitRate, savedMs, bytes, bytesToday, skipped, lastSkip }
+ * - resetStats(): 지표와 전환 모델 초기화
+ * - setEnabled({ enabled })
+ * - writeSettled({ ok }): 웹 fetchWithAuth의 쓰기 요청이 끝났을 때 (예약 완료 화면 데이터를 이때 미리 받음)
+ */
+@CapacitorPlugin(name = "MoveitPrefetch")
+public class PrefetchPlugin extends Plugin {
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        call.resolve(NavigationPrefetcher.get(getContext()).toJSObject());
+    }
+
+    @PluginMethod
+    public void resetStats(PluginCall call) {
+        NavigationPrefetcher.get(getContext()).reset();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void writeSettled(PluginCall call) {
+        NavigationPrefetcher.get(getContext()).onWriteSettled(call.getBoolean("ok", false));
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void setEnabled(PluginCall call) {
+        Boolean enabled = call.getBoolean("enabled");
+        if (enabled == null) {
+            call.reject("enabled is required");
+            return;
+        }
+        NavigationPrefetcher.get(getContext()).setEnabled(enabled);
+        call.resolve();
+    }
+}
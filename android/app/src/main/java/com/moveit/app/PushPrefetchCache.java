@@ -0,0 +1,234 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+import android.webkit.CookieManager;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 푸시 데이터 메시지가 가리키는 API 응답(JSON)을 수신 시점에 미리 받아 두고,
+ * 알림을 탭해 해당 화면이 같은 API를 GET하면 네트워크 대신 한 번만 응답.
+ * - 수신: {@link MoveitMessagingService}가 FCM 스레드에서 {@link #prefetch} (WebView 쿠키로 인증)
+ * - 탭: MainActivity가 google.message_id로 {@link #arm} → io 스레드에서 파일을 읽어 해당 항목만 1분간 사용 가능 상태
+ * - 로드: MoveitBridgeWebViewClient.shouldInterceptRequest에서 {@link #take} (1회 사용 후 폐기)
+ * 탭하지 않은 항목은 TTL 후 정리. 화면은 평소처럼 이후 요청부터 네트워크 데이터로 갱신됨.
+ */
+final class PushPrefetchCache {
+
+    private static final String TAG = "MoveitPush";
+    private static final int MAX_ENTRIES = 20;
+    private static final int MAX_BODY_BYTES = 512 * 1024;
+    private static final long ENTRY_TTL_MS = 30 * 60_000;
+    /** 탭 후 화면이 데이터를 요청하기까지 허용하는 시간 */
+    private static final long ARM_TTL_MS = 60_000;
+    /** 첫 요청이 아직 읽는 중인 arm을 기다리는 상한 (파일 하나 읽기, 보통 수 ms) */
+    private static final long ARM_WAIT_MS = 300;
+    private static final int TIMEOUT_MS = 5_000;
+
+    /** data.path → 해당 화면이 첫 로드 때 요청하는 API (components/notifications/notification-list.tsx 등과 일치) */
+    private static final Map<String, String> DEFAULT_PREFETCH = Collections.singletonMap(
+        "/notifications", "/api/notifications?page=1&limit=20");
+
+    private static PushPrefetchCache instance;
+
+    private final File dir;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, "moveit-push-prefetch"));
+
+    // 탭해서 사용 가능한 항목 (io 스레드에서 arm, WebView IO 스레드에서 take)
+    /** 읽는 중인 arm (없으면 null) */
+    private CountDownLatch arming;
+    private String armedPath;
+    private byte[] armedBody;
+    private long armedAt;
+
+    static synchronized PushPrefetchCache get(Context context) {
+        if (instance == null) instance = new PushPrefetchCache(context.getApplicationContext());
+        return instance;
+    }
+
+    private PushPrefetchCache(Context context) {
+        this.dir = new File(context.getCacheDir(), "push-prefetch");
+    }
+
+    /**
+     * 미리 받을 API 경로. 서버가 data.prefetch(/api/로 시작하는 상대 경로)를 넣으면 그대로 쓰고,
+     * 없으면 data.path 화면의 기본 API. 해당 없으면 null.
+     */
+    static String prefetchPath(Map<String, String> data) {
+        String explicit = data.get("prefetch");
+        if (explicit != null && explicit.startsWith("/api/")) return explicit;
+        String path = data.get("path");
+        if (path == null) return null;
+        int q = path.indexOf('?');
+        return DEFAULT_PREFETCH.get(q >= 0 ? path.substring(0, q) : path);
+    }
+
+    /** FCM 스레드에서 호출 (blocking). 실패해도 알림 동작에는 영향 없음. */
+    void prefetch(String messageId, String appOrigin, String path) {
+        if (messageId == null || appOrigin == null || path == null) return;
+        long start = SystemClock.elapsedRealtime();
+        String url = appOrigin + path;
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(TIMEOUT_MS);
+            conn.setReadTimeout(TIMEOUT_MS);
+            conn.setRequestProperty("Accept", "application/json");
+            String cookie = CookieManager.getInstance().getCookie(url);
+            if (cookie != null) conn.setRequestProperty("Cookie", cookie);
+            int status = conn.getResponseCode();
+            if (status != 200) {
+                Log.d(TAG, "prefetch skipped HTTP " + status + " " + path);
+                return;
+            }
+            byte[] body = readLimited(conn.getInputStream());
+            if (body == null) return;
+            save(messageId, path, body);
+            Log.d(TAG, "prefetched " + path + " (" + body.length + "B) in " + (SystemClock.elapsedRealtime() - start) + "ms");
+        } catch (IOException e) {
+            Log.w(TAG, "prefetch failed " + path + ": " + e.getMessage());
+        } finally {
+            if (conn != null) conn.disconnect();
+        }
+    }
+
+    /** 알림 탭으로 앱이 열릴 때 (메인 스레드). 파일 읽기는 io 스레드에서, 그 사이 온 {@link #take}는 잠시 기다린다. */
+    void arm(String messageId) {
+        if (messageId == null) return;
+        CountDownLatch latch = new CountDownLatch(1);
+        synchronized (this) {
+            arming = latch;
+            armedPath = null;
+            armedBody = null;
+        }
+        io.execute(() -> {
+            try {
+                load(messageId);
+            } finally {
+                synchronized (this) {
+                    if (arming == latch) arming = null;
+                }
+                latch.countDown();
+            }
+        });
+    }
+
+    private void load(String messageId) {
+        File file = fileFor(messageId);
+        if (!file.exists()) return;
+        try {
+            JSONObject o = new JSONObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            if (System.currentTimeMillis() - o.optLong("savedAt") > ENTRY_TTL_MS) return;
+            synchronized (this) {
+                armedPath = o.getString("path");
+                armedBody = o.getString("body").getBytes(StandardCharsets.UTF_8);
+                armedAt = SystemClock.elapsedRealtime();
+            }
+            Log.d(TAG, "armed " + armedPath);
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "arm failed: " + e.getMessage());
+        } finally {
+            file.delete();
+        }
+    }
+
+    /** shouldInterceptRequest (WebView IO 스레드). 탭한 알림의 API GET이면 캐시 응답, 아니면 null. */
+    WebResourceResponse take(WebResourceRequest request) {
+        CountDownLatch pending;
+        synchronized (this) {
+            pending = arming;
+        }
+        if (pending != null) {
+            try {
+                if (!pending.await(ARM_WAIT_MS, TimeUnit.MILLISECONDS)) return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        byte[] body;
+        synchronized (this) {
+            if (armedPath == null) return null;
+            if (SystemClock.elapsedRealtime() - armedAt > ARM_TTL_MS) {
+                armedPath = null;
+                armedBody = null;
+                return null;
+            }
+            if (!"GET".equals(request.getMethod())) return null;
+            Uri uri = request.getUrl();
+            String pathAndQuery = uri.getEncodedPath() + (uri.getEncodedQuery() != null ? "?" + uri.getEncodedQuery() : "");
+            if (!armedPath.equals(pathAndQuery)) return null;
+            body = armedBody;
+            armedPath = null;
+            armedBody = null;
+        }
+        Log.d(TAG, "served prefetched " + request.getUrl().getPath());
+        return new WebResourceResponse("application/json", "utf-8", 200, "OK",
+            Collections.singletonMap("Cache-Control", "no-store"), new ByteArrayInputStream(body));
+    }
+
+    private void save(String messageId, String path, byte[] body) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) return;
+        prune();
+        JSONObject o = new JSONObject();
+        try {
+            o.put("path", path);
+            o.put("savedAt", System.currentTimeMillis());
+            o.put("body", new String(body, StandardCharsets.UTF_8));
+        } catch (JSONException e) {
+            return;
+        }
+        try (FileOutputStream out = new FileOutputStream(fileFor(messageId))) {
+            out.write(o.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void prune() {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        long now = System.currentTimeMillis();
+        Arrays.sort(files, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
+        for (int i = 0; i < files.length; i++) {
+            if (i >= MAX_ENTRIES - 1 || now - files[i].lastModified() > ENTRY_TTL_MS) files[i].delete();
+        }
+    }
+
+    private File fileFor(String messageId) {
+        return new File(dir, Integer.toHexString(messageId.hashCode()) + "-" + messageId.length() + ".json");
+    }
+
+    private static byte[] readLimited(InputStream in) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (InputStream is = in) {
+            byte[] chunk = new byte[8192];
+            int n;
+            while ((n = is.read(chunk)) != -1) {
+                if (buf.size() + n > MAX_BODY_BYTES) return null;
+                buf.write(chunk, 0, n);
+            }
+        }
+        return buf.toByteArray();
+    }
+}
@@ -0,0 +1,378 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.SystemClock;
+import android.util.Log;
+import android.webkit.CookieManager;
+import com.getcapacitor.JSObject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * QR 체크인 제출 큐 (POST /api/attendance/qr-checkin).
+ * - 스캔은 즉시 큐에 넣고 디스크(noBackupFilesDir)에 기록 → 오프라인이거나 앱이 죽어도 유실되지 않음
+ * - 단일 스레드가 큐를 순서대로 비움. 응답 본문을 끝까지 읽고 닫아 HttpURLConnection keep-alive 연결을 재사용
+ *   (연속 스캔 시 요청마다 TLS 핸드셰이크를 하지 않음)
+ * - 5xx·408·429·네트워크 오류: 지수 백오프 재시도(Retry-After 우선) + 네트워크 복구 시 즉시 재시도
+ * - 401: 큐를 멈추고 authRequired 알림. 웹에서 새 토큰을 넘기면(updateAuth) 재개
+ * - QR 토큰은 발급 3분 뒤 만료되므로 스캔 후 경과 시간(scanAgeMs)을 함께 보내 서버가 스캔 시점 기준으로 검증.
+ *   MAX_QUEUE_AGE_MS가 지난 항목은 보내지 않고 바로 expired로 알림 (관리자가 수동 출석 처리)
+ * - 항목마다 스캔한 계정(owner)을 기록. 로그아웃·계정 전환(setUser) 시 다른 계정의 항목은 버림
+ * 결과는 {@link Listener}로 전달 (큐 스레드에서 호출).
+ */
+final class QrCheckinQueue {
+
+    interface Listener {
+        /** status: success | already | expired | error */
+        void onCheckinResult(JSObject result);
+
+        void onAuthRequired();
+    }
+
+    private static final String TAG = "MoveitQr";
+    private static final String PATH = "/api/attendance/qr-checkin";
+    private static final int TIMEOUT_MS = 10_000;
+    private static final long BACKOFF_MIN_MS = 1_000;
+    private static final long BACKOFF_MAX_MS = 60_000;
+    /** 서버(/api/attendance/qr-checkin MAX_SCAN_AGE_MS)가 받아 주는 최대 스캔 후 경과 시간 */
+    static final long MAX_QUEUE_AGE_MS = 12 * 60 * 60_000L;
+    /** 복원한 항목의 elapsedRealtime을 믿을지 (재부팅이면 벽시계와 크게 어긋남) */
+    private static final long CLOCK_TOLERANCE_MS = 60_000;
+
+    private static QrCheckinQueue instance;
+
+    private final File file;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "moveit-qr-checkin"));
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final QrScanMetrics metrics = new QrScanMetrics();
+
+    // 아래 상태는 worker 스레드에서만 접근
+    private final ArrayDeque<Entry> pending = new ArrayDeque<>();
+    private String endpoint;
+    private String accessToken;
+    /** 현재 로그인한 계정 (웹이 setUser로 알려 줌, 모르면 null) */
+    private String owner;
+    private boolean authPaused;
+    private boolean retryScheduled;
+    private long backoffMs = BACKOFF_MIN_MS;
+    private volatile int pendingCount;
+
+    static synchronized QrCheckinQueue get(Context context) {
+        if (instance == null) instance = new QrCheckinQueue(context.getApplicationContext());
+        return instance;
+    }
+
+    private QrCheckinQueue(Context context) {
+        this.file = new File(context.getNoBackupFilesDir(), "qr-checkin-queue.jsonl");
+        worker.execute(this::restore);
+        ConnectivityManager cm = context.getSystemService(ConnectivityManager.class);
+        if (cm != null) {
+            cm.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    worker.execute(() -> {
+                        backoffMs = BACKOFF_MIN_MS;
+                        drain();
+                    });
+                }
+            });
+        }
+    }
+
+    QrScanMetrics metrics() {
+        return metrics;
+    }
+
+    int pendingCount() {
+        return pendingCount;
+    }
+
+    void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** @param appUrl server.url (origin만 사용), accessToken 없으면 WebView 쿠키로 인증 */
+    void configure(String appUrl, String accessToken) {
+        String origin = AppLinkRewriter.originOf(appUrl);
+        worker.execute(() -> {
+            if (origin != null) endpoint = origin + PATH;
+            this.accessToken = accessToken;
+            drain();
+        });
+    }
+
+    void updateAuth(String accessToken) {
+        worker.execute(() -> {
+            this.accessToken = accessToken;
+            authPaused = false;
+            drain();
+        });
+    }
+
+    /** 로그아웃(null)·계정 전환 시 다른 계정이 스캔한 대기 항목을 버리고 이전 토큰을 쓰지 않음. */
+    void setUser(String userId) {
+        worker.execute(() -> {
+            if (userId != null && userId.equals(owner)) return;
+            owner = userId;
+            int before = pending.size();
+            pending.removeIf(e -> userId == null || !userId.equals(e.owner));
+            if (pending.size() != before) {
+                Log.d(TAG, "dropped " + (before - pending.size()) + " queued checkins of another account");
+                persist();
+            }
+            accessToken = null;
+            authPaused = false;
+            drain();
+        });
+    }
+
+    void enqueue(String token, String academyId) {
+        long scannedAt = System.currentTimeMillis();
+        long scannedElapsed = SystemClock.elapsedRealtime();
+        metrics.onScanSubmitted(scannedElapsed);
+        worker.execute(() -> {
+            pending.addLast(new Entry(token, academyId, scannedAt, scannedElapsed, owner));
+            persist();
+            drain();
+        });
+    }
+
+    private void drain() {
+        while (!pending.isEmpty() && !authPaused && endpoint != null) {
+            Entry entry = pending.peekFirst();
+            long age = entry.age();
+            if (age > MAX_QUEUE_AGE_MS) {
+                Log.w(TAG, "checkin expired in queue (" + age / 60_000 + " min)");
+                pending.pollFirst();
+                persist();
+                emitExpired(entry, age);
+                continue;
+            }
+            int status;
+            JSONObject body;
+            long retryAfterMs;
+            try {
+                HttpURLConnection conn = open();
+                byte[] payload = new JSONObject()
+                    .put("token", entry.token)
+                    .put("academyId", entry.academyId)
+                    .put("scanAgeMs", Math.max(0, age))
+                    .toString().getBytes(StandardCharsets.UTF_8);
+                conn.setFixedLengthStreamingMode(payload.length);
+                try (OutputStream out = conn.getOutputStream()) {
+                    out.write(payload);
+                }
+                status = conn.getResponseCode();
+                retryAfterMs = conn.getHeaderFieldInt("Retry-After", 0) * 1000L;
+                body = readJson(conn, status);
+            } catch (IOException | JSONException e) {
+                Log.w(TAG, "checkin deferred (" + pending.size() + " pending): " + e.getMessage());
+                scheduleRetry(0);
+                return;
+            }
+
+            if (status == 401) {
+                Log.w(TAG, "checkin 401, pausing queue");
+                authPaused = true;
+                for (Listener l : listeners) l.onAuthRequired();
+                return;
+            }
+            if (status >= 500 || status == 408 || status == 429) {
+                Log.w(TAG, "checkin HTTP " + status + ", retrying");
+                scheduleRetry(retryAfterMs);
+                return;
+            }
+
+            pending.pollFirst();
+            persist();
+            backoffMs = BACKOFF_MIN_MS;
+            emit(entry, status, body);
+        }
+    }
+
+    private HttpURLConnection open() throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(endpoint).openConnection();
+        conn.setRequestMethod("POST");
+        conn.setConnectTimeout(TIMEOUT_MS);
+        conn.setReadTimeout(TIMEOUT_MS);
+        conn.setDoOutput(true);
+        conn.setRequestProperty("Content-Type", "application/json");
+        if (accessToken != null && !accessToken.isEmpty()) {
+            conn.setRequestProperty("Authorization", "Bearer " + accessToken);
+        } else {
+            String cookie = CookieManager.getInstance().getCookie(endpoint);
+            if (cookie != null) conn.setRequestProperty("Cookie", cookie);
+        }
+        return conn;
+    }
+
+    /** 본문을 끝까지 읽고 스트림을 닫아야 연결이 keep-alive 풀로 돌아감 (disconnect 호출 안 함). */
+    private static JSONObject readJson(HttpURLConnection conn, int status) throws IOException {
+        InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+        if (in == null) return new JSONObject();
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (InputStream is = in) {
+            byte[] chunk = new byte[4096];
+            int n;
+            while ((n = is.read(chunk)) != -1) buf.write(chunk, 0, n);
+        }
+        try {
+            return new JSONObject(buf.toString("UTF-8"));
+        } catch (JSONException e) {
+            return new JSONObject();
+        }
+    }
+
+    private void emit(Entry entry, int status, JSONObject body) {
+        JSObject result = new JSObject();
+        boolean success = status >= 200 && status < 300 && body.optBoolean("success");
+        String kind = success ? "success" : (status == 409 && body.optBoolean("alreadyCheckedIn")) ? "already" : "error";
+        result.put("status", kind);
+        result.put("httpStatus", status);
+        result.put("scannedAt", entry.scannedAt);
+        long latency = entry.age();
+        result.put("latencyMs", latency);
+        if (success) {
+            result.put("userName", body.optString("userName", ""));
+            JSONObject booking = body.optJSONObject("booking");
+            if (booking != null) {
+                result.put("className", booking.optString("className", ""));
+                result.put("startTime", booking.optString("startTime", ""));
+            }
+            result.put("checkedInAt", body.optString("checkedInAt", ""));
+        } else if (!"already".equals(kind)) {
+            result.put("error", body.optString("error", "출석 처리에 실패했습니다."));
+        }
+        metrics.onCheckinResult(success, latency);
+        for (Listener l : listeners) l.onCheckinResult(result);
+    }
+
+    /** 보내기 전에 만료된 항목. 관리자 화면에 바로 보여 수동 출석 처리하도록 */
+    private void emitExpired(Entry entry, long age) {
+        JSObject result = new JSObject();
+        result.put("status", "expired");
+        result.put("httpStatus", 0);
+        result.put("scannedAt", entry.scannedAt);
+        result.put("latencyMs", age);
+        result.put("error", "오래 전송되지 못한 스캔입니다. 출석을 직접 확인해주세요.");
+        metrics.onCheckinResult(false, age);
+        for (Listener l : listeners) l.onCheckinResult(result);
+    }
+
+    /** @param retryAfterMs 서버가 Retry-After로 준 대기 시간 (없으면 0, 백오프 최대치로 제한) */
+    private void scheduleRetry(long retryAfterMs) {
+        if (retryScheduled) return;
+        retryScheduled = true;
+        long delay = Math.min(Math.max(backoffMs, retryAfterMs), BACKOFF_MAX_MS);
+        backoffMs = Math.min(backoffMs * 2, BACKOFF_MAX_MS);
+        worker.schedule(() -> {
+            retryScheduled = false;
+            drain();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void restore() {
+        if (!file.exists()) return;
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                if (line.isEmpty()) continue;
+                try {
+                    JSONObject o = new JSONObject(line);
+                    long scannedAt = o.optLong("scannedAt");
+                    pending.addLast(new Entry(o.getString("token"), o.getString("academyId"), scannedAt,
+                        restoredElapsed(scannedAt, o.optLong("scannedElapsed")), o.optString("owner", null)));
+                } catch (JSONException e) {
+                    // 손상된 줄은 버림
+                }
+            }
+            pendingCount = pending.size();
+            if (!pending.isEmpty()) Log.d(TAG, "restored " + pending.size() + " queued checkins");
+        } catch (IOException e) {
+            Log.w(TAG, "queue restore failed: " + e.getMessage());
+        }
+    }
+
+    /** 같은 부팅이면 elapsedRealtime 기준을 유지 (벽시계 변경에 영향받지 않음), 아니면 0 */
+    private static long restoredElapsed(long scannedAt, long scannedElapsed) {
+        if (scannedElapsed <= 0) return 0;
+        long elapsedAge = SystemClock.elapsedRealtime() - scannedElapsed;
+        long wallAge = System.currentTimeMillis() - scannedAt;
+        return elapsedAge >= 0 && Math.abs(elapsedAge - wallAge) < CLOCK_TOLERANCE_MS ? scannedElapsed : 0;
+    }
+
+    /** 큐가 작아(대기 중인 스캔 수십 건 이내) 변경 시마다 전체를 다시 씀. */
+    private void persist() {
+        pendingCount = pending.size();
+        if (pending.isEmpty()) {
+            file.delete();
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Entry e : pending) {
+            try {
+                sb.append(new JSONObject()
+                    .put("token", e.token)
+                    .put("academyId", e.academyId)
+                    .put("scannedAt", e.scannedAt)
+                    .put("scannedElapsed", e.scannedElapsed)
+                    .putOpt("owner", e.owner)).append('\n');
+            } catch (JSONException ignored) {
+                // put(String, String/long)은 실패하지 않음
+            }
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        } catch (IOException e) {
+            Log.w(TAG, "queue persist failed: " + e.getMessage());
+            return;
+        }
+        if (!tmp.renameTo(file)) Log.w(TAG, "queue rename failed");
+    }
+
+    private static final class Entry {
+        final String token;
+        final String academyId;
+        final long scannedAt;
+        /** SystemClock.elapsedRealtime() 기준. 재부팅 후 복원한 항목은 0 */
+        final long scannedElapsed;
+        /** 스캔한 계정 (모르면 null) */
+        final String owner;
+
+        Entry(String token, String academyId, long scannedAt, long scannedElapsed, String owner) {
+            this.token = token;
+            this.academyId = academyId;
+            this.scannedAt = scannedAt;
+            this.scannedElapsed = scannedElapsed;
+            this.owner = owner;
+        }
+
+        /** 스캔 후 경과 시간. elapsed 기준이 없으면 벽시계로 계산 */
+        long age() {
+            if (scannedElapsed > 0) return SystemClock.elapsedRealtime() - scannedElapsed;
+            return System.currentTimeMillis() - scannedAt;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.moveit.app;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 연속 프레임 디코딩에서 같은 QR이 카메라 앞에 머무는 동안 중복 체크인을 막음.
+ * 같은 값은 마지막으로 보인 시점부터 window 동안 무시하고, 그 사이 계속 보이면 창이 연장됨
+ * (학생이 QR을 대고 있는 동안 한 번만 제출). Android 의존성 없음.
+ */
+final class QrScanDeduper {
+
+    static final long DEFAULT_WINDOW_MS = 5_000;
+    /** 프런트 데스크에서 창 안에 동시에 남아 있을 수 있는 서로 다른 QR 수 상한 */
+    private static final int MAX_TRACKED = 64;
+
+    private final long windowMs;
+    /** 값 → 마지막으로 본 시각. 삽입 순서 = 오래된 순 (갱신 시 재삽입) */
+    private final LinkedHashMap<String, Long> lastSeen = new LinkedHashMap<>();
+
+    QrScanDeduper() {
+        this(DEFAULT_WINDOW_MS);
+    }
+
+    QrScanDeduper(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /** @return true면 새 스캔(제출 대상), false면 중복 */
+    synchronized boolean accept(String value, long nowMs) {
+        if (value == null || value.isEmpty()) return false;
+        evictExpired(nowMs);
+        Long previous = lastSeen.remove(value);
+        lastSeen.put(value, nowMs);
+        if (lastSeen.size() > MAX_TRACKED) {
+            Iterator<String> it = lastSeen.keySet().iterator();
+            it.next();
+            it.remove();
+        }
+        return previous == null || nowMs - previous >= windowMs;
+    }
+
+    private void evictExpired(long nowMs) {
+        Iterator<Map.Entry<String, Long>> it = lastSeen.entrySet().iterator();
+        while (it.hasNext()) {
+            if (nowMs - it.next().getValue() < windowMs) break;
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.moveit.app;
+
+import com.getcapacitor.JSObject;
+import java.util.ArrayDeque;
+
+/**
+ * QR 스캐너 처리량 지표. 분석 스레드·네트워크 스레드에서 갱신하고 플러그인(getMetrics)에서 읽음.
+ * - decode: 프레임 1장을 ML Kit에 넘긴 뒤 결과가 나올 때까지 (평균·최대)
+ * - scansPerMinute: 최근 60초 동안 제출(중복 제외)된 스캔 수
+ * - submit: 스캔 → 서버 응답까지 (오프라인 대기 시간 포함)
+ */
+final class QrScanMetrics {
+
+    private static final long MINUTE_MS = 60_000;
+
+    private long sessionStartMs;
+    private long framesAnalyzed;
+    private long framesDecoded;
+    private long decodeNanosTotal;
+    private long decodeNanosMax;
+    private long duplicatesSuppressed;
+    private long submitted;
+    private long succeeded;
+    private long failed;
+    private long submitMsTotal;
+    private long submitCount;
+    private final ArrayDeque<Long> recentScans = new ArrayDeque<>();
+
+    synchronized void startSession(long nowMs) {
+        sessionStartMs = nowMs;
+        framesAnalyzed = framesDecoded = decodeNanosTotal = decodeNanosMax = 0;
+        duplicatesSuppressed = submitted = succeeded = failed = submitMsTotal = submitCount = 0;
+        recentScans.clear();
+    }
+
+    synchronized void onFrameDecoded(long decodeNanos, boolean found) {
+        framesAnalyzed++;
+        if (found) framesDecoded++;
+        decodeNanosTotal += decodeNanos;
+        if (decodeNanos > decodeNanosMax) decodeNanosMax = decodeNanos;
+    }
+
+    synchronized void onDuplicate() {
+        duplicatesSuppressed++;
+    }
+
+    synchronized void onScanSubmitted(long nowMs) {
+        submitted++;
+        recentScans.addLast(nowMs);
+        trim(nowMs);
+    }
+
+    synchronized void onCheckinResult(boolean success, long latencyMs) {
+        if (success) succeeded++; else failed++;
+        submitMsTotal += latencyMs;
+        submitCount++;
+    }
+
+    synchronized JSObject toJSObject(long nowMs, int pending) {
+        trim(nowMs);
+        JSObject o = new JSObject();
+        o.put("sessionMs", sessionStartMs > 0 ? nowMs - sessionStartMs : 0);
+        o.put("framesAnalyzed", framesAnalyzed);
+        o.put("framesWithQr", framesDecoded);
+        o.put("decodeAvgMs", framesAnalyzed > 0 ? decodeNanosTotal / framesAnalyzed / 1e6 : 0);
+        o.put("decodeMaxMs", decodeNanosMax / 1e6);
+        o.put("scansPerMinute", recentScans.size());
+        o.put("duplicatesSuppressed", duplicatesSuppressed);
+        o.put("submitted", submitted);
+        o.put("succeeded", succeeded);
+        o.put("failed", failed);
+        o.put("submitAvgMs", submitCount > 0 ? submitMsTotal / submitCount : 0);
+        o.put("pending", pending);
+        return o;
+    }
+
+    private void trim(long nowMs) {
+        while (!recentScans.isEmpty() && nowMs - recentScans.peekFirst() > MINUTE_MS) {
+            recentScans.pollFirst();
+        }
+    }
+}
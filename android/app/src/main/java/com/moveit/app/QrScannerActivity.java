@@ -0,0 +1,273 @@
+package com.moveit.app;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.graphics.Color;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.Size;
+import android.view.Gravity;
+import android.view.View;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+import androidx.annotation.OptIn;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ExperimentalGetImage;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+import androidx.camera.core.Preview;
+import androidx.camera.lifecycle.ProcessCameraProvider;
+import androidx.camera.view.PreviewView;
+import com.getcapacitor.JSObject;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.mlkit.vision.barcode.BarcodeScanner;
+import com.google.mlkit.vision.barcode.BarcodeScannerOptions;
+import com.google.mlkit.vision.barcode.BarcodeScanning;
+import com.google.mlkit.vision.barcode.common.Barcode;
+import com.google.mlkit.vision.common.InputImage;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 프런트 데스크용 네이티브 QR 출석 스캐너 (WebView getUserMedia + JS 디코딩 대체).
+ * CameraX ImageAnalysis(KEEP_ONLY_LATEST)로 최신 프레임만 백그라운드 스레드에서 ML Kit에 넘기고,
+ * {@link QrScanDeduper}로 중복을 거른 뒤 {@link QrCheckinQueue}에 제출. 결과는 화면 배너와 Capacitor 이벤트로 전달.
+ * 스캐너는 닫을 때까지 연속 스캔 (학생이 줄 서서 차례로 QR을 대는 흐름).
+ */
+public class QrScannerActivity extends AppCompatActivity implements QrCheckinQueue.Listener {
+
+    static final String EXTRA_ACADEMY_ID = "academyId";
+    static final String EXTRA_FRONT_CAMERA = "frontCamera";
+    /** 실행 중인 스캐너를 닫을 때 (plugin.stop) */
+    static final String EXTRA_STOP = "stop";
+
+    private static final String TAG = "MoveitQr";
+    private static final int REQUEST_CAMERA = 1001;
+    private static final long RESULT_SHOW_MS = 2_500;
+    /** 태블릿 화면 기준 충분한 해상도. 높일수록 디코딩 지연만 늘어남 */
+    private static final Size ANALYSIS_SIZE = new Size(1280, 720);
+
+    private final ExecutorService analysisExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "moveit-qr-analysis"));
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private final QrScanDeduper deduper = new QrScanDeduper();
+
+    private String academyId;
+    private boolean frontCamera;
+    private QrCheckinQueue queue;
+    private BarcodeScanner scanner;
+    private ImageAnalysis analysis;
+    /** onDestroy 이후 도착한 ML Kit 결과는 프레임만 닫고 무시 (ML Kit 콜백 스레드에서 읽음) */
+    private volatile boolean destroyed;
+    private ProcessCameraProvider cameraProvider;
+    private PreviewView previewView;
+    private TextView statusView;
+    private TextView resultView;
+
+    static Intent intent(Context context, String academyId, boolean frontCamera) {
+        return new Intent(context, QrScannerActivity.class)
+            .putExtra(EXTRA_ACADEMY_ID, academyId)
+            .putExtra(EXTRA_FRONT_CAMERA, frontCamera);
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        academyId = getIntent().getStringExtra(EXTRA_ACADEMY_ID);
+        frontCamera = getIntent().getBooleanExtra(EXTRA_FRONT_CAMERA, true);
+        if (academyId == null) {
+            finish();
+            return;
+        }
+        getWindow().addFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
+        setContentView(buildLayout());
+
+        queue = QrCheckinQueue.get(this);
+        queue.addListener(this);
+        queue.metrics().startSession(SystemClock.elapsedRealtime());
+        scanner = BarcodeScanning.getClient(new BarcodeScannerOptions.Builder()
+            .setBarcodeFormats(Barcode.FORMAT_QR_CODE)
+            .build());
+
+        if (checkSelfPermission(Manifest.permission.CAMERA) == PackageManager.PERMISSION_GRANTED) {
+            startCamera();
+        } else {
+            requestPermissions(new String[] { Manifest.permission.CAMERA }, REQUEST_CAMERA);
+        }
+    }
+
+    @Override
+    protected void onNewIntent(Intent intent) {
+        super.onNewIntent(intent);
+        if (intent.getBooleanExtra(EXTRA_STOP, false)) finish();
+    }
+
+    @Override
+    public void onRequestPermissionsResult(int requestCode, String[] permissions, int[] grantResults) {
+        super.onRequestPermissionsResult(requestCode, permissions, grantResults);
+        if (requestCode != REQUEST_CAMERA) return;
+        if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
+            startCamera();
+        } else {
+            statusView.setText("카메라 권한이 필요합니다. 설정에서 카메라 권한을 허용해주세요.");
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        destroyed = true;
+        if (queue != null) queue.removeListener(this);
+        if (analysis != null) analysis.clearAnalyzer();
+        if (cameraProvider != null) cameraProvider.unbindAll();
+        analysisExecutor.shutdown();
+        if (scanner != null) scanner.close();
+        main.removeCallbacksAndMessages(null);
+        super.onDestroy();
+    }
+
+    private View buildLayout() {
+        FrameLayout root = new FrameLayout(this);
+        root.setBackgroundColor(Color.BLACK);
+
+        previewView = new PreviewView(this);
+        root.addView(previewView, new FrameLayout.LayoutParams(
+            FrameLayout.LayoutParams.MATCH_PARENT, FrameLayout.LayoutParams.MATCH_PARENT));
+
+        statusView = new TextView(this);
+        statusView.setTextColor(Color.WHITE);
+        statusView.setTextSize(16);
+        statusView.setPadding(32, 24, 32, 24);
+        statusView.setBackgroundColor(0x99000000);
+        statusView.setText("QR 코드를 화면 중앙에 대주세요");
+        FrameLayout.LayoutParams statusParams = new FrameLayout.LayoutParams(
+            FrameLayout.LayoutParams.MATCH_PARENT, FrameLayout.LayoutParams.WRAP_CONTENT, Gravity.TOP);
+        root.addView(statusView, statusParams);
+
+        TextView close = new TextView(this);
+        close.setText("닫기");
+        close.setTextColor(Color.WHITE);
+        close.setTextSize(16);
+        close.setPadding(32, 24, 32, 24);
+        close.setOnClickListener(v -> finish());
+        root.addView(close, new FrameLayout.LayoutParams(
+            FrameLayout.LayoutParams.WRAP_CONTENT, FrameLayout.LayoutParams.WRAP_CONTENT, Gravity.TOP | Gravity.END));
+
+        resultView = new TextView(this);
+        resultView.setTextColor(Color.WHITE);
+        resultView.setTextSize(28);
+        resultView.setGravity(Gravity.CENTER);
+        resultView.setPadding(48, 48, 48, 48);
+        resultView.setVisibility(View.GONE);
+        root.addView(resultView, new FrameLayout.LayoutParams(
+            FrameLayout.LayoutParams.MATCH_PARENT, FrameLayout.LayoutParams.WRAP_CONTENT, Gravity.BOTTOM));
+        return root;
+    }
+
+    private void startCamera() {
+        ListenableFuture<ProcessCameraProvider> future = ProcessCameraProvider.getInstance(this);
+        future.addListener(() -> {
+            try {
+                cameraProvider = future.get();
+            } catch (Exception e) {
+                Log.e(TAG, "camera provider failed: " + e.getMessage());
+                statusView.setText("카메라를 사용할 수 없습니다.");
+                return;
+            }
+            Preview preview = new Preview.Builder().build();
+            preview.setSurfaceProvider(previewView.getSurfaceProvider());
+            analysis = new ImageAnalysis.Builder()
+                .setTargetResolution(ANALYSIS_SIZE)
+                .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
+                .build();
+            analysis.setAnalyzer(analysisExecutor, this::analyze);
+            CameraSelector selector = frontCamera ? CameraSelector.DEFAULT_FRONT_CAMERA : CameraSelector.DEFAULT_BACK_CAMERA;
+            try {
+                cameraProvider.unbindAll();
+                cameraProvider.bindToLifecycle(this, selector, preview, analysis);
+            } catch (Exception e) {
+                Log.e(TAG, "camera bind failed: " + e.getMessage());
+                statusView.setText("카메라를 사용할 수 없습니다.");
+            }
+        }, getMainExecutor());
+    }
+
+    /**
+     * 분석 스레드. 프레임은 ML Kit 결과가 나온 뒤 닫아야 다음 프레임이 들어옴 (그동안 온 프레임은 버려짐).
+     * 결과 콜백은 ML Kit 스레드에서 바로 실행 — onDestroy에서 분석 executor를 종료해도 프레임이 항상 닫히도록.
+     */
+    @OptIn(markerClass = ExperimentalGetImage.class)
+    private void analyze(ImageProxy imageProxy) {
+        if (imageProxy.getImage() == null) {
+            imageProxy.close();
+            return;
+        }
+        long start = System.nanoTime();
+        InputImage image = InputImage.fromMediaImage(imageProxy.getImage(), imageProxy.getImageInfo().getRotationDegrees());
+        scanner.process(image).addOnCompleteListener(Runnable::run, task -> {
+            if (destroyed) {
+                imageProxy.close();
+                return;
+            }
+            List<Barcode> barcodes = task.isSuccessful() ? task.getResult() : null;
+            String value = null;
+            if (barcodes != null) {
+                for (Barcode barcode : barcodes) {
+                    if (barcode.getRawValue() != null) {
+                        value = barcode.getRawValue();
+                        break;
+                    }
+                }
+            }
+            queue.metrics().onFrameDecoded(System.nanoTime() - start, value != null);
+            imageProxy.close();
+            if (value == null) return;
+            if (deduper.accept(value, SystemClock.elapsedRealtime())) {
+                queue.enqueue(value, academyId);
+                main.post(() -> statusView.setText("확인 중…"));
+            } else {
+                queue.metrics().onDuplicate();
+            }
+        });
+    }
+
+    /** 큐 스레드에서 호출. */
+    @Override
+    public void onCheckinResult(JSObject result) {
+        String status = result.getString("status", "error");
+        String text;
+        int color;
+        if ("success".equals(status)) {
+            text = "출석 완료!\n" + result.getString("userName", "") + "\n" + result.getString("className", "");
+            color = 0xE622C55E;
+        } else if ("already".equals(status)) {
+            text = "이미 출석 처리된 예약입니다.";
+            color = 0xE6EAB308;
+        } else {
+            text = result.getString("error", "출석 처리에 실패했습니다.");
+            color = 0xE6EF4444;
+        }
+        main.post(() -> showResult(text.trim(), color));
+    }
+
+    @Override
+    public void onAuthRequired() {
+        main.post(() -> statusView.setText("로그인이 만료되었습니다. 스캔은 저장되며 다시 로그인하면 전송됩니다."));
+    }
+
+    private void showResult(String text, int color) {
+        statusView.setText("QR 코드를 화면 중앙에 대주세요");
+        resultView.setText(text);
+        resultView.setBackgroundColor(color);
+        resultView.setVisibility(View.VISIBLE);
+        main.removeCallbacksAndMessages(resultView);
+        main.postAtTime(() -> resultView.setVisibility(View.GONE), resultView,
+            SystemClock.uptimeMillis() + RESULT_SHOW_MS);
+    }
+}
@@ -0,0 +1,100 @@
+package com.moveit.app;
+
+import android.content.Intent;
+import android.os.SystemClock;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * 웹(QR 출석 리더 화면) ↔ 네이티브 QR 스캐너 브리지.
+ * - start({ academyId, accessToken?, facing? }): {@link QrScannerActivity} 실행
+ * - stop(), updateAuth({ accessToken }), getMetrics()
+ * - setUser({ userId? }): 로그인 계정 변경 시. 다른 계정이 스캔한 대기 체크인을 버림
+ * - 이벤트: checkin(체크인 결과, expired는 리더 화면이 닫혀 있어도 다음에 열 때 전달),
+ *   authRequired(401로 큐 정지), scannerClosed(스캐너 닫힘 + 세션 지표)
+ */
+@CapacitorPlugin(name = "MoveitQrScanner")
+public class QrScannerPlugin extends Plugin implements QrCheckinQueue.Listener {
+
+    private QrCheckinQueue queue;
+    private boolean scannerOpen;
+
+    @Override
+    public void load() {
+        queue = QrCheckinQueue.get(getContext());
+        queue.addListener(this);
+    }
+
+    @PluginMethod
+    public void start(PluginCall call) {
+        String academyId = call.getString("academyId");
+        if (academyId == null || academyId.isEmpty()) {
+            call.reject("academyId is required");
+            return;
+        }
+        queue.configure(getBridge().getServerUrl(), call.getString("accessToken"));
+        boolean front = !"environment".equals(call.getString("facing", "user"));
+        getActivity().startActivity(QrScannerActivity.intent(getContext(), academyId, front));
+        scannerOpen = true;
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void stop(PluginCall call) {
+        if (scannerOpen) {
+            getActivity().startActivity(new Intent(getContext(), QrScannerActivity.class)
+                .addFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP)
+                .putExtra(QrScannerActivity.EXTRA_STOP, true));
+        }
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void updateAuth(PluginCall call) {
+        queue.updateAuth(call.getString("accessToken"));
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void setUser(PluginCall call) {
+        queue.setUser(call.getString("userId"));
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getMetrics(PluginCall call) {
+        call.resolve(metrics());
+    }
+
+    /** 스캐너가 닫혀 MainActivity로 돌아오면 웹에 알림. */
+    @Override
+    protected void handleOnResume() {
+        super.handleOnResume();
+        if (!scannerOpen) return;
+        scannerOpen = false;
+        notifyListeners("scannerClosed", metrics());
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        if (queue != null) queue.removeListener(this);
+        super.handleOnDestroy();
+    }
+
+    @Override
+    public void onCheckinResult(JSObject result) {
+        notifyListeners("checkin", result, "expired".equals(result.getString("status")));
+    }
+
+    @Override
+    public void onAuthRequired() {
+        notifyListeners("authRequired", new JSObject());
+    }
+
+    private JSObject metrics() {
+        return queue.metrics().toJSObject(SystemClock.elapsedRealtime(), queue.pendingCount());
+    }
+}
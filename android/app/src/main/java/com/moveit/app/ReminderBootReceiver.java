@@ -0,0 +1,22 @@
+package com.moveit.app;
+
+import android.app.AlarmManager;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+/**
+ * 재부팅·앱 업데이트로 지워진 알람, 정확한 알람 권한 허용 후 창(window) 알람을 {@link ReminderScheduler}로 다시 걸기.
+ */
+public class ReminderBootReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String action = intent.getAction();
+        if (!Intent.ACTION_BOOT_COMPLETED.equals(action)
+            && !Intent.ACTION_MY_PACKAGE_REPLACED.equals(action)
+            && !AlarmManager.ACTION_SCHEDULE_EXACT_ALARM_PERMISSION_STATE_CHANGED.equals(action)) return;
+        PendingResult result = goAsync();
+        ReminderScheduler.get(context).rearm(result::finish);
+    }
+}
@@ -0,0 +1,154 @@
+package com.moveit.app;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 로컬 알림 예약({@link ReminderScheduler}) 비교 규칙. Android 의존성 없음.
+ * 웹이 scope(class·ticket) 단위로 원하는 알림 목록 전체를 넘기면, 이미 예약된 것과 비교해
+ * 새로 걸거나 바뀐 것(arm)과 사라진 것(cancel)만 골라 AlarmManager 호출을 최소화.
+ * - 이미 시각이 지난 항목은 새로 걸지 않음 (앱을 늦게 연 경우 지난 알림을 한꺼번에 띄우지 않도록)
+ * - scope당 가까운 순으로 MAX_PER_SCOPE개까지만 (AlarmManager 앱당 한도 500)
+ * - 학원이 끈 알림 종류(academy_notification_settings)는 걸지 않음. 서버 푸시의 sendNotification과 같은 규칙
+ */
+final class ReminderPlan {
+
+    static final int MAX_PER_SCOPE = 50;
+
+    static final class Reminder {
+        /** 알림 고유 id (예: class:{bookingId}, ticket:{userTicketId}:7) */
+        final String id;
+        final String scope;
+        /** 취소 푸시로 한꺼번에 지울 단위 (수업 알림은 booking_id) */
+        final String group;
+        /** 학원 id (학원별 알림 설정 적용, 없으면 null) */
+        final String academy;
+        final long fireAt;
+        /** 이 시각이 지나면 재부팅 후에도 띄우지 않음 (수업 시작 시각 등) */
+        final long expiresAt;
+        final String title;
+        final String body;
+        final String type;
+        final String path;
+
+        Reminder(String id, String scope, String group, String academy, long fireAt, long expiresAt,
+                 String title, String body, String type, String path) {
+            this.id = id;
+            this.scope = scope;
+            this.group = group;
+            this.academy = academy;
+            this.fireAt = fireAt;
+            this.expiresAt = expiresAt;
+            this.title = title;
+            this.body = body;
+            this.type = type;
+            this.path = path;
+        }
+
+        /** 알람을 다시 걸 필요 없이 같은 알림인지 */
+        boolean sameAs(Reminder o) {
+            return o != null && fireAt == o.fireAt && expiresAt == o.expiresAt
+                && Objects.equals(scope, o.scope) && Objects.equals(group, o.group)
+                && Objects.equals(academy, o.academy)
+                && Objects.equals(title, o.title) && Objects.equals(body, o.body)
+                && Objects.equals(type, o.type) && Objects.equals(path, o.path);
+        }
+    }
+
+    static final class Diff {
+        /** 새로 걸거나 내용이 바뀐 알림 (같은 id의 PendingIntent라 그대로 덮어씀) */
+        final List<Reminder> arm = new ArrayList<>();
+        /** 알람을 해제할 id */
+        final List<String> cancel = new ArrayList<>();
+        int unchanged;
+        /** 지난 시각·개수 초과·학원 설정으로 버린 항목 수 */
+        int skipped;
+    }
+
+    private ReminderPlan() {}
+
+    static Diff diff(Collection<Reminder> scheduled, String scope, Collection<Reminder> desired, long now) {
+        return diff(scheduled, scope, desired, Collections.emptyMap(), now);
+    }
+
+    /**
+     * @param scheduled   현재 예약된 전체 알림 (다른 scope 포함, 다른 scope는 건드리지 않음)
+     * @param desired     scope의 원하는 알림 전체
+     * @param disabledByAcademy 학원 id → 학원이 끈 알림 종류 (academy_notification_settings에서 false인 키)
+     */
+    static Diff diff(Collection<Reminder> scheduled, String scope, Collection<Reminder> desired,
+                     Map<String, Set<String>> disabledByAcademy, long now) {
+        Diff diff = new Diff();
+        List<Reminder> wanted = new ArrayList<>();
+        for (Reminder r : desired) {
+            if (r.fireAt <= now || r.expiresAt < r.fireAt || disabledByAcademy(r, disabledByAcademy)) {
+                diff.skipped++;
+                continue;
+            }
+            wanted.add(r);
+        }
+        Collections.sort(wanted, Comparator.comparingLong(r -> r.fireAt));
+        Map<String, Reminder> keep = new LinkedHashMap<>();
+        for (Reminder r : wanted) {
+            if (keep.containsKey(r.id)) {
+                diff.skipped++;
+            } else if (keep.size() >= MAX_PER_SCOPE) {
+                diff.skipped++;
+            } else {
+                keep.put(r.id, new Reminder(r.id, scope, r.group, r.academy, r.fireAt, r.expiresAt, r.title, r.body, r.type, r.path));
+            }
+        }
+
+        Map<String, Reminder> current = new LinkedHashMap<>();
+        for (Reminder r : scheduled) {
+            if (scope.equals(r.scope)) current.put(r.id, r);
+        }
+        for (String id : current.keySet()) {
+            if (!keep.containsKey(id)) diff.cancel.add(id);
+        }
+        for (Reminder r : keep.values()) {
+            if (r.sameAs(current.get(r.id))) diff.unchanged++;
+            else diff.arm.add(r);
+        }
+        return diff;
+    }
+
+    /** 학원 설정에서 이 알림 종류(type)를 껐는지. 설정 행이 없거나 키가 없으면 허용 */
+    static boolean disabledByAcademy(Reminder r, Map<String, Set<String>> disabledByAcademy) {
+        if (r.academy == null || r.type == null) return false;
+        Set<String> disabled = disabledByAcademy.get(r.academy);
+        return disabled != null && disabled.contains(r.type);
+    }
+
+    /** 시각이 지났지만 아직 유효한 알림 (재부팅·앱 업데이트 중 놓친 알림) */
+    static boolean isMissed(Reminder r, long now) {
+        return r.fireAt <= now && now < r.expiresAt;
+    }
+
+    static boolean isExpired(Reminder r, long now) {
+        return now >= r.expiresAt;
+    }
+
+    /**
+     * 취소 푸시면 대상 booking_id, 아니면 null.
+     * 휴강(class_cancelled, reason=CLASS_CANCELED)·예약 취소(booking_cancelled) 모두 data.booking_id를 실어 보냄.
+     */
+    static String cancelledBooking(Map<String, String> data) {
+        if (data == null) return null;
+        String bookingId = data.get("booking_id");
+        if (bookingId == null || bookingId.isEmpty()) return null;
+        return mentionsCancel(data.get("type")) || mentionsCancel(data.get("reason")) ? bookingId : null;
+    }
+
+    private static boolean mentionsCancel(String value) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains("cancel");
+    }
+}
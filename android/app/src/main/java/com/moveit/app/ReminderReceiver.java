@@ -0,0 +1,20 @@
+package com.moveit.app;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+/** {@link ReminderScheduler}가 건 알람 발화 (앱 내부 PendingIntent 전용, exported=false). */
+public class ReminderReceiver extends BroadcastReceiver {
+
+    static final String ACTION_FIRE = "com.moveit.app.REMINDER_FIRE";
+    static final String EXTRA_ID = "moveit.reminderId";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String id = intent.getStringExtra(EXTRA_ID);
+        if (!ACTION_FIRE.equals(intent.getAction()) || id == null) return;
+        PendingResult result = goAsync();
+        ReminderScheduler.get(context).fire(id, result::finish);
+    }
+}
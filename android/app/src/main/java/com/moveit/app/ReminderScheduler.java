@@ -0,0 +1,292 @@
+package com.moveit.app;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 수업·수강권 만료 알림을 기기에서 예약 (서버 cron이 시각마다 FCM을 보내는 대신).
+ * 웹(components/common/native-reminder-sync.tsx)이 다가오는 예약·수강권으로 만든 목록을 scope 단위로 넘기면
+ * {@link ReminderPlan}으로 바뀐 것만 AlarmManager에 반영. 서버 푸시는 휴강·예약 취소 같은 변경에만 필요.
+ * - 저장: noBackupFilesDir/reminders.json (단일 IO 스레드, tmp 파일 → rename)
+ * - 알람: 정확한 알람 권한이 있으면 setExactAndAllowWhileIdle, 없으면 fireAt에 끝나는 WINDOW_MS 창(setWindow)
+ * - 재부팅·앱 업데이트({@link ReminderBootReceiver}): 알람이 지워지므로 다시 걸고, 그사이 놓친 유효 알림은 바로 표시
+ * - 발화({@link ReminderReceiver}): 기록에서 지우고 MoveitMessagingService와 같은 탭 인텐트로 알림 표시
+ * - 취소 푸시(data.booking_id): 해당 예약 알림만 해제 (웹 동기화 전이라도 휴강 수업 알림이 울리지 않게)
+ */
+final class ReminderScheduler {
+
+    static final String TAG = "MoveitReminder";
+    /** 정확한 알람을 쓸 수 없을 때 fireAt 앞으로 허용하는 창 */
+    static final long WINDOW_MS = 10 * 60_000;
+    private static final String URI_SCHEME = "moveit-reminder";
+
+    private static ReminderScheduler instance;
+
+    private final Context context;
+    private final File file;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, "moveit-reminders"));
+
+    // io 스레드 전용
+    private Map<String, ReminderPlan.Reminder> reminders;
+
+    static synchronized ReminderScheduler get(Context context) {
+        if (instance == null) instance = new ReminderScheduler(context.getApplicationContext());
+        return instance;
+    }
+
+    private ReminderScheduler(Context context) {
+        this.context = context;
+        this.file = new File(context.getNoBackupFilesDir(), "reminders.json");
+    }
+
+    /** scope의 알림 목록 전체로 교체. disabledByAcademy: 학원 id → 학원이 끈 알림 종류. done은 io 스레드에서 호출. */
+    void sync(String scope, List<ReminderPlan.Reminder> desired, Map<String, Set<String>> disabledByAcademy,
+              Consumer<ReminderPlan.Diff> done) {
+        io.execute(() -> {
+            load();
+            ReminderPlan.Diff diff = ReminderPlan.diff(reminders.values(), scope, desired, disabledByAcademy,
+                System.currentTimeMillis());
+            for (String id : diff.cancel) {
+                cancelAlarm(id);
+                reminders.remove(id);
+            }
+            for (ReminderPlan.Reminder r : diff.arm) {
+                arm(r);
+                reminders.put(r.id, r);
+            }
+            if (!diff.cancel.isEmpty() || !diff.arm.isEmpty()) save();
+            Log.d(TAG, "sync " + scope + " +" + diff.arm.size() + " -" + diff.cancel.size() + " =" + diff.unchanged);
+            done.accept(diff);
+        });
+    }
+
+    /** 취소 푸시 수신 시 (FCM 스레드에서 호출). */
+    void cancelGroup(String group) {
+        io.execute(() -> {
+            load();
+            boolean changed = false;
+            for (Iterator<ReminderPlan.Reminder> it = reminders.values().iterator(); it.hasNext(); ) {
+                ReminderPlan.Reminder r = it.next();
+                if (!group.equals(r.group)) continue;
+                cancelAlarm(r.id);
+                it.remove();
+                changed = true;
+            }
+            if (changed) {
+                save();
+                Log.d(TAG, "cancelled group " + group);
+            }
+        });
+    }
+
+    /** 로그아웃 등. */
+    void cancelAll(Runnable done) {
+        io.execute(() -> {
+            load();
+            for (String id : reminders.keySet()) cancelAlarm(id);
+            reminders.clear();
+            file.delete();
+            done.run();
+        });
+    }
+
+    /** 재부팅·앱 업데이트·정확한 알람 권한 변경 후. 지난 알림은 표시하거나 버리고 나머지는 다시 걸기. */
+    void rearm(Runnable done) {
+        io.execute(() -> {
+            load();
+            long now = System.currentTimeMillis();
+            int shown = 0;
+            for (Iterator<ReminderPlan.Reminder> it = reminders.values().iterator(); it.hasNext(); ) {
+                ReminderPlan.Reminder r = it.next();
+                if (ReminderPlan.isExpired(r, now)) {
+                    it.remove();
+                } else if (ReminderPlan.isMissed(r, now)) {
+                    show(r);
+                    it.remove();
+                    shown++;
+                } else {
+                    arm(r);
+                }
+            }
+            save();
+            Log.d(TAG, "rearmed " + reminders.size() + ", missed shown " + shown);
+            done.run();
+        });
+    }
+
+    /** 알람 발화. */
+    void fire(String id, Runnable done) {
+        io.execute(() -> {
+            load();
+            ReminderPlan.Reminder r = reminders.remove(id);
+            if (r != null) {
+                save();
+                if (!ReminderPlan.isExpired(r, System.currentTimeMillis())) show(r);
+            }
+            done.run();
+        });
+    }
+
+    void scheduled(Consumer<Collection<ReminderPlan.Reminder>> done) {
+        io.execute(() -> {
+            load();
+            done.accept(new ArrayList<>(reminders.values()));
+        });
+    }
+
+    boolean canScheduleExact() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.S) return true;
+        AlarmManager am = context.getSystemService(AlarmManager.class);
+        return am != null && am.canScheduleExactAlarms();
+    }
+
+    private void arm(ReminderPlan.Reminder r) {
+        AlarmManager am = context.getSystemService(AlarmManager.class);
+        if (am == null) return;
+        PendingIntent pi = alarmIntent(r.id, PendingIntent.FLAG_UPDATE_CURRENT);
+        try {
+            if (canScheduleExact()) {
+                am.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, r.fireAt, pi);
+            } else {
+                am.setWindow(AlarmManager.RTC_WAKEUP, r.fireAt - WINDOW_MS, WINDOW_MS, pi);
+            }
+        } catch (SecurityException e) {
+            // 확인 직후 권한이 회수된 경우
+            am.setWindow(AlarmManager.RTC_WAKEUP, r.fireAt - WINDOW_MS, WINDOW_MS, pi);
+        }
+    }
+
+    private void cancelAlarm(String id) {
+        PendingIntent pi = alarmIntent(id, PendingIntent.FLAG_NO_CREATE);
+        if (pi == null) return;
+        AlarmManager am = context.getSystemService(AlarmManager.class);
+        if (am != null) am.cancel(pi);
+        pi.cancel();
+    }
+
+    /** id를 data URI로 넣어 requestCode(hashCode)가 겹쳐도 서로 다른 PendingIntent가 되게 함. */
+    private PendingIntent alarmIntent(String id, int flags) {
+        Intent intent = new Intent(context, ReminderReceiver.class)
+            .setAction(ReminderReceiver.ACTION_FIRE)
+            .setData(new Uri.Builder().scheme(URI_SCHEME).opaquePart(id).build())
+            .putExtra(ReminderReceiver.EXTRA_ID, id);
+        return PendingIntent.getBroadcast(context, id.hashCode(), intent, flags | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    private void show(ReminderPlan.Reminder r) {
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        if (!manager.areNotificationsEnabled()) return;
+        Map<String, String> data = new HashMap<>();
+        if (r.type != null) data.put("type", r.type);
+        if (r.path != null) data.put("path", r.path);
+        String messageId = "reminder-" + r.id;
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, MoveitApplication.NOTIFICATION_CHANNEL_ID)
+            .setSmallIcon(context.getApplicationInfo().icon)
+            .setContentTitle(r.title)
+            .setContentText(r.body)
+            .setStyle(new NotificationCompat.BigTextStyle().bigText(r.body))
+            .setAutoCancel(true)
+            .setPriority(NotificationCompat.PRIORITY_HIGH)
+            .setWhen(r.fireAt)
+            .setContentIntent(MoveitMessagingService.tapIntent(context, messageId, data, messageId.hashCode()));
+        if (r.type != null) builder.setGroup(r.type);
+        try {
+            manager.notify(messageId.hashCode(), builder.build());
+        } catch (SecurityException e) {
+            // POST_NOTIFICATIONS 회수
+            Log.w(TAG, "notify denied: " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (reminders != null) return;
+        reminders = new LinkedHashMap<>();
+        if (!file.exists()) return;
+        try {
+            JSONArray list = new JSONObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8))
+                .optJSONArray("reminders");
+            if (list == null) return;
+            for (int i = 0; i < list.length(); i++) {
+                JSONObject o = list.optJSONObject(i);
+                if (o == null || !o.has("id")) continue;
+                ReminderPlan.Reminder r = fromJson(o, o.optString("scope"));
+                reminders.put(r.id, r);
+            }
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "reminders unreadable: " + e.getMessage());
+        }
+    }
+
+    /** tmp 파일에 쓴 뒤 rename. io 스레드 전용. */
+    private void save() {
+        JSONArray list = new JSONArray();
+        for (ReminderPlan.Reminder r : reminders.values()) list.put(toJson(r));
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(new JSONObject().put("reminders", list).toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "reminders save failed: " + e.getMessage());
+            return;
+        }
+        if (!tmp.renameTo(file)) tmp.delete();
+    }
+
+    static ReminderPlan.Reminder fromJson(JSONObject o, String scope) {
+        return new ReminderPlan.Reminder(
+            o.optString("id"),
+            scope,
+            o.optString("group", null),
+            o.optString("academy", null),
+            o.optLong("fireAt"),
+            o.optLong("expiresAt"),
+            o.optString("title", ""),
+            o.optString("body", ""),
+            o.optString("type", null),
+            o.optString("path", null));
+    }
+
+    static JSONObject toJson(ReminderPlan.Reminder r) {
+        JSONObject o = new JSONObject();
+        try {
+            o.put("id", r.id)
+                .put("scope", r.scope)
+                .put("group", r.group)
+                .put("academy", r.academy)
+                .put("fireAt", r.fireAt)
+                .put("expiresAt", r.expiresAt)
+                .put("title", r.title)
+                .put("body", r.body)
+                .put("type", r.type)
+                .put("path", r.path);
+        } catch (JSONException ignored) {
+            // 문자열·숫자 값만 넣으므로 발생하지 않음
+        }
+        return o;
+    }
+}
@@ -0,0 +1,90 @@
+package com.moveit.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.json.JSONObject;
+
+/**
+ * 기기 로컬 알림 예약({@link ReminderScheduler}). 웹: lib/capacitor/reminders.ts
+ * - sync({ scope, reminders: [{ id, group?, academy?, fireAt, expiresAt, title, body, type?, path? }],
+ *   academySettings?: { [academyId]: { [type]: boolean } } }):
+ *   scope의 목록 전체를 넘기면 바뀐 것만 반영 → { armed, cancelled, unchanged, skipped, exact }.
+ *   academySettings에서 false인 종류는 그 학원 알림을 걸지 않음
+ * - cancelAll(): 로그아웃 시
+ * - getScheduled(): { reminders, exact }
+ */
+@CapacitorPlugin(name = "MoveitReminders")
+public class ReminderSchedulerPlugin extends Plugin {
+
+    @PluginMethod
+    public void sync(PluginCall call) {
+        String scope = call.getString("scope");
+        JSArray list = call.getArray("reminders");
+        if (scope == null || scope.isEmpty() || list == null) {
+            call.reject("scope and reminders are required");
+            return;
+        }
+        List<ReminderPlan.Reminder> desired = new ArrayList<>();
+        for (int i = 0; i < list.length(); i++) {
+            JSONObject o = list.optJSONObject(i);
+            if (o == null || o.optString("id").isEmpty() || !o.has("fireAt")) continue;
+            desired.add(ReminderScheduler.fromJson(o, scope));
+        }
+        ReminderScheduler scheduler = ReminderScheduler.get(getContext());
+        scheduler.sync(scope, desired, disabledByAcademy(call.getObject("academySettings")), diff -> {
+            JSObject ret = new JSObject();
+            ret.put("armed", diff.arm.size());
+            ret.put("cancelled", diff.cancel.size());
+            ret.put("unchanged", diff.unchanged);
+            ret.put("skipped", diff.skipped);
+            ret.put("exact", scheduler.canScheduleExact());
+            call.resolve(ret);
+        });
+    }
+
+    private static Map<String, Set<String>> disabledByAcademy(JSObject settings) {
+        Map<String, Set<String>> out = new HashMap<>();
+        if (settings == null) return out;
+        for (Iterator<String> academies = settings.keys(); academies.hasNext(); ) {
+            String academy = academies.next();
+            JSONObject keys = settings.optJSONObject(academy);
+            if (keys == null) continue;
+            Set<String> disabled = new HashSet<>();
+            for (Iterator<String> it = keys.keys(); it.hasNext(); ) {
+                String key = it.next();
+                if (Boolean.FALSE.equals(keys.opt(key))) disabled.add(key);
+            }
+            if (!disabled.isEmpty()) out.put(academy, disabled);
+        }
+        return out;
+    }
+
+    @PluginMethod
+    public void cancelAll(PluginCall call) {
+        ReminderScheduler.get(getContext()).cancelAll(call::resolve);
+    }
+
+    @PluginMethod
+    public void getScheduled(PluginCall call) {
+        ReminderScheduler scheduler = ReminderScheduler.get(getContext());
+        scheduler.scheduled(reminders -> {
+            JSArray list = new JSArray();
+            for (ReminderPlan.Reminder r : reminders) list.put(ReminderScheduler.toJson(r));
+            JSObject ret = new JSObject();
+            ret.put("reminders", list);
+            ret.put("exact", scheduler.canScheduleExact());
+            call.resolve(ret);
+        });
+    }
+}
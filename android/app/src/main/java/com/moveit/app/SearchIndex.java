@@ -0,0 +1,374 @@
+package com.moveit.app;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 학원·클래스·강사 기기 내 검색 색인 (읽기 전용 스냅샷). Android 의존성 없음 ({@link OfflineSearch}가 동기화 후 다시 만듦).
+ * - 역색인: 정렬된 용어 사전 + 용어별 문서 번호 목록. 접두 검색은 사전 이진 탐색 한 번으로 범위를 찾음
+ * - 용어: 단어(자모 키), 접미(합성어 가운데 단어), 초성 ({@link SearchText}). 이름(title·alt)에서 나온 용어는 가중치를 더 줌
+ * - 여러 단어 검색어는 모든 단어가 맞는 문서만 (AND). 단어가 하나도 안 맞으면 그 단어만 접두 편집 거리로 다시 찾음
+ * 스냅샷이라 검색은 잠금 없이 여러 스레드에서 동시에 가능.
+ */
+public final class SearchIndex {
+
+    static final char TYPE_ACADEMY = 'a';
+    static final char TYPE_CLASS = 'c';
+    static final char TYPE_INSTRUCTOR = 'i';
+
+    /** 용어 공간 구분 (단어 용어는 접두 문자 없음) */
+    private static final char SPACE_CHOSEONG = '\u0001';
+    private static final char SPACE_SUFFIX = '\u0002';
+
+    static final int SCORE_EXACT = 100;
+    static final int SCORE_PREFIX = 60;
+    static final int SCORE_CHOSEONG = 50;
+    static final int SCORE_SUFFIX = 40;
+    static final int SCORE_FUZZY = 20;
+    static final int TITLE_BONUS = 30;
+    /** 짧은 접두어("ㅅ")가 사전 전체를 훑지 않도록 단어당 펼칠 용어 수 상한 */
+    static final int MAX_EXPANSIONS = 512;
+    static final int MAX_FUZZY_SCAN = 20_000;
+    static final int MAX_QUERY_WORDS = 4;
+
+    /** 카탈로그 항목 하나 (서버 app/api/search/catalog의 [id, title, alt, keywords, ref, img]). */
+    public static final class Doc {
+        final char type;
+        final String id;
+        final String title;
+        final String alt;
+        final String keywords;
+        /** 이동 대상 (학원 slug·id, 클래스의 학원 id, 강사 id) */
+        final String ref;
+        final String img;
+
+        public Doc(char type, String id, String title, String alt, String keywords, String ref, String img) {
+            this.type = type;
+            this.id = id;
+            this.title = title != null ? title : "";
+            this.alt = alt;
+            this.keywords = keywords;
+            this.ref = ref;
+            this.img = img;
+        }
+
+        /** 저장용 한 줄 (탭 구분, 값의 탭·줄바꿈은 공백으로) */
+        String toLine() {
+            return type + "\t" + clean(id) + "\t" + clean(title) + "\t" + clean(alt) + "\t" + clean(keywords)
+                + "\t" + clean(ref) + "\t" + clean(img);
+        }
+
+        /** 형식이 맞지 않으면 null */
+        static Doc fromLine(String line) {
+            String[] f = line.split("\t", -1);
+            if (f.length != 7 || f[0].length() != 1 || f[1].isEmpty()) return null;
+            return new Doc(f[0].charAt(0), f[1], f[2], empty(f[3]), empty(f[4]), empty(f[5]), empty(f[6]));
+        }
+
+        private static String clean(String s) {
+            return s == null ? "" : s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        }
+
+        private static String empty(String s) {
+            return s.isEmpty() ? null : s;
+        }
+    }
+
+    public static final class Hit {
+        final Doc doc;
+        final int score;
+
+        Hit(Doc doc, int score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    private final Doc[] docs;
+    private final String[] terms;
+    /** 용어별 (문서 번호 << 1 | 이름에서 나왔으면 1), 문서 번호 오름차순 */
+    private final int[][] postings;
+    private final ThreadLocal<Scratch> scratch = new ThreadLocal<>();
+
+    private SearchIndex(Doc[] docs, String[] terms, int[][] postings) {
+        this.docs = docs;
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    public static SearchIndex build(List<Doc> input) {
+        Doc[] docs = input.toArray(new Doc[0]);
+        Map<String, Integer> slot = new HashMap<>();
+        List<int[]> buffers = new ArrayList<>();
+        for (int d = 0; d < docs.length; d++) {
+            Doc doc = docs[d];
+            addField(doc.title, d, true, slot, buffers);
+            addField(doc.alt, d, true, slot, buffers);
+            addField(doc.keywords, d, false, slot, buffers);
+        }
+        String[] terms = slot.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] postings = new int[terms.length][];
+        for (int t = 0; t < terms.length; t++) {
+            int[] buf = buffers.get(slot.get(terms[t]));
+            postings[t] = Arrays.copyOfRange(buf, 1, buf[0] + 1);
+        }
+        return new SearchIndex(docs, terms, postings);
+    }
+
+    private static void addField(String text, int doc, boolean title, Map<String, Integer> slot, List<int[]> buffers) {
+        if (text == null) return;
+        for (String word : SearchText.words(text)) {
+            add(SearchText.key(word), doc, title, slot, buffers);
+            String cho = SearchText.choseong(word);
+            if (cho != null) add(SPACE_CHOSEONG + cho, doc, title, slot, buffers);
+            for (String suffix : SearchText.suffixes(word)) add(SPACE_SUFFIX + SearchText.key(suffix), doc, title, slot, buffers);
+        }
+    }
+
+    /** buffers의 각 배열: [0]=길이, 이후 값 (늘어나면 두 배로 새 배열) */
+    private static void add(String term, int doc, boolean title, Map<String, Integer> slot, List<int[]> buffers) {
+        int value = doc << 1 | (title ? 1 : 0);
+        Integer s = slot.get(term);
+        if (s == null) {
+            slot.put(term, buffers.size());
+            buffers.add(new int[] {1, value, 0, 0});
+            return;
+        }
+        int[] buf = buffers.get(s);
+        int last = buf[buf[0]];
+        if (last >>> 1 == doc) {
+            buf[buf[0]] = last | value;
+            return;
+        }
+        if (buf[0] + 1 >= buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+            buffers.set(s, buf);
+        }
+        buf[++buf[0]] = value;
+    }
+
+    public int size() {
+        return docs.length;
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * @param types 찾을 유형 (예: "ac"), null이면 전부
+     * @return 점수 높은 순 (같으면 이름이 짧은 순)
+     */
+    public List<Hit> query(String text, String types, int limit) {
+        List<Hit> out = new ArrayList<>();
+        List<String> words = SearchText.words(text);
+        if (words.isEmpty() || limit <= 0 || docs.length == 0) return out;
+        if (words.size() > MAX_QUERY_WORDS) words = words.subList(0, MAX_QUERY_WORDS);
+
+        Scratch scratch = scratch();
+        int[] total = scratch.total;
+        byte[] matched = scratch.matched;
+        int[] wordScore = scratch.wordScore;
+        IntList touched = scratch.touched;
+        IntList first = null;
+        IntList candidates = null;
+        try {
+            for (int w = 0; w < words.size(); w++) {
+                touched.clear();
+                collect(words.get(w), wordScore, touched);
+                // 첫 단어 결과는 되돌리기용으로 남기고, 이후 단어는 두 목록을 번갈아 씀
+                IntList next = w == 0 ? scratch.first : (w & 1) == 1 ? scratch.odd : scratch.even;
+                next.clear();
+                for (int i = 0; i < touched.size; i++) {
+                    int d = touched.items[i];
+                    if (matched[d] == w) {
+                        matched[d]++;
+                        total[d] += wordScore[d];
+                        next.add(d);
+                    }
+                    wordScore[d] = 0;
+                }
+                if (first == null) first = next;
+                candidates = next;
+                if (candidates.size == 0) return out;
+            }
+            return rank(candidates, total, types, limit, out);
+        } finally {
+            // 첫 단어에 맞은 문서만 값이 바뀌었으므로 그것만 되돌림
+            if (first != null) {
+                for (int i = 0; i < first.size; i++) {
+                    total[first.items[i]] = 0;
+                    matched[first.items[i]] = 0;
+                }
+            }
+        }
+    }
+
+    private List<Hit> rank(IntList candidates, int[] total, String types, int limit, List<Hit> out) {
+        TopK top = new TopK(limit);
+        for (int i = 0; i < candidates.size; i++) {
+            int d = candidates.items[i];
+            if (types != null && types.indexOf(docs[d].type) < 0) continue;
+            long rank = (long) total[d] * 1024 + (1023 - Math.min(docs[d].title.length(), 1023));
+            top.offer(rank << 32 | (0xFFFFFFFFL - d));
+        }
+        for (long packed : top.sortedDescending()) {
+            int d = (int) (0xFFFFFFFFL - (packed & 0xFFFFFFFFL));
+            out.add(new Hit(docs[d], (int) ((packed >>> 32) / 1024)));
+        }
+        return out;
+    }
+
+    /**
+     * 문서 수 크기의 작업 배열과 문서 번호 목록 (검색 스레드별로 재사용, 쓴 칸만 0으로 되돌려 둠).
+     * 흔한 단어("댄스")는 후보가 수만 건이라 목록을 매번 새로 키우면 검색마다 MB 단위로 할당됨.
+     */
+    private static final class Scratch {
+        final int[] total;
+        final byte[] matched;
+        final int[] wordScore;
+        final IntList touched = new IntList();
+        final IntList first = new IntList();
+        final IntList odd = new IntList();
+        final IntList even = new IntList();
+
+        Scratch(int size) {
+            total = new int[size];
+            matched = new byte[size];
+            wordScore = new int[size];
+        }
+    }
+
+    private Scratch scratch() {
+        Scratch s = scratch.get();
+        if (s == null) {
+            s = new Scratch(docs.length);
+            scratch.set(s);
+        }
+        return s;
+    }
+
+    /** 단어 하나에 맞는 문서의 최고 점수를 wordScore에, 처음 맞은 문서를 touched에. */
+    private void collect(String word, int[] wordScore, IntList touched) {
+        String key = SearchText.key(word);
+        scanPrefix(key, SCORE_EXACT, SCORE_PREFIX, wordScore, touched);
+        if (SearchText.hasHangul(word)) scanPrefix(SPACE_SUFFIX + key, SCORE_SUFFIX, SCORE_SUFFIX, wordScore, touched);
+        if (SearchText.isChoseongQuery(word)) scanPrefix(SPACE_CHOSEONG + word, SCORE_CHOSEONG, SCORE_CHOSEONG, wordScore, touched);
+        if (touched.size == 0 && key.length() >= 3) scanFuzzy(key, wordScore, touched);
+    }
+
+    private void scanPrefix(String prefix, int exactScore, int prefixScore, int[] wordScore, IntList touched) {
+        int t = lowerBound(prefix);
+        for (int n = 0; t < terms.length && n < MAX_EXPANSIONS && terms[t].startsWith(prefix); t++, n++) {
+            score(postings[t], terms[t].length() == prefix.length() ? exactScore : prefixScore, wordScore, touched);
+        }
+    }
+
+    /** 첫 글자가 같은 단어 용어 중 접두 편집 거리 1(자모 6자 이상이면 2) 이내 */
+    private void scanFuzzy(String key, int[] wordScore, IntList touched) {
+        int max = key.length() >= 6 ? 2 : 1;
+        String first = key.substring(0, 1);
+        int t = lowerBound(first);
+        for (int n = 0; t < terms.length && n < MAX_FUZZY_SCAN && terms[t].startsWith(first); t++, n++) {
+            if (terms[t].length() + max < key.length()) continue;
+            if (SearchText.prefixDistance(key, terms[t], max) <= max) score(postings[t], SCORE_FUZZY, wordScore, touched);
+        }
+    }
+
+    private static void score(int[] list, int base, int[] wordScore, IntList touched) {
+        for (int p : list) {
+            int d = p >>> 1;
+            int s = base + ((p & 1) != 0 ? TITLE_BONUS : 0);
+            if (wordScore[d] == 0) touched.add(d);
+            if (s > wordScore[d]) wordScore[d] = s;
+        }
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = terms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terms[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static final class IntList {
+        int[] items = new int[64];
+        int size;
+
+        void add(int v) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = v;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /** 상위 k개만 남기는 최소 힙 */
+    private static final class TopK {
+        private final long[] heap;
+        private int size;
+
+        TopK(int k) {
+            heap = new long[k];
+        }
+
+        void offer(long v) {
+            if (size < heap.length) {
+                heap[size] = v;
+                up(size++);
+            } else if (v > heap[0]) {
+                heap[0] = v;
+                down(0);
+            }
+        }
+
+        long[] sortedDescending() {
+            long[] out = Arrays.copyOf(heap, size);
+            Arrays.sort(out);
+            for (int i = 0, j = out.length - 1; i < j; i++, j--) {
+                long t = out[i];
+                out[i] = out[j];
+                out[j] = t;
+            }
+            return out;
+        }
+
+        private void up(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (heap[parent] <= heap[i]) return;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void down(int i) {
+            while (true) {
+                int l = 2 * i + 1;
+                int r = l + 1;
+                int min = i;
+                if (l < size && heap[l] < heap[min]) min = l;
+                if (r < size && heap[r] < heap[min]) min = r;
+                if (min == i) return;
+                swap(i, min);
+                i = min;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long t = heap[a];
+            heap[a] = heap[b];
+            heap[b] = t;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.moveit.app;
+
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * 학원·클래스·강사 기기 내 검색({@link OfflineSearch}). 웹: lib/capacitor/offline-search.ts
+ * - query({ q, types?: 'aci' 부분 문자열, limit? }): { ready, tookMs, hits: [{ type, id, title, alt, keywords, ref, img, score }] }
+ *   색인이 아직 없으면 만들기 시작하고 { ready: false, hits: [] }. 첫 동기화 전·빈 카탈로그도 ready: false
+ * - warmUp(): 색인 미리 만들기 (검색 화면 진입 시)
+ * - sync({ accessToken? }): 카탈로그 동기화를 바로 예약
+ * - setUser({ userId?, accessToken? }): 로그인 계정 변경 시. 계정별 카탈로그면 지우고 다시 동기화
+ * - getStatus(): { ready, docs, terms, buildMs, syncedAt, syncing, lastError }
+ */
+@CapacitorPlugin(name = "MoveitSearch")
+public class SearchPlugin extends Plugin {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    @PluginMethod
+    public void query(PluginCall call) {
+        String q = call.getString("q", "");
+        int limit = Math.max(1, Math.min(MAX_LIMIT, call.getInt("limit", DEFAULT_LIMIT)));
+        call.resolve(OfflineSearch.get(getContext()).query(q, call.getString("types"), limit));
+    }
+
+    @PluginMethod
+    public void warmUp(PluginCall call) {
+        OfflineSearch.get(getContext()).warmUp();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void sync(PluginCall call) {
+        OfflineSearch.get(getContext()).requestSync(call.getString("accessToken"));
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void setUser(PluginCall call) {
+        OfflineSearch.get(getContext()).setUser(call.getString("userId"), call.getString("accessToken"));
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getStatus(PluginCall call) {
+        call.resolve(OfflineSearch.get(getContext()).status());
+    }
+}
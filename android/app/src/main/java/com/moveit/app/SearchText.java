@@ -0,0 +1,165 @@
+package com.moveit.app;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색어·색인 문자열 정규화와 토큰. Android 의존성 없음 ({@link SearchIndex}가 사용).
+ * - 단어: NFC·전각 영숫자 반각·소문자로 바꾼 뒤 글자·숫자가 아닌 문자로 분리 (영문·한글·숫자 공통).
+ *   NFKC는 호환 자모(ㄱ)를 첫가끝 자모(ᄀ)로 바꿔 초성 검색이 깨지므로 쓰지 않음
+ * - 한글은 자모 열로 풀어 비교 (겹모음·겹받침도 낱자로). 입력 중인 "스틀"·"스트ㄹ"도 "스트릿"의 접두어가 됨
+ * - 초성: "ㅅㅌㄹ"처럼 자음만 친 검색어용
+ * - 접미: 띄어 쓰지 않은 합성어("스트릿댄스")의 가운데·뒤 단어("댄스")도 접두 검색되도록 두 음절 이상 접미를 따로 색인
+ */
+final class SearchText {
+
+    private static final char HANGUL_FIRST = '가';
+    private static final char HANGUL_LAST = '힣';
+    private static final String CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNG = {
+        "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ",
+    };
+    private static final String[] JONG = {
+        "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+        "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ",
+    };
+    /** 단독 겹자모 (검색어에 직접 친 ㅘ·ㄳ 등) → 낱자 */
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_SPLIT = {
+        "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+        "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ",
+    };
+
+    /** 접미 색인 최소 길이 (음절) */
+    static final int MIN_SUFFIX_SYLLABLES = 2;
+
+    private SearchText() {}
+
+    /** 정규화한 단어 목록 (원래 순서, 중복 포함). */
+    static List<String> words(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isEmpty()) return out;
+        String s = foldFullWidth(Normalizer.normalize(text, Normalizer.Form.NFC)).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= s.length(); i++) {
+            boolean word = i < s.length() && isWordChar(s.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                out.add(s.substring(start, i));
+                start = -1;
+            }
+        }
+        return out;
+    }
+
+    private static String foldFullWidth(String s) {
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '\uFF01' && c <= '\uFF5E') {
+                if (sb == null) sb = new StringBuilder(s);
+                sb.setCharAt(i, (char) (c - 0xFEE0));
+            }
+        }
+        return sb != null ? sb.toString() : s;
+    }
+
+    /** 비교용 키: 한글 음절·겹자모를 낱자 자모 열로, 나머지는 그대로. */
+    static String key(String word) {
+        StringBuilder sb = new StringBuilder(word.length() * 3);
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (isSyllable(c)) {
+                int idx = c - HANGUL_FIRST;
+                sb.append(CHO.charAt(idx / 588)).append(JUNG[(idx % 588) / 28]).append(JONG[idx % 28]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                if (compound >= 0) sb.append(COMPOUND_SPLIT[compound]);
+                else sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /** 한글 음절의 초성만 (음절이 하나도 없으면 null). */
+    static String choseong(String word) {
+        StringBuilder sb = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (isSyllable(c)) sb.append(CHO.charAt((c - HANGUL_FIRST) / 588));
+        }
+        return sb.length() == 0 ? null : sb.toString();
+    }
+
+    /** 두 음절 이상인 접미 (첫 글자부터 시작하는 것 제외). 한글 음절로만 된 단어만. */
+    static List<String> suffixes(String word) {
+        List<String> out = new ArrayList<>();
+        if (!isAllSyllables(word)) return out;
+        for (int i = 1; i + MIN_SUFFIX_SYLLABLES <= word.length(); i++) out.add(word.substring(i));
+        return out;
+    }
+
+    /** 자음 자모로만 된 검색어 (초성 검색) */
+    static boolean isChoseongQuery(String word) {
+        if (word.isEmpty()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (CHO.indexOf(word.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+
+    static boolean hasHangul(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (isSyllable(c) || (c >= 'ㄱ' && c <= 'ㆎ')) return true;
+        }
+        return false;
+    }
+
+    private static boolean isAllSyllables(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!isSyllable(word.charAt(i))) return false;
+        }
+        return !word.isEmpty();
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= HANGUL_FIRST && c <= HANGUL_LAST;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || (c >= 'ㄱ' && c <= 'ㆎ');
+    }
+
+    /**
+     * 접두 편집 거리: query와 term의 (길이 무관) 접두어 사이 최소 편집 거리. max를 넘으면 max + 1.
+     * 입력 중 오타("hiphpo" → "hiphop dance")를 찾는 용도.
+     */
+    static int prefixDistance(String query, String term, int max) {
+        int n = query.length();
+        int m = Math.min(term.length(), n + max);
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            char qc = query.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = qc == term.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (cur[j] < rowMin) rowMin = cur[j];
+            }
+            if (rowMin > max) return max + 1;
+            int[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+        int best = max + 1;
+        for (int j = Math.max(0, n - max); j <= m; j++) best = Math.min(best, prev[j]);
+        return best;
+    }
+}
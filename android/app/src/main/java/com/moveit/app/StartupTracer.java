@@ -0,0 +1,70 @@
+package com.moveit.app;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+/**
+ * 콜드/웜/핫 스타트 구간 측정.
+ * - COLD: 프로세스 시작부터 (Process.getStartUptimeMillis)
+ * - WARM: 프로세스는 살아 있고 Activity만 다시 생성된 경우 onCreate부터
+ * - HOT: Activity가 백그라운드에서 복귀(onRestart)한 경우부터
+ * 각 단계는 logcat(MoveitStartup)과 Trace 섹션(Perfetto/systrace)에 남김.
+ */
+final class StartupTracer {
+
+    static final String TAG = "MoveitStartup";
+
+    enum Kind { COLD, WARM, HOT }
+
+    private static Kind kind = Kind.COLD;
+    private static long startUptime = SystemClock.uptimeMillis();
+    private static boolean activityCreatedInProcess;
+    private static boolean firstPaintReported;
+
+    private StartupTracer() {}
+
+    static synchronized void onProcessStart() {
+        kind = Kind.COLD;
+        startUptime = Process.getStartUptimeMillis();
+        firstPaintReported = false;
+        mark("process.start");
+    }
+
+    static synchronized void onActivityCreate() {
+        if (activityCreatedInProcess) {
+            kind = Kind.WARM;
+            startUptime = SystemClock.uptimeMillis();
+            firstPaintReported = false;
+        }
+        activityCreatedInProcess = true;
+        mark("activity.create");
+    }
+
+    static synchronized void onActivityRestart() {
+        kind = Kind.HOT;
+        startUptime = SystemClock.uptimeMillis();
+        firstPaintReported = false;
+        mark("activity.restart");
+    }
+
+    /** 핫 스타트는 페이지 로드가 없으므로 onResume 이후 첫 프레임을 첫 페인트로 봄. */
+    static synchronized void onResumedFrame() {
+        if (kind == Kind.HOT) onFirstPaint();
+    }
+
+    /** 콜드/웜 스타트는 메인 WebView의 첫 onPageCommitVisible이 첫 페인트. */
+    static synchronized void onFirstPaint() {
+        if (firstPaintReported) return;
+        firstPaintReported = true;
+        mark("firstPaint");
+    }
+
+    static synchronized void mark(String stage) {
+        long elapsed = SystemClock.uptimeMillis() - startUptime;
+        Trace.beginSection("moveit:" + kind + ":" + stage);
+        Trace.endSection();
+        Log.d(TAG, kind + " " + stage + " +" + elapsed + "ms");
+    }
+}
@@ -0,0 +1,73 @@
+package com.moveit.app;
+
+import java.util.Locale;
+
+/**
+ * WebView 네비게이션 URL 분류. Android 의존성이 없어 JVM 단위 테스트·벤치마크에서 그대로 사용.
+ * 모든 네비게이션·리다이렉트마다 호출되므로 http/https 판별은 객체 할당 없이 regionMatches로만 처리.
+ */
+public final class UrlClassifier {
+
+    public enum Kind {
+        /** http/https → WebView가 그대로 로드 */
+        WEB,
+        /** intent: → Intent.parseUri 후 카드사 앱 실행 */
+        INTENT,
+        /** ispmobile:// 등 커스텀 스킴 → ACTION_VIEW로 앱 실행 */
+        APP_SCHEME,
+        /** about:, javascript:, data:, blob:, 스킴 없는 값 → WebView 기본 동작 */
+        PASSTHROUGH
+    }
+
+    private UrlClassifier() {}
+
+    public static Kind classify(String url) {
+        if (url == null) return Kind.PASSTHROUGH;
+        if (startsWithIgnoreCase(url, "https:") || startsWithIgnoreCase(url, "http:")) return Kind.WEB;
+        if (startsWithIgnoreCase(url, "intent:")) return Kind.INTENT;
+        if (startsWithIgnoreCase(url, "about:")
+                || startsWithIgnoreCase(url, "javascript:")
+                || startsWithIgnoreCase(url, "data:")
+                || startsWithIgnoreCase(url, "blob:")) {
+            return Kind.PASSTHROUGH;
+        }
+        return schemeEnd(url) > 0 ? Kind.APP_SCHEME : Kind.PASSTHROUGH;
+    }
+
+    /** onPageStarted 등에서 로딩을 멈추고 라우터로 넘겨야 하는 URL인지 (intent/커스텀 스킴). */
+    public static boolean isAppLaunch(String url) {
+        Kind kind = classify(url);
+        return kind == Kind.INTENT || kind == Kind.APP_SCHEME;
+    }
+
+    /** 소문자 스킴 (콜론 제외). 유효한 스킴이 없으면 null. */
+    public static String scheme(String url) {
+        int end = url != null ? schemeEnd(url) : -1;
+        return end > 0 ? url.substring(0, end).toLowerCase(Locale.ROOT) : null;
+    }
+
+    /** 커스텀 스킴 URL의 결제앱. 목록에 없거나 스킴이 아니면 UNKNOWN. */
+    public static PaymentApp paymentApp(String url) {
+        return PaymentApp.forScheme(scheme(url));
+    }
+
+    /** RFC 3986 스킴(ALPHA *( ALPHA / DIGIT / "+" / "-" / "." )) 뒤 ':' 위치. 없으면 -1. */
+    static int schemeEnd(String url) {
+        int len = url.length();
+        if (len == 0 || !isAlpha(url.charAt(0))) return -1;
+        for (int i = 1; i < len; i++) {
+            char c = url.charAt(i);
+            if (c == ':') return i;
+            if (!isAlpha(c) && !(c >= '0' && c <= '9') && c != '+' && c != '-' && c != '.') return -1;
+        }
+        return -1;
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean startsWithIgnoreCase(String url, String prefix) {
+        return url.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+}
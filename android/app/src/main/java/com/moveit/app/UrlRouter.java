@@ -0,0 +1,129 @@
+package com.moveit.app;
+
+import android.content.ActivityNotFoundException;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import android.util.Log;
+import android.webkit.WebView;
+import java.net.URISyntaxException;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 메인 WebView와 결제 오버레이가 함께 쓰는 URL 라우터 (토스페이먼츠 웹뷰 연동 가이드).
+ * - http/https, about:, javascript: 등 → false (WebView가 그대로 로드)
+ * - intent: → 카드사 앱 실행, 실패 시 browser_fallback_url을 같은 WebView에 로드, 없으면 마켓 이동
+ * - 그 외 커스텀 스킴(ispmobile://, hdcardappcardansimclick:// 등) → ACTION_VIEW로 앱 실행
+ * 분류는 {@link UrlClassifier}가 담당하고, 여기서는 분류별 처리만 함.
+ * 실행 실패·파싱 오류는 릴리스에서도 {@link ErrorReporter}로 수집 (logcat 출력은 디버그 빌드만).
+ */
+final class UrlRouter {
+
+    private static final String TAG = "MoveitPay";
+
+    /** 로그 접두사 ("[Bridge]", "[Overlay]") */
+    private final String label;
+
+    UrlRouter(String label) {
+        this.label = label;
+    }
+
+    /** @return true면 WebView 로드를 막음 (앱 실행 또는 fallback 로드로 처리 완료) */
+    boolean route(WebView view, String url) {
+        switch (UrlClassifier.classify(url)) {
+            case INTENT:
+                return launchIntentUrl(view, url);
+            case APP_SCHEME:
+                return launchAppScheme(view.getContext(), url);
+            case WEB:
+            case PASSTHROUGH:
+            default:
+                return false;
+        }
+    }
+
+    /** hdcardappcardansimclick://, ispmobile:// 등 커스텀 스킴 → 카드사 앱 실행. */
+    private boolean launchAppScheme(Context context, String url) {
+        if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, label + " customScheme: " + url);
+        try {
+            Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse(url));
+            intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+            context.startActivity(intent);
+            PayTrace.global().record(PayTrace.Stage.APP_LAUNCHED, UrlClassifier.paymentApp(url));
+            PaymentSessionStore.get(context).appLaunched(UrlClassifier.paymentApp(url));
+            if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, label + " customScheme startActivity OK");
+        } catch (ActivityNotFoundException e) {
+            PayTrace.global().record(PayTrace.Stage.APP_LAUNCH_FAILED, UrlClassifier.paymentApp(url));
+            if (BuildConfig.PAY_TRACE_LOG) Log.e(TAG, label + " customScheme ActivityNotFound: " + url + " | " + e.getMessage());
+            report(context, "warning", "app not installed: " + UrlClassifier.paymentApp(url).name(), null, url);
+        } catch (Exception e) {
+            if (BuildConfig.PAY_TRACE_LOG) Log.e(TAG, label + " customScheme ERR: " + url + " | " + e.getMessage());
+            report(context, "error", "customScheme launch failed: " + e.getMessage(), e, url);
+        }
+        return true; // WebView에 ERR_UNKNOWN_URL_SCHEME 뜨지 않도록
+    }
+
+    /** intent 파싱 후 카드사 앱 실행, 없으면 fallback URL을 같은 WebView에서 로드, 없으면 마켓 이동. */
+    private boolean launchIntentUrl(WebView view, String url) {
+        if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, label + " intentUrl: " + url);
+        Context context = view.getContext();
+        IntentUrl parsed = IntentUrl.parse(url);
+        try {
+            Intent intent = Intent.parseUri(url, Intent.URI_INTENT_SCHEME);
+            intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+            if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, label + " intent pkg=" + parsed.packageName + " scheme=" + parsed.scheme + " app=" + parsed.paymentApp().label);
+            try {
+                context.startActivity(intent);
+                PayTrace.global().record(PayTrace.Stage.APP_LAUNCHED, parsed.paymentApp());
+                PaymentSessionStore.get(context).appLaunched(parsed.paymentApp());
+                if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, label + " intent startActivity OK");
+                return true;
+            } catch (ActivityNotFoundException e1) {
+                PayTrace.global().record(PayTrace.Stage.APP_LAUNCH_FAILED, parsed.paymentApp());
+                if (BuildConfig.PAY_TRACE_LOG) Log.e(TAG, label + " intent ActivityNotFound: " + e1.getMessage());
+                report(context, "warning", "app not installed: " + parsed.paymentApp().name() + " (" + parsed.packageName + ")", null, url);
+                // 앱 미설치 또는 Android 11+ 가시성 문제 → fallback 시도
+            }
+            String fallbackUrl = parsed.fallbackUrl;
+            if (fallbackUrl == null) fallbackUrl = intent.getStringExtra("browser_fallback_url");
+            if (fallbackUrl != null) {
+                if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, label + " intent fallback: " + fallbackUrl);
+                PayTrace.global().record(PayTrace.Stage.FALLBACK_LOADED, parsed.paymentApp());
+                view.loadUrl(fallbackUrl);
+                return true;
+            }
+            String pkg = parsed.packageName != null ? parsed.packageName : intent.getPackage();
+            if (pkg != null) {
+                if (BuildConfig.PAY_TRACE_LOG) Log.d(TAG, label + " intent market: " + pkg);
+                try {
+                    context.startActivity(new Intent(Intent.ACTION_VIEW,
+                        Uri.parse("market://details?id=" + pkg)));
+                } catch (ActivityNotFoundException e2) {
+                    // 마켓도 없음
+                }
+                return true;
+            }
+        } catch (URISyntaxException e) {
+            if (BuildConfig.PAY_TRACE_LOG) Log.e(TAG, label + " intent URISyntax: " + e.getMessage());
+            report(context, "error", "intent URI parse failed: " + e.getMessage(), e, url);
+        } catch (Exception e) {
+            if (BuildConfig.PAY_TRACE_LOG) Log.e(TAG, label + " intent ERR: " + e.getMessage());
+            report(context, "error", "intent launch failed: " + e.getMessage(), e, url);
+        }
+        return false;
+    }
+
+    /** 결제 URL의 경로·쿼리(주문·토큰 값)는 빼고 스킴·호스트만 남김. */
+    private void report(Context context, String level, String message, Throwable error, String url) {
+        JSONObject ctx = new JSONObject();
+        try {
+            Uri uri = Uri.parse(url);
+            ctx.put("router", label);
+            ctx.put("target", uri.getScheme() + "://" + (uri.getHost() != null ? uri.getHost() : ""));
+        } catch (JSONException ignored) {
+            // 문자열 값만 넣으므로 발생하지 않음
+        }
+        ErrorReporter.get(context).report(level, "android.pay", message, error, ctx);
+    }
+}
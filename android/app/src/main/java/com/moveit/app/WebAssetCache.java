@@ -0,0 +1,426 @@
+package com.moveit.app;
+
+import android.net.Uri;
+import android.util.Log;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메인 WebView 정적 자산(/_next/static/*, 폰트, 배너 이미지)용 디스크 LRU 캐시.
+ * - 해시가 붙은 불변 자산(/_next/static/)은 네트워크 없이 캐시에서 바로 응답.
+ * - 그 외 캐시 대상(폰트·이미지)은 ETag(If-None-Match)로 재검증 후 304면 캐시로 응답.
+ * - API·결제·HTML 문서는 절대 캐시하지 않음 (null 반환 → 기존 로드 경로 그대로).
+ * shouldInterceptRequest는 WebView의 백그라운드 스레드에서 호출되므로 네트워크/디스크 IO를 여기서 해도 됨.
+ */
+public class WebAssetCache {
+
+    private static final String TAG = "MoveitCache";
+
+    /** 기본 디스크 상한 (cacheDir 아래라 시스템이 필요하면 지울 수 있음) */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    /** 이보다 큰 응답은 캐시하지 않음 (동영상 등) */
+    private static final int MAX_ENTRY_BYTES = 4 * 1024 * 1024;
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final int READ_TIMEOUT_MS = 15_000;
+
+    private static final String IMMUTABLE_PREFIX = "/_next/static/";
+    private static final String SUPABASE_PUBLIC_PREFIX = "/storage/v1/object/public/";
+    private static final List<String> STATIC_EXTENSIONS = Arrays.asList(
+        ".woff2", ".woff", ".ttf", ".otf",
+        ".png", ".jpg", ".jpeg", ".webp", ".gif", ".svg", ".ico", ".avif"
+    );
+
+    private final File dir;
+    private final long maxBytes;
+    private final String appHost;
+
+    /** access-order LinkedHashMap = LRU. 접근은 모두 synchronized(this). */
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(128, 0.75f, true);
+    private long totalBytes;
+    private boolean loaded;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong bytesFromCache = new AtomicLong();
+    private final AtomicLong bytesFromNetwork = new AtomicLong();
+
+    private static final class Entry {
+        final String key;
+        final long size;
+        final String mimeType;
+        final String encoding;
+        final String etag;
+
+        Entry(String key, long size, String mimeType, String encoding, String etag) {
+            this.key = key;
+            this.size = size;
+            this.mimeType = mimeType;
+            this.encoding = encoding;
+            this.etag = etag;
+        }
+    }
+
+    public WebAssetCache(File dir, long maxBytes, String appUrl) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        Uri appUri = appUrl != null ? Uri.parse(appUrl) : null;
+        this.appHost = appUri != null ? appUri.getHost() : null;
+    }
+
+    /**
+     * 캐시 대상이면 캐시(또는 네트워크 후 캐시 저장)에서 응답을 만들어 반환, 대상이 아니거나 실패하면 null.
+     */
+    public WebResourceResponse intercept(WebResourceRequest request) {
+        if (request == null || request.isForMainFrame()) return null;
+        if (!"GET".equalsIgnoreCase(request.getMethod())) return null;
+        Map<String, String> reqHeaders = request.getRequestHeaders();
+        if (reqHeaders != null && (reqHeaders.containsKey("Range") || reqHeaders.containsKey("range"))) return null;
+
+        Uri uri = request.getUrl();
+        int policy = policyFor(uri);
+        if (policy == POLICY_NONE) return null;
+
+        String url = uri.toString();
+        String key = keyFor(url);
+        ensureLoaded();
+
+        Entry entry;
+        synchronized (this) {
+            entry = index.get(key);
+        }
+
+        if (entry != null && policy == POLICY_IMMUTABLE) {
+            WebResourceResponse cached = fromDisk(entry);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        return fetch(url, key, entry, reqHeaders);
+    }
+
+    private static final int POLICY_NONE = 0;
+    private static final int POLICY_IMMUTABLE = 1;
+    private static final int POLICY_REVALIDATE = 2;
+
+    /** 캐시 정책 결정: API/결제/문서 제외, 해시 정적 자산은 불변, 폰트·이미지는 재검증. */
+    private int policyFor(Uri uri) {
+        String scheme = uri.getScheme();
+        if (!"https".equals(scheme) && !"http".equals(scheme)) return POLICY_NONE;
+        String host = uri.getHost();
+        String path = uri.getPath();
+        if (host == null || path == null) return POLICY_NONE;
+
+        if (appHost != null && appHost.equalsIgnoreCase(host)) {
+            if (path.startsWith("/api/")) return POLICY_NONE;
+            if (path.startsWith(IMMUTABLE_PREFIX) && !path.startsWith(IMMUTABLE_PREFIX + "development/")) {
+                return POLICY_IMMUTABLE;
+            }
+            return hasStaticExtension(path) ? POLICY_REVALIDATE : POLICY_NONE;
+        }
+        // 학원 배너·강사 이미지 (Supabase Storage public 버킷)
+        if (host.endsWith(".supabase.co") && path.startsWith(SUPABASE_PUBLIC_PREFIX) && hasStaticExtension(path)) {
+            return POLICY_REVALIDATE;
+        }
+        return POLICY_NONE;
+    }
+
+    private static boolean hasStaticExtension(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        for (String ext : STATIC_EXTENSIONS) {
+            if (lower.endsWith(ext)) return true;
+        }
+        return false;
+    }
+
+    private WebResourceResponse fetch(String url, String key, Entry entry, Map<String, String> reqHeaders) {
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            conn.setReadTimeout(READ_TIMEOUT_MS);
+            conn.setInstanceFollowRedirects(true);
+            if (reqHeaders != null) {
+                for (Map.Entry<String, String> h : reqHeaders.entrySet()) {
+                    String name = h.getKey();
+                    // gzip은 HttpURLConnection이 투명 처리하므로 WebView 값은 전달하지 않음
+                    if (name == null || "Accept-Encoding".equalsIgnoreCase(name)) continue;
+                    conn.setRequestProperty(name, h.getValue());
+                }
+            }
+            if (entry != null && entry.etag != null) {
+                conn.setRequestProperty("If-None-Match", entry.etag);
+            }
+
+            int code = conn.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+                WebResourceResponse cached = fromDisk(entry);
+                if (cached != null) {
+                    revalidated.incrementAndGet();
+                    return cached;
+                }
+                return null;
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                return null;
+            }
+
+            misses.incrementAndGet();
+            String contentType = conn.getContentType();
+            String mimeType = mimeOf(contentType, url);
+            String encoding = charsetOf(contentType);
+            byte[] body = readBody(conn);
+            if (body == null) return null;
+            bytesFromNetwork.addAndGet(body.length);
+
+            String cacheControl = conn.getHeaderField("Cache-Control");
+            if (cacheControl == null || !cacheControl.toLowerCase(Locale.ROOT).contains("no-store")) {
+                store(key, body, mimeType, encoding, conn.getHeaderField("ETag"));
+            }
+            return response(mimeType, encoding, new ByteArrayInputStream(body));
+        } catch (IOException e) {
+            // 네트워크 실패 시 오래된 사본이라도 있으면 응답 (저속·오프라인 대비)
+            if (entry != null) {
+                WebResourceResponse stale = fromDisk(entry);
+                if (stale != null) {
+                    hits.incrementAndGet();
+                    return stale;
+                }
+            }
+            Log.w(TAG, "fetch failed: " + url + " | " + e.getMessage());
+            return null;
+        } finally {
+            if (conn != null) conn.disconnect();
+        }
+    }
+
+    /** Content-Length가 상한을 넘으면 null (캐시하지 않고 WebView가 직접 로드하도록). */
+    private static byte[] readBody(HttpURLConnection conn) throws IOException {
+        long declared = conn.getContentLengthLong();
+        if (declared > MAX_ENTRY_BYTES) return null;
+        try (InputStream in = conn.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(declared > 0 ? (int) declared : 16 * 1024);
+            byte[] buf = new byte[16 * 1024];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+                if (out.size() > MAX_ENTRY_BYTES) return null;
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private WebResourceResponse fromDisk(Entry entry) {
+        File body = bodyFile(entry.key);
+        try {
+            InputStream in = new FileInputStream(body);
+            bytesFromCache.addAndGet(entry.size);
+            // 재시작 후에도 LRU 순서가 유지되도록 접근 시각 갱신
+            body.setLastModified(System.currentTimeMillis());
+            return response(entry.mimeType, entry.encoding, in);
+        } catch (IOException e) {
+            remove(entry.key);
+            return null;
+        }
+    }
+
+    private static WebResourceResponse response(String mimeType, String encoding, InputStream in) {
+        WebResourceResponse res = new WebResourceResponse(mimeType, encoding, in);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Cache-Control", "no-cache");
+        headers.put("Access-Control-Allow-Origin", "*");
+        res.setResponseHeaders(headers);
+        return res;
+    }
+
+    private void store(String key, byte[] body, String mimeType, String encoding, String etag) {
+        File tmp = new File(dir, key + ".tmp");
+        try {
+            if (!dir.exists() && !dir.mkdirs()) return;
+            try (OutputStream out = new FileOutputStream(tmp)) {
+                out.write(body);
+            }
+            Properties meta = new Properties();
+            meta.setProperty("mime", mimeType);
+            if (encoding != null) meta.setProperty("encoding", encoding);
+            if (etag != null) meta.setProperty("etag", etag);
+            try (OutputStream out = new FileOutputStream(metaFile(key))) {
+                meta.store(out, null);
+            }
+            if (!tmp.renameTo(bodyFile(key))) {
+                tmp.delete();
+                return;
+            }
+        } catch (IOException e) {
+            tmp.delete();
+            Log.w(TAG, "store failed: " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            Entry old = index.put(key, new Entry(key, body.length, mimeType, encoding, etag));
+            if (old != null) totalBytes -= old.size;
+            totalBytes += body.length;
+            trimToSize(maxBytes);
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Entry old = index.remove(key);
+        if (old != null) totalBytes -= old.size;
+        bodyFile(key).delete();
+        metaFile(key).delete();
+    }
+
+    /** LRU 순서대로 상한 이하가 될 때까지 제거. synchronized(this) 안에서 호출. */
+    private void trimToSize(long limit) {
+        Iterator<Map.Entry<String, Entry>> it = index.entrySet().iterator();
+        while (totalBytes > limit && it.hasNext()) {
+            Entry e = it.next().getValue();
+            it.remove();
+            totalBytes -= e.size;
+            bodyFile(e.key).delete();
+            metaFile(e.key).delete();
+        }
+    }
+
+    /** 디스크 인덱스 최초 1회 로드 (마지막 접근 시각 오름차순 = LRU 순서). */
+    private synchronized void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        File[] files = dir.listFiles((d, name) -> name.endsWith(".body"));
+        if (files == null) return;
+        List<File> bodies = new ArrayList<>(Arrays.asList(files));
+        bodies.sort((a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File body : bodies) {
+            String name = body.getName();
+            String key = name.substring(0, name.length() - ".body".length());
+            Properties meta = new Properties();
+            try (InputStream in = new FileInputStream(metaFile(key))) {
+                meta.load(in);
+            } catch (IOException e) {
+                body.delete();
+                continue;
+            }
+            String mime = meta.getProperty("mime");
+            if (mime == null) {
+                body.delete();
+                continue;
+            }
+            index.put(key, new Entry(key, body.length(), mime, meta.getProperty("encoding"), meta.getProperty("etag")));
+            totalBytes += body.length();
+        }
+        trimToSize(maxBytes);
+    }
+
+    private File bodyFile(String key) {
+        return new File(dir, key + ".body");
+    }
+
+    private File metaFile(String key) {
+        return new File(dir, key + ".meta");
+    }
+
+    private static String keyFor(String url) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            byte[] digest = md.digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(url.hashCode());
+        }
+    }
+
+    private static String mimeOf(String contentType, String url) {
+        if (contentType != null && !contentType.isEmpty()) {
+            int semi = contentType.indexOf(';');
+            return (semi >= 0 ? contentType.substring(0, semi) : contentType).trim();
+        }
+        String lower = url.toLowerCase(Locale.ROOT);
+        if (lower.contains(".js")) return "application/javascript";
+        if (lower.contains(".css")) return "text/css";
+        if (lower.contains(".woff2")) return "font/woff2";
+        return "application/octet-stream";
+    }
+
+    private static String charsetOf(String contentType) {
+        if (contentType == null) return null;
+        int idx = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (idx < 0) return null;
+        String cs = contentType.substring(idx + "charset=".length()).trim();
+        int semi = cs.indexOf(';');
+        return semi >= 0 ? cs.substring(0, semi).trim() : cs;
+    }
+
+    /** 캐시에 있는 응답 크기, 없으면 -1 ({@link ImagePipeline} 절감량 집계용). */
+    public long cachedSize(String url) {
+        ensureLoaded();
+        String key = keyFor(url);
+        synchronized (this) {
+            Entry entry = index.get(key);
+            return entry != null ? entry.size : -1;
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long revalidatedCount() {
+        return revalidated.get();
+    }
+
+    public long bytesFromCache() {
+        return bytesFromCache.get();
+    }
+
+    public long bytesFromNetwork() {
+        return bytesFromNetwork.get();
+    }
+
+    public synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "WebAssetCache{hits=" + hits.get()
+            + ", revalidated=" + revalidated.get()
+            + ", misses=" + misses.get()
+            + ", bytesFromCache=" + bytesFromCache.get()
+            + ", bytesFromNetwork=" + bytesFromNetwork.get()
+            + ", size=" + sizeBytes() + "/" + maxBytes + "}";
+    }
+}
@@ -0,0 +1,506 @@
+package com.moveit.app;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import android.webkit.WebView;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import com.getcapacitor.CapConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 웹 앱 셸(/_next/static 아래 JS·CSS·폰트)을 기기에 둔 내용 해시 번들에서 응답. HTML(SSR)·API만 네트워크로.
+ * - 번들: 매니페스트 { version(BUILD_ID), files: { "/_next/static/...": { sha256, size } } } + 파일은 sha256 이름으로 저장
+ *   APK 기본 번들은 assets/web-bundle/ (scripts/build-app-bundle.mjs --android), 내려받은 번들은 filesDir/web-bundle/
+ * - 업데이트: WorkManager가 배포 사이트의 /_next/static/moveit-bundle.json을 받아 없는 파일만 내려받고 sha256 검증,
+ *   매니페스트까지 저장되면 pending으로 등록 → 다음 실행 때 전환 (실행 중인 문서와 버전이 섞이지 않게)
+ * - 롤백: 전환 후 웹 앱 하이드레이션(window.__moveitNativeNavigate 등록)이 확인되지 않은 채 재시작되면 이전 번들로 ({@link BundleBootState})
+ * 매니페스트에 없는 경로는 null (호출부가 {@link WebAssetCache}·네트워크로). 경로가 내용 해시를 포함하므로
+ * 서버가 새로 배포돼도 같은 경로면 같은 내용 — 번들이 오래돼도 잘못된 파일을 주지 않음.
+ */
+final class WebBundle {
+
+    private static final String TAG = "MoveitBundle";
+    private static final String ASSET_DIR = "web-bundle";
+    private static final String STATIC_PREFIX = "/_next/static/";
+    /** 배포 사이트 매니페스트 (next build 후 postbuild에서 .next/static에 생성) */
+    static final String MANIFEST_PATH = STATIC_PREFIX + "moveit-bundle.json";
+    private static final String WORK_NAME = "moveit-bundle-update";
+    /** 콜드 스타트와 겹치지 않도록 */
+    private static final long UPDATE_DELAY_SEC = 30;
+    private static final long BACKOFF_SEC = 60;
+    private static final int TIMEOUT_MS = 15_000;
+    private static final int MAX_MANIFEST_BYTES = 2 * 1024 * 1024;
+    private static final int MAX_FILE_BYTES = 8 * 1024 * 1024;
+    /** 부팅 확인: 첫 페인트 후 이 간격으로 PROBE_TRIES번 하이드레이션 여부 확인 */
+    private static final long PROBE_INTERVAL_MS = 1_500;
+    private static final int PROBE_TRIES = 6;
+    private static final String HYDRATED_JS = "typeof window.__moveitNativeNavigate === 'function'";
+
+    enum UpdateResult { UP_TO_DATE, STAGED, RETRY }
+
+    private static final class Manifest {
+        final String version;
+        /** 경로 → sha256 */
+        final Map<String, String> files;
+        final Map<String, Long> sizes;
+
+        Manifest(String version, Map<String, String> files, Map<String, Long> sizes) {
+            this.version = version;
+            this.files = files;
+            this.sizes = sizes;
+        }
+    }
+
+    private static WebBundle instance;
+
+    private final Context context;
+    private final String appUrl;
+    private final String appHost;
+    private final File dir;
+    private final File objects;
+    private final File manifests;
+    private final File stateFile;
+
+    // 아래 상태는 synchronized(this)
+    private boolean loaded;
+    private BundleBootState state;
+    private Set<String> seedObjects = new HashSet<>();
+    /** 이번 프로세스에서 쓰는 번들 (실행 중에는 바뀌지 않음) */
+    private volatile Manifest active;
+    private boolean probing;
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    static synchronized WebBundle get(Context context) {
+        if (instance == null) instance = new WebBundle(context.getApplicationContext());
+        return instance;
+    }
+
+    private WebBundle(Context context) {
+        this.context = context;
+        this.appUrl = readServerUrl(context);
+        Uri appUri = appUrl != null ? Uri.parse(appUrl) : null;
+        this.appHost = appUri != null ? appUri.getHost() : null;
+        this.dir = new File(context.getFilesDir(), "web-bundle");
+        this.objects = new File(dir, "objects");
+        this.manifests = new File(dir, "manifests");
+        this.stateFile = new File(dir, "state.json");
+    }
+
+    /** MoveitApplication 백그라운드 스레드에서 1회: 번들 전환·롤백을 첫 요청 전에 끝내고 업데이트 확인 예약. */
+    void prepare() {
+        ensureLoaded();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(WebBundleUpdateWorker.class)
+            .setConstraints(new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build())
+            .setInitialDelay(UPDATE_DELAY_SEC, TimeUnit.SECONDS)
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SEC, TimeUnit.SECONDS)
+            .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    /** 번들에 있는 정적 파일이면 응답, 아니면 null. WebView 백그라운드 스레드에서 호출. */
+    WebResourceResponse intercept(WebResourceRequest request) {
+        if (request == null || request.isForMainFrame()) return null;
+        if (!"GET".equalsIgnoreCase(request.getMethod())) return null;
+        Uri uri = request.getUrl();
+        String path = uri.getPath();
+        if (path == null || !path.startsWith(STATIC_PREFIX) || appHost == null || !appHost.equalsIgnoreCase(uri.getHost())) {
+            return null;
+        }
+        ensureLoaded();
+        Manifest manifest = active;
+        String sha = manifest != null ? manifest.files.get(path) : null;
+        if (sha == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        InputStream in = open(sha);
+        if (in == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        served.incrementAndGet();
+        Long size = manifest.sizes.get(path);
+        if (size != null) bytesServed.addAndGet(size);
+        WebResourceResponse res = new WebResourceResponse(mimeOf(path), isText(path) ? "utf-8" : null, in);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Cache-Control", "no-cache");
+        headers.put("Access-Control-Allow-Origin", "*");
+        res.setResponseHeaders(headers);
+        return res;
+    }
+
+    /**
+     * 메인 WebView onPageCommitVisible. 새로 전환된 번들이면 웹 앱이 하이드레이션까지 끝났는지 확인해 부팅 확인 처리.
+     * 메인 스레드.
+     */
+    void onDocumentVisible(WebView view, String url) {
+        if (view == null || url == null || appHost == null || !appHost.equalsIgnoreCase(Uri.parse(url).getHost())) return;
+        synchronized (this) {
+            if (!loaded || !state.awaitingConfirmation() || probing) return;
+            probing = true;
+        }
+        probe(view, PROBE_TRIES);
+    }
+
+    private void probe(WebView view, int triesLeft) {
+        view.postDelayed(() -> view.evaluateJavascript(HYDRATED_JS, value -> {
+            if ("true".equals(value)) {
+                confirmBoot();
+            } else if (triesLeft > 1) {
+                probe(view, triesLeft - 1);
+            } else {
+                // 이번 문서는 실패 (오프라인 화면 등). 다음 문서 로드 때 다시 확인, 끝내 확인 안 되면 다음 실행 때 롤백
+                synchronized (this) {
+                    probing = false;
+                }
+                Log.w(TAG, "bundle " + (active != null ? active.version : null) + " not hydrated yet");
+            }
+        }), PROBE_INTERVAL_MS);
+    }
+
+    private synchronized void confirmBoot() {
+        probing = false;
+        if (state.onBootConfirmed()) {
+            writeState();
+            Log.d(TAG, "bundle " + state.active + " boot confirmed");
+        }
+    }
+
+    private synchronized void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        Manifest seed = readSeedManifest();
+        if (seed != null) seedObjects = new HashSet<>(seed.files.values());
+        state = readState();
+        BundleBootState.LaunchResult result = state.onLaunch(seed != null ? seed.version : null);
+        if (result != BundleBootState.LaunchResult.UNCHANGED) {
+            Log.d(TAG, "launch " + result + " active=" + state.active + " previous=" + state.previous);
+            writeState();
+        }
+        if (result == BundleBootState.LaunchResult.RESEEDED) deleteDownloaded();
+
+        Manifest current = null;
+        if (state.active != null) {
+            current = seed != null && state.active.equals(seed.version) ? seed : readManifest(state.active);
+        }
+        if (current == null && state.active != null && (seed == null || !state.active.equals(seed.version))) {
+            // 내려받은 매니페스트 손상: 부팅 실패와 같게 처리해 다음 실행 때 롤백
+            Log.w(TAG, "manifest " + state.active + " unreadable, serving from network");
+            state.unconfirmedBoots = BundleBootState.MAX_UNCONFIRMED_BOOTS;
+            writeState();
+        }
+        active = current;
+        StartupTracer.mark("bundle.ready");
+    }
+
+    /** 배포 사이트 매니페스트와 비교해 새 번들을 내려받음. WorkManager 스레드. */
+    UpdateResult update() {
+        ensureLoaded();
+        if (appUrl == null) return UpdateResult.UP_TO_DATE;
+        Uri app = Uri.parse(appUrl);
+        String origin = app.getScheme() + "://" + app.getEncodedAuthority();
+        String raw;
+        Manifest remote;
+        try {
+            raw = new String(fetch(origin + MANIFEST_PATH, MAX_MANIFEST_BYTES), StandardCharsets.UTF_8);
+            remote = parseManifest(raw);
+        } catch (FileNotFoundException e) {
+            // 매니페스트를 만들지 않는 배포 (로컬 개발 서버 등)
+            return UpdateResult.UP_TO_DATE;
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "manifest fetch failed: " + e.getMessage());
+            return UpdateResult.RETRY;
+        }
+        synchronized (this) {
+            if (!state.wants(remote.version)) return UpdateResult.UP_TO_DATE;
+        }
+
+        objects.mkdirs();
+        manifests.mkdirs();
+        int downloaded = 0;
+        long bytes = 0;
+        for (Map.Entry<String, String> e : remote.files.entrySet()) {
+            String sha = e.getValue();
+            if (seedObjects.contains(sha) || new File(objects, sha).exists()) continue;
+            try {
+                byte[] body = fetch(origin + e.getKey(), MAX_FILE_BYTES);
+                if (!sha.equals(sha256(body))) {
+                    Log.w(TAG, "hash mismatch " + e.getKey());
+                    return UpdateResult.RETRY;
+                }
+                writeAtomic(new File(objects, sha), body);
+                downloaded++;
+                bytes += body.length;
+            } catch (IOException ex) {
+                Log.w(TAG, "download failed " + e.getKey() + ": " + ex.getMessage());
+                return UpdateResult.RETRY;
+            }
+        }
+        try {
+            // 파일이 모두 검증된 뒤에 매니페스트를 씀 → 매니페스트가 있으면 번들 완성
+            writeAtomic(new File(manifests, remote.version + ".json"), raw.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Log.w(TAG, "manifest save failed: " + e.getMessage());
+            return UpdateResult.RETRY;
+        }
+        synchronized (this) {
+            if (!state.stage(remote.version)) return UpdateResult.UP_TO_DATE;
+            writeState();
+        }
+        Log.d(TAG, "staged " + remote.version + " (" + remote.files.size() + " files, downloaded "
+            + downloaded + " / " + bytes + "B)");
+        prune();
+        return UpdateResult.STAGED;
+    }
+
+    /** active·previous·pending 외 매니페스트와, 어느 매니페스트에도 없는 파일 삭제. */
+    private void prune() {
+        Set<String> keep;
+        synchronized (this) {
+            keep = state.retained();
+        }
+        Set<String> referenced = new HashSet<>();
+        File[] manifestFiles = manifests.listFiles();
+        if (manifestFiles != null) {
+            for (File f : manifestFiles) {
+                String version = f.getName().replace(".json", "");
+                if (!keep.contains(version)) {
+                    f.delete();
+                    continue;
+                }
+                Manifest m = readManifest(version);
+                if (m != null) referenced.addAll(m.files.values());
+            }
+        }
+        File[] objectFiles = objects.listFiles();
+        if (objectFiles == null) return;
+        for (File f : objectFiles) {
+            if (!referenced.contains(f.getName())) f.delete();
+        }
+    }
+
+    private InputStream open(String sha) {
+        File file = new File(objects, sha);
+        try {
+            if (file.exists()) return new FileInputStream(file);
+            if (seedObjects.contains(sha)) return context.getAssets().open(ASSET_DIR + "/objects/" + sha);
+        } catch (IOException e) {
+            Log.w(TAG, "missing object " + sha + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private Manifest readSeedManifest() {
+        try (InputStream in = context.getAssets().open(ASSET_DIR + "/manifest.json")) {
+            return parseManifest(new String(readAll(in, MAX_MANIFEST_BYTES), StandardCharsets.UTF_8));
+        } catch (IOException | JSONException e) {
+            // 번들 없이 빌드한 APK (개발 빌드)
+            return null;
+        }
+    }
+
+    private Manifest readManifest(String version) {
+        File file = new File(manifests, version + ".json");
+        if (!file.exists()) return null;
+        try {
+            return parseManifest(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        } catch (IOException | JSONException e) {
+            return null;
+        }
+    }
+
+    private static Manifest parseManifest(String json) throws JSONException {
+        JSONObject o = new JSONObject(json);
+        String version = o.getString("version");
+        // 파일 이름으로 쓰므로 Next.js BUILD_ID 형식만 허용
+        if (!version.matches("[A-Za-z0-9_-]{1,64}")) throw new JSONException("bad version " + version);
+        JSONObject files = o.getJSONObject("files");
+        Map<String, String> shas = new HashMap<>(files.length() * 2);
+        Map<String, Long> sizes = new HashMap<>(files.length() * 2);
+        Iterator<String> keys = files.keys();
+        while (keys.hasNext()) {
+            String path = keys.next();
+            JSONObject f = files.getJSONObject(path);
+            String sha = f.getString("sha256");
+            if (!path.startsWith(STATIC_PREFIX) || !sha.matches("[0-9a-f]{64}")) continue;
+            shas.put(path, sha);
+            sizes.put(path, f.optLong("size"));
+        }
+        return new Manifest(version, shas, sizes);
+    }
+
+    private BundleBootState readState() {
+        BundleBootState s = new BundleBootState();
+        if (!stateFile.exists()) return s;
+        try {
+            JSONObject o = new JSONObject(new String(Files.readAllBytes(stateFile.toPath()), StandardCharsets.UTF_8));
+            s.seed = o.optString("seed", null);
+            s.active = o.optString("active", null);
+            s.previous = o.optString("previous", null);
+            s.pending = o.optString("pending", null);
+            s.unconfirmedBoots = o.optInt("unconfirmedBoots");
+            JSONArray failed = o.optJSONArray("failed");
+            if (failed != null) {
+                for (int i = 0; i < failed.length(); i++) s.failed.add(failed.getString(i));
+            }
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "state unreadable, starting from seed: " + e.getMessage());
+            return new BundleBootState();
+        }
+        return s;
+    }
+
+    /** synchronized(this) 안에서 호출. */
+    private void writeState() {
+        try {
+            JSONObject o = new JSONObject();
+            o.put("seed", state.seed);
+            o.put("active", state.active);
+            o.put("previous", state.previous);
+            o.put("pending", state.pending);
+            o.put("unconfirmedBoots", state.unconfirmedBoots);
+            o.put("failed", new JSONArray(state.failed));
+            dir.mkdirs();
+            writeAtomic(stateFile, o.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (JSONException | IOException e) {
+            Log.w(TAG, "state save failed: " + e.getMessage());
+        }
+    }
+
+    private void deleteDownloaded() {
+        for (File d : new File[] { objects, manifests }) {
+            File[] files = d.listFiles();
+            if (files == null) continue;
+            for (File f : files) f.delete();
+        }
+    }
+
+    /** tmp 파일에 쓴 뒤 rename (쓰는 도중 종료돼도 이전 파일 유지). */
+    private static void writeAtomic(File file, byte[] body) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(body);
+            out.getFD().sync();
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("rename failed " + file.getName());
+        }
+    }
+
+    private static byte[] fetch(String url, int limit) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        conn.setConnectTimeout(TIMEOUT_MS);
+        conn.setReadTimeout(TIMEOUT_MS);
+        conn.setUseCaches(false);
+        try {
+            int status = conn.getResponseCode();
+            if (status == 404) throw new FileNotFoundException(url);
+            if (status != 200) throw new IOException("HTTP " + status);
+            try (InputStream in = conn.getInputStream()) {
+                return readAll(in, limit);
+            }
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    private static byte[] readAll(InputStream in, int limit) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        byte[] chunk = new byte[16 * 1024];
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            if (buf.size() + n > limit) throw new IOException("too large");
+            buf.write(chunk, 0, n);
+        }
+        return buf.toByteArray();
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder sb = new StringBuilder(64);
+            for (byte b : digest) sb.append(String.format(Locale.ROOT, "%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String mimeOf(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".js")) return "application/javascript";
+        if (lower.endsWith(".css")) return "text/css";
+        if (lower.endsWith(".json") || lower.endsWith(".map")) return "application/json";
+        if (lower.endsWith(".woff2")) return "font/woff2";
+        if (lower.endsWith(".woff")) return "font/woff";
+        if (lower.endsWith(".ttf")) return "font/ttf";
+        if (lower.endsWith(".otf")) return "font/otf";
+        if (lower.endsWith(".svg")) return "image/svg+xml";
+        if (lower.endsWith(".png")) return "image/png";
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "image/jpeg";
+        if (lower.endsWith(".webp")) return "image/webp";
+        if (lower.endsWith(".ico")) return "image/x-icon";
+        return "application/octet-stream";
+    }
+
+    private static boolean isText(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".js") || lower.endsWith(".css") || lower.endsWith(".json") || lower.endsWith(".svg");
+    }
+
+    private static String readServerUrl(Context context) {
+        try {
+            CapConfig config = CapConfig.loadDefault(context);
+            return config != null ? config.getServerUrl() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        Manifest m = active;
+        return "WebBundle{version=" + (m != null ? m.version : null)
+            + ", served=" + served.get()
+            + ", misses=" + misses.get()
+            + ", bytesServed=" + bytesServed.get() + "}";
+    }
+}
@@ -0,0 +1,26 @@
+package com.moveit.app;
+
+import android.content.Context;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+/** {@link WebBundle} 업데이트 확인·내려받기 작업. 재시도 간격은 예약 시 지정한 지수 백오프. */
+public class WebBundleUpdateWorker extends Worker {
+
+    /** 이 횟수 넘게 실패하면 이번 실행에서는 포기 (다음 앱 시작 때 다시 예약됨) */
+    private static final int MAX_ATTEMPTS = 5;
+
+    public WebBundleUpdateWorker(Context context, WorkerParameters params) {
+        super(context, params);
+    }
+
+    @Override
+    public Result doWork() {
+        switch (WebBundle.get(getApplicationContext()).update()) {
+            case RETRY:
+                return getRunAttemptCount() < MAX_ATTEMPTS ? Result.retry() : Result.failure();
+            default:
+                return Result.success();
+        }
+    }
+}
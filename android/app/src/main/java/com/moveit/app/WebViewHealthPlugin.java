@@ -0,0 +1,27 @@
+package com.moveit.app;
+
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * 메모리 압박·렌더러 종료 대응({@link WebViewResilience}) 경로별 횟수 확인용.
+ * - getStats(): { trimLight, trimModerate, trimCritical, overlayPoolDrops, imageBytesFreed,
+ *   rendererCrashed, rendererKilled, mainRecovered, recoveredToHome, overlayLost }
+ * - resetStats()
+ */
+@CapacitorPlugin(name = "MoveitWebViewHealth")
+public class WebViewHealthPlugin extends Plugin {
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        call.resolve(WebViewResilience.toJSObject());
+    }
+
+    @PluginMethod
+    public void resetStats(PluginCall call) {
+        WebViewResilience.resetStats();
+        call.resolve();
+    }
+}
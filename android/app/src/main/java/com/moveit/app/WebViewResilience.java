@@ -0,0 +1,177 @@
+package com.moveit.app;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.webkit.CookieManager;
+import android.webkit.RenderProcessGoneDetail;
+import android.webkit.WebView;
+import com.getcapacitor.Bridge;
+import com.getcapacitor.JSObject;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * 2~3GB 기기에서 렌더러 OOM·메모리 압박이 앱 전체 종료로 번지지 않게 하는 계층.
+ * - 렌더러 우선순위: 메인 WebView는 화면에 보일 때만 IMPORTANT (백그라운드에서는 앱 프로세스보다 렌더러가 먼저 회수되도록).
+ *   결제 중 오버레이는 카드사 앱에 가 있는 동안에도 IMPORTANT, 미리 만든 오버레이는 WAIVED ({@link OverlayWebViewPool})
+ * - onTrimMemory: {@link MemoryPressure} 단계에 따라 미리 만든 오버레이·이미지 메모리 캐시·WebView 메모리 캐시 정리
+ * - 메인 WebView 렌더러 종료: 죽은 WebView를 떼어 파기하고 Activity 재생성(브리지·WebView 새로 생성) 후 마지막 URL 로드.
+ *   로그인 세션은 CookieManager·localStorage(브라우저 프로세스 보관)에 있어 그대로 유지
+ * 경로별 횟수는 MoveitWebViewHealth 플러그인으로 확인. 카운터 외에는 메인 스레드 전용.
+ */
+final class WebViewResilience {
+
+    private static final String TAG = "MoveitWebView";
+
+    // Activity 재생성 후에도 유지
+    private static final AtomicLong trimLight = new AtomicLong();
+    private static final AtomicLong trimModerate = new AtomicLong();
+    private static final AtomicLong trimCritical = new AtomicLong();
+    private static final AtomicLong overlayPoolDrops = new AtomicLong();
+    private static final AtomicLong imageBytesFreed = new AtomicLong();
+    private static final AtomicLong rendererCrashed = new AtomicLong();
+    private static final AtomicLong rendererKilled = new AtomicLong();
+    private static final AtomicLong mainRecovered = new AtomicLong();
+    private static final AtomicLong recoveredToHome = new AtomicLong();
+    private static final AtomicLong overlayLost = new AtomicLong();
+    private static long lastRecoveryAt;
+    private static String pendingRecoveryUrl;
+
+    private final Activity activity;
+    private final Bridge bridge;
+    private final MoveitWebChromeClient chromeClient;
+    /** 메인 WebView가 마지막으로 커밋한 http(s) URL (죽은 WebView에서는 getUrl을 부를 수 없으므로 직접 추적) */
+    private String lastUrl;
+    private boolean rendererGone;
+
+    WebViewResilience(Activity activity, Bridge bridge, MoveitWebChromeClient chromeClient) {
+        this.activity = activity;
+        this.bridge = bridge;
+        this.chromeClient = chromeClient;
+    }
+
+    void applyRendererPolicy(WebView webView) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) return;
+        webView.setRendererPriorityPolicy(WebView.RENDERER_PRIORITY_IMPORTANT, true);
+    }
+
+    /** 메인 WebView doUpdateVisitedHistory. */
+    void onMainUrl(String url) {
+        if (url != null && (url.startsWith("https://") || url.startsWith("http://"))) lastUrl = url;
+    }
+
+    /** 렌더러 종료 후 재생성 대기 중 (죽은 WebView에 saveState 등을 호출하지 않도록). */
+    boolean isRendererGone() {
+        return rendererGone;
+    }
+
+    void onTrimMemory(int level) {
+        MemoryPressure.Step step = MemoryPressure.stepFor(level);
+        if (step == MemoryPressure.Step.NONE) return;
+        (step == MemoryPressure.Step.LIGHT ? trimLight
+            : step == MemoryPressure.Step.MODERATE ? trimModerate : trimCritical).incrementAndGet();
+
+        if (chromeClient.trimOverlayPool(step != MemoryPressure.Step.LIGHT)) overlayPoolDrops.incrementAndGet();
+        long freed = ImagePipeline.get(activity).trimMemory(step == MemoryPressure.Step.LIGHT);
+        imageBytesFreed.addAndGet(freed);
+        WebView webView = bridge.getWebView();
+        if (step == MemoryPressure.Step.CRITICAL && webView != null && !rendererGone) {
+            // 메모리 캐시만 (디스크 캐시는 재시작 후 첫 페인트에 필요)
+            webView.clearCache(false);
+        }
+        Log.d(TAG, "trim level=" + level + " step=" + step + " imageFreed=" + freed + "B");
+    }
+
+    /** 메인 WebView onRenderProcessGone. true를 반환해야 앱 프로세스가 함께 종료되지 않음. */
+    boolean onMainRendererGone(WebView view, RenderProcessGoneDetail detail) {
+        boolean crashed = detail != null && detail.didCrash();
+        (crashed ? rendererCrashed : rendererKilled).incrementAndGet();
+        if (rendererGone) return true;
+        rendererGone = true;
+
+        long now = SystemClock.elapsedRealtime();
+        String url = MemoryPressure.recoveryUrl(lastUrl, bridge.getAppUrl(), lastRecoveryAt, now);
+        boolean home = url == null || !url.equals(lastUrl);
+        if (home) recoveredToHome.incrementAndGet();
+        lastRecoveryAt = now;
+        pendingRecoveryUrl = url;
+        mainRecovered.incrementAndGet();
+        Log.w(TAG, "main renderer " + (crashed ? "crashed" : "killed") + ", recreating (home=" + home + ")");
+        report(activity, crashed, detail, "main");
+
+        CookieManager.getInstance().flush();
+        discard(view);
+        activity.recreate();
+        return true;
+    }
+
+    /** 결제 오버레이 렌더러 종료 ({@link MoveitWebChromeClient}에서 오버레이를 걷어낸 뒤 호출). */
+    static void onOverlayRendererGone(Context context, RenderProcessGoneDetail detail) {
+        boolean crashed = detail != null && detail.didCrash();
+        (crashed ? rendererCrashed : rendererKilled).incrementAndGet();
+        overlayLost.incrementAndGet();
+        Log.w(TAG, "overlay renderer " + (crashed ? "crashed" : "killed") + ", overlay removed");
+        report(context, crashed, detail, "overlay");
+    }
+
+    private static void report(Context context, boolean crashed, RenderProcessGoneDetail detail, String target) {
+        JSONObject ctx = new JSONObject();
+        try {
+            ctx.put("target", target);
+            if (detail != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                ctx.put("priorityAtExit", detail.rendererPriorityAtExit());
+            }
+        } catch (JSONException ignored) {
+            // 문자열·숫자 값만 넣으므로 발생하지 않음
+        }
+        ErrorReporter.get(context).report("warning", "android.webview",
+            "renderer " + (crashed ? "crashed" : "killed"), (Throwable) null, ctx);
+    }
+
+    /** 렌더러가 종료된 WebView 정리. 이후 어떤 메서드도 호출하면 안 되므로 떼어 내고 파기만 함. */
+    static void discard(WebView view) {
+        if (view == null) return;
+        if (view.getParent() instanceof ViewGroup) ((ViewGroup) view.getParent()).removeView(view);
+        view.destroy();
+    }
+
+    /** 재생성된 Activity의 load()에서 한 번: 렌더러 종료로 재생성됐으면 다시 로드할 URL, 아니면 null. */
+    static String takeRecoveryUrl() {
+        String url = pendingRecoveryUrl;
+        pendingRecoveryUrl = null;
+        return url;
+    }
+
+    static JSObject toJSObject() {
+        JSObject o = new JSObject();
+        o.put("trimLight", trimLight.get());
+        o.put("trimModerate", trimModerate.get());
+        o.put("trimCritical", trimCritical.get());
+        o.put("overlayPoolDrops", overlayPoolDrops.get());
+        o.put("imageBytesFreed", imageBytesFreed.get());
+        o.put("rendererCrashed", rendererCrashed.get());
+        o.put("rendererKilled", rendererKilled.get());
+        o.put("mainRecovered", mainRecovered.get());
+        o.put("recoveredToHome", recoveredToHome.get());
+        o.put("overlayLost", overlayLost.get());
+        return o;
+    }
+
+    static void resetStats() {
+        trimLight.set(0);
+        trimModerate.set(0);
+        trimCritical.set(0);
+        overlayPoolDrops.set(0);
+        imageBytesFreed.set(0);
+        rendererCrashed.set(0);
+        rendererKilled.set(0);
+        mainRecovered.set(0);
+        recoveredToHome.set(0);
+        overlayLost.set(0);
+    }
+}
@@ -0,0 +1,38 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class AppLinkRewriterTest {
+
+    private final AppLinkRewriter rewriter = new AppLinkRewriter("https://moveit-xi.vercel.app");
+
+    @Test
+    public void rewritesPathAndQueryOntoServerUrl() {
+        assertEquals("https://moveit-xi.vercel.app/payment/success?orderId=A1&amount=1000",
+            rewriter.rewrite("moveitapp://callback/payment/success?orderId=A1&amount=1000"));
+        assertEquals("https://moveit-xi.vercel.app/payment/fail?message=a%26b",
+            rewriter.rewrite("moveitapp://x/payment/fail?message=a%26b#frag"));
+    }
+
+    @Test
+    public void emptyPathBecomesRoot() {
+        assertEquals("https://moveit-xi.vercel.app/", rewriter.rewrite("moveitapp://"));
+        assertEquals("https://moveit-xi.vercel.app/?a=1", rewriter.rewrite("moveitapp://host?a=1"));
+    }
+
+    @Test
+    public void keepsNonDefaultPort() {
+        assertEquals("http://10.0.2.2:3000/payment/success",
+            new AppLinkRewriter("http://10.0.2.2:3000").rewrite("moveitapp://h/payment/success"));
+        assertEquals("https://example.com/p", new AppLinkRewriter("https://example.com:443/").rewrite("moveitapp://h/p"));
+    }
+
+    @Test
+    public void rejectsOtherSchemesAndMissingServerUrl() {
+        assertNull(rewriter.rewrite("https://moveit-xi.vercel.app/payment/success"));
+        assertNull(rewriter.rewrite(null));
+        assertNull(new AppLinkRewriter(null).rewrite("moveitapp://h/p"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import com.moveit.app.BundleBootState.LaunchResult;
+import org.junit.Test;
+
+public class BundleBootStateTest {
+
+    private static BundleBootState seeded(String seed) {
+        BundleBootState state = new BundleBootState();
+        assertEquals(LaunchResult.RESEEDED, state.onLaunch(seed));
+        return state;
+    }
+
+    @Test
+    public void stagedBundleIsActivatedOnlyOnNextLaunch() {
+        BundleBootState state = seeded("apk1");
+        assertTrue(state.stage("web2"));
+        assertEquals("apk1", state.active);
+
+        assertEquals(LaunchResult.ACTIVATED, state.onLaunch("apk1"));
+        assertEquals("web2", state.active);
+        assertEquals("apk1", state.previous);
+        assertTrue(state.awaitingConfirmation());
+
+        assertTrue(state.onBootConfirmed());
+        assertFalse(state.onBootConfirmed());
+        assertEquals(LaunchResult.UNCHANGED, state.onLaunch("apk1"));
+        assertEquals("web2", state.active);
+    }
+
+    @Test
+    public void rollsBackAfterUnconfirmedBootsAndNeverRetriesThatVersion() {
+        BundleBootState state = seeded("apk1");
+        state.stage("web2");
+        state.onLaunch("apk1");
+        // 1회 더 시작까지는 기다림 (사용자가 첫 페인트 전에 앱을 닫은 경우 등)
+        assertEquals(LaunchResult.UNCHANGED, state.onLaunch("apk1"));
+        assertEquals("web2", state.active);
+
+        assertEquals(LaunchResult.ROLLED_BACK, state.onLaunch("apk1"));
+        assertEquals("apk1", state.active);
+        assertFalse(state.awaitingConfirmation());
+        assertFalse(state.wants("web2"));
+        assertFalse(state.stage("web2"));
+        assertTrue(state.wants("web3"));
+    }
+
+    @Test
+    public void newApkDiscardsDownloadedBundles() {
+        BundleBootState state = seeded("apk1");
+        state.stage("web2");
+        state.onLaunch("apk1");
+        state.onBootConfirmed();
+        state.stage("web3");
+
+        assertEquals(LaunchResult.RESEEDED, state.onLaunch("apk2"));
+        assertEquals("apk2", state.active);
+        assertNull(state.pending);
+        assertNull(state.previous);
+        assertEquals(1, state.retained().size());
+    }
+
+    @Test
+    public void doesNotStageActiveOrPendingVersion() {
+        BundleBootState state = seeded("apk1");
+        assertFalse(state.stage("apk1"));
+        assertTrue(state.stage("web2"));
+        assertFalse(state.wants("web2"));
+        assertEquals(2, state.retained().size());
+    }
+}
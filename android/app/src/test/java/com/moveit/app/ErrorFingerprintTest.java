@@ -0,0 +1,45 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ErrorFingerprintTest {
+
+    @Test
+    public void sameBugAcrossDeploysSharesFingerprint() {
+        String a = ErrorFingerprint.of("window.onerror", "Cannot read properties of undefined (reading 'id')",
+            "TypeError: Cannot read properties of undefined (reading 'id')\n"
+                + "    at Schedule (https://app.example.com/_next/static/chunks/app/page-3f2a1b9c0d4e5f61.js:1:2345)\n"
+                + "    at renderWithHooks (https://app.example.com/_next/static/chunks/framework-aa11bb22cc33dd44.js:9:100)");
+        String b = ErrorFingerprint.of("window.onerror", "Cannot read properties of undefined (reading 'id')",
+            "TypeError: Cannot read properties of undefined (reading 'id')\n"
+                + "    at Schedule (https://app.example.com/_next/static/chunks/app/page-99e8d7c6b5a41234.js:1:2399)\n"
+                + "    at renderWithHooks (https://app.example.com/_next/static/chunks/framework-ffeeddccbbaa9988.js:9:101)");
+        assertEquals(a, b);
+    }
+
+    @Test
+    public void numbersInMessageAreIgnored() {
+        assertEquals(
+            ErrorFingerprint.of("api", "timeout after 5023ms", null),
+            ErrorFingerprint.of("api", "timeout after 812ms", null));
+    }
+
+    @Test
+    public void differentFramesOrSourcesDiffer() {
+        String stackA = "java.lang.IllegalStateException: x\n\tat com.moveit.app.UrlRouter.route(UrlRouter.java:31)";
+        String stackB = "java.lang.IllegalStateException: x\n\tat com.moveit.app.PaymentHandoff.navigate(PaymentHandoff.java:40)";
+        assertNotEquals(ErrorFingerprint.of("android.pay", "x", stackA), ErrorFingerprint.of("android.pay", "x", stackB));
+        assertNotEquals(ErrorFingerprint.of("a", "x", stackA), ErrorFingerprint.of("b", "x", stackA));
+    }
+
+    @Test
+    public void onlyTopFramesCount() {
+        StringBuilder deep = new StringBuilder("Error: boom");
+        for (int i = 0; i < ErrorFingerprint.STACK_FRAMES; i++) deep.append("\n    at f").append((char) ('a' + i)).append(" (x.js:1:1)");
+        String a = ErrorFingerprint.of("s", "boom", deep + "\n    at g (y.js:1:1)");
+        String b = ErrorFingerprint.of("s", "boom", deep + "\n    at h (z.js:1:1)");
+        assertEquals(a, b);
+    }
+}
@@ -0,0 +1,80 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import com.moveit.app.ImageUploadPlan.Preset;
+import org.junit.Test;
+
+public class ImageUploadPlanTest {
+
+    @Test
+    public void targetSizeScalesLongEdgeAndKeepsAspect() {
+        assertArrayEquals(new int[] {2048, 1536}, ImageUploadPlan.targetSize(4032, 3024, 2048));
+        assertArrayEquals(new int[] {810, 1080}, ImageUploadPlan.targetSize(3024, 4032, 1080));
+        // 이미 작으면 그대로
+        assertArrayEquals(new int[] {800, 600}, ImageUploadPlan.targetSize(800, 600, 1080));
+        assertArrayEquals(new int[] {0, 0}, ImageUploadPlan.targetSize(0, 600, 1080));
+    }
+
+    @Test
+    public void sampleSizeUsesLongEdge() {
+        // 4032 → /2 = 2016 ≥ 1080, /4 = 1008 < 1080
+        assertEquals(2, ImageUploadPlan.sampleSize(3024, 4032, 1080));
+        assertEquals(1, ImageUploadPlan.sampleSize(4032, 3024, 2048));
+        assertEquals(4, ImageUploadPlan.sampleSize(8000, 6000, 2000));
+    }
+
+    @Test
+    public void keepsOnlySmallUnrotatedJpegOrWebp() {
+        assertTrue(ImageUploadPlan.keepOriginal("image/jpeg", 1000, 800, 200_000, false, Preset.PROFILE));
+        assertFalse(ImageUploadPlan.keepOriginal("image/jpeg", 1000, 800, 200_000, true, Preset.PROFILE));
+        assertFalse(ImageUploadPlan.keepOriginal("image/png", 1000, 800, 200_000, false, Preset.PROFILE));
+        assertFalse(ImageUploadPlan.keepOriginal("image/jpeg", 1200, 800, 200_000, false, Preset.PROFILE));
+        assertTrue(ImageUploadPlan.keepOriginal("image/webp", 1200, 800, 200_000, false, Preset.ACADEMY));
+        assertFalse(ImageUploadPlan.keepOriginal("image/jpeg", 1000, 800, 3_000_000, false, Preset.ACADEMY));
+    }
+
+    @Test
+    public void chunksCoverFileAndResumeFromServerOffset() {
+        long total = 600_000;
+        int chunk = ImageUploadPlan.CHUNK_BYTES;
+        long offset = 0;
+        int count = 0;
+        int len;
+        while ((len = ImageUploadPlan.chunkLength(offset, total, chunk)) > 0) {
+            offset += len;
+            count++;
+        }
+        assertEquals(total, offset);
+        assertEquals(3, count);
+        assertEquals(600_000 - 2 * chunk, ImageUploadPlan.chunkLength(2L * chunk, total, chunk));
+
+        assertEquals(chunk, ImageUploadPlan.resumeOffset(chunk, total));
+        assertEquals(total, ImageUploadPlan.resumeOffset(total, total));
+        // 서버 값이 이상하면 처음부터
+        assertEquals(0, ImageUploadPlan.resumeOffset(total + 1, total));
+        assertEquals(0, ImageUploadPlan.resumeOffset(-1, total));
+    }
+
+    @Test
+    public void statsReportSavingsAndCompletionRate() {
+        ImageUploadPlan.Stats stats = new ImageUploadPlan.Stats();
+        assertEquals(1.0, stats.completionRate(), 0.0001);
+        stats.onPrepared(8_000_000, 600_000);
+        stats.onPrepared(300_000, 300_000);
+        assertEquals(7_400_000, stats.savedBytes());
+        stats.completed = 3;
+        stats.failed = 1;
+        assertEquals(0.75, stats.completionRate(), 0.0001);
+        assertEquals(50, ImageUploadPlan.percent(300_000, 600_000));
+        assertEquals(0, ImageUploadPlan.percent(1, 0));
+    }
+
+    @Test
+    public void presetFromWebName() {
+        assertEquals(Preset.PROFILE, Preset.of("profile"));
+        assertEquals(Preset.ACADEMY, Preset.of("academy"));
+        assertEquals(Preset.ACADEMY, Preset.of(null));
+        assertEquals("profile", Preset.PROFILE.id());
+    }
+}
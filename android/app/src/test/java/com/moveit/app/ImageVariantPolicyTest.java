@@ -0,0 +1,55 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import com.moveit.app.ImageVariantPolicy.LinkClass;
+import org.junit.Test;
+
+public class ImageVariantPolicyTest {
+
+    @Test
+    public void classifiesByMeteredBandwidthAndDataSaver() {
+        assertEquals(LinkClass.FAST, ImageVariantPolicy.classify(false, 50_000, false));
+        assertEquals(LinkClass.FAST, ImageVariantPolicy.classify(false, 0, false));
+        assertEquals(LinkClass.MODERATE, ImageVariantPolicy.classify(true, 50_000, false));
+        assertEquals(LinkClass.MODERATE, ImageVariantPolicy.classify(false, 5_000, false));
+        assertEquals(LinkClass.SLOW, ImageVariantPolicy.classify(false, 1_000, false));
+        assertEquals(LinkClass.SLOW, ImageVariantPolicy.classify(false, 50_000, true));
+    }
+
+    @Test
+    public void targetWidthNeverExceedsViewport() {
+        assertEquals(0, ImageVariantPolicy.targetWidth(LinkClass.FAST, 1440));
+        assertEquals(1080, ImageVariantPolicy.targetWidth(LinkClass.MODERATE, 1440));
+        assertEquals(720, ImageVariantPolicy.targetWidth(LinkClass.SLOW, 1440));
+        assertEquals(600, ImageVariantPolicy.targetWidth(LinkClass.SLOW, 600));
+    }
+
+    @Test
+    public void sampleSizeKeepsAtLeastTargetWidth() {
+        assertEquals(1, ImageVariantPolicy.sampleSize(1000, 720));
+        assertEquals(2, ImageVariantPolicy.sampleSize(1440, 720));
+        assertEquals(4, ImageVariantPolicy.sampleSize(4000, 720));
+        assertEquals(1, ImageVariantPolicy.sampleSize(0, 720));
+    }
+
+    @Test
+    public void rewritesOnlySupabasePublicObjects() {
+        assertEquals(
+            "https://abc.supabase.co/storage/v1/render/image/public/academy/banner.jpg?width=720&quality=60",
+            ImageVariantPolicy.renderUrl("https://abc.supabase.co/storage/v1/object/public/academy/banner.jpg", 720, 60));
+        assertNull(ImageVariantPolicy.renderUrl("https://abc.supabase.co/storage/v1/object/public/a.jpg?v=1", 720, 60));
+        assertNull(ImageVariantPolicy.renderUrl("https://cdn.example.com/storage/v1/object/public/a.jpg", 720, 60));
+        assertNull(ImageVariantPolicy.renderUrl("https://abc.supabase.co/storage/v1/object/public/a.jpg", 0, 60));
+    }
+
+    @Test
+    public void onlyTransformDisabledAnswersTurnOffRendering() {
+        assertTrue(ImageVariantPolicy.isRenderDisabled(400,
+            "{\"statusCode\":\"403\",\"error\":\"FeatureNotEnabled\",\"message\":\"Image transformations are not enabled\"}"));
+        assertTrue(ImageVariantPolicy.isRenderDisabled(403, "Image Transformation is not enabled for this project"));
+        assertFalse(ImageVariantPolicy.isRenderDisabled(404, "{\"error\":\"not_found\",\"message\":\"Object not found\"}"));
+        assertFalse(ImageVariantPolicy.isRenderDisabled(400, "{\"error\":\"InvalidRequest\",\"message\":\"Unsupported format\"}"));
+        assertFalse(ImageVariantPolicy.isRenderDisabled(403, null));
+    }
+}
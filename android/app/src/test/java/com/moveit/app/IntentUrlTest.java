@@ -0,0 +1,43 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class IntentUrlTest {
+
+    @Test
+    public void parsesSchemePackageAndFallback() {
+        IntentUrl parsed = IntentUrl.parse("intent://pay?srCode=1#Intent;scheme=kb-acp;package=com.kbcard.cxh.appcard;"
+            + "S.browser_fallback_url=https%3A%2F%2Fm.kbcard.com%2Fpay%3Fa%3D1%26b%3D%ED%95%9C;end");
+        assertNotNull(parsed);
+        assertEquals("kb-acp", parsed.scheme);
+        assertEquals("com.kbcard.cxh.appcard", parsed.packageName);
+        assertEquals("https://m.kbcard.com/pay?a=1&b=한", parsed.fallbackUrl);
+        assertEquals(PaymentApp.KB, parsed.paymentApp());
+    }
+
+    @Test
+    public void fallsBackToSchemeWhenPackageUnknown() {
+        IntentUrl parsed = IntentUrl.parse("intent:#Intent;scheme=ispmobile;end");
+        assertNull(parsed.packageName);
+        assertNull(parsed.fallbackUrl);
+        assertEquals(PaymentApp.ISP, parsed.paymentApp());
+    }
+
+    @Test
+    public void plusIsNotDecodedAndIgnoresAfterEnd() {
+        IntentUrl parsed = IntentUrl.parse("intent://x#Intent;S.browser_fallback_url=https://a.com/?q=a+b;end;package=ignored");
+        assertEquals("https://a.com/?q=a+b", parsed.fallbackUrl);
+        assertNull(parsed.packageName);
+    }
+
+    @Test
+    public void nonIntentUrls() {
+        assertNull(IntentUrl.parse("https://pay.toss.im"));
+        assertNull(IntentUrl.parse(null));
+        IntentUrl noFragment = IntentUrl.parse("intent://host/path");
+        assertNull(noFragment.scheme);
+        assertEquals(PaymentApp.UNKNOWN, noFragment.paymentApp());
+    }
+}
@@ -0,0 +1,76 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import org.junit.Test;
+
+public class JankStatsTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long VSYNC_60 = 16_666_667L;
+
+    @Test
+    public void percentilesAndSlowFramesPerScreen() {
+        JankStats stats = new JankStats();
+        for (int i = 0; i < 90; i++) stats.onFrame("/", 8 * MS, VSYNC_60);
+        for (int i = 0; i < 9; i++) stats.onFrame("/", 40 * MS, VSYNC_60);
+        stats.onFrame("/", 800 * MS, VSYNC_60);
+        stats.onFrame("/my/bookings", 5 * MS, VSYNC_60);
+
+        JankStats.Screen home = stats.screenSnapshot("/");
+        assertEquals(100, home.frames);
+        assertEquals(10, home.slowFrames);
+        assertEquals(1, home.frozenFrames);
+        assertEquals(8, home.percentileMs(50));
+        assertEquals(40, home.percentileMs(95));
+        assertEquals(40, home.percentileMs(99));
+        assertEquals(800, home.percentileMs(100));
+        assertEquals(800, home.maxMs);
+        // 40ms → 2프레임, 800ms → 47프레임 놓침
+        assertEquals(9 * 2 + 47, home.droppedFrames);
+        assertEquals(2, stats.screens().size());
+    }
+
+    @Test
+    public void percentileIsClampedToMaxForLongFrames() {
+        JankStats stats = new JankStats();
+        stats.onFrame("/", 2_500 * MS, VSYNC_60);
+        assertEquals(2_500, stats.screenSnapshot("/").percentileMs(50));
+    }
+
+    @Test
+    public void extraScreensFoldIntoOther() {
+        JankStats stats = new JankStats();
+        for (int i = 0; i < JankStats.MAX_SCREENS + 5; i++) stats.onFrame("/s" + i, MS, VSYNC_60);
+        List<JankStats.Screen> screens = stats.screens();
+        assertEquals(JankStats.MAX_SCREENS, screens.size());
+        assertEquals(JankStats.OTHER_SCREEN, screens.get(screens.size() - 1).name);
+        assertEquals(6, screens.get(screens.size() - 1).frames);
+    }
+
+    @Test
+    public void keepsRecentStallsOnly() {
+        JankStats stats = new JankStats();
+        for (int i = 0; i < JankStats.MAX_STALLS + 3; i++) stats.onStall(null, 200 + i, i, "at x");
+        List<JankStats.Stall> stalls = stats.stalls();
+        assertEquals(JankStats.MAX_STALLS, stalls.size());
+        assertEquals(203, stalls.get(0).durationMs);
+        assertEquals(JankStats.UNKNOWN_SCREEN, stalls.get(0).screen);
+        assertEquals(JankStats.MAX_STALLS + 3, stats.totalStalls());
+        stats.reset();
+        assertEquals(0, stats.totalStalls());
+    }
+
+    @Test
+    public void screenKeyNormalizesIds() {
+        assertEquals("/", JankStats.screenKey("https://moveit.app"));
+        assertEquals("/", JankStats.screenKey("https://moveit.app/?tab=1"));
+        assertEquals("/academy/:id/classes",
+            JankStats.screenKey("https://moveit.app/academy/3f2a9c1e-5b7d-4e8f-9a0b-1c2d3e4f5a6b/classes?x=1#top"));
+        assertEquals("/book/session/:id", JankStats.screenKey("https://moveit.app/book/session/12345"));
+        assertEquals("/s/dance-studio/cart", JankStats.screenKey("https://moveit.app/s/Dance-Studio/cart"));
+        assertEquals("payment-overlay", JankStats.screenKey("payment-overlay"));
+        assertNull(JankStats.screenKey(null));
+    }
+}
@@ -0,0 +1,133 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class KvLogTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void valuesSurviveReopen() throws IOException {
+        File f = tmp.newFile("a.kv");
+        f.delete();
+        try (KvLog log = KvLog.open(f)) {
+            log.put("lang", "ko");
+            log.put("lang", "en");
+            log.put("cart:1", "[]");
+            log.put("gone", "x");
+            log.remove("gone");
+        }
+        try (KvLog log = KvLog.open(f)) {
+            assertEquals("en", log.get("lang"));
+            assertEquals("[]", log.get("cart:1"));
+            assertNull(log.get("gone"));
+            assertEquals(2, log.size());
+            assertFalse(log.recoveredTail());
+        }
+    }
+
+    @Test
+    public void batchPutDeletesNullsAndFiltersByPrefix() throws IOException {
+        File f = new File(tmp.getRoot(), "b.kv");
+        try (KvLog log = KvLog.open(f)) {
+            Map<String, String> batch = new HashMap<>();
+            batch.put("cart:1", "a");
+            batch.put("cart:2", "b");
+            batch.put("recent", "c");
+            log.putAll(batch);
+            Map<String, String> update = new HashMap<>();
+            update.put("cart:2", null);
+            log.putAll(update);
+
+            assertEquals(1, log.getAll("cart:").size());
+            assertEquals(2, log.getAll(null).size());
+            assertEquals(1, log.removePrefix("cart:"));
+            assertEquals(1, log.size());
+        }
+    }
+
+    @Test
+    public void unchangedValueIsNotAppended() throws IOException {
+        File f = new File(tmp.getRoot(), "c.kv");
+        try (KvLog log = KvLog.open(f)) {
+            log.put("k", "v");
+            long bytes = log.fileBytes();
+            log.put("k", "v");
+            assertEquals(bytes, log.fileBytes());
+        }
+    }
+
+    @Test
+    public void tornTailIsDroppedAndLaterWritesStillLoad() throws IOException {
+        File f = new File(tmp.getRoot(), "d.kv");
+        long lastRecordStart;
+        try (KvLog log = KvLog.open(f)) {
+            log.put("a", "1");
+            lastRecordStart = log.fileBytes();
+            log.put("b", "2222222222");
+        }
+        // 마지막 레코드 값 중간을 깨뜨림 (쓰는 도중 종료와 같은 효과)
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            raf.seek(lastRecordStart + KvLog.RECORD_OVERHEAD);
+            raf.write(0x7f);
+        }
+        try (KvLog log = KvLog.open(f)) {
+            assertTrue(log.recoveredTail());
+            assertEquals("1", log.get("a"));
+            assertNull(log.get("b"));
+            log.put("c", "3");
+        }
+        try (KvLog log = KvLog.open(f)) {
+            assertFalse(log.recoveredTail());
+            assertEquals("3", log.get("c"));
+            assertEquals(2, log.size());
+        }
+    }
+
+    @Test
+    public void compactionKeepsOnlyLiveValues() throws IOException {
+        File f = new File(tmp.getRoot(), "e.kv");
+        String value = new String(new char[200]).replace('\0', 'x');
+        try (KvLog log = KvLog.open(f)) {
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 200; i++) log.put("k" + i, value + round);
+            }
+            assertTrue(log.needsCompaction());
+            long before = log.fileBytes();
+            log.compact();
+            assertTrue(log.fileBytes() < before / 10);
+            assertEquals(log.liveBytes(), log.fileBytes());
+            assertFalse(log.needsCompaction());
+            log.put("after", "1");
+        }
+        try (KvLog log = KvLog.open(f)) {
+            assertEquals(201, log.size());
+            assertEquals(value + 19, log.get("k7"));
+            assertEquals("1", log.get("after"));
+        }
+    }
+
+    @Test
+    public void rejectsForeignFile() throws IOException {
+        File f = new File(tmp.getRoot(), "f.kv");
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            raf.write(new byte[64]);
+        }
+        try {
+            KvLog.open(f).close();
+            fail("expected IOException");
+        } catch (IOException expected) {
+            // KvStore가 파일을 옮기고 새로 시작
+        }
+    }
+}
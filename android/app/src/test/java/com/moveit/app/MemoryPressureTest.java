@@ -0,0 +1,45 @@
+package com.moveit.app;
+
+import static android.content.ComponentCallbacks2.*;
+import static org.junit.Assert.*;
+
+import com.moveit.app.MemoryPressure.Step;
+import org.junit.Test;
+
+public class MemoryPressureTest {
+
+    private static final String APP = "https://app.example.com/";
+
+    @Test
+    public void mapsForegroundAndBackgroundLevels() {
+        assertEquals(Step.NONE, MemoryPressure.stepFor(0));
+        assertEquals(Step.LIGHT, MemoryPressure.stepFor(TRIM_MEMORY_RUNNING_MODERATE));
+        assertEquals(Step.MODERATE, MemoryPressure.stepFor(TRIM_MEMORY_RUNNING_LOW));
+        assertEquals(Step.CRITICAL, MemoryPressure.stepFor(TRIM_MEMORY_RUNNING_CRITICAL));
+        assertEquals(Step.LIGHT, MemoryPressure.stepFor(TRIM_MEMORY_UI_HIDDEN));
+        assertEquals(Step.MODERATE, MemoryPressure.stepFor(TRIM_MEMORY_BACKGROUND));
+        assertEquals(Step.CRITICAL, MemoryPressure.stepFor(TRIM_MEMORY_MODERATE));
+        assertEquals(Step.CRITICAL, MemoryPressure.stepFor(TRIM_MEMORY_COMPLETE));
+    }
+
+    @Test
+    public void reloadsLastWebUrl() {
+        assertEquals("https://app.example.com/booking/42",
+            MemoryPressure.recoveryUrl("https://app.example.com/booking/42", APP, 0, 1_000));
+    }
+
+    @Test
+    public void fallsBackToAppUrlForNonWebOrMissingUrl() {
+        assertEquals(APP, MemoryPressure.recoveryUrl(null, APP, 0, 1_000));
+        assertEquals(APP, MemoryPressure.recoveryUrl("about:blank", APP, 0, 1_000));
+        assertEquals(APP, MemoryPressure.recoveryUrl("data:text/html,offline", APP, 0, 1_000));
+    }
+
+    @Test
+    public void repeatedCrashWithinWindowGoesHome() {
+        long last = 100_000;
+        String url = "https://app.example.com/booking/42";
+        assertEquals(APP, MemoryPressure.recoveryUrl(url, APP, last, last + MemoryPressure.CRASH_LOOP_WINDOW_MS - 1));
+        assertEquals(url, MemoryPressure.recoveryUrl(url, APP, last, last + MemoryPressure.CRASH_LOOP_WINDOW_MS + 1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class NotificationCoalescerTest {
+
+    private static final long NOW = 1_000_000;
+
+    @Test
+    public void postsIndividuallyUnderLimit() {
+        List<NotificationCoalescer.Posted> children = Arrays.asList(
+            new NotificationCoalescer.Posted(1, NOW - 1_000, "a"),
+            new NotificationCoalescer.Posted(2, NOW - 500, "b"));
+        NotificationCoalescer.Decision d = NotificationCoalescer.decide(children, null, "c", NOW);
+        assertFalse(d.summarize);
+        assertTrue(d.cancelIds.isEmpty());
+    }
+
+    @Test
+    public void foldsBurstIntoSummaryNewestFirst() {
+        List<NotificationCoalescer.Posted> children = new ArrayList<>();
+        for (int i = 0; i < NotificationCoalescer.MAX_INDIVIDUAL; i++) {
+            children.add(new NotificationCoalescer.Posted(i, NOW - 10_000 + i, "line" + i));
+        }
+        NotificationCoalescer.Decision d = NotificationCoalescer.decide(children, null, "new", NOW);
+        assertTrue(d.summarize);
+        assertEquals(NotificationCoalescer.MAX_INDIVIDUAL + 1, d.count);
+        assertEquals("new", d.lines.get(0));
+        assertEquals("line" + (NotificationCoalescer.MAX_INDIVIDUAL - 1), d.lines.get(1));
+        assertEquals(NotificationCoalescer.MAX_INDIVIDUAL, d.cancelIds.size());
+    }
+
+    @Test
+    public void ignoresChildrenOutsideWindow() {
+        List<NotificationCoalescer.Posted> children = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            children.add(new NotificationCoalescer.Posted(i, NOW - NotificationCoalescer.BURST_WINDOW_MS - 1, "old"));
+        }
+        assertFalse(NotificationCoalescer.decide(children, null, "new", NOW).summarize);
+    }
+
+    @Test
+    public void appendsToLiveSummaryAndCapsLines() {
+        NotificationCoalescer.Summary summary = new NotificationCoalescer.Summary(
+            NOW - 1_000, 7, Arrays.asList("5", "4", "3", "2", "1"));
+        NotificationCoalescer.Decision d = NotificationCoalescer.decide(Collections.emptyList(), summary, "6", NOW);
+        assertTrue(d.summarize);
+        assertEquals(8, d.count);
+        assertEquals(Arrays.asList("6", "5", "4", "3", "2"), d.lines);
+        assertFalse(d.dropStaleSummary);
+    }
+
+    @Test
+    public void staleSummaryStartsOver() {
+        NotificationCoalescer.Summary summary = new NotificationCoalescer.Summary(
+            NOW - NotificationCoalescer.BURST_WINDOW_MS - 1, 9, Collections.singletonList("x"));
+        NotificationCoalescer.Decision d = NotificationCoalescer.decide(Collections.emptyList(), summary, "new", NOW);
+        assertFalse(d.summarize);
+        assertTrue(d.dropStaleSummary);
+    }
+}
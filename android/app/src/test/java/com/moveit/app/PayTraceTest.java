@@ -0,0 +1,93 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import org.junit.Test;
+
+public class PayTraceTest {
+
+    private long now;
+
+    private PayTrace trace(int capacity) {
+        return new PayTrace(capacity, () -> now);
+    }
+
+    private void at(long ms) {
+        now = ms * 1_000_000;
+    }
+
+    @Test
+    public void buildsSessionTimelineAndBreakdown() {
+        PayTrace t = trace(64);
+        at(0); t.record(PayTrace.Stage.OVERLAY_OPENED);
+        at(300); t.record(PayTrace.Stage.PAYMENT_PAGE_LOADED);
+        at(5_000); t.record(PayTrace.Stage.APP_LAUNCHED, PaymentApp.KB);
+        at(25_000); t.record(PayTrace.Stage.APP_SCHEME_RETURNED);
+        at(25_800); t.record(PayTrace.Stage.RESULT_SUCCESS);
+
+        at(30_000); t.record(PayTrace.Stage.OVERLAY_OPENED);
+        at(31_000); t.record(PayTrace.Stage.APP_LAUNCH_FAILED, PaymentApp.ISP);
+
+        List<PayTrace.Session> sessions = t.sessions();
+        assertEquals(2, sessions.size());
+        PayTrace.Session first = sessions.get(0);
+        assertEquals(PaymentApp.KB, first.app);
+        assertEquals(PayTrace.Outcome.SUCCESS, first.outcome);
+        assertEquals(300, first.millis(PayTrace.Stage.OVERLAY_OPENED, PayTrace.Stage.PAYMENT_PAGE_LOADED));
+        assertEquals(20_000, first.inAppMillis());
+        assertEquals(25_800, first.totalMillis());
+        assertEquals(PayTrace.Outcome.LAUNCH_FAILED, sessions.get(1).outcome);
+        assertEquals(PaymentApp.ISP, sessions.get(1).app);
+
+        String json = t.toJson();
+        assertTrue(json.contains("\"KB\":{\"sessions\":1,\"success\":1,\"fail\":0,\"abandoned\":0,\"avgInAppMs\":20000,\"avgTotalMs\":25800}"));
+        assertTrue(json.contains("\"ISP\":{\"sessions\":1,\"success\":0,\"fail\":1"));
+    }
+
+    @Test
+    public void ringKeepsNewestEvents() {
+        PayTrace t = trace(4);
+        for (int i = 0; i < 10; i++) {
+            at(i);
+            t.record(PayTrace.Stage.OVERLAY_OPENED);
+        }
+        List<PayTrace.Event> events = t.events();
+        assertEquals(4, events.size());
+        assertEquals(6, events.get(0).seq);
+        assertEquals(10, events.get(3).session);
+    }
+
+    @Test
+    public void eventsBeforeFirstSessionAreNotSessions() {
+        PayTrace t = trace(8);
+        t.record(PayTrace.Stage.APP_SCHEME_RETURNED);
+        assertEquals(1, t.events().size());
+        assertTrue(t.sessions().isEmpty());
+    }
+
+    @Test
+    public void processRestoreStartsSessionWithSavedApp() {
+        PayTrace t = trace(16);
+        at(0); t.record(PayTrace.Stage.PROCESS_RESTORED, PaymentApp.SHINHAN);
+        at(40); t.record(PayTrace.Stage.APP_SCHEME_RETURNED);
+        at(1_200); t.record(PayTrace.Stage.RESULT_SUCCESS);
+
+        List<PayTrace.Session> sessions = t.sessions();
+        assertEquals(1, sessions.size());
+        assertEquals(PaymentApp.SHINHAN, sessions.get(0).app);
+        assertEquals(1_200, sessions.get(0).restoreMillis());
+        assertEquals(-1, sessions.get(0).totalMillis());
+        assertTrue(t.toJson().contains("\"restored\":true,\"restoreMs\":1200"));
+    }
+
+    @Test
+    public void resultPages() {
+        assertEquals(PayTrace.Stage.RESULT_SUCCESS, PayTrace.resultStageFor("/payment/ticket/success"));
+        assertEquals(PayTrace.Stage.RESULT_SUCCESS, PayTrace.resultStageFor("/payment/success"));
+        assertEquals(PayTrace.Stage.RESULT_FAIL, PayTrace.resultStageFor("/payment/ticket/fail"));
+        assertNull(PayTrace.resultStageFor("/payment-history"));
+        assertNull(PayTrace.resultStageFor("/payment"));
+        assertNull(PayTrace.resultStageFor(null));
+    }
+}
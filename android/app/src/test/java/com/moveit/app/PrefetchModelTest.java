@@ -0,0 +1,229 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import com.moveit.app.PrefetchModel.Prediction;
+import com.moveit.app.PrefetchModel.Route;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class PrefetchModelTest {
+
+    private static final String APP = "https://moveit-xi.vercel.app";
+    private static final String SESSION = "3f2a9c1e-7b4d-4e0a-9a51-0c2d8e6f1b37";
+    private static final String REST = "https://abc.supabase.co/rest/v1/";
+
+    @Test
+    public void routeExtractsKeyAndIds() {
+        Route route = Route.of(APP + "/book/session/" + SESSION + "/success?from=push");
+        assertEquals("/book/session/:id/success", route.key);
+        assertEquals(Collections.singletonList(SESSION), route.ids);
+        assertNull(Route.of("intent://scan#Intent;end"));
+        assertNull(Route.of(null));
+    }
+
+    @Test
+    public void predictsAfterRepeatedTransitionAndCarriesId() {
+        PrefetchModel model = new PrefetchModel();
+        Route book = Route.of(APP + "/book/session/" + SESSION);
+        Route success = Route.of(APP + "/book/session/" + SESSION + "/success");
+        model.record(book, success);
+        model.record(book, success);
+        // 두 번은 관찰 부족
+        assertNull(model.predict(book));
+        model.record(book, success);
+
+        Route other = Route.of(APP + "/book/session/" + "11112222-3333-4444-5555-666677778888");
+        Prediction p = model.predict(other);
+        assertEquals("/book/session/:id/success", p.key);
+        assertEquals(1.0, p.probability, 0.0001);
+        assertEquals(other.ids, p.ids);
+    }
+
+    @Test
+    public void newIdTransitionIsPredictedButNotConcrete() {
+        PrefetchModel model = new PrefetchModel();
+        Route schedule = Route.of(APP + "/schedule");
+        for (int i = 0; i < 3; i++) {
+            model.record(schedule, Route.of(APP + "/book/session/1000" + i));
+        }
+        Prediction p = model.predict(schedule);
+        assertEquals("/book/session/:id", p.key);
+        assertFalse(p.isConcrete());
+        assertTrue(model.dataUrls(p, 6).isEmpty());
+    }
+
+    @Test
+    public void decayFollowsRecentHabit() {
+        PrefetchModel model = new PrefetchModel();
+        Route home = Route.of(APP + "/");
+        Route schedule = Route.of(APP + "/schedule");
+        Route mypage = Route.of(APP + "/mypage");
+        for (int i = 0; i < 3; i++) model.record(home, schedule);
+        for (int i = 0; i < 5; i++) model.record(home, mypage);
+        assertEquals("/mypage", model.predict(home).key);
+        // 같은 화면 재방문은 전환 아님
+        assertFalse(model.record(home, Route.of(APP + "/")));
+    }
+
+    @Test
+    public void ambiguousTransitionsAreNotPredicted() {
+        PrefetchModel model = new PrefetchModel();
+        Route home = Route.of(APP + "/");
+        for (int i = 0; i < 4; i++) {
+            model.record(home, Route.of(APP + "/schedule"));
+            model.record(home, Route.of(APP + "/mypage"));
+            model.record(home, Route.of(APP + "/academy"));
+        }
+        assertNull(model.predict(home));
+    }
+
+    @Test
+    public void dataUrlsUseTemplatesSeenTwice() {
+        PrefetchModel model = new PrefetchModel();
+        Route first = Route.of(APP + "/book/session/" + SESSION + "/success");
+        model.learn(first, REST + "schedules?select=*&id=eq." + SESSION);
+        model.learn(first, REST + "user_tickets?select=*&at=2026-10-17T10:00:01");
+        Route second = Route.of(APP + "/book/session/aaaabbbb-cccc-dddd-eeee-ffff00001111/success");
+        model.learn(second, REST + "schedules?select=*&id=eq.aaaabbbb-cccc-dddd-eeee-ffff00001111");
+        model.learn(second, REST + "user_tickets?select=*&at=2026-10-17T10:05:42");
+
+        Prediction p = new Prediction("/book/session/:id/success", 1.0, Collections.singletonList("99998888-7777-6666-5555-444433332222"));
+        assertEquals(Collections.singletonList(REST + "schedules?select=*&id=eq.99998888-7777-6666-5555-444433332222"),
+            model.dataUrls(p, 6));
+        assertEquals(0, model.dataUrls(p, 0).size());
+    }
+
+    @Test
+    public void templatesNeedAllPlaceholders() {
+        List<String> ids = Arrays.asList("12345", "67890");
+        String template = PrefetchModel.toTemplate(REST + "a?x=12345&y=67890&z=12", ids);
+        assertEquals(REST + "a?x={0}&y={1}&z=12", template);
+        assertEquals(REST + "a?x=1111&y=2222&z=12", PrefetchModel.fromTemplate(template, Arrays.asList("1111", "2222")));
+        assertNull(PrefetchModel.fromTemplate(template, Collections.singletonList("1111")));
+    }
+
+    @Test
+    public void serializeRoundTrip() {
+        PrefetchModel model = new PrefetchModel();
+        Route book = Route.of(APP + "/book/session/" + SESSION);
+        Route success = Route.of(APP + "/book/session/" + SESSION + "/success");
+        for (int i = 0; i < 3; i++) model.record(book, success);
+        model.learn(success, REST + "schedules?id=eq." + SESSION);
+        model.learn(success, REST + "schedules?id=eq." + SESSION);
+
+        PrefetchModel restored = PrefetchModel.parse(model.serialize() + "garbage\tline\n");
+        Prediction p = restored.predict(book);
+        assertEquals("/book/session/:id/success", p.key);
+        assertEquals(Collections.singletonList(REST + "schedules?id=eq." + SESSION), restored.dataUrls(p, 6));
+        assertNull(PrefetchModel.parse(null).predict(book));
+    }
+
+    @Test
+    public void queryStringIdsArePartOfRouteAndTemplates() {
+        Route payment = Route.of(APP + "/payment?from=book&classId=" + SESSION);
+        assertEquals("/payment?classId=:id", payment.key);
+        assertEquals(Collections.singletonList(SESSION), payment.ids);
+
+        // 다른 클래스의 결제 화면에서 이전 클래스 URL을 다시 쓰지 않음
+        PrefetchModel model = new PrefetchModel();
+        model.learn(payment, REST + "classes?id=eq." + SESSION);
+        model.learn(payment, REST + "classes?id=eq." + SESSION);
+        String other = "11112222-3333-4444-5555-666677778888";
+        Prediction p = new Prediction(payment.key, 1.0, Collections.singletonList(other));
+        assertEquals(Collections.singletonList(REST + "classes?id=eq." + other), model.dataUrls(p, 6));
+
+        // 예약 화면 → 결제는 새 ID라 구체 URL 예측 안 함
+        Route book = Route.of(APP + "/book/session/" + SESSION);
+        for (int i = 0; i < 3; i++) model.record(book, Route.of(APP + "/payment?classId=1000000" + i));
+        assertFalse(model.predict(book).isConcrete());
+    }
+
+    @Test
+    public void bookToSuccessIsPrefetchedAfterTheBookingWrite() {
+        PrefetchModel model = new PrefetchModel();
+        for (int i = 0; i < 3; i++) {
+            String id = "aaaabbbb-cccc-dddd-eeee-00000000000" + i;
+            Route book = Route.of(APP + "/book/session/" + id);
+            Route success = Route.of(APP + "/book/session/" + id + "/success?type=ticket");
+            model.record(book, success);
+            model.learn(success, REST + "schedules?select=*&id=eq." + id);
+        }
+
+        PrefetchModel.Trigger trigger = new PrefetchModel.Trigger();
+        Route book = Route.of(APP + "/book/session/" + SESSION);
+        Prediction p = model.predict(book);
+        assertEquals("/book/session/:id/success", p.key);
+        // 진입 때는 보내지 않음 (뒤이은 예약 POST가 무효화)
+        assertTrue(trigger.onArrive(book, p).isEmpty());
+        assertTrue(PrefetchModel.invalidates("POST", "/api/bookings"));
+        // 실패한 쓰기는 보류 유지, 성공하면 그때 받음
+        assertNull(trigger.onWriteSettled(book, false));
+        Prediction ready = trigger.onWriteSettled(book, true);
+        assertSame(p, ready);
+        assertEquals(Collections.singletonList(REST + "schedules?select=*&id=eq." + SESSION), model.dataUrls(ready, 6));
+        // 한 번만
+        assertNull(trigger.onWriteSettled(book, true));
+    }
+
+    @Test
+    public void deferredPredictionIsFetchedOnArrivalWhenNavigationWinsTheRace() {
+        PrefetchModel.Trigger trigger = new PrefetchModel.Trigger();
+        Route book = Route.of(APP + "/book/session/" + SESSION);
+        Route success = Route.of(APP + "/book/session/" + SESSION + "/success");
+        Prediction p = new Prediction(success.key, 1.0, book.ids);
+        assertTrue(trigger.onArrive(book, p).isEmpty());
+        assertEquals(Collections.singletonList(p), trigger.onArrive(success, null));
+        // 늦게 온 완료 알림은 무시
+        assertNull(trigger.onWriteSettled(success, true));
+
+        // ID 없는 화면 예측은 진입 즉시
+        Prediction my = new Prediction("/my", 0.9, Collections.<String>emptyList());
+        assertEquals(Collections.singletonList(my), trigger.onArrive(Route.of(APP + "/home"), my));
+    }
+
+    @Test
+    public void rpcReadsDoNotInvalidate() {
+        assertFalse(PrefetchModel.invalidates("POST", "/rest/v1/rpc/get_available_tickets"));
+        assertTrue(PrefetchModel.invalidates("PATCH", "/rest/v1/bookings"));
+        assertTrue(PrefetchModel.invalidates("delete", "/api/bookings/1"));
+        assertFalse(PrefetchModel.invalidates("GET", "/api/bookings"));
+        assertFalse(PrefetchModel.invalidates("OPTIONS", "/rest/v1/bookings"));
+    }
+
+    @Test
+    public void budgetBacksOffOnSaverBatteryAndBytes() {
+        assertNull(PrefetchModel.budgetBlock(false, false, 80, false, false, 0));
+        assertEquals("data-saver", PrefetchModel.budgetBlock(true, true, 80, true, false, 0));
+        assertEquals("power-save", PrefetchModel.budgetBlock(false, false, 80, false, true, 0));
+        assertEquals("low-battery", PrefetchModel.budgetBlock(false, false, 15, false, false, 0));
+        assertNull(PrefetchModel.budgetBlock(false, false, 15, true, false, 0));
+        assertNull(PrefetchModel.budgetBlock(false, false, -1, false, false, 0));
+        assertEquals("byte-budget", PrefetchModel.budgetBlock(true, false, 80, false, false, PrefetchModel.METERED_DAILY_BYTES));
+        assertNull(PrefetchModel.budgetBlock(false, false, 80, false, false, PrefetchModel.METERED_DAILY_BYTES));
+        assertTrue(PrefetchModel.maxUrls(true) < PrefetchModel.maxUrls(false));
+    }
+
+    @Test
+    public void statsReportHitRateAccuracyAndSavedMs() {
+        PrefetchModel.Stats stats = new PrefetchModel.Stats();
+        assertEquals(0, stats.hitRate(), 0.0001);
+        Prediction p = new Prediction("/payment?classId=:id", 0.8, Collections.<String>emptyList());
+        stats.onNavigated(p, Route.of(APP + "/payment?classId=1"));
+        stats.onNavigated(p, Route.of(APP + "/schedule"));
+        assertEquals(0.5, stats.accuracy(), 0.0001);
+        stats.prefetched = 4;
+        stats.onHit(300, 0);
+        stats.onHit(200, 120);
+        stats.onHit(100, 400);
+        assertEquals(0.75, stats.hitRate(), 0.0001);
+        assertEquals(380, stats.savedMs);
+
+        PrefetchModel.Stats restored = PrefetchModel.Stats.parse(stats.serialize());
+        assertEquals(3, restored.hits);
+        assertEquals(380, restored.savedMs);
+        assertEquals(0, PrefetchModel.Stats.parse("1,2").hits);
+    }
+}
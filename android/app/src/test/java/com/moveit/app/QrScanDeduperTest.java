@@ -0,0 +1,33 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class QrScanDeduperTest {
+
+    @Test
+    public void suppressesSameValueWithinWindow() {
+        QrScanDeduper deduper = new QrScanDeduper(5_000);
+        assertTrue(deduper.accept("a", 1_000));
+        assertFalse(deduper.accept("a", 2_000));
+        assertTrue(deduper.accept("b", 2_100));
+        assertTrue(deduper.accept("a", 7_100));
+    }
+
+    @Test
+    public void windowExtendsWhileQrStaysInFrame() {
+        QrScanDeduper deduper = new QrScanDeduper(5_000);
+        assertTrue(deduper.accept("a", 0));
+        assertFalse(deduper.accept("a", 4_000));
+        assertFalse(deduper.accept("a", 8_000));
+        assertTrue(deduper.accept("a", 13_000));
+    }
+
+    @Test
+    public void ignoresEmptyValues() {
+        QrScanDeduper deduper = new QrScanDeduper(5_000);
+        assertFalse(deduper.accept("", 20));
+        assertFalse(deduper.accept(null, 20));
+    }
+}
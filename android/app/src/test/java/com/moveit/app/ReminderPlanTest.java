@@ -0,0 +1,121 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import com.moveit.app.ReminderPlan.Reminder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+public class ReminderPlanTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private static Reminder classReminder(String bookingId, long fireAt, String body) {
+        return new Reminder("class:" + bookingId, "class", bookingId, "ac1", fireAt, fireAt + 3_600_000L,
+            "오늘 수업이 있어요!", body, "class_reminder", "/my/bookings");
+    }
+
+    @Test
+    public void armsOnlyNewOrChangedAndCancelsRemoved() {
+        List<Reminder> scheduled = Arrays.asList(
+            classReminder("a", NOW + 10, "19:00 A"),
+            classReminder("b", NOW + 20, "20:00 B"),
+            classReminder("c", NOW + 30, "21:00 C"));
+        List<Reminder> desired = Arrays.asList(
+            classReminder("a", NOW + 10, "19:00 A"),
+            classReminder("b", NOW + 25, "20:30 B"),
+            classReminder("d", NOW + 40, "22:00 D"));
+
+        ReminderPlan.Diff diff = ReminderPlan.diff(scheduled, "class", desired, NOW);
+
+        assertEquals(1, diff.unchanged);
+        assertEquals(Arrays.asList("class:b", "class:d"), ids(diff.arm));
+        assertEquals(Collections.singletonList("class:c"), diff.cancel);
+    }
+
+    @Test
+    public void leavesOtherScopesAlone() {
+        Reminder ticket = new Reminder("ticket:t1:7", "ticket", "t1", "ac1", NOW + 50, NOW + 500,
+            "수강권 만료 임박 (D-7)", "…", "ticket_expiry", "/my/tickets");
+        ReminderPlan.Diff diff = ReminderPlan.diff(Collections.singletonList(ticket), "class",
+            Collections.emptyList(), NOW);
+        assertTrue(diff.cancel.isEmpty());
+        assertTrue(diff.arm.isEmpty());
+    }
+
+    @Test
+    public void skipsPastDuplicateAndOverflow() {
+        List<Reminder> desired = new ArrayList<>();
+        desired.add(classReminder("past", NOW - 1, "x"));
+        desired.add(classReminder("dup", NOW + 5, "first"));
+        desired.add(classReminder("dup", NOW + 6, "second"));
+        for (int i = 0; i < ReminderPlan.MAX_PER_SCOPE + 3; i++) {
+            desired.add(classReminder("n" + i, NOW + 100 + i, "x"));
+        }
+
+        ReminderPlan.Diff diff = ReminderPlan.diff(Collections.emptyList(), "class", desired, NOW);
+
+        assertEquals(ReminderPlan.MAX_PER_SCOPE, diff.arm.size());
+        // 가까운 순으로 남김
+        assertEquals("first", diff.arm.get(0).body);
+        assertEquals(1 + 1 + 4, diff.skipped);
+    }
+
+    @Test
+    public void academySettingDisablesItsReminders() {
+        Map<String, Set<String>> disabled = new HashMap<>();
+        disabled.put("ac1", new HashSet<>(Collections.singletonList("class_reminder")));
+        List<Reminder> scheduled = Collections.singletonList(classReminder("a", NOW + 10, "x"));
+        List<Reminder> desired = Arrays.asList(
+            classReminder("a", NOW + 10, "x"),
+            new Reminder("class:b", "class", "b", "ac2", NOW + 20, NOW + 3_600_000L, "t", "y", "class_reminder", null));
+
+        ReminderPlan.Diff diff = ReminderPlan.diff(scheduled, "class", desired, disabled, NOW);
+
+        // 학원이 끈 종류는 이미 걸린 것도 해제
+        assertEquals(Collections.singletonList("class:a"), diff.cancel);
+        assertEquals(Collections.singletonList("class:b"), ids(diff.arm));
+        assertEquals(1, diff.skipped);
+    }
+
+    @Test
+    public void missedRemindersAreShownOnlyBeforeTheyExpire() {
+        Reminder r = classReminder("a", NOW, "x");
+        assertFalse(ReminderPlan.isMissed(r, NOW - 1));
+        assertTrue(ReminderPlan.isMissed(r, NOW + 1));
+        assertFalse(ReminderPlan.isMissed(r, r.expiresAt));
+        assertTrue(ReminderPlan.isExpired(r, r.expiresAt));
+    }
+
+    @Test
+    public void cancelPushTargetsBooking() {
+        Map<String, String> classCancel = new HashMap<>();
+        classCancel.put("booking_id", "b1");
+        classCancel.put("reason", "CLASS_CANCELED");
+        assertEquals("b1", ReminderPlan.cancelledBooking(classCancel));
+
+        Map<String, String> bookingCancel = new HashMap<>();
+        bookingCancel.put("booking_id", "b2");
+        bookingCancel.put("type", "booking_cancelled");
+        assertEquals("b2", ReminderPlan.cancelledBooking(bookingCancel));
+
+        Map<String, String> confirmed = new HashMap<>();
+        confirmed.put("booking_id", "b3");
+        confirmed.put("type", "booking_confirmed");
+        assertNull(ReminderPlan.cancelledBooking(confirmed));
+        assertNull(ReminderPlan.cancelledBooking(null));
+    }
+
+    private static List<String> ids(List<Reminder> reminders) {
+        List<String> ids = new ArrayList<>();
+        for (Reminder r : reminders) ids.add(r.id);
+        return ids;
+    }
+}
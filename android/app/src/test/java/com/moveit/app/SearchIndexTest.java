@@ -0,0 +1,109 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import com.moveit.app.SearchIndex.Doc;
+import com.moveit.app.SearchIndex.Hit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class SearchIndexTest {
+
+    private static SearchIndex sample() {
+        return SearchIndex.build(Arrays.asList(
+            new Doc('a', "a1", "무브잇 스트릿댄스 학원", "Moveit Street Dance", "힙합, 걸스힙합, 강남구 역삼동", "moveit", null),
+            new Doc('a', "a2", "원밀리언 댄스 스튜디오", "1MILLION Dance Studio", "choreography, 성수동", "1million", null),
+            new Doc('i', "i1", "김스트", "Kim Street", "HIPHOP, Crew A", "i1", null),
+            new Doc('i', "i2", "리아킴", "Lia Kim", "choreography", "i2", null),
+            new Doc('c', "c1", "힙합 기초반", "HIPHOP", "김스트 무브잇 스트릿댄스 학원", "a1", null),
+            new Doc('c', "c2", "왁킹 중급", "WAACKING", "리아킴", "a2", null)
+        ));
+    }
+
+    private static List<String> ids(List<Hit> hits) {
+        List<String> out = new ArrayList<>();
+        for (Hit h : hits) out.add(h.doc.id);
+        return out;
+    }
+
+    @Test
+    public void wordsNormalizeCaseWidthAndPunctuation() {
+        assertEquals(Arrays.asList("hiphop", "k", "pop", "댄스"), SearchText.words("ＨｉｐＨｏｐ, K-POP / 댄스"));
+        assertTrue(SearchText.words("  ,. ").isEmpty());
+    }
+
+    @Test
+    public void jamoKeyMakesComposingInputAPrefix() {
+        String full = SearchText.key("스트릿");
+        assertTrue(full.startsWith(SearchText.key("스틀")));
+        assertTrue(full.startsWith(SearchText.key("스트ㄹ")));
+        // 겹모음·겹받침은 낱자로 (입력 중 "과" ← "고" + ㅏ)
+        assertTrue(SearchText.key("과").startsWith(SearchText.key("고")));
+        assertEquals(SearchText.key("ㅘ"), "ㅗㅏ");
+        assertEquals("ㅅㅌㄹ", SearchText.choseong("스트릿"));
+        assertNull(SearchText.choseong("abc"));
+        assertEquals(Arrays.asList("트릿댄스", "릿댄스", "댄스"), SearchText.suffixes("스트릿댄스"));
+    }
+
+    @Test
+    public void prefixDistanceToleratesOneTypo() {
+        assertEquals(0, SearchText.prefixDistance("hip", "hiphop", 1));
+        assertTrue(SearchText.prefixDistance("hiphpo", "hiphop", 2) <= 2);
+        assertEquals(1, SearchText.prefixDistance("wacking", "waacking", 1));
+        assertEquals(2, SearchText.prefixDistance("zzz", "hiphop", 1));
+    }
+
+    @Test
+    public void prefixQueriesAcrossKoreanAndEnglish() {
+        SearchIndex index = sample();
+        assertEquals("a1", index.query("무브", null, 10).get(0).doc.id);
+        assertEquals("a1", index.query("moveit", null, 10).get(0).doc.id);
+        // 입력 중인 자모 ("무브잇"을 치는 도중 "무븡")
+        assertTrue(ids(index.query("무븡", null, 10)).contains("a1"));
+        assertTrue(ids(index.query("무쟙", null, 10)).isEmpty());
+        assertTrue(ids(index.query("무ㅂ", null, 10)).contains("a1"));
+        assertTrue(ids(index.query("1mil", null, 10)).contains("a2"));
+    }
+
+    @Test
+    public void compoundInfixAndChoseong() {
+        SearchIndex index = sample();
+        // "스트릿댄스"의 "댄스"
+        assertTrue(ids(index.query("댄스", "a", 10)).containsAll(Arrays.asList("a1", "a2")));
+        assertEquals("i2", index.query("ㄹㅇㅋ", null, 10).get(0).doc.id);
+    }
+
+    @Test
+    public void allWordsMustMatchAndNamesRankFirst() {
+        SearchIndex index = sample();
+        assertEquals(Arrays.asList("c1"), ids(index.query("힙합 기초", null, 10)));
+        List<Hit> hiphop = index.query("hiphop", null, 10);
+        // 이름(alt)이 HIPHOP인 클래스가 키워드에만 있는 강사보다 먼저
+        assertEquals("c1", hiphop.get(0).doc.id);
+        assertTrue(ids(hiphop).contains("i1"));
+        assertEquals(Arrays.asList("i1"), ids(index.query("hiphop", "i", 10)));
+        assertEquals(1, index.query("hiphop", null, 1).size());
+    }
+
+    @Test
+    public void fuzzyOnlyWhenNothingMatches() {
+        SearchIndex index = sample();
+        assertEquals("c2", index.query("wacking", null, 10).get(0).doc.id);
+        assertEquals(SearchIndex.SCORE_FUZZY + SearchIndex.TITLE_BONUS, index.query("wacking", null, 10).get(0).score);
+        assertTrue(index.query("qqqqq", null, 10).isEmpty());
+        assertTrue(index.query("", null, 10).isEmpty());
+    }
+
+    @Test
+    public void docLineRoundTrip() {
+        Doc doc = new Doc('i', "i9", "이\t름", null, "a\nb", "i9", "https://x/y.webp");
+        Doc back = Doc.fromLine(doc.toLine());
+        assertEquals("이 름", back.title);
+        assertNull(back.alt);
+        assertEquals("a b", back.keywords);
+        assertEquals("https://x/y.webp", back.img);
+        assertNull(Doc.fromLine("broken"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.moveit.app;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+/**
+ * UrlClassifier / PaymentApp 단위 테스트 (JVM, Android 의존성 없음).
+ */
+public class UrlClassifierTest {
+
+    @Test
+    public void webUrls_areWeb() {
+        assertEquals(UrlClassifier.Kind.WEB, UrlClassifier.classify("https://moveit-xi.vercel.app/schedule"));
+        assertEquals(UrlClassifier.Kind.WEB, UrlClassifier.classify("http://localhost:3000/"));
+        assertEquals(UrlClassifier.Kind.WEB, UrlClassifier.classify("HTTPS://pay.toss.im/payfront/auth"));
+    }
+
+    @Test
+    public void intentUrls_areIntent() {
+        String url = "intent://pay?srCode=123#Intent;scheme=kb-acp;package=com.kbcard.cxh.appcard;"
+            + "S.browser_fallback_url=https%3A%2F%2Fm.kbcard.com;end";
+        assertEquals(UrlClassifier.Kind.INTENT, UrlClassifier.classify(url));
+        assertTrue(UrlClassifier.isAppLaunch(url));
+        assertEquals(UrlClassifier.Kind.INTENT, UrlClassifier.classify("Intent:#Intent;end"));
+    }
+
+    @Test
+    public void webViewInternalUrls_arePassthrough() {
+        assertEquals(UrlClassifier.Kind.PASSTHROUGH, UrlClassifier.classify(null));
+        assertEquals(UrlClassifier.Kind.PASSTHROUGH, UrlClassifier.classify(""));
+        assertEquals(UrlClassifier.Kind.PASSTHROUGH, UrlClassifier.classify("about:blank"));
+        assertEquals(UrlClassifier.Kind.PASSTHROUGH, UrlClassifier.classify("javascript:void(0)"));
+        assertEquals(UrlClassifier.Kind.PASSTHROUGH, UrlClassifier.classify("data:text/html,hi"));
+        assertEquals(UrlClassifier.Kind.PASSTHROUGH, UrlClassifier.classify("blob:https://moveit-xi.vercel.app/uuid"));
+        assertEquals(UrlClassifier.Kind.PASSTHROUGH, UrlClassifier.classify("/relative/path"));
+        assertEquals(UrlClassifier.Kind.PASSTHROUGH, UrlClassifier.classify("1abc://x"));
+        assertFalse(UrlClassifier.isAppLaunch("about:blank"));
+    }
+
+    @Test
+    public void everyShippedScheme_isAppSchemeWithKnownPaymentApp() {
+        for (PaymentApp app : PaymentApp.values()) {
+            for (String scheme : app.schemes) {
+                String url = scheme + "://pay?token=abc";
+                assertEquals(url, UrlClassifier.Kind.APP_SCHEME, UrlClassifier.classify(url));
+                assertTrue(url, UrlClassifier.isAppLaunch(url));
+                assertEquals(url, app, UrlClassifier.paymentApp(url));
+            }
+        }
+    }
+
+    @Test
+    public void schemeLookup_isCaseInsensitive() {
+        assertEquals("ispmobile", UrlClassifier.scheme("ISPMOBILE://TID=1"));
+        assertEquals(PaymentApp.ISP, UrlClassifier.paymentApp("ISPMobile://TID=1"));
+        assertEquals(PaymentApp.SAMSUNG, UrlClassifier.paymentApp("mpocket.online.ansimclick://click"));
+        assertEquals(PaymentApp.UNKNOWN, UrlClassifier.paymentApp("unknownpay://x"));
+        assertNull(UrlClassifier.scheme("no scheme"));
+    }
+
+    @Test
+    public void packageLookup() {
+        assertEquals(PaymentApp.KB, PaymentApp.forPackage("com.kbcard.cxh.appcard"));
+        assertEquals(PaymentApp.ISP, PaymentApp.forPackage("kvp.jjy.MispAndroid320"));
+        assertEquals(PaymentApp.UNKNOWN, PaymentApp.forPackage("com.example"));
+        assertEquals(PaymentApp.UNKNOWN, PaymentApp.forPackage(null));
+    }
+
+    /** AndroidManifest <queries>에 스킴/패키지를 추가했는데 PaymentApp에 빠뜨린 경우 검출. */
+    @Test
+    public void manifestQueries_matchPaymentApps() throws Exception {
+        File manifest = new File("src/main/AndroidManifest.xml");
+        if (!manifest.exists()) manifest = new File("app/src/main/AndroidManifest.xml");
+        assertTrue("AndroidManifest.xml not found", manifest.exists());
+        String xml = new String(Files.readAllBytes(manifest.toPath()), StandardCharsets.UTF_8);
+        String queries = xml.substring(xml.indexOf("<queries>"), xml.indexOf("</queries>"));
+
+        Matcher scheme = Pattern.compile("android:scheme=\"([^\"]+)\"").matcher(queries);
+        int schemes = 0;
+        while (scheme.find()) {
+            schemes++;
+            assertNotEquals(scheme.group(1), PaymentApp.UNKNOWN, PaymentApp.forScheme(scheme.group(1)));
+        }
+        Matcher pkg = Pattern.compile("<package android:name=\"([^\"]+)\"").matcher(queries);
+        int packages = 0;
+        while (pkg.find()) {
+            packages++;
+            assertNotEquals(pkg.group(1), PaymentApp.UNKNOWN, PaymentApp.forPackage(pkg.group(1)));
+        }
+        assertTrue(schemes > 0 && packages > 0);
+    }
+}
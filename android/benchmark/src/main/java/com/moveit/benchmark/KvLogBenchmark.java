@@ -0,0 +1,104 @@
+package com.moveit.benchmark;
+
+import com.moveit.app.KvLog;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * KvLog(네이티브 KvStore 파일) 1k–100k 항목 벤치마크 (ms/op).
+ * - putAllForce: 빈 파일에 n개 일괄 쓰기 + force (웹 localStorage 이전·대량 저장)
+ * - open: n개가 든 파일 열기 (앱 재시작 시 색인 재구성)
+ * - getAll: 열린 로그에서 n개 키 조회 — 메모리 색인만 보므로 할당량이 n에 비례하면 안 됨
+ * 기기 WebView localStorage와의 비교는 lib/capacitor/kv-storage.ts의 benchmarkKvStorage (앱 WebView 콘솔에서 실행).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KvLogBenchmark {
+
+    private static final String VALUE = "{\"id\":\"0f8fad5b-d9cb-469f-a165-70867728950e\",\"t\":1760000000000}";
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private File dir;
+    private File filled;
+    private File scratch;
+    private String[] keys;
+    private Map<String, String> batch;
+    private KvLog opened;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("kvlog-bench").toFile();
+        keys = new String[size];
+        batch = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = "bench:" + i;
+            batch.put(keys[i], VALUE);
+        }
+        filled = new File(dir, "filled.kv");
+        try (KvLog log = KvLog.open(filled)) {
+            log.putAll(batch);
+            log.force();
+        }
+        opened = KvLog.open(filled);
+        scratch = new File(dir, "scratch.kv");
+    }
+
+    /** putAllForce가 매번 빈 파일에서 시작하도록 (측정 시간에서 제외). */
+    @Setup(Level.Invocation)
+    public void clearScratch() {
+        scratch.delete();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        opened.close();
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public void putAllForce(Blackhole bh) throws IOException {
+        try (KvLog log = KvLog.open(scratch)) {
+            log.putAll(batch);
+            log.force();
+            bh.consume(log.size());
+        }
+    }
+
+    @Benchmark
+    public void open(Blackhole bh) throws IOException {
+        try (KvLog log = KvLog.open(filled)) {
+            bh.consume(log.size());
+        }
+    }
+
+    @Benchmark
+    public void getAll(Blackhole bh) {
+        for (String key : keys) bh.consume(opened.get(key));
+    }
+}
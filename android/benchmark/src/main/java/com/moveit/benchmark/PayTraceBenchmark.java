@@ -0,0 +1,64 @@
+package com.moveit.benchmark;
+
+import com.moveit.app.PayTrace;
+import com.moveit.app.PaymentApp;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * PayTrace 벤치마크.
+ * - record / recordContended: 결제 핫패스(UrlRouter, WebViewClient 콜백)에서 호출 — 할당 0이어야 함
+ * - toJson: 가득 찬 버퍼 내보내기 (플러그인 getTimeline, 드물게 호출)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayTraceBenchmark {
+
+    private PayTrace trace;
+    private PayTrace full;
+
+    @Setup
+    public void setUp() {
+        trace = new PayTrace(PayTrace.DEFAULT_CAPACITY, System::nanoTime);
+        full = new PayTrace(PayTrace.DEFAULT_CAPACITY, System::nanoTime);
+        PayTrace.Stage[] flow = {
+            PayTrace.Stage.OVERLAY_OPENED, PayTrace.Stage.PAYMENT_PAGE_LOADED, PayTrace.Stage.APP_LAUNCHED,
+            PayTrace.Stage.APP_SCHEME_RETURNED, PayTrace.Stage.RESULT_SUCCESS,
+        };
+        PaymentApp[] apps = PaymentApp.values();
+        for (int i = 0; i < PayTrace.DEFAULT_CAPACITY; i++) {
+            full.record(flow[i % flow.length], apps[(i / flow.length) % apps.length]);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        trace.record(PayTrace.Stage.APP_LAUNCHED, PaymentApp.KB);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        trace.record(PayTrace.Stage.PAYMENT_PAGE_LOADED);
+    }
+
+    @Benchmark
+    public void toJson(Blackhole bh) {
+        bh.consume(full.toJson());
+    }
+}
@@ -0,0 +1,34 @@
+package com.moveit.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/** redirect-corpus.txt (실제 토스/카드사 리다이렉트 URL 유형) 로더. */
+final class RedirectCorpus {
+
+    private RedirectCorpus() {}
+
+    static String[] load(Predicate<String> filter) {
+        List<String> urls = new ArrayList<>();
+        try (InputStream in = RedirectCorpus.class.getResourceAsStream("/redirect-corpus.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                if (filter.test(line)) urls.add(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (urls.isEmpty()) throw new IllegalStateException("empty corpus");
+        return urls.toArray(new String[0]);
+    }
+}
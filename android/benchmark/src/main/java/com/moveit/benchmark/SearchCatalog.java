@@ -0,0 +1,62 @@
+package com.moveit.benchmark;
+
+import com.moveit.app.SearchIndex.Doc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** 합성 검색 카탈로그 (학원 10%·강사 30%·클래스 60%, 한글·영문 장르·지역 섞음). 같은 seed면 같은 카탈로그. */
+final class SearchCatalog {
+
+    private static final String[] SYLLABLES = {
+        "가", "나", "다", "라", "마", "바", "사", "아", "자", "차", "카", "타", "파", "하", "민", "준", "서", "연", "지", "우",
+        "현", "수", "진", "영", "호", "리", "아", "스", "트", "릿", "무", "브", "댄", "원", "빛", "솔", "한", "결", "윤", "슬",
+    };
+    private static final String[] GENRES = {
+        "힙합", "걸스힙합", "코레오", "왁킹", "팝핑", "락킹", "하우스", "브레이킹", "재즈", "케이팝", "hiphop", "choreography",
+        "waacking", "popping", "locking", "house", "breaking", "jazz", "kpop", "voguing",
+    };
+    private static final String[] ENGLISH = {
+        "street", "dance", "studio", "crew", "moveit", "urban", "soul", "groove", "motion", "flow", "rhythm", "stage",
+        "beat", "wave", "prime", "korea", "seoul", "busan", "one", "million",
+    };
+    private static final String[] AREAS = {"강남구", "마포구", "성동구", "서초구", "송파구", "홍대", "신촌", "성수동", "역삼동", "합정"};
+
+    private SearchCatalog() {}
+
+    static List<Doc> synthetic(int n, long seed) {
+        Random random = new Random(seed);
+        List<Doc> docs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int kind = i % 10;
+            String id = String.format("%08x-0000-4000-8000-%012x", random.nextInt(), (long) i);
+            String genre = pick(GENRES, random);
+            if (kind == 0) {
+                String name = korean(random, 2 + random.nextInt(3)) + pick(new String[] {"댄스", "스튜디오", "댄스학원", ""}, random);
+                docs.add(new Doc('a', id, name, cap(pick(ENGLISH, random)) + " " + cap(pick(ENGLISH, random)),
+                    genre + ", " + pick(GENRES, random) + ", " + pick(AREAS, random), id, null));
+            } else if (kind <= 3) {
+                docs.add(new Doc('i', id, korean(random, 3), cap(pick(ENGLISH, random)) + " " + korean(random, 1),
+                    genre + ", " + cap(pick(ENGLISH, random)) + " Crew", id, null));
+            } else {
+                docs.add(new Doc('c', id, genre + " " + pick(new String[] {"기초반", "중급", "오픈클래스", "워크샵", "basic"}, random),
+                    genre.toUpperCase(), korean(random, 3) + " " + korean(random, 3) + "댄스 " + pick(AREAS, random), id, null));
+            }
+        }
+        return docs;
+    }
+
+    private static String korean(Random random, int syllables) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) sb.append(pick(SYLLABLES, random));
+        return sb.toString();
+    }
+
+    private static String cap(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
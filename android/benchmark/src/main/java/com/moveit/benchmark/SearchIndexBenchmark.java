@@ -0,0 +1,70 @@
+package com.moveit.benchmark;
+
+import com.moveit.app.SearchIndex;
+import com.moveit.app.SearchIndex.Doc;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 기기 내 검색(SearchIndex) 합성 카탈로그 100k 항목 벤치마크.
+ * - query: 검색어별 지연 분포 (SampleTime). 목표는 p99 10ms 미만 — baseline.json의 maxMs로 jmhCheck에서 검사
+ * - build: 동기화 후 색인 재생성 (OfflineSearch io 스레드, 참고용)
+ * 기기에서의 실측은 lib/capacitor/offline-search.ts의 searchOffline 결과 tookMs.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchIndexBenchmark {
+
+    private static final int SIZE = 100_000;
+
+    /** 카탈로그·색인은 검색어와 무관하게 한 번만 만듦 (build는 검색어 파라미터 없이 실행) */
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        List<Doc> docs;
+        SearchIndex index;
+
+        @Setup
+        public void setUp() {
+            docs = SearchCatalog.synthetic(SIZE, 42);
+            index = SearchIndex.build(docs);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Query {
+        /** 접두·오타·초성·영문·혼합·여러 단어 검색어 */
+        @Param({
+            "스트", "스틀", "ㅅㅌ", "댄스", "힙합", "hip", "choreo", "wacking", "민준", "강남 힙합", "street dance", "무ㅂ", "studio 성수",
+        })
+        public String q;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void query(Catalog catalog, Query query, Blackhole bh) {
+        bh.consume(catalog.index.query(query.q, null, 20));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    public void build(Catalog catalog, Blackhole bh) {
+        bh.consume(SearchIndex.build(catalog.docs));
+    }
+}
@@ -0,0 +1,81 @@
+package com.moveit.benchmark;
+
+import com.moveit.app.AppLinkRewriter;
+import com.moveit.app.IntentUrl;
+import com.moveit.app.UrlClassifier;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 브릿지 WebViewClient 핫패스 벤치마크. 각 메서드는 코퍼스 전체를 한 번 순회 (ops = 코퍼스 1회).
+ * - classifyAll: 모든 네비게이션에서 호출되는 UrlClassifier.classify
+ * - classifyWebOnly: http/https만 (할당 0이어야 함)
+ * - parseIntentUrls: UrlRouter.launchIntentUrl의 intent/fallback 파싱
+ * - rewriteAppLinks: MainActivity.handleMoveitAppScheme의 moveitapp:// → https 변환
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlRoutingBenchmark {
+
+    private String[] all;
+    private String[] web;
+    private String[] intents;
+    private String[] appLinks;
+    private AppLinkRewriter rewriter;
+
+    @Setup
+    public void setUp() {
+        all = RedirectCorpus.load(url -> true);
+        web = RedirectCorpus.load(url -> url.startsWith("http"));
+        intents = RedirectCorpus.load(url -> url.startsWith("intent:"));
+        appLinks = RedirectCorpus.load(url -> url.startsWith(AppLinkRewriter.SCHEME + ":"));
+        rewriter = new AppLinkRewriter("https://moveit-xi.vercel.app");
+    }
+
+    @Benchmark
+    public void classifyAll(Blackhole bh) {
+        for (String url : all) bh.consume(UrlClassifier.classify(url));
+    }
+
+    @Benchmark
+    public void classifyWebOnly(Blackhole bh) {
+        for (String url : web) bh.consume(UrlClassifier.classify(url));
+    }
+
+    @Benchmark
+    public void identifyPaymentApp(Blackhole bh) {
+        for (String url : all) {
+            if (UrlClassifier.classify(url) == UrlClassifier.Kind.APP_SCHEME) {
+                bh.consume(UrlClassifier.paymentApp(url));
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseIntentUrls(Blackhole bh) {
+        for (String url : intents) {
+            IntentUrl parsed = IntentUrl.parse(url);
+            bh.consume(parsed.fallbackUrl);
+            bh.consume(parsed.paymentApp());
+        }
+    }
+
+    @Benchmark
+    public void rewriteAppLinks(Blackhole bh) {
+        for (String url : appLinks) bh.consume(rewriter.rewrite(url));
+    }
+}
@@ -1,6 +1,7 @@
 "use client";
 
 import { fetchWithAuth } from '@/lib/api/auth-fetch';
+import { isNativeQrScannerAvailable, startNativeQrScanner, stopNativeQrScanner, type QrCheckinResult } from '@/lib/capacitor/qr-scanner';
 import { useAuth } from '@/contexts/AuthContext';
 import { ExitQrPasswordModal } from '../exit-qr-password-modal';
 
@@ -51,6 +52,40 @@ export function QrReaderView({ academyId }: QrReaderViewProps) {
   const resultTimeoutRef = useRef<ReturnType<typeof setTimeout> | null>(null);
   const processingRef = useRef(false);
   const mountedRef = useRef(true);
+  // 앱(Android) 네이티브 스캐너 사용 시 이벤트 리스너 해제 함수
+  const nativeCleanupRef = useRef<(() => void) | null>(null);
+
+  /** 네이티브 스캐너 체크인 결과 (스캔·중복 제거·전송은 앱에서 처리, 여기서는 표시만) */
+  const handleNativeCheckin = useCallback((r: QrCheckinResult) => {
+    if (!mountedRef.current) return;
+    if (r.status === 'success') {
+      setResult({ type: 'success', message: '출석 완료!', userName: r.userName, className: r.className });
+      setLogs(prev => [{
+        id: `${Date.now()}-${Math.random()}`,
+        userName: r.userName || '',
+        className: r.className || '',
+        startTime: r.startTime,
+        checkedInAt: r.checkedInAt || new Date().toISOString(),
+        success: true,
+      }, ...prev].slice(0, 50));
+    } else if (r.status === 'already') {
+      setResult({ type: 'already', message: '이미 출석 처리된 예약입니다.' });
+    } else {
+      setResult({ type: 'error', message: r.error || '출석 처리에 실패했습니다.' });
+      setLogs(prev => [{
+        id: `${Date.now()}-${Math.random()}`,
+        userName: '알 수 없음',
+        className: '',
+        checkedInAt: new Date().toISOString(),
+        success: false,
+        error: r.error,
+      }, ...prev].slice(0, 50));
+    }
+    if (resultTimeoutRef.current) clearTimeout(resultTimeoutRef.current);
+    resultTimeoutRef.current = setTimeout(() => {
+      if (mountedRef.current) setResult(null);
+    }, 4000);
+  }, []);
 
   const handleCheckin = useCallback(async (decodedText: string) => {
     if (processingRef.current) return;
@@ -108,6 +143,11 @@ export function QrReaderView({ academyId }: QrReaderViewProps) {
   }, [academyId]);
 
   const stopScanner = useCallback(() => {
+    if (nativeCleanupRef.current) {
+      stopNativeQrScanner().catch(() => {});
+      nativeCleanupRef.current();
+      nativeCleanupRef.current = null;
+    }
     if (scanIntervalRef.current) {
       clearInterval(scanIntervalRef.current);
       scanIntervalRef.current = null;
@@ -125,6 +165,27 @@ export function QrReaderView({ academyId }: QrReaderViewProps) {
   }, []);
 
   const startScanner = useCallback(async () => {
+    // 앱(Android): CameraX + ML Kit 네이티브 스캐너. 체크인 요청도 앱에서 큐잉(오프라인 시 저장 후 재전송)
+    if (isNativeQrScannerAvailable()) {
+      try {
+        nativeCleanupRef.current?.();
+        nativeCleanupRef.current = await startNativeQrScanner(academyId, facingModeRef.current, {
+          onCheckin: handleNativeCheckin,
+          onClosed: () => {
+            nativeCleanupRef.current?.();
+            nativeCleanupRef.current = null;
+            if (mountedRef.current) setScanning(false);
+          },
+        });
+        setScanMethod('app');
+        if (mountedRef.current) setScanning(true);
+      } catch (err) {
+        console.error('Native scanner error:', err);
+        setResult({ type: 'error', message: '카메라를 사용할 수 없습니다. 카메라 권한을 확인해주세요.' });
+      }
+      return;
+    }
+
     try {
       // 카메라 스트림 획득 (facingModeRef에 따라 전면/후면 카메라 선택)
       const stream = await navigator.mediaDevices.getUserMedia({
@@ -306,7 +367,7 @@ export function QrReaderView({ academyId }: QrReaderViewProps) {
         setResult({ type: 'error', message: '카메라를 사용할 수 없습니다. 카메라 권한을 확인해주세요.' });
       }
     }
-  }, [handleCheckin]);
+  }, [academyId, handleCheckin, handleNativeCheckin]);
 
   useEffect(() => {
     mountedRef.current = true;
@@ -315,6 +376,10 @@ export function QrReaderView({ academyId }: QrReaderViewProps) {
       if (scanIntervalRef.current) clearInterval(scanIntervalRef.current);
       if (streamRef.current) streamRef.current.getTracks().forEach(t => t.stop());
       if (resultTimeoutRef.current) clearTimeout(resultTimeoutRef.current);
+      if (nativeCleanupRef.current) {
+        stopNativeQrScanner().catch(() => {});
+        nativeCleanupRef.current();
+      }
     };
   }, []);
 
@@ -462,7 +527,7 @@ export function QrReaderView({ academyId }: QrReaderViewProps) {
                 </span>
                 {scanMethod && (
                   <span className="text-xs text-neutral-400 ml-1">
-                    ({scanMethod === 'native' ? '네이티브' : 'jsQR'})
+                    ({scanMethod === 'app' ? '앱 스캐너' : scanMethod === 'native' ? '네이티브' : 'jsQR'})
                   </span>
                 )}
               </div>
@@ -10,7 +10,8 @@ export const dynamic = 'force-dynamic';
 /**
  * POST /api/attendance/qr-checkin
  * QR 코드를 스캔하여 출석 처리합니다. - 쿠키 또는 Authorization Bearer
- * Body: { token: string, academyId: string }
+ * Body: { token: string, academyId: string, scanAgeMs?: number }
+ *   scanAgeMs: 앱 QR 리더가 오프라인 큐에 두었다가 보낸 경우 스캔 후 경과 시간 (토큰 만료를 스캔 시점 기준으로 판단)
  * Response: { success: true, booking: {...}, userName: string }
  */
 export async function POST(request: Request) {
@@ -25,6 +26,7 @@ export async function POST(request: Request) {
 
     const body = await request.json();
     const { token, academyId } = body;
+    const scanAgeMs = typeof body.scanAgeMs === 'number' ? body.scanAgeMs : 0;
 
     if (!token) {
       return NextResponse.json(
@@ -41,7 +43,7 @@ export async function POST(request: Request) {
     }
 
     // 1단계: QR 토큰 기본 검증 (형식 + 만료 시간)
-    const verification = verifyQrToken(token);
+    const verification = verifyQrToken(token, scanAgeMs);
     if (!verification.valid) {
       return NextResponse.json(
         { error: verification.error },
@@ -251,7 +251,8 @@ export async function PATCH(
             type: 'booking_cancelled',
             title: '예약 취소',
             body: `${academyName} ${classTitle} 예약이 취소되었습니다.${timeStr}`,
-            data: { booking_id: id, url: '/my/bookings', academy_name: academyName },
+            // type: 앱이 기기에 예약해 둔 이 예약의 수업 알림을 해제하는 데 사용 (ReminderPlan.cancelledBooking)
+            data: { booking_id: id, type: 'booking_cancelled', url: '/my/bookings', academy_name: academyName },
             academy_id: bookingDetail.classes?.academy_id,
           });
         })
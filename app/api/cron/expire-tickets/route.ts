@@ -7,6 +7,7 @@ import {
   processClassCanceledEvents,
   dispatchClassCancelNotifications,
 } from '@/lib/booking/class-cancel';
+import { pruneStaleUploads } from '@/lib/upload/chunk-store';
 
 /**
  * GET /api/cron/expire-tickets
@@ -15,6 +16,7 @@ import {
  *   1) tickets      : 만료일이 지난 ACTIVE user_tickets → EXPIRED
  *   2) memberships  : end_date 가 지난 ACTIVE|SUSPENDED student_memberships → EXPIRED
  *   3) bank_holds   : 24시간 입금 대기가 지난 BANK 주문 → EXPIRED + 잡고 있던 좌석 반납
+ *   upload_chunks   : 앱 이어 올리기 업로드 중 TTL(24시간)이 지난 조각 폴더 삭제
  *
  * 불변 규칙:
  *   - 한 concern 이 실패해도 나머지는 계속 돈다. 각 concern 의 성패는 개별로 기록된다.
@@ -165,12 +167,19 @@ export async function GET(request: NextRequest) {
     return { ...res, notified_sent: notified.sent, notified_failed: notified.failed };
   });
 
+  // --- concern 6: 버려진 이어 올리기 조각 정리 (앞의 concern 들과 독립) -------
+  // 시작하고 완료하지 않은 업로드는 새 업로드 때만 정리되므로, 다시 오지 않는 사용자 몫을 여기서 지운다.
+  const uploadChunksConcern = await runConcern('upload_chunks', async () => {
+    return await pruneStaleUploads(supabase.storage);
+  });
+
   const concerns = [
     ticketConcern,
     membershipConcern,
     bankHoldConcern,
     fixedWeeklyConcern,
     classCancelConcern,
+    uploadChunksConcern,
   ];
   const allOk = concerns.every((c) => c.ok);
 
@@ -0,0 +1,107 @@
+/**
+ * POST /api/errors/batch
+ * 앱(Android ErrorReporter) 오류 배치 수집 엔드포인트. 본문은 gzip(Content-Encoding: gzip) JSON:
+ *   { app: { platform, sdk, model, version }, dropped, events: [{ fingerprint, count, firstAt, lastAt, level, source, message, stack?, url?, statusCode?, context? }] }
+ * - 기기에서 지문별로 이미 묶어 보내므로 이벤트당 report_error_log 1회 (occurrences는 context.count로 보존).
+ * - 인증 불필요, service-role 기록. 업로더가 WebView 쿠키를 실어 보내므로 로그인 사용자는 best-effort로 식별.
+ * - 지문은 /api/errors/report와 같은 errorFingerprint(source|message|path) — 웹·앱 오류가 한 행으로 디듀프.
+ *   기기 쪽 지문은 context.deviceFingerprint로 보존.
+ * - 배치 형식 오류만 400(앱은 4xx면 배치를 버림). 503(앱이 배치 전체를 백오프 재시도)은 한 건도 저장하지 못했을 때만 —
+ *   일부라도 저장됐으면 204로 끝내고 실패한 이벤트는 로그만 남김 (재전송으로 저장된 이벤트가 중복 집계되지 않도록).
+ */
+import { gunzipSync } from 'zlib';
+import { NextRequest, NextResponse } from 'next/server';
+import { createServiceClient } from '@/lib/supabase/server';
+import { getAuthenticatedUser } from '@/lib/supabase/server-auth';
+import { errorFingerprint } from '@/lib/error-reporting/fingerprint';
+
+export const dynamic = 'force-dynamic';
+
+const MAX_EVENTS = 200;
+const MAX_BODY_BYTES = 2 * 1024 * 1024;
+
+interface BatchEvent {
+  fingerprint?: string;
+  count?: number;
+  firstAt?: number;
+  lastAt?: number;
+  level?: string;
+  source?: string;
+  message?: string;
+  stack?: string;
+  url?: string;
+  statusCode?: number;
+  context?: Record<string, unknown>;
+}
+
+export async function POST(request: NextRequest) {
+  let batch: { app?: Record<string, unknown>; dropped?: number; events?: BatchEvent[] };
+  try {
+    const raw = Buffer.from(await request.arrayBuffer());
+    if (raw.length > MAX_BODY_BYTES) return new NextResponse(null, { status: 413 });
+    const text = request.headers.get('content-encoding') === 'gzip'
+      ? gunzipSync(raw, { maxOutputLength: MAX_BODY_BYTES * 10 }).toString('utf8')
+      : raw.toString('utf8');
+    batch = JSON.parse(text);
+  } catch {
+    return new NextResponse(null, { status: 400 });
+  }
+  if (!batch || !Array.isArray(batch.events)) {
+    return new NextResponse(null, { status: 400 });
+  }
+
+  const userAgent = request.headers.get('user-agent') || null;
+  const events = batch.events
+    .filter((e) => e && typeof e.message === 'string' && e.message && typeof e.source === 'string' && e.source)
+    .slice(0, MAX_EVENTS);
+
+  // 로그인 사용자는 best-effort로 식별(없어도 진행) — 배치당 1회
+  let userId: string | null = null;
+  if (events.length > 0) {
+    try {
+      const u = await getAuthenticatedUser(request);
+      userId = u?.id ?? null;
+    } catch { /* ignore */ }
+  }
+
+  try {
+    const supabase = createServiceClient() as any;
+    const results = await Promise.allSettled(events.map((e) => {
+      const academyId = e.context?.academyId;
+      return supabase.rpc('report_error_log', {
+        p_level: (e.level === 'warning' || e.level === 'fatal') ? e.level : 'error',
+        p_source: String(e.source).slice(0, 60),
+        p_message: e.message,
+        p_stack: e.stack ? String(e.stack) : null,
+        p_url: e.url ? String(e.url).slice(0, 500) : null,
+        p_user_agent: userAgent,
+        p_user_id: userId,
+        p_academy_id: (typeof academyId === 'string' && academyId.length === 36) ? academyId : null,
+        p_status_code: typeof e.statusCode === 'number' ? e.statusCode : null,
+        p_context: {
+          ...(e.context ?? {}),
+          deviceFingerprint: e.fingerprint ? String(e.fingerprint).slice(0, 32) : undefined,
+          count: e.count ?? 1,
+          firstAt: e.firstAt,
+          lastAt: e.lastAt,
+          app: batch.app,
+        },
+        p_fingerprint: errorFingerprint(String(e.source), e.message as string, e.url),
+      });
+    }));
+    const failures = results
+      .map((r) => (r.status === 'rejected' ? r.reason : (r.value as any)?.error))
+      .filter(Boolean);
+    if (failures.length > 0) {
+      console.error(`[errors/batch] ${failures.length}/${events.length} rpc failed:`, failures[0]);
+      if (failures.length === events.length) return new NextResponse(null, { status: 503 });
+    }
+    if (batch.dropped) {
+      console.warn(`[errors/batch] device dropped ${batch.dropped} events (log full)`);
+    }
+    return new NextResponse(null, { status: 204 });
+  } catch (e) {
+    console.error('[errors/batch] failed:', e);
+    return new NextResponse(null, { status: 503 });
+  }
+}
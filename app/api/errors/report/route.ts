@@ -8,16 +8,10 @@
 import { NextRequest, NextResponse } from 'next/server';
 import { createServiceClient } from '@/lib/supabase/server';
 import { getAuthenticatedUser } from '@/lib/supabase/server-auth';
+import { errorFingerprint } from '@/lib/error-reporting/fingerprint';
 
 export const dynamic = 'force-dynamic';
 
-function fingerprintOf(source: string, message: string, url?: string): string {
-  let path = '';
-  try { path = url ? new URL(url).pathname : ''; } catch { path = url || ''; }
-  const msg = (message || '').slice(0, 120);
-  return `${source}|${msg}|${path}`;
-}
-
 export async function POST(request: NextRequest) {
   try {
     const body = await request.json().catch(() => ({}));
@@ -41,7 +35,7 @@ export async function POST(request: NextRequest) {
     } catch { /* ignore */ }
 
     const userAgent = request.headers.get('user-agent') || null;
-    const fp = fingerprintOf(source, message, url);
+    const fp = errorFingerprint(source, message, url);
 
     const supabase = createServiceClient() as any;
     await supabase.rpc('report_error_log', {
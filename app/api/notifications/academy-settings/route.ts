@@ -0,0 +1,53 @@
+import { NextRequest, NextResponse } from 'next/server';
+import { getAuthenticatedUser } from '@/lib/supabase/server-auth';
+import { createServiceClient } from '@/lib/supabase/server';
+export const dynamic = 'force-dynamic';
+
+/** 기기 로컬 알림이 따르는 학원별 설정 키 (sendNotification은 알림 type을 키로 확인) */
+const LOCAL_REMINDER_KEYS = ['class_reminder', 'ticket_expiry'] as const;
+const MAX_ACADEMIES = 50;
+
+/**
+ * GET /api/notifications/academy-settings?academyIds=a,b
+ * 학원별 알림 설정 중 기기 로컬 알림(수업·수강권 만료)에 해당하는 값만 조회
+ * 설정 행이 없는 학원은 응답에서 빠짐 (= 모두 허용)
+ */
+export async function GET(request: NextRequest) {
+  try {
+    const user = await getAuthenticatedUser(request);
+    if (!user) {
+      return NextResponse.json({ error: '인증이 필요합니다.' }, { status: 401 });
+    }
+
+    const academyIds = Array.from(new Set(
+      (request.nextUrl.searchParams.get('academyIds') || '').split(',').map((id) => id.trim()).filter(Boolean)
+    )).slice(0, MAX_ACADEMIES);
+    if (academyIds.length === 0) {
+      return NextResponse.json({ data: {} });
+    }
+
+    const supabase = createServiceClient();
+    const { data, error } = await (supabase as any)
+      .from('academy_notification_settings')
+      .select(['academy_id', ...LOCAL_REMINDER_KEYS].join(', '))
+      .in('academy_id', academyIds);
+
+    if (error) throw error;
+
+    const settings: Record<string, Record<string, boolean>> = {};
+    for (const row of data || []) {
+      const values: Record<string, boolean> = {};
+      for (const key of LOCAL_REMINDER_KEYS) {
+        if (typeof row[key] === 'boolean') values[key] = row[key];
+      }
+      settings[row.academy_id] = values;
+    }
+    return NextResponse.json({ data: settings });
+  } catch (error) {
+    console.error('[academy-settings] 서버 오류:', error);
+    return NextResponse.json(
+      { error: '서버 오류가 발생했습니다.' },
+      { status: 500 }
+    );
+  }
+}
@@ -0,0 +1,112 @@
+/**
+ * POST /api/search/catalog
+ * 앱(Android OfflineSearch) 기기 내 검색용 학원·클래스·강사 요약 카탈로그. 바뀐 샤드만 내려 준다.
+ * - 본문: { hashes?: { [shard]: sha1 } } — 기기가 가진 샤드 해시
+ * - 응답: { scope, hashes: { [shard]: sha1 }, changed: { [shard]: [id, title, alt, keywords, ref, img][] } }
+ *   hashes에 없는 샤드는 기기에서 지우고, changed의 샤드는 통째로 교체한다.
+ * 샤드 = 유형(a 학원 / c 클래스 / i 강사) + id 앞 두 글자. 테이블에 updated_at이 없어 내용 해시로 변경을 판단한다.
+ * 단일학원 모드(NEXT_PUBLIC_HIDE_PUBLIC_ACADEMIES)에서는 lib/utils/search.ts와 같이 가입한 학원(과 그 클래스)만 — scope가 사용자 ID가 됨.
+ */
+import { createHash } from 'crypto';
+import { NextResponse } from 'next/server';
+import { createClient } from '@/lib/supabase/server';
+import { getAuthenticatedUser } from '@/lib/supabase/server-auth';
+
+export const dynamic = 'force-dynamic';
+
+type CatalogItem = [id: string, title: string, alt: string, keywords: string, ref: string, img: string];
+
+const PAGE_SIZE = 1000;
+const hidePublicAcademies = () => process.env.NEXT_PUBLIC_HIDE_PUBLIC_ACADEMIES !== 'false';
+
+/** Supabase 기본 응답 행 수 한도(1000)를 넘는 테이블을 나눠 읽음 */
+async function fetchAll(query: (from: number, to: number) => any): Promise<any[]> {
+  const rows: any[] = [];
+  for (let from = 0; ; from += PAGE_SIZE) {
+    const { data, error } = await query(from, from + PAGE_SIZE - 1);
+    if (error) throw error;
+    rows.push(...(data ?? []));
+    if (!data || data.length < PAGE_SIZE) return rows;
+  }
+}
+
+function shardOf(type: string, id: string) {
+  return type + id.slice(0, 2).toLowerCase();
+}
+
+function join(...values: (string | null | undefined)[]) {
+  return values.filter(Boolean).join(' ');
+}
+
+export async function POST(request: Request) {
+  try {
+    const body = await request.json().catch(() => ({}));
+    const known: Record<string, string> = body && typeof body.hashes === 'object' && body.hashes ? body.hashes : {};
+    const supabase = (await createClient()) as any;
+
+    let scope = 'public';
+    let joined: Set<string> | null = null;
+    if (hidePublicAcademies()) {
+      const user = await getAuthenticatedUser(request);
+      scope = user?.id ?? 'anon';
+      joined = new Set();
+      if (user) {
+        const { data } = await supabase.from('academy_students').select('academy_id').eq('user_id', user.id);
+        for (const m of data ?? []) if (m.academy_id) joined.add(m.academy_id);
+      }
+    }
+
+    const [academies, instructors, classes] = await Promise.all([
+      fetchAll((from, to) =>
+        supabase.from('academies').select('id, slug, name_kr, name_en, tags, address, logo_url')
+          .eq('is_active', true).order('id').range(from, to)),
+      fetchAll((from, to) =>
+        supabase.from('instructors').select('id, name_kr, name_en, specialties, profile_image_url')
+          .order('id').range(from, to)),
+      fetchAll((from, to) =>
+        supabase.from('classes').select('id, academy_id, title, genre, instructor_name, thumbnail_url')
+          .eq('is_active', true).order('id').range(from, to)),
+    ]);
+
+    const shards = new Map<string, CatalogItem[]>();
+    const add = (type: string, item: CatalogItem) => {
+      const key = shardOf(type, item[0]);
+      const list = shards.get(key);
+      if (list) list.push(item);
+      else shards.set(key, [item]);
+    };
+
+    const academyNames = new Map<string, string>();
+    for (const a of academies) {
+      if (joined && !joined.has(a.id)) continue;
+      academyNames.set(a.id, join(a.name_kr, a.name_en));
+      add('a', [a.id, a.name_kr || a.name_en || '', a.name_en || '', join(a.tags, a.address), a.slug || a.id, a.logo_url || '']);
+    }
+    for (const i of instructors) {
+      add('i', [i.id, i.name_kr || i.name_en || '', i.name_en || '', i.specialties || '', i.id, i.profile_image_url || '']);
+    }
+    for (const c of classes) {
+      const academyName = academyNames.get(c.academy_id);
+      // 비활성·비공개(단일학원 모드에서 미가입) 학원의 클래스는 제외
+      if (academyName === undefined) continue;
+      add('c', [c.id, c.title || c.genre || '', c.genre || '', join(c.instructor_name, academyName), c.academy_id, c.thumbnail_url || '']);
+    }
+
+    const hashes: Record<string, string> = {};
+    const changed: Record<string, CatalogItem[]> = {};
+    for (const [key, items] of shards) {
+      items.sort((x, y) => (x[0] < y[0] ? -1 : x[0] > y[0] ? 1 : 0));
+      const hash = createHash('sha1').update(JSON.stringify(items)).digest('hex');
+      hashes[key] = hash;
+      if (known[key] !== hash) changed[key] = items;
+    }
+
+    return NextResponse.json(
+      { scope, hashes, changed },
+      { headers: { 'Cache-Control': 'private, no-store' } }
+    );
+  } catch (error: any) {
+    console.error('Error in search catalog API:', error);
+    return NextResponse.json({ error: '카탈로그를 불러오지 못했습니다.' }, { status: 500 });
+  }
+}
@@ -0,0 +1,214 @@
+/**
+ * /api/upload/chunked
+ * 앱(Android ImageUploader) 이어 올리기 업로드. 기기에서 줄인 이미지를 CHUNK 단위로 보내고, 끊기면 받은 곳부터 다시 보낸다.
+ * - GET  ?uploadId=          → { received } (서버가 연속으로 받은 바이트 수)
+ * - PUT  ?uploadId=&offset=  본문 application/octet-stream → { received }. offset이 received와 다르면 409 + { received }
+ * - POST { uploadId, target: 'profile' | 'academy', contentType, size, targetUserId?, academyId? }
+ *        → 조각을 합쳐 profile-images / academy-images에 저장 (lib/upload/image-store.ts, 기존 업로드 API와 동일 규칙) → { url }
+ * 조각은 비공개 upload-chunks 버킷 {userId}/{uploadId}/{offset}에 service-role로 보관 (경로에 사용자 ID를 넣어 남의 업로드에 접근 불가).
+ * 완료 결과는 {userId}/{uploadId}/result.json에 남겨 응답 유실 후 재시도(POST 재호출)도 같은 URL을 돌려준다.
+ * 새 업로드(첫 조각) 때 그 사용자의 TTL 지난 폴더를 지우고, 완료 전 업로드가 MAX_OPEN_UPLOADS개면 429 (lib/upload/chunk-store.ts).
+ */
+import { NextResponse } from 'next/server';
+import { createServiceClient } from '@/lib/supabase/server';
+import { getAuthenticatedUser, getAuthenticatedSupabase } from '@/lib/supabase/server-auth';
+import {
+  ACADEMY_IMAGE_TYPES,
+  MAX_IMAGE_BYTES,
+  PROFILE_IMAGE_TYPES,
+  imageExtension,
+  replaceProfileImage,
+  resolveProfileUserId,
+  storeAcademyImage,
+} from '@/lib/upload/image-store';
+import { CHUNK_BUCKET, MAX_OPEN_UPLOADS, RESULT_FILE, pruneUserUploads } from '@/lib/upload/chunk-store';
+
+export const dynamic = 'force-dynamic';
+
+/** 조각 최대 크기 (앱 기본 256KB, 서버리스 본문 한도보다 충분히 작게) */
+const MAX_CHUNK_BYTES = 1024 * 1024;
+const UPLOAD_ID = /^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$/i;
+
+function folder(userId: string, uploadId: string) {
+  return `${userId}/${uploadId}`;
+}
+
+function chunkName(offset: number) {
+  return String(offset).padStart(12, '0');
+}
+
+/** 받은 조각을 offset 순으로 이어 보며 빈틈 없이 받은 바이트 수 */
+async function receivedBytes(storage: any, dir: string): Promise<{ received: number; chunks: string[] }> {
+  const { data: files } = await storage.from(CHUNK_BUCKET).list(dir, { limit: 1000, sortBy: { column: 'name', order: 'asc' } });
+  let received = 0;
+  const chunks: string[] = [];
+  for (const f of (files ?? []) as any[]) {
+    if (f.name === RESULT_FILE) continue;
+    const offset = Number(f.name);
+    const size = Number(f.metadata?.size ?? 0);
+    if (offset !== received || !size) break;
+    received += size;
+    chunks.push(f.name);
+  }
+  return { received, chunks };
+}
+
+async function readResult(storage: any, dir: string): Promise<{ url: string; userId?: string } | null> {
+  const { data } = await storage.from(CHUNK_BUCKET).download(`${dir}/${RESULT_FILE}`);
+  if (!data) return null;
+  try {
+    return JSON.parse(await data.text());
+  } catch {
+    return null;
+  }
+}
+
+async function authorize(request: Request): Promise<{ userId: string; uploadId: string } | NextResponse> {
+  const user = await getAuthenticatedUser(request);
+  if (!user) {
+    return NextResponse.json({ error: '로그인이 필요합니다.' }, { status: 401 });
+  }
+  const uploadId = new URL(request.url).searchParams.get('uploadId') ?? '';
+  if (!UPLOAD_ID.test(uploadId)) {
+    return NextResponse.json({ error: 'uploadId가 올바르지 않습니다.' }, { status: 400 });
+  }
+  return { userId: user.id, uploadId };
+}
+
+export async function GET(request: Request) {
+  try {
+    const auth = await authorize(request);
+    if (auth instanceof NextResponse) return auth;
+    const storage = (createServiceClient() as any).storage;
+    const dir = folder(auth.userId, auth.uploadId);
+    const done = await readResult(storage, dir);
+    if (done) return NextResponse.json({ received: -1, ...done });
+    const { received } = await receivedBytes(storage, dir);
+    return NextResponse.json({ received });
+  } catch (error: any) {
+    console.error('Chunked upload status error:', error);
+    return NextResponse.json({ error: error.message || '서버 오류' }, { status: 500 });
+  }
+}
+
+export async function PUT(request: Request) {
+  try {
+    const auth = await authorize(request);
+    if (auth instanceof NextResponse) return auth;
+    const offset = Number(new URL(request.url).searchParams.get('offset'));
+    if (!Number.isInteger(offset) || offset < 0) {
+      return NextResponse.json({ error: 'offset이 올바르지 않습니다.' }, { status: 400 });
+    }
+
+    const body = new Uint8Array(await request.arrayBuffer());
+    if (body.length === 0 || body.length > MAX_CHUNK_BYTES) {
+      return NextResponse.json({ error: '조각 크기가 올바르지 않습니다.' }, { status: 400 });
+    }
+    if (offset + body.length > MAX_IMAGE_BYTES) {
+      return NextResponse.json({ error: '파일 크기는 5MB 이하여야 합니다.' }, { status: 413 });
+    }
+
+    const storage = (createServiceClient() as any).storage;
+    const dir = folder(auth.userId, auth.uploadId);
+    const { received } = await receivedBytes(storage, dir);
+    if (offset !== received) {
+      return NextResponse.json({ received }, { status: 409 });
+    }
+    if (received === 0) {
+      const { open } = await pruneUserUploads(storage, auth.userId);
+      if (open >= MAX_OPEN_UPLOADS) {
+        return NextResponse.json({ error: '진행 중인 업로드가 너무 많습니다. 잠시 후 다시 시도해 주세요.' }, { status: 429 });
+      }
+    }
+
+    const { error } = await storage.from(CHUNK_BUCKET).upload(`${dir}/${chunkName(offset)}`, body, {
+      contentType: 'application/octet-stream',
+      upsert: true,
+    });
+    if (error) {
+      console.error('Chunk upload error:', error);
+      return NextResponse.json({ error: `업로드 실패: ${error.message}` }, { status: 500 });
+    }
+    return NextResponse.json({ received: offset + body.length });
+  } catch (error: any) {
+    console.error('Chunk upload error:', error);
+    return NextResponse.json({ error: error.message || '서버 오류' }, { status: 500 });
+  }
+}
+
+export async function POST(request: Request) {
+  try {
+    const user = await getAuthenticatedUser(request);
+    if (!user) {
+      return NextResponse.json({ error: '로그인이 필요합니다.' }, { status: 401 });
+    }
+
+    const { uploadId, target, contentType, size, targetUserId, academyId } = await request.json();
+    if (typeof uploadId !== 'string' || !UPLOAD_ID.test(uploadId)) {
+      return NextResponse.json({ error: 'uploadId가 올바르지 않습니다.' }, { status: 400 });
+    }
+    if (target !== 'profile' && target !== 'academy') {
+      return NextResponse.json({ error: 'target이 올바르지 않습니다.' }, { status: 400 });
+    }
+    const allowedTypes = target === 'profile' ? PROFILE_IMAGE_TYPES : ACADEMY_IMAGE_TYPES;
+    if (!allowedTypes.includes(contentType)) {
+      return NextResponse.json({ error: '지원하지 않는 이미지 형식입니다.' }, { status: 400 });
+    }
+    if (target === 'academy' && !academyId) {
+      return NextResponse.json({ error: 'academyId가 필요합니다.' }, { status: 400 });
+    }
+
+    const storage = (createServiceClient() as any).storage;
+    const dir = folder(user.id, uploadId);
+    const done = await readResult(storage, dir);
+    if (done) return NextResponse.json({ ...done, success: true });
+
+    const supabase = await getAuthenticatedSupabase(request) as any;
+    let profileUserId: string | null = null;
+    if (target === 'profile') {
+      profileUserId = await resolveProfileUserId(supabase, user.id, targetUserId);
+      if (!profileUserId) {
+        return NextResponse.json({ error: '다른 사용자의 프로필을 수정할 권한이 없습니다.' }, { status: 403 });
+      }
+    }
+
+    const { received, chunks } = await receivedBytes(storage, dir);
+    if (received !== size) {
+      return NextResponse.json({ error: '업로드가 끝나지 않았습니다.', received }, { status: 409 });
+    }
+    if (size > MAX_IMAGE_BYTES) {
+      return NextResponse.json({ error: '파일 크기는 5MB 이하여야 합니다.' }, { status: 400 });
+    }
+
+    const buffer = new Uint8Array(size);
+    let pos = 0;
+    for (const name of chunks) {
+      const { data, error } = await storage.from(CHUNK_BUCKET).download(`${dir}/${name}`);
+      if (error || !data) {
+        return NextResponse.json({ error: '조각을 읽지 못했습니다.' }, { status: 500 });
+      }
+      const part = new Uint8Array(await data.arrayBuffer());
+      buffer.set(part, pos);
+      pos += part.length;
+    }
+
+    const ext = imageExtension(null, contentType);
+    const result = target === 'profile'
+      ? await replaceProfileImage(supabase, profileUserId!, buffer, contentType, ext)
+      : await storeAcademyImage(supabase, academyId, buffer, contentType, ext);
+    if ('error' in result) {
+      return NextResponse.json({ error: result.error }, { status: result.status });
+    }
+
+    await storage.from(CHUNK_BUCKET).upload(`${dir}/${RESULT_FILE}`, JSON.stringify(result), {
+      contentType: 'application/json',
+      upsert: true,
+    });
+    await storage.from(CHUNK_BUCKET).remove(chunks.map((name) => `${dir}/${name}`));
+
+    return NextResponse.json({ ...result, success: true });
+  } catch (error: any) {
+    console.error('Chunked upload complete error:', error);
+    return NextResponse.json({ error: error.message || '서버 오류' }, { status: 500 });
+  }
+}
@@ -1,5 +1,6 @@
 import { NextResponse } from 'next/server';
 import { getAuthenticatedUser, getAuthenticatedSupabase } from '@/lib/supabase/server-auth';
+import { ACADEMY_IMAGE_TYPES, MAX_IMAGE_BYTES, imageExtension, storeAcademyImage } from '@/lib/upload/image-store';
 export const dynamic = 'force-dynamic';
 
 
@@ -30,41 +31,22 @@ export async function POST(request: Request) {
     }
 
     // 파일 크기 제한 (5MB)
-    if (file.size > 5 * 1024 * 1024) {
+    if (file.size > MAX_IMAGE_BYTES) {
       return NextResponse.json({ error: '파일 크기는 5MB 이하여야 합니다.' }, { status: 400 });
     }
 
     // 허용 타입
-    const allowedTypes = ['image/jpeg', 'image/png', 'image/gif', 'image/webp'];
-    if (!allowedTypes.includes(file.type)) {
+    if (!ACADEMY_IMAGE_TYPES.includes(file.type)) {
       return NextResponse.json({ error: 'JPG, PNG, GIF, WebP만 업로드 가능합니다.' }, { status: 400 });
     }
 
-    // 파일명 생성
-    const ext = file.name.split('.').pop() || 'jpg';
-    const fileName = `introduction/${academyId}/${Date.now()}_${Math.random().toString(36).slice(2, 8)}.${ext}`;
-
-    const arrayBuffer = await file.arrayBuffer();
-    const buffer = new Uint8Array(arrayBuffer);
-
-    const { data, error } = await supabase.storage
-      .from('academy-images')
-      .upload(fileName, buffer, {
-        contentType: file.type,
-        upsert: false,
-      });
-
-    if (error) {
-      console.error('Upload error:', error);
-      return NextResponse.json({ error: `업로드 실패: ${error.message}` }, { status: 500 });
+    const buffer = new Uint8Array(await file.arrayBuffer());
+    const result = await storeAcademyImage(supabase, academyId, buffer, file.type, imageExtension(file.name, file.type));
+    if ('error' in result) {
+      return NextResponse.json({ error: result.error }, { status: result.status });
     }
 
-    // public URL 생성
-    const { data: urlData } = supabase.storage
-      .from('academy-images')
-      .getPublicUrl(data.path);
-
-    return NextResponse.json({ url: urlData.publicUrl });
+    return NextResponse.json({ url: result.url });
   } catch (error: any) {
     console.error('Image upload error:', error);
     return NextResponse.json({ error: error.message || '서버 오류' }, { status: 500 });
@@ -5,6 +5,9 @@ import { ThemeProvider } from "@/components/providers/theme-provider";
 import { AuthProvider } from "@/contexts/AuthContext";
 import { PushNotificationProvider } from "@/contexts/PushNotificationContext";
 import { CapacitorSafeArea } from "@/components/common/capacitor-safe-area";
+import { NativeNavigationBridge } from "@/components/common/native-navigation-bridge";
+import { NativeReminderSync } from "@/components/common/native-reminder-sync";
+import { NativeSessionSync } from "@/components/common/native-session-sync";
 import { GlobalErrorReporter, AppErrorBoundary } from "@/components/common/error-reporter";
 
 const inter = Inter({ 
@@ -148,6 +151,9 @@ export default function RootLayout({
             <PushNotificationProvider>
               <GlobalErrorReporter />
               <CapacitorSafeArea />
+              <NativeNavigationBridge />
+              <NativeReminderSync />
+              <NativeSessionSync />
               <AppErrorBoundary>
                 {children}
               </AppErrorBoundary>
@@ -6,6 +6,8 @@ const config: CapacitorConfig = {
   
   // Live Reload 방식: 기존 배포된 웹 URL을 WebView로 로드
   // SSR/API 라우트를 유지하면서 앱 업데이트 없이 웹 변경사항 즉시 반영
+  // Android: 앱 셸(/_next/static JS·CSS·폰트)은 APK·백그라운드 업데이트로 기기에 둔 해시 번들에서 응답 (WebBundle.java,
+  // scripts/build-app-bundle.mjs). 번들에 없는 파일·HTML·API만 네트워크로
   server: {
     url: process.env.CAPACITOR_SERVER_URL || 'https://moveit-xi.vercel.app',
     cleartext: true,
@@ -23,8 +25,10 @@ const config: CapacitorConfig = {
       presentationOptions: ['badge', 'sound', 'alert'],
     },
     SplashScreen: {
+      // Android: 고정 타이머 대신 메인 WebView 첫 페인트(onPageCommitVisible) 시 네이티브에서 hide() 호출
+      // (MoveitBridgeWebViewClient.hideSplash, 상한 5초는 MainActivity.SPLASH_MAX_MS)
       launchShowDuration: 2000,
-      launchAutoHide: true,
+      launchAutoHide: false,
       backgroundColor: '#000000',
       showSpinner: false,
       androidScaleType: 'CENTER_CROP',
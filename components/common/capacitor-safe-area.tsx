@@ -30,6 +30,8 @@ export function CapacitorSafeArea() {
     } else if (platform === 'ios') {
       document.documentElement.classList.add('capacitor-ios');
       // iOS는 보통 env(safe-area-inset-top)이 잘 동작하므로 globals.css 기본값 사용
+      // launchAutoHide=false (Android는 네이티브 첫 페인트에서 숨김) → iOS는 마운트 시점에 숨김
+      w.Capacitor.Plugins?.SplashScreen?.hide?.();
     }
   }, []);
 
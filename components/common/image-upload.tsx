@@ -3,6 +3,7 @@
 import { useState, useRef, useEffect } from 'react';
 import { Upload, X, Image as ImageIcon, Link as LinkIcon } from 'lucide-react';
 import Image from 'next/image';
+import { isNativeImageUploadAvailable, pickNativeImage, preparedImageToFile } from '@/lib/capacitor/image-upload';
 
 interface ImageUploadProps {
   currentImageUrl?: string | null;
@@ -46,7 +47,27 @@ export function ImageUpload({
   const handleFileSelect = (e: React.ChangeEvent<HTMLInputElement>) => {
     const file = e.target.files?.[0];
     if (!file) return;
+    acceptFile(file);
+  };
+
+  /** 앱: 앨범에서 고른 사진을 기기에서 줄여(긴 변 2048px, WebP) File로 전달 — 원본 카메라 사진을 그대로 올리지 않음 */
+  const handleNativePick = async () => {
+    try {
+      const image = await pickNativeImage('gallery', 'academy');
+      if (!image) return;
+      acceptFile(await preparedImageToFile(image));
+    } catch (error: any) {
+      console.error('Native image pick error:', error);
+      alert(`이미지를 불러오지 못했습니다: ${error.message}`);
+    }
+  };
+
+  const openPicker = () => {
+    if (isNativeImageUploadAvailable()) void handleNativePick();
+    else fileInputRef.current?.click();
+  };
 
+  const acceptFile = (file: File) => {
     // 파일 크기 확인
     if (file.size > maxSizeMB * 1024 * 1024) {
       alert(`파일 크기는 ${maxSizeMB}MB 이하여야 합니다.`);
@@ -216,7 +237,7 @@ export function ImageUpload({
             </div>
           ) : (
             <div
-              onClick={() => fileInputRef.current?.click()}
+              onClick={openPicker}
               className="w-full h-48 border-2 border-dashed border-neutral-300 dark:border-neutral-700 rounded-lg flex flex-col items-center justify-center cursor-pointer hover:border-primary transition-colors bg-neutral-50 dark:bg-neutral-900"
             >
               <ImageIcon className="text-neutral-400 dark:text-neutral-500 mb-2" size={48} />
@@ -240,7 +261,7 @@ export function ImageUpload({
           {preview && !preview.startsWith('http') && !preview.startsWith('https') && preview.startsWith('data:') && (
             <button
               type="button"
-              onClick={() => fileInputRef.current?.click()}
+              onClick={openPicker}
               className="w-full px-4 py-2 bg-neutral-200 dark:bg-neutral-800 text-black dark:text-white rounded-lg hover:bg-neutral-300 dark:hover:bg-neutral-700 flex items-center justify-center gap-2 text-sm"
             >
               <Upload size={16} />
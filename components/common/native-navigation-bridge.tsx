@@ -0,0 +1,35 @@
+"use client";
+
+import { useEffect } from 'react';
+import { useRouter } from 'next/navigation';
+
+declare global {
+  interface Window {
+    /** 네이티브(Android PaymentHandoff) → 웹 클라이언트 라우팅. 처리했으면 true */
+    __moveitNativeNavigate?: (path: string) => boolean;
+  }
+}
+
+/**
+ * 결제 복귀 시 앱이 메인 WebView를 재로드하지 않고 이미 떠 있는 SPA에서 결과 페이지로 이동하도록
+ * window.__moveitNativeNavigate를 등록. 네이티브는 true 응답을 받지 못하면 loadUrl로 폴백하므로
+ * 같은 origin 상대 경로가 아니면 false를 돌려준다.
+ */
+export function NativeNavigationBridge() {
+  const router = useRouter();
+
+  useEffect(() => {
+    if (!(window as any).Capacitor) return;
+
+    window.__moveitNativeNavigate = (path: string) => {
+      if (typeof path !== 'string' || !path.startsWith('/') || path.startsWith('//')) return false;
+      router.push(path);
+      return true;
+    };
+    return () => {
+      delete window.__moveitNativeNavigate;
+    };
+  }, [router]);
+
+  return null;
+}
@@ -0,0 +1,95 @@
+"use client";
+
+import { useEffect, useRef } from 'react';
+import { useAuth } from '@/contexts/AuthContext';
+import { fetchWithAuth } from '@/lib/api/auth-fetch';
+import {
+  cancelAllLocalReminders,
+  isLocalReminderAvailable,
+  syncLocalReminders,
+} from '@/lib/capacitor/reminders';
+import { buildClassReminders, buildTicketReminders, reminderAcademyIds } from '@/lib/notifications/local-reminders';
+
+/** 포그라운드 복귀 시 재동기화 최소 간격 */
+const RESYNC_INTERVAL_MS = 10 * 60 * 1000;
+
+async function getJson(url: string): Promise<any | null> {
+  try {
+    const res = await fetchWithAuth(url, { cache: 'no-store' });
+    return res.ok ? await res.json() : null;
+  } catch {
+    return null;
+  }
+}
+
+/**
+ * 앱(Android)에서 다가오는 수업·수강권 만료 알림을 기기 AlarmManager에 예약(MoveitReminders).
+ * 로그인·포그라운드 복귀·당겨서 새로고침 때 예약/수강권/알림 설정을 읽어 전체 목록을 넘기면 네이티브가 바뀐 것만 반영한다.
+ * CONFIRMED가 아닌 예약(취소·휴강)은 목록에서 빠지므로 여기서 해제된다. 취소 푸시는 사용자가 예약 알림을 꺼 두면
+ * 오지 않으므로 보조 수단일 뿐이다. 학원별 알림 설정(academy_notification_settings)도 함께 넘겨 네이티브가 적용한다.
+ * 조회에 실패한 scope는 건드리지 않는다 (네트워크 오류로 예약을 지우지 않도록). 로그아웃 시 모두 해제.
+ */
+export function NativeReminderSync() {
+  const { user, loading } = useAuth();
+  const userId = user?.id ?? null;
+  const lastSyncRef = useRef(0);
+  const syncedUserRef = useRef<string | null>(null);
+
+  useEffect(() => {
+    if (loading || !isLocalReminderAvailable()) return;
+
+    if (!userId) {
+      if (syncedUserRef.current) {
+        syncedUserRef.current = null;
+        cancelAllLocalReminders().catch(() => {});
+      }
+      return;
+    }
+
+    let cancelled = false;
+    const sync = async (force: boolean) => {
+      if (!force && Date.now() - lastSyncRef.current < RESYNC_INTERVAL_MS) return;
+      lastSyncRef.current = Date.now();
+      const [bookings, tickets, prefs] = await Promise.all([
+        getJson('/api/bookings'),
+        getJson('/api/user-tickets'),
+        getJson('/api/notifications/preferences'),
+      ]);
+      if (cancelled) return;
+      syncedUserRef.current = userId;
+      const p = prefs && !prefs.error ? prefs : null;
+      const classReminders = Array.isArray(bookings?.data) ? buildClassReminders(bookings.data, p) : null;
+      const ticketReminders = Array.isArray(tickets?.data) ? buildTicketReminders(tickets.data, p) : null;
+      const academyIds = reminderAcademyIds([...(classReminders ?? []), ...(ticketReminders ?? [])]);
+      const academySettings = academyIds.length > 0
+        ? (await getJson(`/api/notifications/academy-settings?academyIds=${academyIds.map(encodeURIComponent).join(',')}`))?.data
+        : {};
+      // 학원 설정을 못 읽었으면 이번에는 건너뜀 (학원이 끈 알림을 다시 걸지 않도록)
+      if (cancelled || !academySettings) return;
+      if (classReminders) {
+        await syncLocalReminders('class', classReminders, academySettings).catch(() => null);
+      }
+      if (ticketReminders) {
+        await syncLocalReminders('ticket', ticketReminders, academySettings).catch(() => null);
+      }
+    };
+
+    // 다른 계정으로 바뀌었으면 이전 계정 알림을 먼저 모두 해제
+    const switched = syncedUserRef.current && syncedUserRef.current !== userId;
+    (switched ? cancelAllLocalReminders().catch(() => {}) : Promise.resolve()).then(() => sync(true));
+
+    const onVisible = () => {
+      if (document.visibilityState === 'visible') sync(false);
+    };
+    const onRefresh = () => sync(true);
+    document.addEventListener('visibilitychange', onVisible);
+    window.addEventListener('pull-to-refresh', onRefresh);
+    return () => {
+      cancelled = true;
+      document.removeEventListener('visibilitychange', onVisible);
+      window.removeEventListener('pull-to-refresh', onRefresh);
+    };
+  }, [userId, loading]);
+
+  return null;
+}
@@ -0,0 +1,28 @@
+"use client";
+
+import { useEffect } from 'react';
+import { useAuth } from '@/contexts/AuthContext';
+import { setOfflineSearchUser } from '@/lib/capacitor/offline-search';
+import { setNativeQrCheckinUser } from '@/lib/capacitor/qr-scanner';
+import { setOfflineShellUser } from '@/lib/capacitor/offline-shell';
+
+/**
+ * 로그인 계정을 앱(Android)의 계정별 로컬 데이터에 알림.
+ * 로그아웃·계정 전환 시 이전 계정이 남긴 데이터(대기 중인 QR 체크인, 가입 학원으로 제한된 검색 카탈로그,
+ * 오프라인용 /tickets·/my 화면 스냅샷 등)를
+ * 네이티브가 버린다.
+ * 인증 확인 중(loading)에는 호출하지 않음 (앱 시작 직후 잠깐 비로그인으로 보이는 상태에서 지우지 않도록).
+ */
+export function NativeSessionSync() {
+  const { user, loading } = useAuth();
+  const userId = user?.id ?? null;
+
+  useEffect(() => {
+    if (loading) return;
+    setNativeQrCheckinUser(userId).catch(() => {});
+    setOfflineSearchUser(userId).catch(() => {});
+    setOfflineShellUser(userId).catch(() => {});
+  }, [userId, loading]);
+
+  return null;
+}
@@ -3,6 +3,13 @@
 import { useState, useRef } from 'react';
 import { Camera, X, User, Loader2 } from 'lucide-react';
 import { fetchWithAuth } from '@/lib/api/auth-fetch';
+import {
+  isNativeImageUploadAvailable,
+  pickNativeImage,
+  preparedImageToFile,
+  uploadNativeImage,
+  type ImageSource,
+} from '@/lib/capacitor/image-upload';
 
 interface ProfileImageUploadProps {
   /** 현재 프로필 이미지 URL */
@@ -35,6 +42,10 @@ export function ProfileImageUpload({
 }: ProfileImageUploadProps) {
   const [preview, setPreview] = useState<string | null>(null);
   const [uploading, setUploading] = useState(false);
+  /** 앱 백그라운드 업로드 진행률 (0–100) */
+  const [progress, setProgress] = useState<number | null>(null);
+  /** 앱: 촬영/앨범 선택 */
+  const [sourceMenu, setSourceMenu] = useState(false);
   const fileInputRef = useRef<HTMLInputElement>(null);
 
   const displayUrl = preview || currentImageUrl;
@@ -103,6 +114,34 @@ export function ProfileImageUpload({
     }
   };
 
+  /** 앱: 기기에서 줄인 뒤 백그라운드 조각 업로드 (끊겨도 이어서 전송) */
+  const handleNativePick = async (source: ImageSource) => {
+    setSourceMenu(false);
+    try {
+      const image = await pickNativeImage(source, 'profile');
+      if (!image) return;
+      setPreview(image.previewUrl);
+
+      if (localOnly) {
+        onFileSelect?.(await preparedImageToFile(image, 'profile'));
+        return;
+      }
+
+      setUploading(true);
+      setProgress(0);
+      const url = await uploadNativeImage(image.jobId, { target: 'profile', targetUserId }, (job) => setProgress(job.progress));
+      setPreview(null);
+      onImageUploaded?.(url);
+    } catch (error: any) {
+      console.error('Profile image upload error:', error);
+      alert(`프로필 사진 업로드 실패: ${error.message}`);
+      setPreview(null);
+    } finally {
+      setUploading(false);
+      setProgress(null);
+    }
+  };
+
   const handleRemove = async () => {
     if (localOnly) {
       setPreview(null);
@@ -167,7 +206,7 @@ export function ProfileImageUpload({
         {!disabled && (
           <button
             type="button"
-            onClick={() => fileInputRef.current?.click()}
+            onClick={() => (isNativeImageUploadAvailable() ? setSourceMenu((v) => !v) : fileInputRef.current?.click())}
             disabled={uploading}
             className="absolute -bottom-0.5 -right-0.5 w-7 h-7 bg-primary rounded-full flex items-center justify-center shadow-lg border-2 border-white dark:border-neutral-900 hover:scale-110 transition-transform disabled:opacity-50"
           >
@@ -187,10 +226,30 @@ export function ProfileImageUpload({
         )}
       </div>
 
+      {/* 앱: 촬영/앨범 선택 */}
+      {sourceMenu && !uploading && (
+        <div className="flex gap-2">
+          <button
+            type="button"
+            onClick={() => handleNativePick('camera')}
+            className="px-3 py-1.5 text-xs rounded-full bg-neutral-100 dark:bg-neutral-800 text-black dark:text-white"
+          >
+            사진 촬영
+          </button>
+          <button
+            type="button"
+            onClick={() => handleNativePick('gallery')}
+            className="px-3 py-1.5 text-xs rounded-full bg-neutral-100 dark:bg-neutral-800 text-black dark:text-white"
+          >
+            앨범에서 선택
+          </button>
+        </div>
+      )}
+
       {/* 안내 텍스트 */}
       {!disabled && (
         <p className="text-[11px] text-neutral-500 dark:text-neutral-400">
-          {uploading ? '업로드 중...' : '사진을 변경하려면 탭하세요'}
+          {uploading ? (progress != null ? `업로드 중... ${progress}%` : '업로드 중...') : '사진을 변경하려면 탭하세요'}
         </p>
       )}
 
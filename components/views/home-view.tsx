@@ -17,6 +17,7 @@ import { Card, CardContent } from '@/components/ui/card';
 import { Badge } from '@/components/ui/badge';
 import { Input } from '@/components/ui/input';
 import { cn } from '@/lib/utils';
+import { kvReady, kvStorage } from '@/lib/capacitor/kv-storage';
 
 interface HomeViewProps {
   onNavigate: (view: ViewState, query?: string) => void;
@@ -128,10 +129,11 @@ export const HomeView = ({ onNavigate, onAcademyClick, onDancerClick }: HomeView
   useEffect(() => {
     let isMounted = true;
     
-    // 최근 본 학원 (즉시 - localStorage)
-    const loadRecentAcademies = () => {
+    // 최근 본 학원 (즉시 - localStorage, 앱에서는 네이티브 저장소)
+    const loadRecentAcademies = async () => {
+      await kvReady();
       try {
-        const recent = localStorage.getItem('recent_academies');
+        const recent = kvStorage.getItem('recent_academies');
         if (recent && isMounted) {
           const parsed = JSON.parse(recent);
           setRecentAcademies(parsed.slice(0, 5));
@@ -412,7 +414,7 @@ export const HomeView = ({ onNavigate, onAcademyClick, onDancerClick }: HomeView
       }
     };
 
-    // 즉시 실행 (localStorage - 동기)
+    // 즉시 실행 (저장소 - 하이드레이션 후 동기)
     loadRecentAcademies();
     // 병렬 비동기 로드
     loadBanners();
@@ -434,10 +436,10 @@ export const HomeView = ({ onNavigate, onAcademyClick, onDancerClick }: HomeView
 
   const handleAcademyClickInternal = (academy: Academy) => {
     try {
-      const recent = JSON.parse(localStorage.getItem('recent_academies') || '[]');
+      const recent = JSON.parse(kvStorage.getItem('recent_academies') || '[]');
       const filtered = recent.filter((a: Academy) => a.id !== academy.id);
       const updated = [academy, ...filtered].slice(0, 10);
-      localStorage.setItem('recent_academies', JSON.stringify(updated));
+      kvStorage.setItem('recent_academies', JSON.stringify(updated));
     } catch (e) {
       console.error('Error saving recent academy:', e);
     }
@@ -7,6 +7,7 @@ import { LanguageToggle } from '@/components/common/language-toggle';
 import { searchAll, SearchResult } from '@/lib/utils/search';
 import { Academy, Dancer } from '@/types';
 import { useAuth } from '@/contexts/AuthContext';
+import { searchAllOffline, warmUpOfflineSearch } from '@/lib/capacitor/offline-search';
 
 interface SearchResultsViewProps {
   query: string;
@@ -21,12 +22,21 @@ export const SearchResultsView = ({ query, onBack, onAcademyClick, onDancerClick
   const [activeTab, setActiveTab] = useState<'all' | 'academies' | 'instructors'>('all');
   const { user } = useAuth();
 
+  // 앱: 기기 내 색인을 미리 올려 둠 (웹에서는 no-op)
   useEffect(() => {
+    warmUpOfflineSearch().catch(() => {});
+  }, []);
+
+  useEffect(() => {
+    let cancelled = false;
     async function performSearch() {
       setLoading(true);
+      // 앱에서는 기기 내 색인 우선 (오프라인·초성·오타 검색). 색인이 없거나 준비 전이면 서버 검색
+      const offline = await searchAllOffline(query).catch(() => null);
       // P0-1 (2026-04-20): pass user.id so search restricts to joined academies when
       // NEXT_PUBLIC_HIDE_PUBLIC_ACADEMIES is enabled.
-      const searchResults = await searchAll(query, user?.id);
+      const searchResults = offline ?? await searchAll(query, user?.id);
+      if (cancelled) return;
       setResults(searchResults);
       setLoading(false);
     }
@@ -37,6 +47,9 @@ export const SearchResultsView = ({ query, onBack, onAcademyClick, onDancerClick
       setResults({ academies: [], instructors: [], genres: [] });
       setLoading(false);
     }
+    return () => {
+      cancelled = true;
+    };
   }, [query, user?.id]);
 
   const totalResults = results.academies.length + results.instructors.length;
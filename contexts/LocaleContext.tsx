@@ -3,6 +3,7 @@
 import React, { createContext, useContext, useState, useEffect, useCallback } from 'react';
 import koMessages from '@/locales/ko.json';
 import enMessages from '@/locales/en.json';
+import { kvReady, kvStorage } from '@/lib/capacitor/kv-storage';
 
 export type Language = 'ko' | 'en';
 
@@ -24,18 +25,23 @@ const messages: Record<Language, Record<string, string>> = {
 export function LocaleProvider({ children }: { children: React.ReactNode }) {
   const [language, setLanguageState] = useState<Language>('ko');
 
-  // 초기 언어 로드 (클라이언트에서만)
+  // 초기 언어 로드 (클라이언트에서만). 앱에서도 네이티브 저장소를 기다리지 않고 localStorage 사본으로 바로 적용하고
+  // (ko로 깜빡였다 바뀌지 않게), 네이티브 값이 올라온 뒤 다르면 다시 맞춤
   useEffect(() => {
-    const savedLang = localStorage.getItem(STORAGE_KEY) as Language | null;
-    if (savedLang && (savedLang === 'ko' || savedLang === 'en')) {
-      setLanguageState(savedLang);
-    }
+    const applySaved = () => {
+      const savedLang = kvStorage.getItem(STORAGE_KEY) as Language | null;
+      if (savedLang && (savedLang === 'ko' || savedLang === 'en')) {
+        setLanguageState(savedLang);
+      }
+    };
+    applySaved();
+    kvReady().then(applySaved);
   }, []);
 
   // 언어 변경
   const setLanguage = useCallback((lang: Language) => {
     setLanguageState(lang);
-    localStorage.setItem(STORAGE_KEY, lang);
+    kvStorage.setItem(STORAGE_KEY, lang);
   }, []);
 
   // 번역 함수 - 키가 없으면 한국어로 fallback. fallbackOrParams가 객체면 {key} 치환
@@ -9,6 +9,7 @@
  */
 import { createClient } from '@/lib/supabase/client';
 import { reportError } from '@/lib/error-reporting/report';
+import { notifyPrefetchWriteSettled } from '@/lib/capacitor/prefetch';
 
 const FETCH_TIMEOUT_MS = 15000; // 15초
 
@@ -56,6 +57,9 @@ export async function fetchWithAuth(
   options: RequestInit = {}
 ): Promise<Response> {
   const headers = new Headers(options.headers);
+  const method = (options.method || 'GET').toUpperCase();
+  // 앱: 쓰기가 끝난 뒤에야 다음 화면(예약 완료 등) 데이터를 미리 받도록 알림
+  const isWrite = method !== 'GET' && method !== 'HEAD';
   const authHeaders = await getAuthHeaders();
   Object.entries(authHeaders).forEach(([k, v]) => headers.set(k, v));
 
@@ -92,6 +96,7 @@ export async function fetchWithAuth(
               credentials: 'include',
               signal: retryController.signal,
             });
+            if (isWrite) notifyPrefetchWriteSettled(retryResponse.ok);
             return retryResponse;
           } finally {
             clearTimeout(retryTimeoutId);
@@ -108,6 +113,7 @@ export async function fetchWithAuth(
       clone.text().then((t) => reportApiFailure(url, response.status, t)).catch(() => reportApiFailure(url, response.status));
     }
 
+    if (isWrite) notifyPrefetchWriteSettled(response.ok);
     return response;
   } catch (error: any) {
     // AbortError (타임아웃)를 보다 명확한 에러로 변환
@@ -0,0 +1,41 @@
+/**
+ * 네이티브 오류 배치 리포터 (Android MoveitErrorReporter 플러그인)
+ * 앱에서는 오류를 건별 HTTP 대신 기기 디스크 로그에 쌓고, 지문별로 묶어 gzip 배치로 업로드한다.
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export interface NativeErrorEvent {
+  level: 'error' | 'warning' | 'fatal';
+  source: string;
+  message: string;
+  stack?: string;
+  url?: string;
+  statusCode?: number;
+  context?: Record<string, unknown>;
+}
+
+interface MoveitErrorReporterPlugin {
+  report(event: NativeErrorEvent): Promise<void>;
+  flush(): Promise<void>;
+}
+
+const MoveitErrorReporter = registerPlugin<MoveitErrorReporterPlugin>('MoveitErrorReporter');
+
+function available(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitErrorReporter');
+}
+
+/** 네이티브로 넘겼으면 true (호출부는 HTTP 전송 생략). 웹·구버전 앱에서는 false */
+export function reportToNative(event: NativeErrorEvent): boolean {
+  if (!available()) return false;
+  MoveitErrorReporter.report(event).catch(() => { /* 리포터 실패는 무시 */ });
+  return true;
+}
+
+/** 쌓인 오류를 네트워크 연결되는 대로 바로 업로드 */
+export async function flushNativeErrors(): Promise<void> {
+  if (!available()) return;
+  await MoveitErrorReporter.flush();
+}
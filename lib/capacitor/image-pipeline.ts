@@ -0,0 +1,46 @@
+/**
+ * 저속·종량제 연결 이미지 축소 통계 (Android MoveitImagePipeline 플러그인)
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export interface ImagePipelineStats {
+  /** 현재 연결 등급 */
+  link: 'FAST' | 'MODERATE' | 'SLOW';
+  requests: number;
+  memoryHits: number;
+  /** Supabase 서버 변환(render/image)으로 받은 수 */
+  rendered: number;
+  /** 기기에서 WebP로 재인코딩한 수 */
+  recoded: number;
+  passthrough: number;
+  bytesOriginal: number;
+  bytesServed: number;
+  bytesSaved: number;
+  avgLatencyMs: number;
+  maxLatencyMs: number;
+  memoryBytes: number;
+}
+
+interface MoveitImagePipelinePlugin {
+  getStats(): Promise<ImagePipelineStats>;
+  resetStats(): Promise<void>;
+}
+
+const MoveitImagePipeline = registerPlugin<MoveitImagePipelinePlugin>('MoveitImagePipeline');
+
+function available(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitImagePipeline');
+}
+
+/** 웹·구버전 앱에서는 null */
+export async function getImagePipelineStats(): Promise<ImagePipelineStats | null> {
+  if (!available()) return null;
+  return MoveitImagePipeline.getStats();
+}
+
+export async function resetImagePipelineStats(): Promise<void> {
+  if (!available()) return;
+  await MoveitImagePipeline.resetStats();
+}
@@ -0,0 +1,158 @@
+/**
+ * 네이티브 이미지 촬영·업로드 (Android MoveitImageUpload 플러그인)
+ * 기기에서 긴 변 1080px(프로필)/2048px(학원)로 줄여 WebP로 다시 저장하고, 업로드는 백그라운드 작업이
+ * /api/upload/chunked로 조각을 나눠 보낸다 — 앱을 내려도 계속되고 끊기면 받은 곳부터 이어서 보낸다.
+ * 웹·구버전 앱에서는 isNativeImageUploadAvailable() === false → 기존 <input type=file> 경로 사용.
+ */
+
+import { Capacitor, registerPlugin, type PluginListenerHandle } from '@capacitor/core';
+import { getAuthHeaders } from '@/lib/api/auth-fetch';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export type ImageSource = 'camera' | 'gallery';
+export type ImagePreset = 'profile' | 'academy';
+
+export interface PreparedImage {
+  jobId: string;
+  /** 기기 내 파일 경로 (미리보기는 previewUrl) */
+  path: string;
+  previewUrl: string;
+  width: number;
+  height: number;
+  originalBytes: number;
+  bytes: number;
+  contentType: string;
+}
+
+export interface ImageUploadJob {
+  jobId: string;
+  state: 'prepared' | 'queued' | 'uploading' | 'done' | 'failed' | 'auth';
+  preset: ImagePreset;
+  target?: 'profile' | 'academy';
+  originalBytes: number;
+  bytes: number;
+  received: number;
+  /** 0–100 */
+  progress: number;
+  url?: string;
+  error?: string;
+}
+
+export interface ImageUploadStats {
+  prepared: number;
+  originalBytes: number;
+  encodedBytes: number;
+  /** 기기에서 줄여 아낀 전송량 */
+  savedBytes: number;
+  started: number;
+  completed: number;
+  failed: number;
+  /** 중간에 끊겨 이어 올린 작업 수 */
+  resumed: number;
+  chunksSent: number;
+  chunkRetries: number;
+  /** 끝난 작업 중 완료 비율 (0–1) */
+  completionRate: number;
+}
+
+export type ImageUploadTarget =
+  | { target: 'profile'; targetUserId?: string }
+  | { target: 'academy'; academyId: string };
+
+interface MoveitImageUploadPlugin {
+  pick(options: { source: ImageSource; preset: ImagePreset }): Promise<Omit<PreparedImage, 'previewUrl'> | { cancelled: true }>;
+  upload(options: { jobId: string; target: string; targetUserId?: string; academyId?: string; accessToken?: string }): Promise<{ jobId: string }>;
+  cancel(options: { jobId: string }): Promise<void>;
+  getJobs(): Promise<{ jobs: ImageUploadJob[] }>;
+  getStats(): Promise<ImageUploadStats>;
+  updateAuth(options: { accessToken?: string }): Promise<void>;
+  addListener(event: 'progress', fn: (job: ImageUploadJob) => void): Promise<PluginListenerHandle>;
+  addListener(event: 'authRequired', fn: () => void): Promise<PluginListenerHandle>;
+}
+
+const MoveitImageUpload = registerPlugin<MoveitImageUploadPlugin>('MoveitImageUpload');
+
+/** 갱신한 토큰도 401이면 작업이 계속 멈추므로, 재시도 간격을 둬 요청이 반복되지 않게 함 */
+const AUTH_RETRY_INTERVAL_MS = 30_000;
+let lastAuthRetry = 0;
+let authListener: Promise<PluginListenerHandle> | null = null;
+
+export function isNativeImageUploadAvailable(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitImageUpload');
+}
+
+async function currentAccessToken(): Promise<string | undefined> {
+  const headers = await getAuthHeaders();
+  return headers.Authorization?.replace(/^Bearer /, '');
+}
+
+/** 401로 멈춘 작업은 토큰을 갱신해 자동으로 재개 (앱 실행 중 한 번만 등록) */
+function ensureAuthListener() {
+  if (authListener) return;
+  authListener = MoveitImageUpload.addListener('authRequired', async () => {
+    const now = Date.now();
+    if (now - lastAuthRetry < AUTH_RETRY_INTERVAL_MS) return;
+    lastAuthRetry = now;
+    await MoveitImageUpload.updateAuth({ accessToken: await currentAccessToken() });
+  });
+}
+
+/** 촬영·선택 후 기기에서 축소. 사용자가 취소하면 null */
+export async function pickNativeImage(source: ImageSource, preset: ImagePreset): Promise<PreparedImage | null> {
+  if (!isNativeImageUploadAvailable()) return null;
+  const result = await MoveitImageUpload.pick({ source, preset });
+  if ('cancelled' in result) return null;
+  return { ...result, previewUrl: Capacitor.convertFileSrc(result.path) };
+}
+
+/** 축소된 이미지를 File로 (업로드를 호출부가 직접 하는 폼용) */
+export async function preparedImageToFile(image: PreparedImage, name = 'image'): Promise<File> {
+  const blob = await (await fetch(image.previewUrl)).blob();
+  const ext = image.contentType === 'image/webp' ? 'webp' : 'jpg';
+  return new File([blob], `${name}.${ext}`, { type: image.contentType });
+}
+
+/**
+ * 백그라운드 조각 업로드를 예약하고 완료 URL을 기다림.
+ * 화면을 떠나도 업로드는 네이티브에서 계속된다 (다음 실행 때 getImageUploadJobs로 결과 확인 가능).
+ */
+export async function uploadNativeImage(
+  jobId: string,
+  target: ImageUploadTarget,
+  onProgress?: (job: ImageUploadJob) => void
+): Promise<string> {
+  ensureAuthListener();
+  let settle!: { resolve: (url: string) => void; reject: (error: Error) => void };
+  const finished = new Promise<string>((resolve, reject) => {
+    settle = { resolve, reject };
+  });
+  const handle = await MoveitImageUpload.addListener('progress', (job) => {
+    if (job.jobId !== jobId) return;
+    onProgress?.(job);
+    if (job.state === 'done' && job.url) settle.resolve(job.url);
+    else if (job.state === 'failed') settle.reject(new Error(job.error || '업로드에 실패했습니다.'));
+  });
+  try {
+    await MoveitImageUpload.upload({ jobId, ...target, accessToken: await currentAccessToken() });
+    return await finished;
+  } finally {
+    handle.remove();
+  }
+}
+
+export async function cancelNativeImageUpload(jobId: string): Promise<void> {
+  if (!isNativeImageUploadAvailable()) return;
+  await MoveitImageUpload.cancel({ jobId });
+}
+
+/** 최근 업로드 작업 (끝난 작업은 7일간 보관). 웹·구버전 앱에서는 [] */
+export async function getImageUploadJobs(): Promise<ImageUploadJob[]> {
+  if (!isNativeImageUploadAvailable()) return [];
+  return (await MoveitImageUpload.getJobs()).jobs;
+}
+
+/** 절감 바이트·완료율 등 누적 지표. 웹·구버전 앱에서는 null */
+export async function getImageUploadStats(): Promise<ImageUploadStats | null> {
+  if (!isNativeImageUploadAvailable()) return null;
+  return MoveitImageUpload.getStats();
+}
@@ -19,3 +19,114 @@ export {
   removeAllDeliveredNotifications,
   type PushNotificationCallbacks,
 } from './push-notifications';
+
+export {
+  isNativeQrScannerAvailable,
+  startNativeQrScanner,
+  stopNativeQrScanner,
+  setNativeQrCheckinUser,
+  getNativeQrScannerMetrics,
+  type QrCheckinResult,
+  type QrScannerMetrics,
+  type NativeQrScannerCallbacks,
+} from './qr-scanner';
+
+export {
+  getPayTimeline,
+  exportPayTimeline,
+  clearPayTimeline,
+  type PayTraceTimeline,
+  type PayTraceSession,
+  type PayTraceAppStats,
+} from './pay-trace';
+
+export {
+  getImagePipelineStats,
+  resetImagePipelineStats,
+  type ImagePipelineStats,
+} from './image-pipeline';
+
+export {
+  reportToNative,
+  flushNativeErrors,
+  type NativeErrorEvent,
+} from './error-reporter';
+
+export {
+  getWebViewHealthStats,
+  resetWebViewHealthStats,
+  type WebViewHealthStats,
+} from './webview-health';
+
+export {
+  isLocalReminderAvailable,
+  syncLocalReminders,
+  cancelAllLocalReminders,
+  getScheduledLocalReminders,
+  type LocalReminder,
+  type ReminderScope,
+  type ReminderSyncResult,
+  type AcademyReminderSettings,
+} from './reminders';
+
+export {
+  kvStorage,
+  kvReady,
+  flushKvStorage,
+  getKvStorageStats,
+  benchmarkKvStorage,
+  type KvStorageStats,
+  type KvBenchmarkRow,
+} from './kv-storage';
+
+export {
+  getJankStats,
+  resetJankStats,
+  setJankOverlayVisible,
+  setJankStallThreshold,
+  type JankStats,
+  type JankScreenStats,
+  type JankStall,
+} from './jank-monitor';
+
+export {
+  isNativeImageUploadAvailable,
+  pickNativeImage,
+  preparedImageToFile,
+  uploadNativeImage,
+  cancelNativeImageUpload,
+  getImageUploadJobs,
+  getImageUploadStats,
+  type PreparedImage,
+  type ImageUploadJob,
+  type ImageUploadStats,
+  type ImageUploadTarget,
+  type ImageSource,
+  type ImagePreset,
+} from './image-upload';
+
+export {
+  getPrefetchStats,
+  resetPrefetchStats,
+  setPrefetchEnabled,
+  notifyPrefetchWriteSettled,
+  type PrefetchStats,
+} from './prefetch';
+
+export {
+  isOfflineSearchAvailable,
+  warmUpOfflineSearch,
+  searchOffline,
+  searchAllOffline,
+  syncOfflineSearch,
+  setOfflineSearchUser,
+  getOfflineSearchStatus,
+  type OfflineSearchHit,
+  type OfflineSearchResult,
+  type OfflineSearchStatus,
+  type OfflineSearchType,
+} from './offline-search';
+
+export {
+  setOfflineShellUser,
+} from './offline-shell';
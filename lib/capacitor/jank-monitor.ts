@@ -0,0 +1,82 @@
+/**
+ * 프레임 지연·메인 스레드 정지 집계 (Android MoveitJank 플러그인)
+ * 화면(URL 경로, ID는 :id)별 프레임 시간 백분위와 최근 메인 스레드 정지(스택 포함)
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export interface JankScreenStats {
+  /** URL 경로 (예: /academy/:id) 또는 payment-overlay */
+  screen: string;
+  frames: number;
+  /** 16ms 초과 */
+  slowFrames: number;
+  /** 700ms 초과 */
+  frozenFrames: number;
+  /** 화면 갱신 간격 기준으로 놓친 프레임 수 */
+  droppedFrames: number;
+  /** 프레임 처리 시간 백분위 (ms) */
+  p50: number;
+  p90: number;
+  p95: number;
+  p99: number;
+  maxMs: number;
+}
+
+export interface JankStall {
+  screen: string;
+  durationMs: number;
+  /** epoch ms */
+  at: number;
+  /** 막혀 있던 메인 스레드 스택 */
+  stack: string;
+}
+
+export interface JankStats {
+  refreshRate: number;
+  stallThresholdMs: number;
+  slowFrameMs: number;
+  frozenFrameMs: number;
+  currentScreen: string | null;
+  totalStalls: number;
+  screens: JankScreenStats[];
+  /** 최근 정지 (오래된 순, 최대 20건) */
+  stalls: JankStall[];
+}
+
+interface MoveitJankPlugin {
+  getStats(): Promise<JankStats>;
+  resetStats(): Promise<void>;
+  setOverlayVisible(options: { visible: boolean }): Promise<void>;
+  setStallThreshold(options: { ms: number }): Promise<void>;
+}
+
+const MoveitJank = registerPlugin<MoveitJankPlugin>('MoveitJank');
+
+function available(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitJank');
+}
+
+/** 웹·구버전 앱에서는 null */
+export async function getJankStats(): Promise<JankStats | null> {
+  if (!available()) return null;
+  return MoveitJank.getStats();
+}
+
+export async function resetJankStats(): Promise<void> {
+  if (!available()) return;
+  await MoveitJank.resetStats();
+}
+
+/** 화면 우상단 디버그 오버레이 (현재 화면 p50/p95/p99·느린 프레임 비율·정지 횟수) */
+export async function setJankOverlayVisible(visible: boolean): Promise<void> {
+  if (!available()) return;
+  await MoveitJank.setOverlayVisible({ visible });
+}
+
+/** 정지로 볼 메인 스레드 지연 (기본 200ms) */
+export async function setJankStallThreshold(ms: number): Promise<void> {
+  if (!available()) return;
+  await MoveitJank.setStallThreshold({ ms });
+}
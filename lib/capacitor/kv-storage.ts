@@ -0,0 +1,213 @@
+/**
+ * 네이티브 키-값 저장소 (Android MoveitKv 플러그인, 메모리 매핑 파일)
+ * 앱에서는 WebView localStorage 대신 기기 파일에 저장한다 — WebView 저장소 정리에 지워지지 않고 네이티브에서도 읽힌다.
+ * - kvReady(): 시작 시 전체를 한 번에 메모리로 올림 (이후 getItem은 동기)
+ * - setItem/removeItem: 메모리에 바로 반영하고 같은 틱의 변경을 모아 setMany 한 번으로 전송
+ * 웹·구버전 앱에서는 localStorage를 그대로 쓴다.
+ * 콜드 스타트에 값을 읽는 곳은 kvReady() 이후에 읽어야 한다 (그 전에는 localStorage 값).
+ * 첫 렌더에 필요한 키(BOOT_KEYS)는 localStorage에도 사본을 남겨 kvReady 전에도 동기로 최신 값을 읽는다.
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+/** 처음 하이드레이션할 때 localStorage에서 옮겨 오는 키 */
+const MIGRATED_KEYS = ['moveit_lang', 'recent_academies'];
+/** 첫 렌더에서 동기로 읽는 키 (언어 등) — 네이티브에 쓰면서 localStorage 사본도 같이 갱신 */
+const BOOT_KEYS = new Set(['moveit_lang']);
+
+export interface KvStorageStats {
+  entries: number;
+  fileBytes: number;
+  liveBytes: number;
+  compactions: number;
+  /** 앱 시작 후 파일 매핑·색인 시간 */
+  openMs: number;
+  /** 쓰는 중 종료로 깨진 마지막 레코드를 버렸는지 */
+  recoveredTail: boolean;
+}
+
+interface MoveitKvPlugin {
+  getAll(options?: { prefix?: string }): Promise<{ values: Record<string, string> }>;
+  getMany(options: { keys: string[] }): Promise<{ values: Record<string, string | null> }>;
+  setMany(options: { entries: Record<string, string | null> }): Promise<void>;
+  removePrefix(options: { prefix: string }): Promise<{ removed: number }>;
+  stats(): Promise<KvStorageStats>;
+}
+
+const MoveitKv = registerPlugin<MoveitKvPlugin>('MoveitKv');
+
+const mirror = new Map<string, string>();
+/** 아직 네이티브로 보내지 않은 변경 (null = 삭제) */
+const pending = new Map<string, string | null>();
+let hydrated = false;
+let readyPromise: Promise<void> | null = null;
+let flushScheduled = false;
+
+function native(): boolean {
+  return typeof window !== 'undefined' && isNativePlatform() && isPluginAvailable('MoveitKv');
+}
+
+function local(): Storage | null {
+  try {
+    return typeof window !== 'undefined' ? window.localStorage : null;
+  } catch {
+    return null; // storage 비활성
+  }
+}
+
+function scheduleFlush() {
+  if (flushScheduled) return;
+  flushScheduled = true;
+  queueMicrotask(() => {
+    flushScheduled = false;
+    void flushKvStorage();
+  });
+}
+
+/** 모아 둔 변경을 바로 네이티브에 기록 */
+export async function flushKvStorage(): Promise<void> {
+  if (pending.size === 0 || !native()) return;
+  const entries = Object.fromEntries(pending);
+  pending.clear();
+  try {
+    await MoveitKv.setMany({ entries });
+  } catch {
+    // 실패한 변경은 다음 flush에 다시 (그 사이 새 값이 있으면 새 값 우선)
+    for (const [k, v] of Object.entries(entries)) if (!pending.has(k)) pending.set(k, v);
+  }
+}
+
+async function hydrate(): Promise<void> {
+  try {
+    const { values } = await MoveitKv.getAll();
+    for (const [k, v] of Object.entries(values)) if (!pending.has(k)) mirror.set(k, v);
+  } catch {
+    return; // 플러그인 오류 시 localStorage 폴백 유지
+  }
+  hydrated = true;
+  const ls = local();
+  if (!ls) return;
+  for (const key of MIGRATED_KEYS) {
+    const legacy = ls.getItem(key);
+    if (legacy != null && !mirror.has(key) && !pending.has(key)) {
+      mirror.set(key, legacy);
+      pending.set(key, legacy);
+    }
+    if (BOOT_KEYS.has(key)) writeBootCopy(key, mirror.get(key) ?? null);
+    else if (legacy != null) ls.removeItem(key);
+  }
+  scheduleFlush();
+}
+
+/** BOOT_KEYS의 localStorage 사본 갱신 (용량 초과 등 실패는 무시 — 네이티브 값이 원본) */
+function writeBootCopy(key: string, value: string | null) {
+  try {
+    const ls = local();
+    if (!ls || ls.getItem(key) === value) return;
+    if (value == null) ls.removeItem(key);
+    else ls.setItem(key, value);
+  } catch {
+    // 무시
+  }
+}
+
+/** 앱에서는 네이티브 값을 메모리로 올린 뒤 resolve. 웹에서는 즉시 resolve */
+export function kvReady(): Promise<void> {
+  if (!native()) return Promise.resolve();
+  if (!readyPromise) readyPromise = hydrate();
+  return readyPromise;
+}
+
+export const kvStorage = {
+  getItem(key: string): string | null {
+    if (!native()) return local()?.getItem(key) ?? null;
+    if (pending.has(key)) return pending.get(key) ?? null;
+    if (hydrated) return mirror.get(key) ?? null;
+    return local()?.getItem(key) ?? null;
+  },
+  setItem(key: string, value: string): void {
+    if (!native()) {
+      local()?.setItem(key, value);
+      return;
+    }
+    mirror.set(key, value);
+    pending.set(key, value);
+    if (BOOT_KEYS.has(key)) writeBootCopy(key, value);
+    scheduleFlush();
+  },
+  removeItem(key: string): void {
+    if (!native()) {
+      local()?.removeItem(key);
+      return;
+    }
+    mirror.delete(key);
+    pending.set(key, null);
+    if (BOOT_KEYS.has(key)) writeBootCopy(key, null);
+    scheduleFlush();
+  },
+};
+
+/** 웹·구버전 앱에서는 null */
+export async function getKvStorageStats(): Promise<KvStorageStats | null> {
+  if (!native()) return null;
+  return MoveitKv.stats();
+}
+
+export interface KvBenchmarkRow {
+  entries: number;
+  /** n개 쓰기 (localStorage: setItem 반복, native: setMany 한 번) */
+  localWriteMs: number | null;
+  nativeWriteMs: number;
+  /** 전체 읽기 (localStorage: getItem 반복, native: getAll로 메모리에 올리는 시간) */
+  localReadMs: number | null;
+  nativeReadMs: number;
+  /** localStorage 용량 초과 등으로 측정 못 한 경우 */
+  localError?: string;
+}
+
+/**
+ * 1k–100k 항목 localStorage vs MoveitKv 비교 (앱 WebView 콘솔에서 실행). 측정용 키는 끝나면 지운다.
+ * localStorage는 보통 5MB 한도라 100k는 QuotaExceededError가 날 수 있다 (localError에 기록).
+ */
+export async function benchmarkKvStorage(sizes = [1_000, 10_000, 100_000]): Promise<KvBenchmarkRow[] | null> {
+  if (!native()) return null;
+  const prefix = '__kvbench:';
+  const value = JSON.stringify({ id: '0f8fad5b-d9cb-469f-a165-70867728950e', t: 1760000000000 });
+  const rows: KvBenchmarkRow[] = [];
+  const ls = local();
+
+  for (const n of sizes) {
+    const row: KvBenchmarkRow = { entries: n, localWriteMs: null, nativeWriteMs: 0, localReadMs: null, nativeReadMs: 0 };
+
+    if (ls) {
+      try {
+        let t = performance.now();
+        for (let i = 0; i < n; i++) ls.setItem(prefix + i, value);
+        row.localWriteMs = performance.now() - t;
+        t = performance.now();
+        let hits = 0;
+        for (let i = 0; i < n; i++) if (ls.getItem(prefix + i) != null) hits++;
+        row.localReadMs = performance.now() - t;
+        if (hits !== n) row.localError = `read ${hits}/${n}`;
+      } catch (e) {
+        row.localError = e instanceof Error ? e.name : String(e);
+      } finally {
+        for (let i = 0; i < n; i++) ls.removeItem(prefix + i);
+      }
+    }
+
+    const entries: Record<string, string> = {};
+    for (let i = 0; i < n; i++) entries[prefix + i] = value;
+    let t = performance.now();
+    await MoveitKv.setMany({ entries });
+    row.nativeWriteMs = performance.now() - t;
+    t = performance.now();
+    await MoveitKv.getAll({ prefix });
+    row.nativeReadMs = performance.now() - t;
+    await MoveitKv.removePrefix({ prefix });
+
+    rows.push(row);
+  }
+  return rows;
+}
@@ -0,0 +1,148 @@
+/**
+ * 기기 내 검색 (Android MoveitSearch 플러그인)
+ * 앱이 학원·클래스·강사 요약 카탈로그를 백그라운드에서 바뀐 부분만 동기화(/api/search/catalog)해 두고,
+ * 한글 자모·초성·합성어 가운데 단어와 영문 접두어·오타까지 기기에서 바로 찾는다 (보통 수 ms, 오프라인 가능).
+ * 웹·구버전 앱이나 색인이 아직 준비되지 않았으면 null → 호출부가 서버 검색(lib/utils/search.ts)으로.
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { getAuthHeaders } from '@/lib/api/auth-fetch';
+import type { SearchResult } from '@/lib/utils/search';
+import type { Academy, Dancer } from '@/types';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export type OfflineSearchType = 'academy' | 'class' | 'instructor';
+
+export interface OfflineSearchHit {
+  type: OfflineSearchType;
+  id: string;
+  title: string;
+  alt?: string;
+  keywords?: string;
+  /** 이동 대상: 학원 slug(없으면 id), 클래스의 학원 id, 강사 id */
+  ref?: string;
+  img?: string;
+  score: number;
+}
+
+export interface OfflineSearchResult {
+  hits: OfflineSearchHit[];
+  /** 기기에서 검색에 걸린 시간 */
+  tookMs: number;
+}
+
+export interface OfflineSearchStatus {
+  ready: boolean;
+  docs: number;
+  terms: number;
+  buildMs: number;
+  /** epoch ms, 아직 동기화 전이면 null */
+  syncedAt: number | null;
+  syncing: boolean;
+  lastError: string | null;
+}
+
+interface MoveitSearchPlugin {
+  query(options: { q: string; types?: string; limit?: number }): Promise<{ ready: boolean; tookMs?: number; hits: OfflineSearchHit[] }>;
+  warmUp(): Promise<void>;
+  sync(options: { accessToken?: string }): Promise<void>;
+  setUser(options: { userId?: string; accessToken?: string }): Promise<void>;
+  getStatus(): Promise<OfflineSearchStatus>;
+}
+
+const MoveitSearch = registerPlugin<MoveitSearchPlugin>('MoveitSearch');
+
+const TYPE_CODES: Record<OfflineSearchType, string> = { academy: 'a', class: 'c', instructor: 'i' };
+
+function available(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitSearch');
+}
+
+export function isOfflineSearchAvailable(): boolean {
+  return available();
+}
+
+/** 색인을 미리 만들어 둠 (검색 화면 진입 시) */
+export async function warmUpOfflineSearch(): Promise<void> {
+  if (!available()) return;
+  await MoveitSearch.warmUp();
+}
+
+/** 색인이 없거나 준비 중·첫 동기화 전·빈 카탈로그면 null (→ 서버 검색) */
+export async function searchOffline(
+  q: string,
+  options: { types?: OfflineSearchType[]; limit?: number } = {}
+): Promise<OfflineSearchResult | null> {
+  if (!available() || !q.trim()) return null;
+  const types = options.types?.map((t) => TYPE_CODES[t]).join('');
+  const result = await MoveitSearch.query({ q, types, limit: options.limit });
+  if (!result.ready) return null;
+  return { hits: result.hits, tookMs: result.tookMs ?? 0 };
+}
+
+/** 서버 검색(searchAll)과 같은 모양으로. 클래스는 장르 목록으로만 반영 */
+export async function searchAllOffline(q: string): Promise<SearchResult | null> {
+  const result = await searchOffline(q, { limit: 60 });
+  if (!result) return null;
+  const academies: Academy[] = [];
+  const instructors: Dancer[] = [];
+  const genres = new Set<string>();
+  for (const hit of result.hits) {
+    if (hit.type === 'academy' && academies.length < 20) {
+      academies.push({
+        id: hit.id,
+        slug: hit.ref !== hit.id ? hit.ref : null,
+        name_kr: hit.title,
+        name_en: hit.alt ?? null,
+        tags: hit.keywords ?? null,
+        logo_url: hit.img ?? null,
+        name: hit.title,
+        img: hit.img,
+        academyId: hit.id,
+      });
+    } else if (hit.type === 'instructor' && instructors.length < 20) {
+      const specialties = hit.keywords ?? '';
+      instructors.push({
+        id: hit.id,
+        name_kr: hit.title,
+        name_en: hit.alt ?? null,
+        bio: null,
+        instagram_url: null,
+        specialties: specialties || null,
+        name: hit.title,
+        genre: specialties.split(',')[0]?.trim() || 'ALL',
+        crew: specialties.split(',')[1]?.trim() || undefined,
+        img: hit.img,
+      });
+    } else if (hit.type === 'class' && hit.alt) {
+      genres.add(hit.alt);
+    }
+  }
+  return { academies, instructors, genres: Array.from(genres) };
+}
+
+async function currentAccessToken(): Promise<string | undefined> {
+  const headers = await getAuthHeaders();
+  return headers.Authorization?.replace(/^Bearer /, '');
+}
+
+/** 카탈로그 동기화를 바로 예약 (가입 학원이 바뀐 직후 등) */
+export async function syncOfflineSearch(): Promise<void> {
+  if (!available()) return;
+  await MoveitSearch.sync({ accessToken: await currentAccessToken() });
+}
+
+/**
+ * 로그인·로그아웃·계정 전환 시 (components/common/native-session-sync.tsx).
+ * 단일학원 모드에서는 카탈로그가 가입한 학원으로 제한되므로, 계정이 바뀌면 네이티브가 이전 카탈로그를 지우고 다시 동기화
+ */
+export async function setOfflineSearchUser(userId: string | null): Promise<void> {
+  if (!available()) return;
+  await MoveitSearch.setUser({ userId: userId ?? undefined, accessToken: userId ? await currentAccessToken() : undefined });
+}
+
+/** 웹·구버전 앱에서는 null */
+export async function getOfflineSearchStatus(): Promise<OfflineSearchStatus | null> {
+  if (!available()) return null;
+  return MoveitSearch.getStatus();
+}
@@ -0,0 +1,24 @@
+/**
+ * 오프라인 셸 스냅샷 (Android MoveitOfflineShell 플러그인)
+ * 네트워크 없이 앱을 열면 /schedule·/tickets·/my의 마지막 화면을 보여준다. /tickets·/my는 계정별이라
+ * 로그인 계정이 바뀌면(로그아웃 포함) 네이티브가 이전 계정 스냅샷을 지운다.
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+interface MoveitOfflineShellPlugin {
+  setUser(options: { userId?: string }): Promise<void>;
+}
+
+const MoveitOfflineShell = registerPlugin<MoveitOfflineShellPlugin>('MoveitOfflineShell');
+
+function available(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitOfflineShell');
+}
+
+/** 로그인 계정이 바뀌면(로그아웃 포함) 다른 계정의 개인 화면 스냅샷을 버림 */
+export async function setOfflineShellUser(userId: string | null): Promise<void> {
+  if (!available()) return;
+  await MoveitOfflineShell.setUser({ userId: userId ?? undefined });
+}
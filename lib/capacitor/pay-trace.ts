@@ -0,0 +1,68 @@
+/**
+ * 결제 흐름 타임라인 (Android MoveitPayTrace 플러그인)
+ * 결제창 열림 → 결제창 로드 → 카드사 앱 실행 → 앱 복귀 → 결과 페이지 렌더링 구간을 카드사별로 집계
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export interface PayTraceSession {
+  id: number;
+  /** PaymentApp 이름 (KB, HYUNDAI, KAKAOPAY, ... 앱 실행 없으면 UNKNOWN) */
+  app: string;
+  outcome: 'SUCCESS' | 'FAIL' | 'LAUNCH_FAILED' | 'ABANDONED';
+  /** 각 구간 ms, 측정 불가 시 -1 */
+  pageMs: number;
+  toLaunchMs: number;
+  inAppMs: number;
+  totalMs: number;
+  /** 카드사 앱에 있는 동안 프로세스가 종료돼 재시작된 세션 */
+  restored: boolean;
+  /** 재시작(onCreate) → 결과 페이지 첫 페인트 ms */
+  restoreMs: number;
+}
+
+export interface PayTraceAppStats {
+  sessions: number;
+  success: number;
+  fail: number;
+  abandoned: number;
+  avgInAppMs: number;
+  avgTotalMs: number;
+}
+
+export interface PayTraceTimeline {
+  sessions: PayTraceSession[];
+  byApp: Record<string, PayTraceAppStats>;
+  events: Array<{ t: number; session: number; stage: string; app: string }>;
+}
+
+interface MoveitPayTracePlugin {
+  getTimeline(): Promise<PayTraceTimeline>;
+  exportToFile(): Promise<{ path: string; bytes: number }>;
+  clear(): Promise<void>;
+}
+
+const MoveitPayTrace = registerPlugin<MoveitPayTracePlugin>('MoveitPayTrace');
+
+function available(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitPayTrace');
+}
+
+/** 결제 타임라인 조회. 웹·구버전 앱에서는 null */
+export async function getPayTimeline(): Promise<PayTraceTimeline | null> {
+  if (!available()) return null;
+  return MoveitPayTrace.getTimeline();
+}
+
+/** 기기 내부 파일로 내보내기. 저장 경로 반환 */
+export async function exportPayTimeline(): Promise<string | null> {
+  if (!available()) return null;
+  const { path } = await MoveitPayTrace.exportToFile();
+  return path;
+}
+
+export async function clearPayTimeline(): Promise<void> {
+  if (!available()) return;
+  await MoveitPayTrace.clear();
+}
@@ -0,0 +1,66 @@
+/**
+ * 화면 전환 예측 프리페치 지표 (Android MoveitPrefetch 플러그인)
+ * 앱이 사용자별 화면 전환 습관을 학습해, 다음 화면이 확실하면 그 화면의 데이터 요청(Supabase REST·/api)을 미리 받아 둔다.
+ * 웹 코드 변경 없이 동작 — 여기서는 적중률·절약 시간 확인과 끄기, 그리고 fetchWithAuth가 쓰기 완료를 알리는 것만.
+ * (예약 → 완료 화면처럼 쓰기 뒤에 오는 화면은 쓰기가 끝난 뒤에 받아야 옛 데이터가 되지 않음)
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export interface PrefetchStats {
+  enabled: boolean;
+  /** 다음 화면을 예측한 횟수 */
+  predictions: number;
+  /** 예측한 화면으로 실제 이동한 비율 (0–1) */
+  accuracy: number;
+  /** 미리 받은 응답 수 */
+  prefetched: number;
+  /** 페이지가 실제로 쓴 응답 수 */
+  hits: number;
+  /** hits / prefetched (0–1) */
+  hitRate: number;
+  /** 페이지가 기다리지 않아도 된 시간 합 (ms) */
+  savedMs: number;
+  bytes: number;
+  bytesToday: number;
+  /** 예산(데이터 절약·절전·저전력·하루 전송량) 때문에 건너뛴 횟수 */
+  skipped: number;
+  lastSkip: 'data-saver' | 'power-save' | 'low-battery' | 'byte-budget' | null;
+}
+
+interface MoveitPrefetchPlugin {
+  getStats(): Promise<PrefetchStats>;
+  resetStats(): Promise<void>;
+  setEnabled(options: { enabled: boolean }): Promise<void>;
+  writeSettled(options: { ok: boolean }): Promise<void>;
+}
+
+const MoveitPrefetch = registerPlugin<MoveitPrefetchPlugin>('MoveitPrefetch');
+
+function available(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitPrefetch');
+}
+
+/** 웹·구버전 앱에서는 null */
+export async function getPrefetchStats(): Promise<PrefetchStats | null> {
+  if (!available()) return null;
+  return MoveitPrefetch.getStats();
+}
+
+/** 지표와 학습한 전환 모델 초기화 */
+export async function resetPrefetchStats(): Promise<void> {
+  if (!available()) return;
+  await MoveitPrefetch.resetStats();
+}
+
+export async function setPrefetchEnabled(enabled: boolean): Promise<void> {
+  if (!available()) return;
+  await MoveitPrefetch.setEnabled({ enabled });
+}
+
+/** 쓰기 요청(POST·PATCH·DELETE)이 끝남 — lib/api/auth-fetch.ts에서 호출. 웹에서는 no-op */
+export function notifyPrefetchWriteSettled(ok: boolean): void {
+  if (!available()) return;
+  MoveitPrefetch.writeSettled({ ok }).catch(() => {});
+}
@@ -0,0 +1,109 @@
+/**
+ * 네이티브 QR 출석 스캐너 (Android MoveitQrScanner 플러그인)
+ * CameraX + ML Kit로 디코딩하고, 체크인 요청은 네이티브 큐가 처리(오프라인 시 저장 후 재전송)
+ */
+
+import { registerPlugin, type PluginListenerHandle } from '@capacitor/core';
+import { getAuthHeaders } from '@/lib/api/auth-fetch';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export interface QrCheckinResult {
+  /** expired: 오래 전송되지 못해 보내지 않은 스캔 (관리자가 직접 출석 확인) */
+  status: 'success' | 'already' | 'expired' | 'error';
+  httpStatus: number;
+  userName?: string;
+  className?: string;
+  startTime?: string;
+  checkedInAt?: string;
+  error?: string;
+  /** 스캔 → 서버 응답까지 (오프라인 대기 포함) */
+  latencyMs: number;
+}
+
+export interface QrScannerMetrics {
+  sessionMs: number;
+  framesAnalyzed: number;
+  framesWithQr: number;
+  decodeAvgMs: number;
+  decodeMaxMs: number;
+  scansPerMinute: number;
+  duplicatesSuppressed: number;
+  submitted: number;
+  succeeded: number;
+  failed: number;
+  submitAvgMs: number;
+  /** 전송 대기 중인 체크인 수 */
+  pending: number;
+}
+
+interface MoveitQrScannerPlugin {
+  start(options: { academyId: string; accessToken?: string; facing?: 'user' | 'environment' }): Promise<void>;
+  stop(): Promise<void>;
+  updateAuth(options: { accessToken?: string }): Promise<void>;
+  setUser(options: { userId?: string }): Promise<void>;
+  getMetrics(): Promise<QrScannerMetrics>;
+  addListener(event: 'checkin', fn: (result: QrCheckinResult) => void): Promise<PluginListenerHandle>;
+  addListener(event: 'authRequired', fn: () => void): Promise<PluginListenerHandle>;
+  addListener(event: 'scannerClosed', fn: (metrics: QrScannerMetrics) => void): Promise<PluginListenerHandle>;
+}
+
+const MoveitQrScanner = registerPlugin<MoveitQrScannerPlugin>('MoveitQrScanner');
+
+/** 갱신한 토큰도 401이면 큐가 계속 멈추므로, 재시도 간격을 둬 요청이 반복되지 않게 함 */
+const AUTH_RETRY_INTERVAL_MS = 30_000;
+
+/** 네이티브 스캐너 사용 가능 여부 (구버전 앱·웹에서는 false → getUserMedia 스캐너 사용) */
+export function isNativeQrScannerAvailable(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitQrScanner');
+}
+
+async function currentAccessToken(): Promise<string | undefined> {
+  const headers = await getAuthHeaders();
+  return headers.Authorization?.replace(/^Bearer /, '');
+}
+
+export interface NativeQrScannerCallbacks {
+  onCheckin: (result: QrCheckinResult) => void;
+  onClosed?: (metrics: QrScannerMetrics) => void;
+}
+
+/**
+ * 네이티브 스캐너 실행. 401로 큐가 멈추면 토큰을 갱신해 자동으로 재개.
+ * @returns 리스너 해제 함수
+ */
+export async function startNativeQrScanner(
+  academyId: string,
+  facing: 'user' | 'environment',
+  callbacks: NativeQrScannerCallbacks
+): Promise<() => void> {
+  let lastAuthRetry = 0;
+  const handles = await Promise.all([
+    MoveitQrScanner.addListener('checkin', callbacks.onCheckin),
+    MoveitQrScanner.addListener('authRequired', async () => {
+      const now = Date.now();
+      if (now - lastAuthRetry < AUTH_RETRY_INTERVAL_MS) return;
+      lastAuthRetry = now;
+      await MoveitQrScanner.updateAuth({ accessToken: await currentAccessToken() });
+    }),
+    MoveitQrScanner.addListener('scannerClosed', (metrics) => {
+      console.log('[QR] 네이티브 스캐너 종료:', metrics);
+      callbacks.onClosed?.(metrics);
+    }),
+  ]);
+  await MoveitQrScanner.start({ academyId, accessToken: await currentAccessToken(), facing });
+  return () => handles.forEach((h) => h.remove());
+}
+
+export function stopNativeQrScanner(): Promise<void> {
+  return MoveitQrScanner.stop();
+}
+
+/** 로그인 계정이 바뀌면(로그아웃 포함) 다른 계정이 스캔해 둔 대기 체크인을 버림 */
+export async function setNativeQrCheckinUser(userId: string | null): Promise<void> {
+  if (!isNativeQrScannerAvailable()) return;
+  await MoveitQrScanner.setUser({ userId: userId ?? undefined });
+}
+
+export function getNativeQrScannerMetrics(): Promise<QrScannerMetrics> {
+  return MoveitQrScanner.getMetrics();
+}
@@ -0,0 +1,77 @@
+/**
+ * 기기 로컬 알림 예약 (Android MoveitReminders 플러그인)
+ * 다가오는 수업·수강권 만료 알림을 서버 cron 푸시 대신 기기 AlarmManager로 울린다.
+ * scope 단위로 원하는 목록 전체를 넘기면 네이티브가 바뀐 것만 반영한다.
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export type ReminderScope = 'class' | 'ticket';
+
+export interface LocalReminder {
+  /** 고유 id (예: class:{bookingId}) — 같은 id는 다시 걸지 않고 내용이 바뀌었을 때만 갱신 */
+  id: string;
+  /** 취소 푸시(data.booking_id)로 해제할 단위 */
+  group?: string;
+  /** 학원 id — 학원이 이 종류(type) 알림을 꺼 두었으면 걸지 않음 */
+  academy?: string;
+  /** epoch ms */
+  fireAt: number;
+  /** 이 시각 이후에는 재부팅 후에도 띄우지 않음 (epoch ms) */
+  expiresAt: number;
+  title: string;
+  body: string;
+  type?: string;
+  /** 탭 시 이동할 경로 (푸시 알림의 data.path와 동일하게 라우팅) */
+  path?: string;
+}
+
+export interface ReminderSyncResult {
+  armed: number;
+  cancelled: number;
+  unchanged: number;
+  /** 지난 시각·개수 초과로 건너뛴 항목 */
+  skipped: number;
+  /** 정확한 알람 권한 여부 (false면 최대 10분 일찍 울릴 수 있음) */
+  exact: boolean;
+}
+
+/** 학원 id → 알림 종류별 허용 여부 (academy_notification_settings, false인 종류만 의미 있음) */
+export type AcademyReminderSettings = Record<string, Record<string, boolean>>;
+
+interface MoveitRemindersPlugin {
+  sync(options: {
+    scope: ReminderScope;
+    reminders: LocalReminder[];
+    academySettings?: AcademyReminderSettings;
+  }): Promise<ReminderSyncResult>;
+  cancelAll(): Promise<void>;
+  getScheduled(): Promise<{ reminders: (LocalReminder & { scope: ReminderScope })[]; exact: boolean }>;
+}
+
+const MoveitReminders = registerPlugin<MoveitRemindersPlugin>('MoveitReminders');
+
+export function isLocalReminderAvailable(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitReminders');
+}
+
+/** 웹·구버전 앱에서는 null */
+export async function syncLocalReminders(
+  scope: ReminderScope,
+  reminders: LocalReminder[],
+  academySettings?: AcademyReminderSettings
+): Promise<ReminderSyncResult | null> {
+  if (!isLocalReminderAvailable()) return null;
+  return MoveitReminders.sync({ scope, reminders, academySettings });
+}
+
+export async function cancelAllLocalReminders(): Promise<void> {
+  if (!isLocalReminderAvailable()) return;
+  await MoveitReminders.cancelAll();
+}
+
+export async function getScheduledLocalReminders() {
+  if (!isLocalReminderAvailable()) return null;
+  return MoveitReminders.getScheduled();
+}
@@ -0,0 +1,47 @@
+/**
+ * 메모리 압박·렌더러 종료 대응 경로별 횟수 (Android MoveitWebViewHealth 플러그인)
+ */
+
+import { registerPlugin } from '@capacitor/core';
+import { isNativePlatform, isPluginAvailable } from './platform';
+
+export interface WebViewHealthStats {
+  /** onTrimMemory 단계별 횟수 */
+  trimLight: number;
+  trimModerate: number;
+  trimCritical: number;
+  /** 미리 만든 결제 오버레이 WebView를 파기한 횟수 */
+  overlayPoolDrops: number;
+  imageBytesFreed: number;
+  rendererCrashed: number;
+  /** 시스템이 메모리 확보를 위해 렌더러를 종료한 횟수 */
+  rendererKilled: number;
+  /** 메인 WebView 재생성 후 마지막 URL(또는 시작 페이지) 로드 */
+  mainRecovered: number;
+  /** 연속 종료·URL 없음으로 시작 페이지로 복구한 횟수 */
+  recoveredToHome: number;
+  /** 결제 오버레이 렌더러 종료로 오버레이를 닫은 횟수 */
+  overlayLost: number;
+}
+
+interface MoveitWebViewHealthPlugin {
+  getStats(): Promise<WebViewHealthStats>;
+  resetStats(): Promise<void>;
+}
+
+const MoveitWebViewHealth = registerPlugin<MoveitWebViewHealthPlugin>('MoveitWebViewHealth');
+
+function available(): boolean {
+  return isNativePlatform() && isPluginAvailable('MoveitWebViewHealth');
+}
+
+/** 웹·구버전 앱에서는 null */
+export async function getWebViewHealthStats(): Promise<WebViewHealthStats | null> {
+  if (!available()) return null;
+  return MoveitWebViewHealth.getStats();
+}
+
+export async function resetWebViewHealthStats(): Promise<void> {
+  if (!available()) return;
+  await MoveitWebViewHealth.resetStats();
+}
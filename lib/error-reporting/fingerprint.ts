@@ -0,0 +1,10 @@
+/**
+ * 오류 지문(report_error_log 디듀프 키). 웹 건별 리포트(/api/errors/report)와
+ * 앱 배치(/api/errors/batch)가 같은 함수를 써야 같은 오류가 한 행으로 묶인다.
+ */
+export function errorFingerprint(source: string, message: string, url?: string | null): string {
+  let path = '';
+  try { path = url ? new URL(url).pathname : ''; } catch { path = url || ''; }
+  const msg = (message || '').slice(0, 120);
+  return `${source}|${msg}|${path}`;
+}
@@ -1,11 +1,14 @@
 /**
  * 클라이언트 오류 리포터.
  * 어디서든 import 해서 reportError(...)를 호출하면 /api/errors/report 로 비동기 전송된다.
+ * - Android 앱에서는 네이티브 배치 리포터(MoveitErrorReporter)로 넘겨 /api/errors/batch 로 묶어 전송.
  * - 절대 throw 하지 않음(리포터가 또 에러를 내면 안 됨).
  * - 동일 메시지 단시간 폭주 방지를 위한 클라이언트측 소프트 디듀프(5초).
  * - 현재 페이지 academyId 를 URL(/academy-admin/{slug}...)에서 추정해 함께 전송(있으면).
  */
 
+import { reportToNative } from '@/lib/capacitor/error-reporter';
+
 type ReportLevel = 'error' | 'warning' | 'fatal';
 
 interface ReportInput {
@@ -54,6 +57,12 @@ export function reportError(input: ReportInput): void {
       academyId: currentAcademyId(),
     };
 
+    // 앱: 디스크 로그에 쌓고 지문별 배치 업로드 (오류 폭주가 요청 폭주로 번지지 않도록)
+    if (reportToNative({
+      ...payload,
+      context: payload.academyId ? { ...payload.context, academyId: payload.academyId } : payload.context,
+    })) return;
+
     // keepalive: 페이지 이탈/네비게이션 중에도 전송 보장
     fetch('/api/errors/report', {
       method: 'POST',
@@ -0,0 +1,88 @@
+/**
+ * 기기 로컬 알림 목록 만들기 (앱 전용, components/common/native-reminder-sync.tsx에서 사용)
+ * 문구는 관리자 푸시 시나리오(class_reminder, ticket_expiry_7d/1d)와 동일하게 맞춘다.
+ * type은 서버 푸시와 같은 NotificationType이라 학원별 알림 설정 키로도 쓰인다 (네이티브 ReminderPlan에서 적용).
+ */
+
+import type { LocalReminder } from '@/lib/capacitor/reminders';
+import type { NotificationPreferences } from '@/types/notifications';
+import { formatKSTTime } from '@/lib/utils/kst-time';
+
+/** 이 기간 안의 수업만 예약 (나머지는 다음 동기화 때) */
+const CLASS_HORIZON_MS = 14 * 24 * 60 * 60 * 1000;
+const DEFAULT_MINUTES_BEFORE = 60;
+/** 만료 알림 발송 시각 (KST) */
+const TICKET_NOTICE_HOUR_KST = '10:00:00';
+const TICKET_NOTICE_DAYS = [7, 1];
+
+type Prefs = Pick<NotificationPreferences, 'push_enabled' | 'class_reminder' | 'ticket_updates' | 'reminder_minutes_before'>;
+
+export function buildClassReminders(bookings: any[], prefs: Prefs | null, now = Date.now()): LocalReminder[] {
+  if (prefs && (!prefs.push_enabled || !prefs.class_reminder)) return [];
+  const minutesBefore = prefs?.reminder_minutes_before ?? DEFAULT_MINUTES_BEFORE;
+  const reminders: LocalReminder[] = [];
+
+  for (const b of bookings) {
+    if (b?.status !== 'CONFIRMED') continue;
+    const startTime: string | undefined = b.schedules?.start_time || b.classes?.start_time;
+    if (!startTime) continue;
+    const start = new Date(startTime).getTime();
+    if (!Number.isFinite(start) || start <= now || start - now > CLASS_HORIZON_MS) continue;
+
+    const cls = b.schedules?.classes || b.classes;
+    const academy = cls?.academies?.name_kr || '학원';
+    const title = cls?.title || '수업';
+    reminders.push({
+      id: `class:${b.id}`,
+      group: b.id,
+      academy: cls?.academy_id ?? undefined,
+      fireAt: start - minutesBefore * 60 * 1000,
+      expiresAt: start,
+      title: '오늘 수업이 있어요!',
+      body: `${formatKSTTime(startTime)} ${academy} ${title} 수업이 예정되어 있습니다. 준비물을 확인해주세요!`,
+      type: 'class_reminder',
+      path: '/my/bookings',
+    });
+  }
+  return reminders;
+}
+
+/** 학원별 알림 설정(academy_notification_settings)을 조회할 학원 id 목록 */
+export function reminderAcademyIds(reminders: LocalReminder[]): string[] {
+  return Array.from(new Set(reminders.map((r) => r.academy).filter((id): id is string => !!id)));
+}
+
+export function buildTicketReminders(userTickets: any[], prefs: Prefs | null): LocalReminder[] {
+  if (prefs && (!prefs.push_enabled || !prefs.ticket_updates)) return [];
+  const reminders: LocalReminder[] = [];
+
+  for (const ut of userTickets) {
+    const expiry: string | null | undefined = ut?.expiry_date;
+    if (ut?.status !== 'ACTIVE' || !expiry) continue;
+    const day = expiry.slice(0, 10);
+    const noticeAt = new Date(`${day}T${TICKET_NOTICE_HOUR_KST}+09:00`).getTime();
+    const expiresAt = new Date(`${day}T23:59:59+09:00`).getTime();
+    if (!Number.isFinite(noticeAt)) continue;
+
+    const academy = ut.tickets?.academies?.name_kr || '학원';
+    const ticketName = ut.tickets?.name || '수강권';
+    const remaining = ut.remaining_count;
+    for (const days of TICKET_NOTICE_DAYS) {
+      const remainStr = remaining != null ? ` 남은 횟수: ${remaining}회${days === 1 ? '.' : ''}` : '';
+      reminders.push({
+        id: `ticket:${ut.id}:${days}`,
+        group: ut.id,
+        academy: ut.tickets?.academy_id ?? undefined,
+        fireAt: noticeAt - days * 24 * 60 * 60 * 1000,
+        expiresAt,
+        title: days === 1 ? '수강권 내일 만료!' : `수강권 만료 임박 (D-${days})`,
+        body: days === 1
+          ? `${academy} ${ticketName}이(가) 내일 만료됩니다!${remainStr} 지금 연장 신청하세요.`
+          : `${academy} ${ticketName}이(가) ${days}일 후 만료됩니다.${remainStr} 연장 신청을 해주세요.`,
+        type: 'ticket_expiry',
+        path: '/my/tickets',
+      });
+    }
+  }
+  return reminders;
+}
@@ -1,6 +1,11 @@
 import crypto from 'crypto';
 
 const QR_TOKEN_EXPIRY_SECONDS = 180; // 3분
+/**
+ * 스캔 후 제출까지 허용하는 최대 지연 (앱 QR 리더가 오프라인에서 모아 둔 체크인)
+ * android QrCheckinQueue.MAX_QUEUE_AGE_MS와 맞춤
+ */
+export const MAX_SCAN_AGE_MS = 12 * 60 * 60 * 1000;
 
 function getSecretKey(): string {
   const key = process.env.QR_SECRET_KEY || process.env.NEXTAUTH_SECRET || process.env.NEXT_PUBLIC_SUPABASE_ANON_KEY;
@@ -62,12 +67,15 @@ function restoreUuid(compact: string): string {
  * QR 토큰 검증
  * 1. 파싱 (compactBookingId.timestampHex.signature)
  * 2. bookingId로 DB에서 userId 조회 필요 (호출자가 처리)
- * 3. 만료 시간 확인 (3분)
+ * 3. 만료 시간 확인 (3분, 스캔 시점 기준)
+ *
+ * scanAgeMs: 관리자 기기가 스캔한 뒤 제출까지 걸린 시간 (오프라인 큐). 인증된 관리자 요청에서만 넘기며
+ * 기기 시계 대신 경과 시간을 받아 서버 시각에서 빼므로 기기 시계가 틀려도 영향이 없다.
  * 
  * 참고: userId는 QR에 포함하지 않으므로, 호출자가 DB에서 조회하여
  * verifyQrTokenSignature()로 서명을 최종 검증해야 합니다.
  */
-export function verifyQrToken(tokenString: string): VerifyResult {
+export function verifyQrToken(tokenString: string, scanAgeMs = 0): VerifyResult {
   try {
     const parts = tokenString.split('.');
 
@@ -86,9 +94,12 @@ export function verifyQrToken(tokenString: string): VerifyResult {
       return { valid: false, error: '토큰 형식이 올바르지 않습니다.' };
     }
 
-    // 만료 시간 확인
-    const now = Math.floor(Date.now() / 1000);
-    if (now - timestamp > QR_TOKEN_EXPIRY_SECONDS) {
+    // 만료 시간 확인 (스캔 시점 기준)
+    if (!Number.isFinite(scanAgeMs) || scanAgeMs < 0 || scanAgeMs > MAX_SCAN_AGE_MS) {
+      return { valid: false, error: 'QR 코드가 만료되었습니다. 새로운 QR 코드를 생성해주세요.' };
+    }
+    const scannedAt = Math.floor((Date.now() - scanAgeMs) / 1000);
+    if (scannedAt - timestamp > QR_TOKEN_EXPIRY_SECONDS) {
       return { valid: false, error: 'QR 코드가 만료되었습니다. 새로운 QR 코드를 생성해주세요.' };
     }
 
@@ -0,0 +1,82 @@
+/**
+ * 앱 이어 올리기 업로드(app/api/upload/chunked) 조각 보관 정리
+ * - upload-chunks 버킷 {userId}/{uploadId}/ 폴더 단위로 마지막 활동 시각을 보고 TTL이 지난 폴더를 지운다.
+ * - 새 업로드를 시작할 때 해당 사용자 폴더를 먼저 정리하고, 완료 전 업로드 수가 상한이면 거절한다.
+ * - 버려진 업로드(시작하고 끝내지 않은 것)는 cron/expire-tickets의 upload_chunks concern이 매일 정리한다.
+ */
+
+export const CHUNK_BUCKET = 'upload-chunks';
+export const RESULT_FILE = 'result.json';
+/** 마지막 조각(또는 완료) 후 이 시간이 지나면 폴더 삭제. 완료 응답 유실 후 재조회 여유도 이 안에 든다 */
+export const UPLOAD_TTL_MS = 24 * 60 * 60 * 1000;
+/** 사용자당 완료 전 업로드 동시 상한 (앱은 한 번에 하나씩 올린다) */
+export const MAX_OPEN_UPLOADS = 5;
+
+const LIST_LIMIT = 1000;
+const USER_PAGE = 100;
+
+interface UploadFolder {
+  dir: string;
+  files: string[];
+  lastActivity: number;
+  done: boolean;
+}
+
+async function listUploadFolder(storage: any, dir: string): Promise<UploadFolder | null> {
+  const { data: files } = await storage.from(CHUNK_BUCKET).list(dir, { limit: LIST_LIMIT });
+  if (!files?.length) return null;
+  let lastActivity = 0;
+  for (const f of files as any[]) {
+    const at = Date.parse(f.updated_at ?? f.created_at ?? '');
+    if (at > lastActivity) lastActivity = at;
+  }
+  return {
+    dir,
+    files: (files as any[]).map((f) => `${dir}/${f.name}`),
+    lastActivity,
+    done: (files as any[]).some((f) => f.name === RESULT_FILE),
+  };
+}
+
+/**
+ * 한 사용자의 TTL 지난 업로드 폴더를 지우고, 남은 완료 전 업로드 수를 돌려준다.
+ * 시각을 못 읽은 폴더(lastActivity 0)는 오래된 것으로 보고 지운다.
+ */
+export async function pruneUserUploads(
+  storage: any,
+  userId: string,
+  now = Date.now()
+): Promise<{ open: number; removed: number }> {
+  const { data: entries } = await storage.from(CHUNK_BUCKET).list(userId, { limit: LIST_LIMIT });
+  let open = 0;
+  let removed = 0;
+  for (const entry of (entries ?? []) as any[]) {
+    const folder = await listUploadFolder(storage, `${userId}/${entry.name}`);
+    if (!folder) continue;
+    if (now - folder.lastActivity > UPLOAD_TTL_MS) {
+      const { error } = await storage.from(CHUNK_BUCKET).remove(folder.files);
+      if (error) throw new Error(`조각 삭제 실패: ${error.message}`);
+      removed += 1;
+    } else if (!folder.done) {
+      open += 1;
+    }
+  }
+  return { open, removed };
+}
+
+/** 버킷 전체 사용자 폴더 정리 (cron). Idempotent */
+export async function pruneStaleUploads(storage: any, now = Date.now()): Promise<{ users: number; removed: number }> {
+  const userIds: string[] = [];
+  for (let offset = 0; ; offset += USER_PAGE) {
+    const { data, error } = await storage.from(CHUNK_BUCKET).list('', { limit: USER_PAGE, offset });
+    if (error) throw new Error(`사용자 폴더 조회 실패: ${error.message}`);
+    for (const entry of (data ?? []) as any[]) userIds.push(entry.name);
+    if (!data || data.length < USER_PAGE) break;
+  }
+  // 목록을 다 읽은 뒤 지운다 (지우면서 페이지를 넘기면 offset이 밀려 건너뛰는 폴더가 생긴다)
+  let removed = 0;
+  for (const userId of userIds) {
+    removed += (await pruneUserUploads(storage, userId, now)).removed;
+  }
+  return { users: userIds.length, removed };
+}
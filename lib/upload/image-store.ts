@@ -0,0 +1,137 @@
+/**
+ * 이미지 업로드 저장 공통 로직 (profile-images / academy-images 버킷)
+ * - app/api/upload/profile-image, app/api/upload/image: FormData 한 번에 업로드
+ * - app/api/upload/chunked: 앱(Android ImageUploader)이 조각으로 올린 뒤 합쳐서 저장
+ * 권한 확인·파일명 규칙·users.profile_image 갱신을 한 곳에서 처리해 두 경로의 결과가 같게 한다.
+ */
+
+export const MAX_IMAGE_BYTES = 5 * 1024 * 1024;
+export const PROFILE_IMAGE_TYPES = ['image/jpeg', 'image/png', 'image/webp', 'image/heic'];
+export const ACADEMY_IMAGE_TYPES = ['image/jpeg', 'image/png', 'image/gif', 'image/webp'];
+
+const PROFILE_ADMIN_ROLES = ['SUPER_ADMIN', 'ACADEMY_OWNER', 'ACADEMY_MANAGER'];
+
+export type StoreResult = { url: string; userId?: string } | { error: string; status: number };
+
+const EXT_BY_TYPE: Record<string, string> = {
+  'image/jpeg': 'jpg',
+  'image/png': 'png',
+  'image/gif': 'gif',
+  'image/webp': 'webp',
+  'image/heic': 'heic',
+};
+
+/** 파일명 확장자 우선, 없으면 MIME 타입에서 */
+export function imageExtension(fileName: string | null | undefined, contentType: string): string {
+  const fromName = fileName?.includes('.') ? fileName.split('.').pop() : null;
+  return fromName || EXT_BY_TYPE[contentType] || 'jpg';
+}
+
+/**
+ * 프로필 이미지 대상 사용자 결정. 본인이 아니면 관리자 권한(users.role 또는 academy_user_roles) 확인.
+ * @returns 대상 userId, 권한이 없으면 null
+ */
+export async function resolveProfileUserId(supabase: any, userId: string, targetUserId?: string | null): Promise<string | null> {
+  if (!targetUserId || targetUserId === userId) return userId;
+
+  const { data: currentUser } = await supabase
+    .from('users')
+    .select('role')
+    .eq('id', userId)
+    .single();
+
+  if (!currentUser || !PROFILE_ADMIN_ROLES.includes(currentUser.role)) {
+    const { data: academyRole } = await supabase
+      .from('academy_user_roles')
+      .select('role')
+      .eq('user_id', userId)
+      .in('role', ['ACADEMY_OWNER', 'ACADEMY_MANAGER'])
+      .limit(1)
+      .maybeSingle();
+
+    if (!academyRole) return null;
+  }
+
+  return targetUserId;
+}
+
+/** 기존 프로필 이미지(같은 유저 폴더)를 지우고 새 이미지를 올린 뒤 users.profile_image 갱신 */
+export async function replaceProfileImage(
+  supabase: any,
+  userId: string,
+  buffer: Uint8Array,
+  contentType: string,
+  ext: string,
+): Promise<StoreResult> {
+  const { data: existingFiles } = await supabase.storage
+    .from('profile-images')
+    .list(userId);
+
+  if (existingFiles && existingFiles.length > 0) {
+    const filesToDelete = existingFiles.map((f: any) => `${userId}/${f.name}`);
+    await supabase.storage
+      .from('profile-images')
+      .remove(filesToDelete);
+  }
+
+  const fileName = `${userId}/profile_${Date.now()}.${ext}`;
+
+  const { data, error } = await supabase.storage
+    .from('profile-images')
+    .upload(fileName, buffer, {
+      contentType,
+      upsert: true,
+    });
+
+  if (error) {
+    console.error('Profile image upload error:', error);
+    return { error: `업로드 실패: ${error.message}`, status: 500 };
+  }
+
+  const { data: urlData } = supabase.storage
+    .from('profile-images')
+    .getPublicUrl(data.path);
+
+  const publicUrl = urlData.publicUrl;
+
+  const { error: updateError } = await supabase
+    .from('users')
+    .update({ profile_image: publicUrl, updated_at: new Date().toISOString() })
+    .eq('id', userId);
+
+  if (updateError) {
+    console.error('Profile image URL update error:', updateError);
+    // 업로드는 성공했으므로 URL 반환은 함
+  }
+
+  return { url: publicUrl, userId };
+}
+
+/** 학원 소개·에디터 이미지 (introduction/{academyId}/...) */
+export async function storeAcademyImage(
+  supabase: any,
+  academyId: string,
+  buffer: Uint8Array,
+  contentType: string,
+  ext: string,
+): Promise<StoreResult> {
+  const fileName = `introduction/${academyId}/${Date.now()}_${Math.random().toString(36).slice(2, 8)}.${ext}`;
+
+  const { data, error } = await supabase.storage
+    .from('academy-images')
+    .upload(fileName, buffer, {
+      contentType,
+      upsert: false,
+    });
+
+  if (error) {
+    console.error('Upload error:', error);
+    return { error: `업로드 실패: ${error.message}`, status: 500 };
+  }
+
+  const { data: urlData } = supabase.storage
+    .from('academy-images')
+    .getPublicUrl(data.path);
+
+  return { url: urlData.publicUrl };
+}
@@ -0,0 +1,7 @@
+-- 앱 이어 올리기 업로드(app/api/upload/chunked) 조각 임시 보관 버킷
+-- 비공개. 정책을 두지 않아 anon/authenticated는 접근 불가, API 라우트가 service_role로만 읽고 쓴다.
+-- 조각은 완료 시 삭제되고 {userId}/{uploadId}/result.json만 남는다.
+-- 남은 폴더(완료 결과·버려진 업로드)는 마지막 활동 후 24시간이 지나면 cron/expire-tickets(upload_chunks)가 지운다.
+insert into storage.buckets (id, name, public, file_size_limit)
+values ('upload-chunks', 'upload-chunks', false, 1048576)
+on conflict (id) do nothing;
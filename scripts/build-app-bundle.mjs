@@ -0,0 +1,68 @@
+#!/usr/bin/env node
+/**
+ * Android 로컬 웹 번들 생성 (next build 이후 실행)
+ *
+ * - 기본 (postbuild): .next/static 아래 파일의 sha256 매니페스트를 .next/static/moveit-bundle.json으로 생성
+ *   → 배포 사이트 /_next/static/moveit-bundle.json. 앱(WebBundle.java)이 백그라운드에서 받아 바뀐 파일만 내려받음
+ * - --android: 같은 매니페스트와 파일(sha256 이름)을 android/app/src/main/assets/web-bundle/에 복사 → APK 기본 번들
+ *
+ * 사용: npm run build && npm run cap:bundle && npx cap sync android
+ */
+
+import { createHash } from 'node:crypto';
+import fs from 'node:fs';
+import path from 'node:path';
+
+const root = process.cwd();
+const staticDir = path.join(root, '.next', 'static');
+const MANIFEST_NAME = 'moveit-bundle.json';
+const URL_PREFIX = '/_next/static/';
+const androidOut = path.join(root, 'android', 'app', 'src', 'main', 'assets', 'web-bundle');
+
+function walk(dir, out = []) {
+  for (const entry of fs.readdirSync(dir, { withFileTypes: true })) {
+    const abs = path.join(dir, entry.name);
+    if (entry.isDirectory()) walk(abs, out);
+    else if (entry.isFile()) out.push(abs);
+  }
+  return out;
+}
+
+const buildIdFile = path.join(root, '.next', 'BUILD_ID');
+if (!fs.existsSync(buildIdFile) || !fs.existsSync(staticDir)) {
+  console.error('✗ .next 빌드 결과가 없습니다. next build 후 실행하세요.');
+  process.exit(1);
+}
+const version = fs.readFileSync(buildIdFile, 'utf8').trim();
+
+const files = {};
+let totalBytes = 0;
+for (const abs of walk(staticDir)) {
+  const rel = path.relative(staticDir, abs).split(path.sep).join('/');
+  if (rel === MANIFEST_NAME || rel.startsWith('development/')) continue;
+  const body = fs.readFileSync(abs);
+  files[URL_PREFIX + rel] = {
+    sha256: createHash('sha256').update(body).digest('hex'),
+    size: body.length,
+  };
+  totalBytes += body.length;
+}
+
+const manifest = { version, createdAt: new Date().toISOString(), files };
+const json = JSON.stringify(manifest);
+fs.writeFileSync(path.join(staticDir, MANIFEST_NAME), json);
+console.log(`✓ ${URL_PREFIX}${MANIFEST_NAME} (${version}, ${Object.keys(files).length}개, ${(totalBytes / 1024).toFixed(0)}KB)`);
+
+if (process.argv.includes('--android')) {
+  fs.rmSync(androidOut, { recursive: true, force: true });
+  const objects = path.join(androidOut, 'objects');
+  fs.mkdirSync(objects, { recursive: true });
+  for (const [urlPath, { sha256 }] of Object.entries(files)) {
+    const target = path.join(objects, sha256);
+    if (!fs.existsSync(target)) {
+      fs.copyFileSync(path.join(staticDir, urlPath.slice(URL_PREFIX.length)), target);
+    }
+  }
+  fs.writeFileSync(path.join(androidOut, 'manifest.json'), json);
+  console.log(`✓ ${path.relative(root, androidOut)} 에 APK 기본 번들 복사`);
+}